@@ -0,0 +1,54 @@
+package be.mirooz.elitedangerous;
+
+import be.mirooz.elitedangerous.biologic.BioSpecies;
+import be.mirooz.elitedangerous.biologic.BioSpeciesBinaryCodec;
+import be.mirooz.elitedangerous.service.BioSpeciesService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Compile les JSON Bioforge ({@code species/*.json}) en {@code species/species.bin}.
+ *
+ * <p>Lancé par le profil Maven {@code bioforge-compile} après la compilation
+ * ({@code mvn -pl bioforge-biodatas -Pbioforge-compile process-classes}) : à relancer et
+ * committer le binaire à chaque mise à jour des JSON. Chaque argument est un fichier de sortie.
+ * {@code BioforgeDataCompilerTest} échoue tant que le binaire committé ne correspond plus aux JSON.</p>
+ */
+public class BioforgeDataCompiler {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            args = new String[]{"src/main/resources/" + BioSpeciesBinaryCodec.RESOURCE};
+        }
+        byte[] bytes = compile();
+        for (String arg : args) {
+            Path target = Path.of(arg);
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            Files.write(target, bytes);
+            System.out.println("✅ species.bin → " + target + " (" + bytes.length / 1024 + " Ko)");
+        }
+    }
+
+    /** Catalogue JSON encodé au format {@link BioSpeciesBinaryCodec}, contrôlé par relecture. */
+    public static byte[] compile() throws IOException {
+        List<BioSpecies> species = BioSpeciesService.getInstance().loadSpeciesFromJson();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BioSpeciesBinaryCodec.write(species, out);
+        byte[] bytes = out.toByteArray();
+
+        // Contrôle : le binaire relu doit redonner le même catalogue
+        List<BioSpecies> reloaded = BioSpeciesBinaryCodec.read(bytes);
+        if (reloaded.size() != species.size()) {
+            throw new IllegalStateException("species.bin incohérent : " + reloaded.size() + " / " + species.size());
+        }
+        System.out.println("[BioforgeDataCompiler] " + species.size() + " espèces compilées");
+        return bytes;
+    }
+}
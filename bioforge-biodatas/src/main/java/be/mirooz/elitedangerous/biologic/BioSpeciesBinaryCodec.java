@@ -0,0 +1,253 @@
+package be.mirooz.elitedangerous.biologic;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Format binaire compact du catalogue Bioforge ({@code species/species.bin}).
+ *
+ * <p>Contient uniquement ce que produit {@link BioSpeciesFactory} à partir des JSON (champs de
+ * {@link BioSpecies} et histogrammes corps / atmosphère / volcanisme / gravité / pression /
+ * température) : les histogrammes inutilisés ({@code distance}, {@code local_stars},
+ * {@code materials}, régions...) et la mise en forme JSON disparaissent, le reste est compressé
+ * (DEFLATE). Les enums sont stockés par nom, les valeurs en {@code double} exacts : le catalogue
+ * relu est identique à celui construit depuis les JSON.</p>
+ *
+ * <p>Généré par {@code BioforgeDataCompiler} (profil Maven {@code bioforge-compile}).</p>
+ */
+public final class BioSpeciesBinaryCodec {
+
+    public static final String RESOURCE = "species/species.bin";
+
+    private static final byte[] MAGIC = {'B', 'I', 'O', 'F'};
+    private static final int VERSION = 1;
+
+    private BioSpeciesBinaryCodec() {}
+
+    public static void write(List<BioSpecies> species, OutputStream output) throws IOException {
+        DataOutputStream header = new DataOutputStream(output);
+        header.write(MAGIC);
+        header.writeInt(VERSION);
+        header.flush();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            DeflaterOutputStream deflated = new DeflaterOutputStream(output, deflater);
+            DataOutputStream out = new DataOutputStream(deflated);
+            writeSpecies(out, species);
+            out.flush();
+            deflated.finish();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeSpecies(DataOutputStream out, List<BioSpecies> species) throws IOException {
+        out.writeInt(species.size());
+        for (BioSpecies s : species) {
+            writeString(out, s.getId());
+            writeString(out, s.getName());
+            writeString(out, s.getSpecieName());
+            writeString(out, s.getColor());
+            writeString(out, s.getFdevname());
+            writeString(out, s.getColorConditionName());
+            writeString(out, s.getVariantMethod() != null ? s.getVariantMethod().name() : null);
+            out.writeInt(s.getCount());
+            out.writeLong(s.getBaseValue());
+            out.writeLong(s.getBonusValue());
+            out.writeDouble(s.getColonyRangeMeters());
+            writeHistogram(out, s.getHistogramData());
+        }
+    }
+
+    public static List<BioSpecies> read(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("En-tête species.bin invalide");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Version species.bin non supportée : " + version);
+        }
+        int headerLength = MAGIC.length + Integer.BYTES;
+        try (DataInputStream body = new DataInputStream(new BufferedInputStream(new InflaterInputStream(
+                new ByteArrayInputStream(bytes, headerLength, bytes.length - headerLength)), 64 * 1024))) {
+            return readSpecies(body);
+        }
+    }
+
+    private static List<BioSpecies> readSpecies(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        List<BioSpecies> species = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String id = readString(in);
+            String name = readString(in);
+            String specieName = readString(in);
+            String color = readString(in);
+            String fdevname = readString(in);
+            String colorConditionName = readString(in);
+            String variantMethod = readString(in);
+            species.add(BioSpecies.builder()
+                    .id(id)
+                    .name(name)
+                    .specieName(specieName)
+                    .color(color)
+                    .fdevname(fdevname)
+                    .colorConditionName(colorConditionName)
+                    .variantMethod(variantMethod != null ? VariantMethods.valueOf(variantMethod) : null)
+                    .count(in.readInt())
+                    .baseValue(in.readLong())
+                    .bonusValue(in.readLong())
+                    .colonyRangeMeters(in.readDouble())
+                    .histogramData(readHistogram(in))
+                    .build());
+        }
+        return species;
+    }
+
+    // -------- Histogrammes --------
+
+    private static void writeHistogram(DataOutputStream out, BioSpeciesFactory.HistogramData h) throws IOException {
+        out.writeBoolean(h != null);
+        if (h == null) {
+            return;
+        }
+        out.writeBoolean(h.count != null);
+        if (h.count != null) {
+            out.writeInt(h.count);
+        }
+        writeEnumMap(out, h.atmosTypes);
+        writeEnumMap(out, h.bodyTypes);
+        out.writeInt(h.volcanicBodyTypes != null ? h.volcanicBodyTypes.size() : -1);
+        if (h.volcanicBodyTypes != null) {
+            for (Map.Entry<BioSpeciesFactory.VolcanicBodyType, Double> e : sorted(h.volcanicBodyTypes,
+                    Comparator.comparing((BioSpeciesFactory.VolcanicBodyType k) -> k.getBodyType().name())
+                            .thenComparing(k -> k.getVolcanismType().name()))) {
+                out.writeUTF(e.getKey().getBodyType().name());
+                out.writeUTF(e.getKey().getVolcanismType().name());
+                out.writeDouble(e.getValue());
+            }
+        }
+        writeBins(out, h.gravity);
+        writeBins(out, h.pressure);
+        writeBins(out, h.temperature);
+    }
+
+    private static BioSpeciesFactory.HistogramData readHistogram(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        BioSpeciesFactory.HistogramData h = new BioSpeciesFactory.HistogramData();
+        h.count = in.readBoolean() ? in.readInt() : null;
+        h.atmosTypes = readEnumMap(in, AtmosphereType.class);
+        h.bodyTypes = readEnumMap(in, BodyType.class);
+        int volcanic = in.readInt();
+        if (volcanic >= 0) {
+            h.volcanicBodyTypes = new HashMap<>();
+            for (int i = 0; i < volcanic; i++) {
+                BodyType bodyType = BodyType.valueOf(in.readUTF());
+                VolcanismType volcanismType = VolcanismType.valueOf(in.readUTF());
+                h.volcanicBodyTypes.put(new BioSpeciesFactory.VolcanicBodyType(bodyType, volcanismType), in.readDouble());
+            }
+        }
+        h.gravity = readBins(in);
+        h.pressure = readBins(in);
+        h.temperature = readBins(in);
+        return h;
+    }
+
+    private static <E extends Enum<E>> void writeEnumMap(DataOutputStream out, Map<E, Double> map) throws IOException {
+        out.writeInt(map != null ? map.size() : -1);
+        if (map != null) {
+            for (Map.Entry<E, Double> e : sorted(map, Comparator.comparing(Enum::name))) {
+                out.writeUTF(e.getKey().name());
+                out.writeDouble(e.getValue());
+            }
+        }
+    }
+
+    /** Entrées triées : fichier reproductible d'une génération à l'autre (ordre HashMap variable). */
+    private static <K> List<Map.Entry<K, Double>> sorted(Map<K, Double> map, Comparator<K> order) {
+        List<Map.Entry<K, Double>> entries = new ArrayList<>(map.entrySet());
+        entries.sort(Map.Entry.comparingByKey(order));
+        return entries;
+    }
+
+    private static <E extends Enum<E>> Map<E, Double> readEnumMap(DataInputStream in, Class<E> type) throws IOException {
+        int n = in.readInt();
+        if (n < 0) {
+            return null;
+        }
+        // HashMap comme BioSpeciesFactory (les clés n'ont pas d'ordre significatif)
+        Map<E, Double> map = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            map.put(Enum.valueOf(type, in.readUTF()), in.readDouble());
+        }
+        return map;
+    }
+
+    private static void writeBins(DataOutputStream out, List<BioSpeciesFactory.Bin> bins) throws IOException {
+        out.writeInt(bins != null ? bins.size() : -1);
+        if (bins != null) {
+            for (BioSpeciesFactory.Bin bin : bins) {
+                writeNullableDouble(out, bin.min);
+                writeNullableDouble(out, bin.max);
+                writeNullableDouble(out, bin.value);
+            }
+        }
+    }
+
+    private static List<BioSpeciesFactory.Bin> readBins(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        if (n < 0) {
+            return null;
+        }
+        List<BioSpeciesFactory.Bin> bins = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            BioSpeciesFactory.Bin bin = new BioSpeciesFactory.Bin();
+            bin.min = readNullableDouble(in);
+            bin.max = readNullableDouble(in);
+            bin.value = readNullableDouble(in);
+            bins.add(bin);
+        }
+        return bins;
+    }
+
+    // -------- Primitives --------
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullableDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static Double readNullableDouble(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readDouble() : null;
+    }
+}
@@ -2,6 +2,7 @@ package be.mirooz.elitedangerous.service;
 
 import be.mirooz.elitedangerous.BioforgeCanonnMain;
 import be.mirooz.elitedangerous.biologic.BioSpecies;
+import be.mirooz.elitedangerous.biologic.BioSpeciesBinaryCodec;
 import be.mirooz.elitedangerous.biologic.BioSpeciesFactory;
 
 import java.io.*;
@@ -52,10 +53,34 @@ public class BioSpeciesService {
     }
 
     /**
-     * Charge les espèces biologiques depuis les fichiers JSON.
+     * Charge les espèces biologiques : catalogue précompilé {@value BioSpeciesBinaryCodec#RESOURCE}
+     * (une seule lecture, quelques centaines de Ko) s'il est présent et lisible, sinon les JSON.
      * Cette méthode n'est appelée qu'une seule fois.
      */
     private List<BioSpecies> loadSpecies() throws IOException {
+        long start = System.currentTimeMillis();
+        ClassLoader cl = BioforgeCanonnMain.class.getClassLoader();
+        try (InputStream binStream = cl.getResourceAsStream(BioSpeciesBinaryCodec.RESOURCE)) {
+            if (binStream != null) {
+                List<BioSpecies> species = BioSpeciesBinaryCodec.read(binStream.readAllBytes());
+                System.out.println("[BioSpeciesService] " + species.size() + " espèces chargées depuis "
+                        + BioSpeciesBinaryCodec.RESOURCE + " en " + (System.currentTimeMillis() - start) + " ms");
+                return Collections.unmodifiableList(species);
+            }
+        } catch (Exception e) {
+            System.err.println("❌ " + BioSpeciesBinaryCodec.RESOURCE + " illisible, repli sur les JSON : " + e.getMessage());
+        }
+        List<BioSpecies> species = loadSpeciesFromJson();
+        System.out.println("[BioSpeciesService] " + species.size() + " espèces chargées depuis les JSON en "
+                + (System.currentTimeMillis() - start) + " ms");
+        return species;
+    }
+
+    /**
+     * Construit le catalogue depuis les JSON Bioforge ({@code species/index.txt}).
+     * Source de {@code BioforgeDataCompiler} et repli si le binaire est absent.
+     */
+    public List<BioSpecies> loadSpeciesFromJson() throws IOException {
         List<BioSpecies> allSpecies = new ArrayList<>();
 
         ClassLoader cl = BioforgeCanonnMain.class.getClassLoader();
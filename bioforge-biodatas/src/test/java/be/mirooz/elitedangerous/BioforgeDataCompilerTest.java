@@ -0,0 +1,27 @@
+package be.mirooz.elitedangerous;
+
+import be.mirooz.elitedangerous.biologic.BioSpeciesBinaryCodec;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Le {@code species.bin} committé doit être exactement celui que {@link BioforgeDataCompiler}
+ * produit depuis les JSON : sinon relancer {@code mvn -pl bioforge-biodatas -Pbioforge-compile
+ * process-classes} et committer le binaire.
+ */
+class BioforgeDataCompilerTest {
+
+    private static final Path COMMITTED = Path.of("src/main/resources", BioSpeciesBinaryCodec.RESOURCE);
+
+    @Test
+    void committedBinaryMatchesJsonSources() throws Exception {
+        assertTrue(Files.exists(COMMITTED), COMMITTED + " absent");
+        assertArrayEquals(BioforgeDataCompiler.compile(), Files.readAllBytes(COMMITTED),
+                "species.bin périmé : à régénérer depuis les JSON (profil bioforge-compile)");
+    }
+}
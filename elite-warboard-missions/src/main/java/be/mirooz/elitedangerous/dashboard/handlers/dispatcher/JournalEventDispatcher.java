@@ -6,11 +6,10 @@ import be.mirooz.elitedangerous.dashboard.handlers.events.journalevents.DefaultJ
 import be.mirooz.elitedangerous.dashboard.handlers.events.journalevents.JournalEventHandler;
 import be.mirooz.elitedangerous.dashboard.service.journal.watcher.JournalFileTracker;
 import be.mirooz.elitedangerous.dashboard.service.persistence.PersistenceService;
+import be.mirooz.elitedangerous.dashboard.service.webservice.eddn.EddnJournalPublisher;
 import com.fasterxml.jackson.databind.JsonNode;
-import org.reflections.Reflections;
 
 import java.io.File;
-import java.lang.reflect.Modifier;
 import java.util.*;
 
 public class JournalEventDispatcher {
@@ -30,24 +29,21 @@ public class JournalEventDispatcher {
         return INSTANCE;
     }
     private final Map<String, JournalEventHandler> handlers = new HashMap<>();
+    private final Set<String> relevantEventTypes;
+    private final Object stateLock = PersistenceService.getInstance().getStateLock();
 
     private JournalEventDispatcher() {
-        String packageName = JournalEventHandler.class.getPackageName();
-        Reflections reflections = new Reflections(packageName);
-        Set<Class<? extends JournalEventHandler>> handlerClasses =
-                reflections.getSubTypesOf(JournalEventHandler.class);
-
+        // Étape 1 : table statique (cf. JournalEventHandlerRegistry). Un type d'event revendiqué
+        // par deux handlers est une erreur de programmation : on échoue immédiatement plutôt que
+        // de laisser le dernier écraser silencieusement le premier.
         Map<String, JournalEventHandler> tempHandlers = new HashMap<>();
-        handlerClasses.stream()
-                .filter(clazz -> !Modifier.isAbstract(clazz.getModifiers()))
-                .forEach(clazz -> {
-                    try {
-                        JournalEventHandler handler = clazz.getDeclaredConstructor().newInstance();
-                        tempHandlers.put(handler.getEventType(), handler);
-                    } catch (Exception e) {
-                        throw new RuntimeException("Failed to instantiate handler: " + clazz, e);
-                    }
-                });
+        for (JournalEventHandler handler : JournalEventHandlerRegistry.createHandlers()) {
+            JournalEventHandler previous = tempHandlers.put(handler.getEventType(), handler);
+            if (previous != null) {
+                throw new IllegalStateException("Event " + handler.getEventType() + " revendiqué par "
+                        + previous.getClass().getSimpleName() + " et " + handler.getClass().getSimpleName());
+            }
+        }
 
         // Étape 2 : décoration. Ordre d'exécution (extérieur -> intérieur) :
         //   Logging -> EddnPublishing -> handler métier.
@@ -56,6 +52,24 @@ public class JournalEventDispatcher {
                 handlers.put(key, new LoggingEventHandlerDecorator(
                         new EddnPublishingEventHandlerDecorator(handler)))
         );
+
+        Set<String> relevant = new HashSet<>(handlers.keySet());
+        relevant.addAll(EddnJournalPublisher.ROUTED_EVENTS);
+        this.relevantEventTypes = Set.copyOf(relevant);
+    }
+
+    /**
+     * Types d'events qui ont un effet au dispatch : handler métier ou route EDDN. Les autres
+     * (Music, ReceiveText, ReservoirReplenished...) ne font que traverser le
+     * {@link DefaultJournalEventHandler} ; les lecteurs de journal peuvent les écarter sur
+     * simple lecture du champ {@code event}, sans construire l'arbre JSON.
+     */
+    public Set<String> getRelevantEventTypes() {
+        return relevantEventTypes;
+    }
+
+    public boolean isRelevantEvent(String eventType) {
+        return eventType != null && relevantEventTypes.contains(eventType);
     }
     public void dispatch(JsonNode jsonNode) {
         dispatch(jsonNode, null);
@@ -69,20 +83,25 @@ public class JournalEventDispatcher {
     public void dispatch(JsonNode jsonNode, Integer journalPhysicalLineNumber) {
         String event = jsonNode.get("event").asText();
         JournalEventHandler handler = handlers.getOrDefault(event, defaultHandler);
-        if (handler != null) {
-            handler.handle(jsonNode);
+        // Event appliqué en entier sous le verrou d'état : un checkpoint ne voit jamais les
+        // registries modifiés sans le curseur correspondant (ou l'inverse).
+        synchronized (stateLock) {
+            if (handler != null) {
+                handler.handle(jsonNode);
+                // Seuls les stores signalés sont capturés par les checkpoints périodiques.
+                PersistenceService.getInstance().markChanged(handler.modifiedStores());
+            }
+            updateResumeCursor(jsonNode, journalPhysicalLineNumber);
         }
-        updateResumeCursor(jsonNode, journalPhysicalLineNumber);
     }
 
     /**
      * Met à jour le curseur de reprise en mémoire après chaque dispatch.
      *
-     * <p>On ne persiste rien ici : la politique choisie est "save only on shutdown" (cf.
-     * {@link PersistenceService#saveAllNow()} appelé depuis le close handler de
-     * {@code EliteDashboardApp} et depuis le shutdown hook JVM). Ça évite de spammer le disque
-     * à chaque event et les race conditions entre save debouncé et {@code loadAll()} sur des
-     * snapshots volumineux.</p>
+     * <p>On ne persiste rien ici : les écritures sont faites par les checkpoints périodiques
+     * de {@link PersistenceService} (stores modifiés uniquement) et par
+     * {@link PersistenceService#saveAllNow()} à la fermeture. Ça évite de spammer le disque
+     * à chaque event.</p>
      */
     private void updateResumeCursor(JsonNode jsonNode, Integer journalPhysicalLineNumber) {
         JsonNode tsNode = jsonNode.get("timestamp");
@@ -93,11 +112,19 @@ public class JournalEventDispatcher {
         if (timestamp == null || timestamp.isBlank()) {
             return;
         }
+        JournalFileTracker tracker = JournalFileTracker.getInstance();
         String fileName = null;
-        File currentFile = JournalFileTracker.getInstance().getCurrentFile();
+        File currentFile = tracker.getCurrentFile();
         if (currentFile != null) {
             fileName = currentFile.getName();
         }
-        PersistenceService.getInstance().updateCursor(timestamp, fileName, journalPhysicalLineNumber);
+        if (journalPhysicalLineNumber == null) {
+            PersistenceService.getInstance().updateCursor(timestamp, fileName, null);
+            return;
+        }
+        // Offset + empreinte de la ligne renseignés par le lecteur juste avant le dispatch
+        // (null si la source ne les connaît pas : le curseur retombe alors sur la ligne seule).
+        PersistenceService.getInstance().updateCursor(timestamp, fileName, journalPhysicalLineNumber,
+                tracker.getCurrentLineOffset(), tracker.getCurrentLineFingerprint());
     }
 }
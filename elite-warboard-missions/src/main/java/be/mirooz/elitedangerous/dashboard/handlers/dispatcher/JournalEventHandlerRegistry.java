@@ -0,0 +1,84 @@
+package be.mirooz.elitedangerous.dashboard.handlers.dispatcher;
+
+import be.mirooz.elitedangerous.dashboard.handlers.events.journalevents.*;
+
+import java.util.List;
+
+/**
+ * Table statique des handlers métier enregistrés dans le {@link JournalEventDispatcher}.
+ *
+ * <p>Remplace le scan de classpath {@code org.reflections} au démarrage : la liste est résolue
+ * à la compilation (une classe supprimée ou renommée casse le build) et ne coûte qu'une
+ * instanciation par handler. Tout nouveau {@link JournalEventHandler} concret du package
+ * {@code journalevents} doit être ajouté ici ; {@code JournalEventHandlerRegistryTest} fait
+ * échouer le build si un handler manque ou si deux handlers revendiquent le même type d'event.</p>
+ *
+ * <p>{@link DefaultJournalEventHandler} n'en fait pas partie : c'est le repli du dispatcher.</p>
+ */
+public final class JournalEventHandlerRegistry {
+
+    private JournalEventHandlerRegistry() {}
+
+    /** @return une nouvelle instance de chaque handler métier (ordre alphabétique). */
+    public static List<JournalEventHandler> createHandlers() {
+        return List.of(
+                new ApproachBodyHandler(),
+                new AsteroidCrackedHandler(),
+                new BountyHandler(),
+                new BuyDronesHandler(),
+                new CargoHandler(),
+                new CarrierJumpHandler(),
+                new CarrierLocationHandler(),
+                new CarrierStatsHandler(),
+                new CarrierTradeOrderHandler(),
+                new ColonisationBeaconDeployedHandler(),
+                new ColonisationConstructionDepotHandler(),
+                new ColonisationContributionHandler(),
+                new ColonisationSystemClaimHandler(),
+                new CommanderHandler(),
+                new CommitCrimeHandler(),
+                new DiedHandler(),
+                new DisembarkHandler(),
+                new DockedHandler(),
+                new EjectCargoHandler(),
+                new EmbarkHandler(),
+                new FSDJumpHandler(),
+                new FSDTargetHandler(),
+                new FSSBodySignalsHandler(),
+                new FactionKillBondHandler(),
+                new FileheaderHandler(),
+                new LaunchDroneHandler(),
+                new LeaveBodyHandler(),
+                new LoadGameHandler(),
+                new LoadoutHandler(),
+                new MarketBuyHandler(),
+                new MarketSellHandler(),
+                new MiningRefinedHandler(),
+                new MissionAbandonedHandler(),
+                new MissionAcceptedHandler(),
+                new MissionCompletedHandler(),
+                new MissionExpiredHandler(),
+                new MissionFailedHandler(),
+                new MissionProgressHandler(),
+                new MissionRedirectedHandler(),
+                new MissionsHandler(),
+                new MultiSellExplorationDataHandler(),
+                new NavRouteClearHandler(),
+                new NavRouteHandler(),
+                new ProspectedAsteroidHandler(),
+                new RedeemVoucherHandler(),
+                new SAAScanCompleteHandler(),
+                new SAASignalsFoundHandler(),
+                new ScanHandler(),
+                new ScanOrganicHandler(),
+                new SellDronesHandler(),
+                new SellExplorationDataHandler(),
+                new SellOrganicDataHandler(),
+                new ShipTargetedHandler(),
+                new ShutDownHandler(),
+                new SupercruiseEntryHandler(),
+                new SupercruiseExitHandler(),
+                new UndockedHandler()
+        );
+    }
+}
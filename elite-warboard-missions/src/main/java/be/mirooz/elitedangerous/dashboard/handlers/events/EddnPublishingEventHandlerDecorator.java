@@ -4,6 +4,8 @@ import be.mirooz.elitedangerous.dashboard.handlers.events.journalevents.JournalE
 import be.mirooz.elitedangerous.dashboard.service.webservice.eddn.EddnJournalPublisher;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 /**
  * Décorateur qui, après traitement métier de {@code delegate}, relaie l'événement au
  * {@link EddnJournalPublisher} pour publication EDDN.
@@ -29,6 +31,11 @@ public class EddnPublishingEventHandlerDecorator implements JournalEventHandler
         return delegate.getEventType();
     }
 
+    @Override
+    public Set<String> modifiedStores() {
+        return delegate.modifiedStores();
+    }
+
     @Override
     public void handle(JsonNode jsonNode) {
         delegate.handle(jsonNode);
@@ -1,10 +1,14 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events;
 
 import be.mirooz.elitedangerous.dashboard.handlers.events.journalevents.JournalEventHandler;
+import be.mirooz.elitedangerous.dashboard.service.LoggingService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 public class LoggingEventHandlerDecorator implements JournalEventHandler {
     private final JournalEventHandler delegate;
+    private final LoggingService loggingService = LoggingService.getInstance();
 
     public LoggingEventHandlerDecorator(JournalEventHandler delegate) {
         this.delegate = delegate;
@@ -15,9 +19,17 @@ public class LoggingEventHandlerDecorator implements JournalEventHandler {
         return delegate.getEventType();
     }
 
+    @Override
+    public Set<String> modifiedStores() {
+        return delegate.modifiedStores();
+    }
+
     @Override
     public void handle(JsonNode jsonNode) {
-        System.out.println("***** Event " + getEventType() + " *****");
+        // Trace coupée pendant le replay batch (cf. LoggingService#isEventTraceEnabled)
+        if (loggingService.isEventTraceEnabled()) {
+            System.out.println("***** Event " + getEventType() + " *****");
+        }
         delegate.handle(jsonNode);
     }
 }
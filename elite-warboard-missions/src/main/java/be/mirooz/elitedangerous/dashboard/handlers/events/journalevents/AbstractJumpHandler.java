@@ -4,12 +4,15 @@ import be.mirooz.elitedangerous.dashboard.model.registries.commander.CommanderSt
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.ExplorationDataSaleRegistry;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.PlaneteRegistry;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.SystemVisitedRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.DirectionReaderService;
 import be.mirooz.elitedangerous.dashboard.service.ExplorationService;
 import be.mirooz.elitedangerous.dashboard.service.MiningStatsService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ExplorationRefreshNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 /**
  * Handler de base pour les évènements de type "jump" (FSD, Carrier, ...).
  * Centralise toute la logique commune pour éviter la duplication de code.
@@ -75,5 +78,10 @@ public abstract class AbstractJumpHandler implements JournalEventHandler {
             System.err.println("Erreur lors du parsing de " + getJumpLabel() + ": " + e.getMessage());
         }
     }
-}
 
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.PLANETE_REGISTRY, StoreNames.SYSTEM_VISITED_REGISTRY,
+                StoreNames.EXPLORATION_DATA_SALE_REGISTRY, StoreNames.COMMANDER_STATUS, StoreNames.MINING_STAT_REGISTRY);
+    }
+}
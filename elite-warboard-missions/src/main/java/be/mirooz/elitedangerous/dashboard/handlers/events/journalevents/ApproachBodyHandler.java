@@ -4,12 +4,14 @@ import be.mirooz.elitedangerous.biologic.BioSpecies;
 import be.mirooz.elitedangerous.dashboard.model.exploration.ACelesteBody;
 import be.mirooz.elitedangerous.dashboard.model.exploration.PlaneteDetail;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.PlaneteRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.DirectionReaderService;
 import be.mirooz.elitedangerous.dashboard.service.ExplorationService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ExplorationRefreshNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Handler pour l'événement ApproachBody du journal Elite Dangerous
@@ -65,4 +67,9 @@ public class ApproachBodyHandler implements JournalEventHandler {
     public String getEventType() {
         return "ApproachBody";
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.EXPLORATION_DATA_SALE_REGISTRY);
+    }
 }
@@ -1,11 +1,14 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.dashboard.model.events.ProspectedAsteroid;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.MiningStatsService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.MiningEventNotificationService;
 import be.mirooz.elitedangerous.dashboard.service.MiningService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 /**
  * Handler pour l'événement AsteroidCracked du journal Elite Dangerous
  * 
@@ -52,4 +55,9 @@ public class AsteroidCrackedHandler implements JournalEventHandler {
     public String getEventType() {
         return "AsteroidCracked";
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.MINING_STAT_REGISTRY);
+    }
 }
@@ -1,8 +1,11 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.MissionService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 public class BountyHandler implements JournalEventHandler {
     private final MissionService missionService = MissionService.getInstance();;
 
@@ -22,4 +25,9 @@ public class BountyHandler implements JournalEventHandler {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.MISSIONS, StoreNames.DESTROYED_SHIPS, StoreNames.SHIP_TARGETS);
+    }
 }
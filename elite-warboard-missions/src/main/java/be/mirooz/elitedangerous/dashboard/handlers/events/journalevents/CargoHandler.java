@@ -2,12 +2,14 @@ package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.dashboard.model.registries.commander.CommanderStatus;
 import be.mirooz.elitedangerous.dashboard.model.events.Cargo;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.journal.JournalService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.CargoEventNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 
 public class CargoHandler implements JournalEventHandler {
@@ -95,5 +97,8 @@ public class CargoHandler implements JournalEventHandler {
         return item;
     }
 
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.COMMANDER_SHIP);
+    }
 }
-
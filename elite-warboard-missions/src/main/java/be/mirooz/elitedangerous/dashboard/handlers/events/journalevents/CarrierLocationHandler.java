@@ -1,9 +1,12 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.CarrierTradeService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ColonisationNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 public class CarrierLocationHandler implements JournalEventHandler {
 
     private static final String FLEET_CARRIER_TYPE = "FleetCarrier";
@@ -35,4 +38,9 @@ public class CarrierLocationHandler implements JournalEventHandler {
             System.err.println("Erreur lors du traitement de CarrierLocation: " + e.getMessage());
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.CARRIER_STATUS);
+    }
 }
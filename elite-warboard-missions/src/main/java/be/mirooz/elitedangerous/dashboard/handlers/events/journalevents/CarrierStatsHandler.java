@@ -1,9 +1,12 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.CarrierTradeService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ColonisationNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 public class CarrierStatsHandler implements JournalEventHandler {
 
     private static final String FLEET_CARRIER_TYPE = "FleetCarrier";
@@ -37,4 +40,9 @@ public class CarrierStatsHandler implements JournalEventHandler {
             System.err.println("Erreur lors du traitement de CarrierStats: " + e.getMessage());
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.CARRIER_STATUS);
+    }
 }
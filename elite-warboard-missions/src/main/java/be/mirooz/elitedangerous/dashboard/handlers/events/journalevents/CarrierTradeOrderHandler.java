@@ -3,10 +3,13 @@ package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 import be.mirooz.elitedangerous.commons.lib.models.commodities.CarrierCommodityResolver;
 import be.mirooz.elitedangerous.commons.lib.models.commodities.ICommodity;
 import be.mirooz.elitedangerous.dashboard.model.colonisation.CarrierTradeOrderEntry;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.CarrierTradeService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ColonisationNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 public class CarrierTradeOrderHandler implements JournalEventHandler {
 
     private final CarrierTradeService carrierTradeService = CarrierTradeService.getInstance();
@@ -59,4 +62,9 @@ public class CarrierTradeOrderHandler implements JournalEventHandler {
             System.err.println("Erreur lors du traitement de CarrierTradeOrder: " + e.getMessage());
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.CARRIER_STATUS, StoreNames.COMMODITY_REGISTRY);
+    }
 }
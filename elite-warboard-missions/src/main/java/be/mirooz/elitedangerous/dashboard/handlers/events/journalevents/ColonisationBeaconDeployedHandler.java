@@ -2,10 +2,13 @@ package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.dashboard.model.colonisation.ColonisationJournalContext;
 import be.mirooz.elitedangerous.dashboard.model.registries.commander.CommanderStatus;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.ColonisationService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ColonisationNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 public class ColonisationBeaconDeployedHandler implements JournalEventHandler {
 
     private final ColonisationService colonisationService = ColonisationService.getInstance();
@@ -30,4 +33,9 @@ public class ColonisationBeaconDeployedHandler implements JournalEventHandler {
             System.err.println("Erreur lors du traitement de ColonisationBeaconDeployed: " + e.getMessage());
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.COLONISATION_REGISTRY);
+    }
 }
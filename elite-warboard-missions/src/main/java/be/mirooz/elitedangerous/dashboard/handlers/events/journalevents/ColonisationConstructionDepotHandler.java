@@ -5,12 +5,14 @@ import be.mirooz.elitedangerous.dashboard.model.colonisation.ColonisationJournal
 import be.mirooz.elitedangerous.dashboard.model.colonisation.ConstructionResource;
 import be.mirooz.elitedangerous.dashboard.model.colonisation.ConstructionStatus;
 import be.mirooz.elitedangerous.dashboard.model.registries.commander.CommanderStatus;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.ColonisationService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ColonisationNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class ColonisationConstructionDepotHandler implements JournalEventHandler {
 
@@ -58,4 +60,9 @@ public class ColonisationConstructionDepotHandler implements JournalEventHandler
             System.err.println("Erreur lors du traitement de ColonisationConstructionDepot: " + e.getMessage());
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.COLONISATION_REGISTRY);
+    }
 }
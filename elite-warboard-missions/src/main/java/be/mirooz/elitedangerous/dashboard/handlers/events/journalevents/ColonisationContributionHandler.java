@@ -2,6 +2,8 @@ package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 /**
  * Journal {@code ColonisationContribution} : apports de stocks au site de construction (dépôt côté chantier).
  * Parsing des champs pour des traitements ultérieurs.
@@ -28,4 +30,9 @@ public class ColonisationContributionHandler implements JournalEventHandler {
             }
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of();
+    }
 }
@@ -3,6 +3,8 @@ package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ColonisationNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 public class ColonisationSystemClaimHandler implements JournalEventHandler {
 
     @Override
@@ -21,4 +23,9 @@ public class ColonisationSystemClaimHandler implements JournalEventHandler {
             System.err.println("Erreur lors du traitement de ColonisationSystemClaim: " + e.getMessage());
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of();
+    }
 }
@@ -1,8 +1,11 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.ShipTargetService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 public class CommitCrimeHandler implements JournalEventHandler {
     private final ShipTargetService shipTargetService = ShipTargetService.getInstance();;
 
@@ -20,4 +23,9 @@ public class CommitCrimeHandler implements JournalEventHandler {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.SHIP_TARGETS);
+    }
 }
@@ -2,6 +2,8 @@ package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 public class DefaultJournalEventHandler implements JournalEventHandler {
 
     @Override
@@ -14,4 +16,9 @@ public class DefaultJournalEventHandler implements JournalEventHandler {
         String eventType = jsonNode.path("event").asText("UNKNOWN");
       //  System.out.println("[JournalEvent] Aucun handler trouvé pour l'événement : " + eventType);
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of();
+    }
 }
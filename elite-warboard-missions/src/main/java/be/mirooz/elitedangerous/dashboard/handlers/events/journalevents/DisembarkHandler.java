@@ -5,10 +5,12 @@ import be.mirooz.elitedangerous.dashboard.model.registries.commander.CommanderSt
 import be.mirooz.elitedangerous.dashboard.model.exploration.ACelesteBody;
 import be.mirooz.elitedangerous.dashboard.model.exploration.PlaneteDetail;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.PlaneteRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ExplorationRefreshNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Handler pour l'événement Disembark du journal Elite Dangerous
@@ -74,5 +76,9 @@ public class DisembarkHandler implements JournalEventHandler {
     public String getEventType() {
         return "Disembark";
     }
-}
 
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.COMMANDER_STATUS, StoreNames.EXPLORATION_DATA_SALE_REGISTRY);
+    }
+}
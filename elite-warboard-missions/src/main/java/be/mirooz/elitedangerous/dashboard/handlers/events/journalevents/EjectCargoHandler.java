@@ -3,10 +3,12 @@ package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 import be.mirooz.elitedangerous.commons.lib.models.commodities.minerals.Mineral;
 import be.mirooz.elitedangerous.commons.lib.models.commodities.minerals.MineralFactory;
 import be.mirooz.elitedangerous.dashboard.model.registries.commander.CommanderStatus;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.MiningStatsService;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Handler pour l'événement EjectCargo du journal Elite Dangerous
@@ -59,4 +61,9 @@ public class EjectCargoHandler implements JournalEventHandler {
     public String getEventType() {
         return "EjectCargo";
     }
-}
\ No newline at end of file
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.COMMANDER_SHIP, StoreNames.MINING_STAT_REGISTRY);
+    }
+}
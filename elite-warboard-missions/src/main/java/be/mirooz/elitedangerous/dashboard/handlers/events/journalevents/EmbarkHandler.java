@@ -1,9 +1,12 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.dashboard.model.registries.commander.CommanderStatus;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ExplorationRefreshNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 /**
  * Handler pour l'événement Embark du journal Elite Dangerous
  * <p>
@@ -46,5 +49,9 @@ public class EmbarkHandler implements JournalEventHandler {
     public String getEventType() {
         return "Embark";
     }
-}
 
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.COMMANDER_STATUS);
+    }
+}
@@ -1,9 +1,12 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.NavRouteService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.NavRouteNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 /**
  * Handler pour l'événement FSDTarget du journal Elite Dangerous
  * Récupère le RemainingJumpsInRoute et le stocke dans le registre
@@ -42,5 +45,9 @@ public class FSDTargetHandler implements JournalEventHandler {
             e.printStackTrace();
         }
     }
-}
 
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.EXPLORATION_MODE);
+    }
+}
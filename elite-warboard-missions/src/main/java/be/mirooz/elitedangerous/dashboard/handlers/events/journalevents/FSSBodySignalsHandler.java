@@ -4,6 +4,8 @@ import be.mirooz.elitedangerous.dashboard.model.exploration.BiologicalSignalProc
 import be.mirooz.elitedangerous.dashboard.service.listeners.ExplorationRefreshNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 /**
  * Handler pour l'événement FSSBodySignals du journal Elite Dangerous
  * <p>
@@ -36,6 +38,7 @@ public class FSSBodySignalsHandler implements JournalEventHandler {
         try {
             String bodyName = jsonNode.path("BodyName").asText();
             int bodyID = jsonNode.path("BodyID").asInt();
+            long systemAddress = jsonNode.path("SystemAddress").asLong();
 
             // Vérifier si l'événement contient des signaux biologiques
             if (jsonNode.has("Signals") && jsonNode.get("Signals").isArray()) {
@@ -45,7 +48,7 @@ public class FSSBodySignalsHandler implements JournalEventHandler {
                     // Si c'est un signal biologique, l'ajouter au processeur
                     if ("$SAA_SignalType_Biological;".equals(signalType)) {
                         int count = signal.path("Count").asInt(1);
-                        signalProcessor.addPendingBiologicalSignal(bodyID, bodyName, count,1);
+                        signalProcessor.addPendingBiologicalSignal(systemAddress, bodyID, bodyName, count, 1);
                         System.out.printf("🌱 Signal biologique détecté: %s (BodyID: %d, Count: %d)%n", 
                                 bodyName, bodyID, count);
                         // Notifier le refresh du panneau d'exploration
@@ -58,5 +61,10 @@ public class FSSBodySignalsHandler implements JournalEventHandler {
             e.printStackTrace();
         }
     }
-}
 
+    @Override
+    public Set<String> modifiedStores() {
+        // Signal mis en attente : le calcul bio, appliqué en tâche de fond, signale lui-même ses stores
+        return Set.of();
+    }
+}
@@ -1,8 +1,11 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.MissionService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 public class FactionKillBondHandler implements JournalEventHandler {
     private final MissionService missionService;
 
@@ -28,4 +31,9 @@ public class FactionKillBondHandler implements JournalEventHandler {
             //114 025 loggé (4 cilbe)
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.MISSIONS, StoreNames.DESTROYED_SHIPS, StoreNames.SHIP_TARGETS);
+    }
 }
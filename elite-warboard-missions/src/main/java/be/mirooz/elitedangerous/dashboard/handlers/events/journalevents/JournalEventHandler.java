@@ -1,11 +1,23 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.dashboard.model.registries.combat.MissionsRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 public interface JournalEventHandler {
     final MissionsRegistry missionList = MissionsRegistry.getInstance();
     String getEventType();
 
     void handle(JsonNode jsonNode);
+
+    /**
+     * Stores persistés que {@link #handle} peut modifier ({@link StoreNames}) : le dispatcher les
+     * signale à la persistance, dont les checkpoints ne capturent que les stores signalés. Tous
+     * par défaut, par prudence.
+     */
+    default Set<String> modifiedStores() {
+        return StoreNames.ALL;
+    }
 }
@@ -1,10 +1,13 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.dashboard.model.registries.commander.CommanderStatus;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import static be.mirooz.elitedangerous.commons.lib.models.commodities.LimpetType.LIMPET;
 
+import java.util.Set;
+
 /**
  * Handler pour l'événement LaunchDrone du journal Elite Dangerous
  * 
@@ -38,4 +41,9 @@ public class LaunchDroneHandler implements JournalEventHandler {
     public String getEventType() {
         return "LaunchDrone";
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.COMMANDER_SHIP);
+    }
 }
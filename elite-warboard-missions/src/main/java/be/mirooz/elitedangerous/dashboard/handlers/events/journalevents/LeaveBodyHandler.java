@@ -1,10 +1,13 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.DirectionReaderService;
 import be.mirooz.elitedangerous.dashboard.service.ExplorationService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ExplorationRefreshNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 /**
  * Handler pour l'événement BuyDrones du journal Elite Dangerous
  * <p>
@@ -47,4 +50,9 @@ public class LeaveBodyHandler implements JournalEventHandler {
     public String getEventType() {
         return "LeaveBody";
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.EXPLORATION_DATA_SALE_REGISTRY);
+    }
 }
@@ -1,9 +1,12 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.CarrierTradeService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ColonisationNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 /**
  * Handler pour l'événement MarketBuy du journal Elite Dangerous.
  */
@@ -36,4 +39,9 @@ public class MarketBuyHandler implements JournalEventHandler {
     public String getEventType() {
         return "MarketBuy";
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.CARRIER_STATUS, StoreNames.COMMODITY_REGISTRY);
+    }
 }
@@ -1,6 +1,7 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.dashboard.model.registries.commander.CommanderStatus;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.CarrierTradeService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ColonisationNotificationService;
 import be.mirooz.elitedangerous.commons.lib.models.commodities.ICommodityFactory;
@@ -8,6 +9,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 
 import static be.mirooz.elitedangerous.commons.lib.models.commodities.ICommodity.CommodityType.MINERAL;
 
+import java.util.Set;
+
 /**
  * Handler pour l'événement MarketSell du journal Elite Dangerous
  * <p>
@@ -71,4 +74,9 @@ public class MarketSellHandler implements JournalEventHandler {
     public String getEventType() {
         return "MarketSell";
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.CARRIER_STATUS, StoreNames.COMMODITY_REGISTRY, StoreNames.COMMANDER_SHIP);
+    }
 }
@@ -1,12 +1,14 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.dashboard.model.registries.commander.CommanderStatus;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.MiningStatsService;
 import be.mirooz.elitedangerous.commons.lib.models.commodities.minerals.Mineral;
 import be.mirooz.elitedangerous.commons.lib.models.commodities.minerals.MineralFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Handler pour l'événement MiningRefined du journal Elite Dangerous
@@ -54,4 +56,9 @@ public class MiningRefinedHandler implements JournalEventHandler {
     public String getEventType() {
         return "MiningRefined";
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.COMMANDER_SHIP, StoreNames.MINING_STAT_REGISTRY);
+    }
 }
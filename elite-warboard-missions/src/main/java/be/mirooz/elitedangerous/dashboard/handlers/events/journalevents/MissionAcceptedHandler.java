@@ -5,10 +5,12 @@ import be.mirooz.elitedangerous.dashboard.model.commander.Mission;
 import be.mirooz.elitedangerous.dashboard.model.enums.MissionStatus;
 import be.mirooz.elitedangerous.dashboard.model.enums.MissionType;
 import be.mirooz.elitedangerous.dashboard.model.enums.TargetType;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.listeners.MissionEventNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 import static be.mirooz.elitedangerous.dashboard.util.DateUtil.parseTimestamp;
 
@@ -86,4 +88,9 @@ public class MissionAcceptedHandler implements JournalEventHandler {
             System.err.println("Erreur lors du parsing de MissionAccepted: " + e.getMessage());
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.MISSIONS);
+    }
 }
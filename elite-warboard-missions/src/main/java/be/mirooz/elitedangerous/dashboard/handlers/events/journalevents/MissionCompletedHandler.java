@@ -2,10 +2,13 @@ package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.dashboard.model.commander.Mission;
 import be.mirooz.elitedangerous.dashboard.model.enums.MissionStatus;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.CombatMissionHistoryService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.MissionEventNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 public class MissionCompletedHandler implements JournalEventHandler {
     
     private final CombatMissionHistoryService historyService = CombatMissionHistoryService.getInstance();
@@ -21,7 +24,7 @@ public class MissionCompletedHandler implements JournalEventHandler {
             String missionId = jsonNode.get("MissionID").asText();
             Mission mission = missionList.getGlobalMissionMap().get(missionId);
             if (mission != null) {
-                mission.setStatus(MissionStatus.COMPLETED);
+                missionList.updateMissionStatus(mission, MissionStatus.COMPLETED);
                 // Pour les missions complétées, mettre le compteur au maximum
                 // Si targetCount est 0, essayer de le récupérer depuis l'événement
                 if (mission.getTargetCount() == 0 && jsonNode.has("KillCount")) {
@@ -37,4 +40,9 @@ public class MissionCompletedHandler implements JournalEventHandler {
             System.err.println("Erreur lors du parsing de MissionCompleted: " + e.getMessage());
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.MISSIONS);
+    }
 }
@@ -2,9 +2,12 @@ package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.dashboard.model.commander.Mission;
 import be.mirooz.elitedangerous.dashboard.model.enums.MissionStatus;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.listeners.MissionEventNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 public class MissionFailedHandler implements JournalEventHandler {
     @Override
     public String getEventType() {
@@ -18,11 +21,16 @@ public class MissionFailedHandler implements JournalEventHandler {
             Mission mission = missionList.getGlobalMissionMap().get(missionId);
             if (mission != null) {
                 System.out.println("Mission failed : " + missionId + " Type : " + mission.getType().getDisplayName());
-                mission.setStatus(MissionStatus.FAILED);
+                missionList.updateMissionStatus(mission, MissionStatus.FAILED);
                 MissionEventNotificationService.getInstance().notifyOnMissionStatusChanged();
             }
         } catch (Exception e) {
             System.err.println("Erreur lors du parsing de MissionFailed: " + e.getMessage());
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.MISSIONS);
+    }
 }
@@ -2,11 +2,14 @@ package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.dashboard.model.commander.Mission;
 import be.mirooz.elitedangerous.dashboard.model.registries.combat.MissionsRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.listeners.MissionEventNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.util.Set;
+
 public class MissionRedirectedHandler implements JournalEventHandler {
     
     private final MissionsRegistry missionList = MissionsRegistry.getInstance();
@@ -68,4 +71,9 @@ public class MissionRedirectedHandler implements JournalEventHandler {
                 && mission.isShipMassacreActive()
                 && (mission.getCurrentCount() != mission.getTargetCount());
     }
-}
\ No newline at end of file
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.MISSIONS);
+    }
+}
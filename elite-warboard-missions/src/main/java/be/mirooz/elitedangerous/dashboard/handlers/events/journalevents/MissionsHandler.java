@@ -1,8 +1,11 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.dashboard.model.registries.combat.MissionsRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 /**
  * Handler pour l'événement Missions du journal Elite Dangerous
  * 
@@ -63,4 +66,9 @@ public class MissionsHandler implements JournalEventHandler {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.MISSIONS);
+    }
 }
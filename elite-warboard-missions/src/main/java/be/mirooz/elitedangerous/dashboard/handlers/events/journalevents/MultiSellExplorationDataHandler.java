@@ -3,11 +3,13 @@ package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 import be.mirooz.elitedangerous.dashboard.model.exploration.SystemVisited;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.ExplorationDataSaleRegistry;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.SystemVisitedRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ExplorationRefreshNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Handler pour l'événement MultiSellExplorationData du journal Elite Dangerous
@@ -48,6 +50,7 @@ public class MultiSellExplorationDataHandler implements JournalEventHandler {
                     SystemVisited systemVisited = SystemVisitedRegistry.getInstance().getSystem(systemName);
                     discoveredSystems.add(systemVisited);
                     systemVisited.setSold(true);
+                    SystemVisitedRegistry.getInstance().markChanged(systemName);
                 });
             }
 
@@ -65,5 +68,9 @@ public class MultiSellExplorationDataHandler implements JournalEventHandler {
             e.printStackTrace();
         }
     }
-}
 
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.SYSTEM_VISITED_REGISTRY, StoreNames.EXPLORATION_DATA_SALE_REGISTRY);
+    }
+}
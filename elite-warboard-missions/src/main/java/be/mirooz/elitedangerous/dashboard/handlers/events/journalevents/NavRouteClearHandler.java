@@ -1,9 +1,12 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.NavRouteService;
 import be.mirooz.elitedangerous.dashboard.view.common.context.DashboardContext;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 /**
  * Handler pour l'événement NavRouteClear
  * Rafraîchit l'affichage de la route en mode Stratum Undiscovered
@@ -29,5 +32,9 @@ public class NavRouteClearHandler implements JournalEventHandler {
         navRouteService.loadAndStoreNavRoute();
 
     }
-}
 
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.EXPLORATION_MODE);
+    }
+}
@@ -1,9 +1,12 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.NavRouteService;
 import be.mirooz.elitedangerous.dashboard.view.common.context.DashboardContext;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 /**
  * Handler pour l'événement NavRoute
  * Lit le fichier NavRoute.json immédiatement si le batch n'est pas en cours,
@@ -31,5 +34,9 @@ public class NavRouteHandler implements JournalEventHandler {
         // Cela n'affectera pas la route Stratum qui est stockée séparément
         navRouteService.loadAndStoreNavRoute();
     }
-}
 
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.EXPLORATION_MODE);
+    }
+}
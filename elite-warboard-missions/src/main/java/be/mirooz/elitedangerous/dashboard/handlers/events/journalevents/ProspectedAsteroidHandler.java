@@ -1,6 +1,7 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.dashboard.model.events.ProspectedAsteroid;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.MiningService;
 import be.mirooz.elitedangerous.commons.lib.models.commodities.minerals.MineralType;
 import be.mirooz.elitedangerous.commons.lib.models.commodities.minerals.Mineral;
@@ -9,6 +10,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 public class ProspectedAsteroidHandler implements JournalEventHandler {
@@ -99,5 +101,8 @@ public class ProspectedAsteroidHandler implements JournalEventHandler {
         return material;
     }
 
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.MINING_STAT_REGISTRY);
+    }
 }
-
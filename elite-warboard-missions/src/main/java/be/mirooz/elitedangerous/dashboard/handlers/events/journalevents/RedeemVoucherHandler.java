@@ -1,9 +1,12 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.dashboard.model.registries.combat.DestroyedShipsRegistery;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.listeners.MissionEventNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 public class RedeemVoucherHandler implements JournalEventHandler {
     private final DestroyedShipsRegistery destroyedShipsRegistery;
 
@@ -38,4 +41,9 @@ public class RedeemVoucherHandler implements JournalEventHandler {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.DESTROYED_SHIPS);
+    }
 }
@@ -3,9 +3,11 @@ package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 import be.mirooz.elitedangerous.dashboard.model.exploration.ACelesteBody;
 import be.mirooz.elitedangerous.dashboard.model.exploration.PlaneteDetail;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.PlaneteRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Handler pour l'événement SAAScanComplete du journal Elite Dangerous
@@ -59,5 +61,9 @@ public class SAAScanCompleteHandler implements JournalEventHandler {
             e.printStackTrace();
         }
     }
-}
 
+    @Override
+    public Set<String> modifiedStores() {
+        return StoreNames.CELESTE_BODIES;
+    }
+}
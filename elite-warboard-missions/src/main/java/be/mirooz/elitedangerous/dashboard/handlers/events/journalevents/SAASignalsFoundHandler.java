@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Handler pour l'événement SAASignalsFound du journal Elite Dangerous
@@ -42,6 +43,7 @@ public class SAASignalsFoundHandler implements JournalEventHandler {
         try {
             String bodyName = jsonNode.path("BodyName").asText();
             int bodyID = jsonNode.path("BodyID").asInt();
+            long systemAddress = jsonNode.path("SystemAddress").asLong();
 
             // Vérifier si l'événement contient des signaux biologiques
             if (jsonNode.has("Signals") && jsonNode.get("Signals").isArray()) {
@@ -68,7 +70,7 @@ public class SAASignalsFoundHandler implements JournalEventHandler {
                         }
                         
                         // Ajouter le signal avec niveau 2 et les genuses
-                        signalProcessor.addPendingBiologicalSignal(bodyID, bodyName, count, 2, genuses);
+                        signalProcessor.addPendingBiologicalSignal(systemAddress, bodyID, bodyName, count, 2, genuses);
                         System.out.printf("🌱 Signal biologique SAA détecté: %s (BodyID: %d, Count: %d, Genuses: %s)%n", 
                                 bodyName, bodyID, count, genuses);
                     }
@@ -79,5 +81,10 @@ public class SAASignalsFoundHandler implements JournalEventHandler {
             e.printStackTrace();
         }
     }
-}
 
+    @Override
+    public Set<String> modifiedStores() {
+        // Signal mis en attente : le calcul bio, appliqué en tâche de fond, signale lui-même ses stores
+        return Set.of();
+    }
+}
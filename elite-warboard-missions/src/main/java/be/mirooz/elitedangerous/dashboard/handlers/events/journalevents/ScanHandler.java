@@ -1,11 +1,11 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.biologic.*;
-import be.mirooz.elitedangerous.dashboard.model.exploration.BiologicalSignalProcessor;
 import be.mirooz.elitedangerous.dashboard.model.exploration.ParentBody;
 import be.mirooz.elitedangerous.dashboard.model.exploration.PlaneteDetail;
 import be.mirooz.elitedangerous.dashboard.model.exploration.StarDetail;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.PlaneteRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ExplorationRefreshNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Handler pour l'événement Scan du journal Elite Dangerous
@@ -162,8 +163,8 @@ public class ScanHandler implements JournalEventHandler {
                         .build();
 
                 // Enregistrement de la planète dans le registre
+                // (les signaux bio en attente sont résolus par le hook d'insertion du registre)
                 PlaneteRegistry.getInstance().addOrUpdateBody(planeteDetail);
-                BiologicalSignalProcessor.getInstance().startProcessingIfPresent(bodyName);
 
             }
             // Notifier le refresh du panneau d'exploration
@@ -190,5 +191,9 @@ public class ScanHandler implements JournalEventHandler {
         return AtmosphereType.fromString(atmosphere);
 
     }
-}
 
+    @Override
+    public Set<String> modifiedStores() {
+        return StoreNames.CELESTE_BODIES;
+    }
+}
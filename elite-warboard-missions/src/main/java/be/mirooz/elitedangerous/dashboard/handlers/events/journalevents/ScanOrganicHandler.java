@@ -4,11 +4,13 @@ import be.mirooz.elitedangerous.biologic.ScanTypeBio;
 import be.mirooz.elitedangerous.dashboard.model.exploration.PlaneteDetail;
 import be.mirooz.elitedangerous.dashboard.model.exploration.ScanOrganicData;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.PlaneteRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.ExplorationService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ExplorationRefreshNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Handler pour l'événement ScanOrganic du journal Elite Dangerous
@@ -89,5 +91,10 @@ public class ScanOrganicHandler implements JournalEventHandler {
             e.printStackTrace();
         }
     }
-}
 
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.PLANETE_REGISTRY, StoreNames.SYSTEM_VISITED_REGISTRY,
+                StoreNames.EXPLORATION_DATA_SALE_REGISTRY, StoreNames.ORGANIC_DATA_SALE_REGISTRY);
+    }
+}
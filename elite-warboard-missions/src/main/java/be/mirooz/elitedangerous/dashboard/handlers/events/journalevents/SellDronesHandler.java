@@ -1,10 +1,13 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
 import be.mirooz.elitedangerous.dashboard.model.registries.commander.CommanderStatus;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import static be.mirooz.elitedangerous.commons.lib.models.commodities.LimpetType.LIMPET;
 
+import java.util.Set;
+
 /**
  * Handler pour l'événement SellDrones du journal Elite Dangerous
  * <p>
@@ -48,4 +51,9 @@ public class SellDronesHandler implements JournalEventHandler {
     public String getEventType() {
         return "SellDrones";
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.COMMANDER_SHIP);
+    }
 }
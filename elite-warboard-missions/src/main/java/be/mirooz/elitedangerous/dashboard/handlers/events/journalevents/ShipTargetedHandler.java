@@ -1,9 +1,12 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.MissionService;
 import be.mirooz.elitedangerous.dashboard.service.ShipTargetService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 public class ShipTargetedHandler implements JournalEventHandler {
     private final ShipTargetService shipTargetService = ShipTargetService.getInstance();;
 
@@ -21,4 +24,9 @@ public class ShipTargetedHandler implements JournalEventHandler {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.SHIP_TARGETS);
+    }
 }
@@ -1,10 +1,13 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.DirectionReaderService;
 import be.mirooz.elitedangerous.dashboard.service.MiningStatsService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ExplorationRefreshNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 /**
  * Handler pour l'événement SupercruiseEntry du journal Elite Dangerous
  * 
@@ -47,4 +50,9 @@ public class SupercruiseEntryHandler implements JournalEventHandler {
     public String getEventType() {
         return "SupercruiseEntry";
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.MINING_STAT_REGISTRY, StoreNames.EXPLORATION_DATA_SALE_REGISTRY);
+    }
 }
@@ -1,9 +1,12 @@
 package be.mirooz.elitedangerous.dashboard.handlers.events.journalevents;
 
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.MiningStatsService;
 import be.mirooz.elitedangerous.dashboard.model.registries.commander.CommanderStatus;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Set;
+
 /**
  * Handler pour l'événement SupercruiseExit du journal Elite Dangerous
  * 
@@ -51,4 +54,9 @@ public class SupercruiseExitHandler implements JournalEventHandler {
     public String getEventType() {
         return "SupercruiseExit";
     }
+
+    @Override
+    public Set<String> modifiedStores() {
+        return Set.of(StoreNames.COMMANDER_STATUS, StoreNames.MINING_STAT_REGISTRY);
+    }
 }
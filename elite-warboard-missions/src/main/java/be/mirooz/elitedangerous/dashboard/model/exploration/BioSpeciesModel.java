@@ -0,0 +1,570 @@
+package be.mirooz.elitedangerous.dashboard.model.exploration;
+
+import be.mirooz.elitedangerous.biologic.AtmosphereType;
+import be.mirooz.elitedangerous.biologic.BioSpecies;
+import be.mirooz.elitedangerous.biologic.BioSpeciesFactory;
+import be.mirooz.elitedangerous.biologic.BodyType;
+import be.mirooz.elitedangerous.biologic.VariantMethods;
+import be.mirooz.elitedangerous.biologic.VolcanismType;
+import be.mirooz.elitedangerous.service.BioSpeciesService;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Modèle de prédiction exobiologique "compilé" une seule fois à partir du catalogue
+ * {@link BioSpeciesService} : même règles et mêmes résultats que la lecture directe des
+ * {@link BioSpeciesFactory.HistogramData}, mais sans re-sommer les histogrammes à chaque appel.
+ *
+ * <ul>
+ *   <li>histogrammes type de corps / atmosphère / volcanisme → tableaux {@code double[]} déjà
+ *       normalisés, indexés par ordinal d'enum (volcanisme : {@code corps × volcanisme}),</li>
+ *   <li>bins température / gravité / pression → bornes en {@code double[]}, recherche
+ *       dichotomique quand les bins sont triés et disjoints (cas du catalogue), parcours
+ *       linéaire sinon,</li>
+ *   <li>rareté globale ({@code count / total du dataset}) précalculée par espèce.</li>
+ * </ul>
+ *
+ * <p>Un index inversé (bitsets d'espèces par type de corps, atmosphère et couple corps ×
+ * volcanisme) restreint l'évaluation aux seules espèces candidates pour la clé
+ * {@code (BodyType, AtmosphereType, VolcanismType)} de la planète, éventuellement réduites aux
+ * genres détectés par {@code SAASignalsFound}. {@link #score(PlaneteDetail, long[], int[], double[])}
+ * évalue ces candidates sans allocation. Les totaux sont calculés avec les mêmes expressions que l'implémentation
+ * historique (mêmes sommes flottantes), d'où des probabilités identiques au bit près.</p>
+ */
+public final class BioSpeciesModel {
+
+    private static final int BODY_TYPES = BodyType.values().length;
+    private static final int ATMOSPHERE_TYPES = AtmosphereType.values().length;
+    private static final int VOLCANISM_TYPES = VolcanismType.values().length;
+
+    /** {@code false} : pas de préchargement au démarrage, catalogue chargé au premier scan bio. */
+    public static final String WARMUP_PROP = "warboard.bioforge.warmup";
+
+    private static volatile BioSpeciesModel instance;
+    private static final Object LOAD_LOCK = new Object();
+
+    private final List<BioSpecies> species;
+    private final CompiledSpecies[] compiled;
+    private final Map<BioSpecies, CompiledSpecies> bySpecies = new IdentityHashMap<>();
+    private final double totalBodies;
+
+    // -------- Index inversé : une ligne de bits (une par espèce) par valeur de clé --------
+    private final int words;
+    private final long[][] byBodyType;
+    private final long[][] byAtmosphere;
+    private final long[][] byBodyVolcanism;
+    /** Préfixe de genre (4 premières lettres, minuscules) de chaque espèce, {@code null} si inconnu. */
+    private final String[] genusPrefixes;
+
+    private final AtomicLong scans = new AtomicLong();
+    private final AtomicLong candidates = new AtomicLong();
+    private final AtomicLong matches = new AtomicLong();
+
+    private BioSpeciesModel(List<BioSpecies> species) {
+        this.species = species;
+        this.totalBodies = BioSpeciesMatcher.computeTotalBodies(species);
+        this.compiled = new CompiledSpecies[species.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = new CompiledSpecies(species.get(i));
+            bySpecies.put(species.get(i), compiled[i]);
+        }
+        this.words = (compiled.length + 63) >>> 6;
+        this.byBodyType = new long[BODY_TYPES][words];
+        this.byAtmosphere = new long[ATMOSPHERE_TYPES][words];
+        this.byBodyVolcanism = new long[BODY_TYPES * VOLCANISM_TYPES][words];
+        this.genusPrefixes = new String[compiled.length];
+        for (int i = 0; i < compiled.length; i++) {
+            CompiledSpecies s = compiled[i];
+            genusPrefixes[i] = genusPrefix(species.get(i).getFdevname());
+            if (!s.hasHistogram) {
+                continue; // jamais compatible
+            }
+            long bit = 1L << i;
+            for (int b = 0; b < BODY_TYPES; b++) {
+                if (s.bodyTypes.unrestricted || s.bodyTypes.present[b]) {
+                    byBodyType[b][i >>> 6] |= bit;
+                }
+            }
+            for (int a = 0; a < ATMOSPHERE_TYPES; a++) {
+                if (s.atmosTypes.unrestricted || s.atmosTypes.present[a]) {
+                    byAtmosphere[a][i >>> 6] |= bit;
+                }
+            }
+            for (int bv = 0; bv < BODY_TYPES * VOLCANISM_TYPES; bv++) {
+                if (s.volcanicBodyTypes.unrestricted || s.volcanicBodyTypes.present[bv]) {
+                    byBodyVolcanism[bv][i >>> 6] |= bit;
+                }
+            }
+        }
+    }
+
+    /**
+     * Modèle du catalogue {@link BioSpeciesService}, compilé au premier appel puis mis en cache.
+     */
+    public static BioSpeciesModel getInstance() throws URISyntaxException, IOException {
+        if (instance == null) {
+            synchronized (LOAD_LOCK) {
+                if (instance == null) {
+                    long start = System.currentTimeMillis();
+                    BioSpeciesModel model = new BioSpeciesModel(BioSpeciesService.getInstance().getSpecies());
+                    BioSpeciesMatcher.TOTAL_BODIES_IN_DATASET = model.totalBodies;
+                    System.out.println("[BioSpeciesModel] " + model.compiled.length + " espèces compilées en "
+                            + (System.currentTimeMillis() - start) + " ms");
+                    instance = model;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Charge et compile le catalogue en tâche de fond (thread daemon) pour que le premier
+     * {@code calculBioScan} ne paie pas ce coût en plein vol. Sans effet si
+     * {@value #WARMUP_PROP}{@code =false}.
+     */
+    public static void warmUpAsync() {
+        if (instance != null || !Boolean.parseBoolean(System.getProperty(WARMUP_PROP, "true"))) {
+            return;
+        }
+        Thread t = new Thread(() -> {
+            try {
+                getInstance();
+            } catch (Exception e) {
+                System.err.println("[BioSpeciesModel] Préchargement impossible : " + e.getMessage());
+            }
+        }, "BioSpeciesModel-warmup");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        t.start();
+    }
+
+    /** @return le catalogue, dans l'ordre des indices utilisés par {@link #score}. */
+    public List<BioSpecies> getSpecies() {
+        return species;
+    }
+
+    public int size() {
+        return compiled.length;
+    }
+
+    public double getTotalBodies() {
+        return totalBodies;
+    }
+
+    /**
+     * Évalue {@code planet} contre tout le catalogue, sans allocation.
+     *
+     * @see #score(PlaneteDetail, long[], int[], double[])
+     */
+    public int score(PlaneteDetail planet, int[] matchedIndices, double[] probabilities) {
+        return score(planet, null, matchedIndices, probabilities);
+    }
+
+    /**
+     * Évalue {@code planet} contre les seules espèces candidates de l'index inversé, sans
+     * allocation. Le résultat est identique à une évaluation du catalogue complet (restreint à
+     * {@code genusMask}) : l'index n'écarte que des espèces dont le corps, l'atmosphère ou le
+     * volcanisme est incompatible.
+     *
+     * @param genusMask      espèces autorisées ({@link #genusMask}), {@code null} = toutes
+     * @param matchedIndices reçoit les indices (dans {@link #getSpecies()}) des espèces compatibles,
+     *                       dans l'ordre du catalogue ; taille ≥ {@link #size()}
+     * @param probabilities  reçoit la probabilité de chaque espèce compatible (même position)
+     * @return nombre d'espèces compatibles
+     */
+    public int score(PlaneteDetail planet, long[] genusMask, int[] matchedIndices, double[] probabilities) {
+        int matched = 0;
+        int visited = 0;
+        BodyType planetClass = planet.getPlanetClass();
+        if (planetClass != null) {
+            long[] body = byBodyType[planetClass.ordinal()];
+            long[] atmos = byAtmosphere[atmosphereKey(planet).ordinal()];
+            long[] volc = byBodyVolcanism[volcanicIndex(planetClass, volcanismKey(planet))];
+            for (int w = 0; w < words; w++) {
+                long bits = body[w] & atmos[w] & volc[w];
+                if (genusMask != null) {
+                    bits &= genusMask[w];
+                }
+                while (bits != 0) {
+                    int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    visited++;
+                    CompiledSpecies s = compiled[i];
+                    if (s.matches(planet)) {
+                        matchedIndices[matched] = i;
+                        probabilities[matched] = s.probability(planet, totalBodies);
+                        matched++;
+                    }
+                }
+            }
+        }
+        scans.incrementAndGet();
+        candidates.addAndGet(visited);
+        matches.addAndGet(matched);
+        return matched;
+    }
+
+    /** @return {@code true} si au moins une espèce du catalogue est compatible avec {@code planet}. */
+    public boolean anyMatch(PlaneteDetail planet) {
+        BodyType planetClass = planet.getPlanetClass();
+        if (planetClass == null) {
+            return false;
+        }
+        long[] body = byBodyType[planetClass.ordinal()];
+        long[] atmos = byAtmosphere[atmosphereKey(planet).ordinal()];
+        long[] volc = byBodyVolcanism[volcanicIndex(planetClass, volcanismKey(planet))];
+        for (int w = 0; w < words; w++) {
+            long bits = body[w] & atmos[w] & volc[w];
+            while (bits != 0) {
+                int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (compiled[i].matches(planet)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Masque des espèces appartenant à l'un des genres {@code genuses} (noms codex
+     * {@code $Codex_Ent_<Genre>_...}), comparés sur leurs 4 premières lettres comme le filtre
+     * de niveau 2 de {@link PlaneteDetail#calculBioScan}.
+     *
+     * @return le masque, ou {@code null} si aucun genre n'est fourni
+     */
+    public long[] genusMask(List<String> genuses) {
+        if (genuses == null || genuses.isEmpty()) {
+            return null;
+        }
+        long[] mask = new long[words];
+        for (String genus : genuses) {
+            String prefix = genusPrefix(genus);
+            if (prefix == null) {
+                continue;
+            }
+            for (int i = 0; i < genusPrefixes.length; i++) {
+                if (prefix.equals(genusPrefixes[i])) {
+                    mask[i >>> 6] |= 1L << i;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /** Candidates évaluées par scan, avant (catalogue complet) et après index. */
+    public String candidateStats() {
+        long n = scans.get();
+        double perScan = n == 0 ? 0.0 : (double) candidates.get() / n;
+        double matchedPerScan = n == 0 ? 0.0 : (double) matches.get() / n;
+        return String.format(Locale.ROOT, "%d scans, candidates/scan : %d sans index → %.1f avec index (%.1f compatibles)",
+                n, compiled.length, perScan, matchedPerScan);
+    }
+
+    private static AtmosphereType atmosphereKey(PlaneteDetail planet) {
+        AtmosphereType atmosphere = planet.getAtmosphere();
+        return atmosphere != null ? atmosphere : AtmosphereType.NO_ATMOSPHERE;
+    }
+
+    private static VolcanismType volcanismKey(PlaneteDetail planet) {
+        VolcanismType volcanism = planet.getVolcanism();
+        return volcanism != null ? volcanism : VolcanismType.NO_VOLCANISM;
+    }
+
+    private static String genusPrefix(String codexName) {
+        if (codexName == null) {
+            return null;
+        }
+        String[] parts = codexName.split("_");
+        if (parts.length < 3 || parts[2].length() < 4) {
+            return null;
+        }
+        return parts[2].substring(0, 4).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Compatibilité planète / espèce, pour {@link BioSpeciesMatcher#matches} : réutilise la forme
+     * compilée du catalogue si elle existe, sinon compile l'espèce à la volée.
+     */
+    static boolean matches(PlaneteDetail planet, BioSpecies bioSpecies) {
+        if (planet == null || bioSpecies == null || bioSpecies.getHistogramData() == null) {
+            return false;
+        }
+        return compiledFor(bioSpecies).matches(planet);
+    }
+
+    /** Probabilité pour {@link BioSpeciesMatcher#probability}, rapportée à {@code totalBodies}. */
+    static double probability(PlaneteDetail planet, BioSpecies bioSpecies, double totalBodies) {
+        return compiledFor(bioSpecies).probability(planet, totalBodies);
+    }
+
+    private static CompiledSpecies compiledFor(BioSpecies bioSpecies) {
+        BioSpeciesModel model = instance;
+        CompiledSpecies c = model != null ? model.bySpecies.get(bioSpecies) : null;
+        return c != null ? c : new CompiledSpecies(bioSpecies);
+    }
+
+    // -------- Espèce compilée --------
+
+    private static final class CompiledSpecies {
+        private final boolean hasHistogram;
+        private final EnumTable bodyTypes;
+        private final EnumTable atmosTypes;
+        private final EnumTable volcanicBodyTypes;
+        private final Bins temperature;
+        private final Bins gravity;
+        private final Bins pressure;
+        private final int count;
+        /** Matériau de surface requis (minuscules), {@code null} si la variante dépend de l'étoile. */
+        private final String requiredMaterial;
+
+        CompiledSpecies(BioSpecies species) {
+            BioSpeciesFactory.HistogramData h = species.getHistogramData();
+            this.hasHistogram = h != null;
+            this.count = species.getCount();
+            this.bodyTypes = h != null ? EnumTable.of(h.bodyTypes, BODY_TYPES, k -> k.ordinal()) : EnumTable.EMPTY;
+            this.atmosTypes = h != null ? EnumTable.of(h.atmosTypes, ATMOSPHERE_TYPES, k -> k.ordinal()) : EnumTable.EMPTY;
+            this.volcanicBodyTypes = h != null
+                    ? EnumTable.of(h.volcanicBodyTypes, BODY_TYPES * VOLCANISM_TYPES,
+                    k -> volcanicIndex(k.getBodyType(), k.getVolcanismType()))
+                    : EnumTable.EMPTY;
+            this.temperature = Bins.of(h != null ? h.temperature : null);
+            this.gravity = Bins.of(h != null ? h.gravity : null);
+            this.pressure = Bins.of(h != null ? h.pressure : null);
+            this.requiredMaterial = species.getVariantMethod() == VariantMethods.SURFACE_MATERIALS
+                    ? species.getColorConditionName().toLowerCase(Locale.ROOT)
+                    : null;
+        }
+
+        /** Mêmes règles que l'historique {@code BioSpeciesMatcher.matches}. */
+        boolean matches(PlaneteDetail planet) {
+            if (!hasHistogram) {
+                return false;
+            }
+            BodyType planetClass = planet.getPlanetClass();
+            if (planetClass == null) {
+                return false;
+            }
+            if (!bodyTypes.unrestricted && !bodyTypes.present[planetClass.ordinal()]) {
+                return false;
+            }
+            AtmosphereType atmosphere = planet.getAtmosphere();
+            if (!atmosTypes.unrestricted) {
+                AtmosphereType key = atmosphere != null ? atmosphere : AtmosphereType.NO_ATMOSPHERE;
+                if (!atmosTypes.present[key.ordinal()]) {
+                    return false;
+                }
+            }
+            if (!volcanicBodyTypes.unrestricted) {
+                VolcanismType volcanism = planet.getVolcanism();
+                VolcanismType key = volcanism != null ? volcanism : VolcanismType.NO_VOLCANISM;
+                if (!volcanicBodyTypes.present[volcanicIndex(planetClass, key)]) {
+                    return false;
+                }
+            }
+            Double t = planet.getTemperature();
+            if (t != null && temperature.indexOf(t) < 0) {
+                return false;
+            }
+            Double g = planet.getGravityG();
+            if (g != null && gravity.indexOf(g) < 0) {
+                return false;
+            }
+            Double p = planet.getPressureAtm();
+            if (p != null && pressure.indexOf(p) < 0) {
+                return false;
+            }
+            if (requiredMaterial != null) {
+                return planet.getMaterials().containsKey(requiredMaterial);
+            }
+            return true;
+        }
+
+        /** Mêmes calculs (et même ordre d'opérations) que l'historique {@code BioSpeciesMatcher.probability}. */
+        double probability(PlaneteDetail planet, double totalBodies) {
+            Double t = planet.getTemperature();
+            Double g = planet.getGravityG();
+            Double p = planet.getPressureAtm();
+            if (t == null || g == null || p == null) {
+                // L'historique échouait sur l'unboxing → 0.0
+                return 0.0;
+            }
+            BodyType planetClass = planet.getPlanetClass();
+            VolcanismType volcanism = planet.getVolcanism();
+
+            double pBody = planetClass != null ? bodyTypes.probability(planetClass.ordinal()) : 0.0;
+            AtmosphereType atmosphere = planet.getAtmosphere();
+            double pAtmos = atmosphere != null ? atmosTypes.probability(atmosphere.ordinal()) : 0.0;
+            double pVolcanism = planetClass != null && volcanism != null
+                    ? volcanicBodyTypes.probability(volcanicIndex(planetClass, volcanism))
+                    : 0.0;
+            double pTemp = temperature.probability(t);
+            double pGravity = gravity.probability(g);
+            double pPressure = pressure.probability(p);
+
+            double product = 1.0;
+            int n = 0;
+            if (pBody > 0) { product *= pBody; n++; }
+            if (pAtmos > 0) { product *= pAtmos; n++; }
+            if (pVolcanism > 0) { product *= pVolcanism; n++; }
+            if (pTemp > 0) { product *= pTemp; n++; }
+            if (pGravity > 0) { product *= pGravity; n++; }
+            if (pPressure > 0) { product *= pPressure; n++; }
+            if (n == 0) {
+                return 0.0;
+            }
+            double geometric = Math.pow(product, 1.0 / n);
+            double pGlobal = (double) count / totalBodies;
+            return geometric * pGlobal;
+        }
+    }
+
+    private static int volcanicIndex(BodyType bodyType, VolcanismType volcanism) {
+        return bodyType.ordinal() * VOLCANISM_TYPES + volcanism.ordinal();
+    }
+
+    /** Histogramme catégoriel normalisé, indexé par ordinal. */
+    private static final class EnumTable {
+        static final EnumTable EMPTY = new EnumTable(true, new boolean[0], new double[0]);
+
+        /** Histogramme absent ou vide : aucune restriction, probabilité nulle. */
+        final boolean unrestricted;
+        final boolean[] present;
+        final double[] probabilities;
+
+        private EnumTable(boolean unrestricted, boolean[] present, double[] probabilities) {
+            this.unrestricted = unrestricted;
+            this.present = present;
+            this.probabilities = probabilities;
+        }
+
+        static <K> EnumTable of(Map<K, Double> histogram, int size, java.util.function.ToIntFunction<K> index) {
+            if (histogram == null || histogram.isEmpty()) {
+                return EMPTY;
+            }
+            // Même somme que l'historique (DoubleStream.sum sur l'ordre d'itération de la map)
+            double total = histogram.values().stream().mapToDouble(v -> v).sum();
+            boolean[] present = new boolean[size];
+            double[] probabilities = new double[size];
+            for (Map.Entry<K, Double> e : histogram.entrySet()) {
+                if (e.getKey() == null || e.getValue() == null) {
+                    continue;
+                }
+                int i = index.applyAsInt(e.getKey());
+                present[i] = true;
+                probabilities[i] = e.getValue() / total;
+            }
+            return new EnumTable(false, present, probabilities);
+        }
+
+        double probability(int index) {
+            return !unrestricted && present[index] ? probabilities[index] : 0.0;
+        }
+    }
+
+    /** Bins d'un histogramme continu, probabilités déjà normalisées. */
+    private static final class Bins {
+        private final double[] min;
+        private final double[] max;
+        private final double[] probabilities;
+        /** Somme des valeurs nulle (ou bins absents) : probabilité toujours 0. */
+        private final boolean zeroTotal;
+        /** Bins triés par borne basse et disjoints (bornes partagées tolérées) → dichotomie. */
+        private final boolean sorted;
+
+        private Bins(double[] min, double[] max, double[] probabilities, boolean zeroTotal) {
+            this.min = min;
+            this.max = max;
+            this.probabilities = probabilities;
+            this.zeroTotal = zeroTotal;
+            this.sorted = isSortedAndDisjoint(min, max);
+        }
+
+        static Bins of(List<BioSpeciesFactory.Bin> bins) {
+            if (bins == null || bins.isEmpty()) {
+                return new Bins(new double[0], new double[0], new double[0], true);
+            }
+            double total = bins.stream()
+                    .mapToDouble(bin -> bin.value != null ? bin.value : 0.0)
+                    .sum();
+            int n = 0;
+            for (BioSpeciesFactory.Bin bin : bins) {
+                if (bin.min != null && bin.max != null) {
+                    n++;
+                }
+            }
+            double[] min = new double[n];
+            double[] max = new double[n];
+            double[] probabilities = new double[n];
+            int i = 0;
+            for (BioSpeciesFactory.Bin bin : bins) {
+                if (bin.min == null || bin.max == null) {
+                    continue; // jamais retenu par l'historique
+                }
+                min[i] = bin.min;
+                max[i] = bin.max;
+                probabilities[i] = total != 0 && bin.value != null ? bin.value / total : 0.0;
+                i++;
+            }
+            return new Bins(min, max, probabilities, total == 0);
+        }
+
+        private static boolean isSortedAndDisjoint(double[] min, double[] max) {
+            for (int i = 0; i < min.length; i++) {
+                if (!(min[i] <= max[i])) {
+                    return false;
+                }
+                if (i > 0 && !(max[i - 1] <= min[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** @return indice du premier bin (ordre d'origine) contenant {@code value}, ou -1. */
+        int indexOf(double value) {
+            if (sorted) {
+                int lo = 0;
+                int hi = min.length - 1;
+                int found = -1;
+                while (lo <= hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (min[mid] <= value) {
+                        found = mid;
+                        lo = mid + 1;
+                    } else {
+                        hi = mid - 1;
+                    }
+                }
+                if (found < 0) {
+                    return -1;
+                }
+                // Borne partagée (max[i-1] == min[i] == value) : le premier bin l'emporte
+                while (found > 0 && max[found - 1] >= value) {
+                    found--;
+                }
+                return value <= max[found] ? found : -1;
+            }
+            for (int i = 0; i < min.length; i++) {
+                if (value >= min[i] && value <= max[i]) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        double probability(double value) {
+            if (zeroTotal) {
+                return 0.0;
+            }
+            int i = indexOf(value);
+            return i >= 0 ? probabilities[i] : 0.0;
+        }
+    }
+}
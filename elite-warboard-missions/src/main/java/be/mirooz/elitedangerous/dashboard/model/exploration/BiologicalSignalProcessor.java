@@ -1,41 +1,56 @@
 package be.mirooz.elitedangerous.dashboard.model.exploration;
 
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.PlaneteRegistry;
+import be.mirooz.elitedangerous.dashboard.model.registries.exploration.SystemVisitedRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
+import be.mirooz.elitedangerous.dashboard.service.listeners.ExplorationRefreshNotificationService;
+import be.mirooz.elitedangerous.dashboard.service.persistence.PersistenceService;
+import be.mirooz.elitedangerous.dashboard.view.common.context.DashboardContext;
 import lombok.Data;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Classe pour gérer les signaux biologiques en attente.
- * Vérifie périodiquement si les planètes correspondantes sont dans le registre
- * et applique le calcul biologique quand elles sont disponibles.
- * Le scheduler ne démarre que lorsqu'il y a des signaux en attente.
+ * Classe pour gérer les signaux biologiques ({@code FSSBodySignals} / {@code SAASignalsFound}).
+ *
+ * <ul>
+ *   <li>Si la planète est déjà dans le {@link PlaneteRegistry}, le calcul bio est lancé
+ *       immédiatement ; sinon le signal est mis en attente, indexé par (SystemAddress, BodyID)
+ *       ({@link PendingKey}), et résolu par {@link #onBodyRegistered} dès que le registre insère
+ *       la planète (plus de polling par nom). Un SystemAddress inconnu ({@code 0}) d'un côté ou
+ *       de l'autre vaut joker, sur les deux chemins ({@link #sameSystem}).</li>
+ *   <li>Les signaux en attente sont purgés au saut ({@link PlaneteRegistry#clear()}).</li>
+ *   <li>Les types des étoiles parentes (variantes RADIANT_STAR) sont figés sur le thread de
+ *       dispatch, avant que le journal ne passe au système suivant.</li>
+ *   <li>Le calcul tourne sur un executor dédié (le catalogue Bioforge y est chargé hors verrou)
+ *       et s'applique à la planète sous {@link PersistenceService#getStateLock()} : une rafale
+ *       FSS ne bloque pas le dispatch, et un checkpoint ne capture jamais un calcul à moitié
+ *       appliqué ({@link #isIdle()}).</li>
+ * </ul>
  */
-@Data
 public class BiologicalSignalProcessor {
 
     private static final BiologicalSignalProcessor INSTANCE = new BiologicalSignalProcessor();
 
-    private static final long CHECK_INTERVAL_MS = 300; // Vérifie toutes les 1 secondes
-
-    private final Map<String,PendingBiologicalSignal> pendingSignals = new HashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+    private final Map<PendingKey, List<PendingBiologicalSignal>> pendingSignals = new HashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
         Thread t = new Thread(r, "BiologicalSignalProcessor");
         t.setDaemon(true);
         return t;
     });
-
-    private ScheduledFuture<?> scheduledTask = null;
+    /** Calculs soumis mais pas encore appliqués (décrémenté sous le verrou d'état). */
+    private final AtomicInteger inFlight = new AtomicInteger();
 
     private BiologicalSignalProcessor() {
-        // Ne démarre pas le scheduler au constructeur
     }
 
     public static BiologicalSignalProcessor getInstance() {
@@ -43,69 +58,154 @@ public class BiologicalSignalProcessor {
     }
 
     /**
-     * Ajoute un signal biologique en attente (niveau 1 - FSSBodySignals).
-     * Démarre le scheduler si ce n'est pas déjà fait.
+     * Ajoute un signal biologique (niveau 1 - FSSBodySignals).
      */
-    public synchronized void addPendingBiologicalSignal(int bodyID, String bodyName, int count, int level) {
-        addPendingBiologicalSignal(bodyID, bodyName, count, level, null);
+    public synchronized void addPendingBiologicalSignal(long systemAddress, int bodyID, String bodyName, int count, int level) {
+        addPendingBiologicalSignal(systemAddress, bodyID, bodyName, count, level, null);
     }
 
     /**
-     * Ajoute un signal biologique en attente avec genuses (niveau 2 - SAASignalsFound).
-     * Démarre le scheduler si ce n'est pas déjà fait.
+     * Ajoute un signal biologique avec genuses (niveau 2 - SAASignalsFound).
      */
-    public synchronized void addPendingBiologicalSignal(int bodyID, String bodyName, int count, int level, List<String> genuses) {
-        PendingBiologicalSignal signal = new PendingBiologicalSignal(bodyID, bodyName, count, level, genuses);
-
+    public synchronized void addPendingBiologicalSignal(long systemAddress, int bodyID, String bodyName, int count, int level, List<String> genuses) {
+        PendingBiologicalSignal signal = new PendingBiologicalSignal(systemAddress, bodyID, bodyName, count, level, genuses);
+        PlaneteDetail planete = PlaneteRegistry.getInstance().getByBodyID(bodyID)
+                .filter(body -> body instanceof PlaneteDetail)
+                .map(body -> (PlaneteDetail) body)
+                .filter(body -> sameSystem(body.getSystemAddress(), systemAddress))
+                .orElse(null);
+        if (planete != null) {
+            submit(planete, signal);
+            return;
+        }
         System.out.printf("📋 Signal biologique (niveau %d) ajouté à la file d'attente: BodyID=%d, BodyName=%s%n", level, bodyID, bodyName);
-        // Démarrer le scheduler si ce n'est pas déjà fait
-        //startProcessingIfNeeded();
-        checkIfPlanetInRegistry(signal);
-    }
-    public void clear() {
-        pendingSignals.clear();
+        pendingSignals.computeIfAbsent(new PendingKey(systemAddress, bodyID), k -> new ArrayList<>()).add(signal);
     }
 
     /**
-     * Arrête le scheduler si la liste est vide.
+     * Hook d'insertion du {@link PlaneteRegistry} : lance les calculs en attente pour ce corps.
      */
-    private void stopProcessingIfEmpty() {
-        if (pendingSignals.isEmpty() && scheduledTask != null && !scheduledTask.isCancelled()) {
-            scheduledTask.cancel(true);
-            scheduledTask = null;
+    public void onBodyRegistered(ACelesteBody body) {
+        if (!(body instanceof PlaneteDetail planete)) {
+            return;
+        }
+        long systemAddress = planete.getSystemAddress();
+        int bodyID = planete.getBodyID();
+        List<PendingBiologicalSignal> signals = new ArrayList<>();
+        synchronized (this) {
+            if (pendingSignals.isEmpty()) {
+                return;
+            }
+            if (systemAddress != 0) {
+                drain(new PendingKey(systemAddress, bodyID), signals);
+                // Signal reçu sans SystemAddress
+                drain(new PendingKey(0, bodyID), signals);
+            } else {
+                // Corps sans SystemAddress : tout signal de même BodyID
+                pendingSignals.keySet().stream()
+                        .filter(key -> key.bodyID() == bodyID)
+                        .toList()
+                        .forEach(key -> drain(key, signals));
+            }
+        }
+        // Plusieurs files fusionnées : FSSBodySignals (niveau 1) avant SAASignalsFound (niveau 2)
+        signals.sort(Comparator.comparingInt(PendingBiologicalSignal::getLevel));
+        signals.forEach(signal -> submit(planete, signal));
+    }
+
+    private void drain(PendingKey key, List<PendingBiologicalSignal> out) {
+        List<PendingBiologicalSignal> queued = pendingSignals.remove(key);
+        if (queued != null) {
+            out.addAll(queued);
         }
     }
 
     /**
-     * Vérifie périodiquement si les planètes sont dans le registre
-     * et applique calcBiological() quand elles sont disponibles.
+     * Purge les signaux en attente (saut vers un autre système).
      */
-    private synchronized void checkIfPlanetInRegistry(PendingBiologicalSignal signal) {
-        PlaneteRegistry registry = PlaneteRegistry.getInstance();
-        registry.getByBodyID(signal.getBodyID())
-                .filter(body -> body instanceof PlaneteDetail)
-                .map(body -> (PlaneteDetail) body)
-                .ifPresentOrElse(planete -> {
-                            // Appliquer le calcul biologique avec le niveau et les genuses
-                            planete.calculBioScan(signal.getCount(), signal.getLevel(), signal.getGenuses());
-                            System.out.printf("✅ Calcul biologique (niveau %d) appliqué pour: %s (BodyID: %d)%n",
-                                    signal.getLevel(), signal.getBodyName(), signal.getBodyID());
-                        },
-                        () -> {
-                            pendingSignals.put(signal.bodyName, signal);
-                        });
+    public synchronized void clear() {
+        pendingSignals.clear();
+    }
+
+    /**
+     * @return {@code true} si aucun calcul soumis n'attend encore d'être appliqué. Fiable sous
+     * {@link PersistenceService#getStateLock()}.
+     */
+    public boolean isIdle() {
+        return inFlight.get() == 0;
     }
 
-    public void startProcessingIfPresent(String boydName) {
-        if (pendingSignals.containsKey(boydName)) {
-            checkIfPlanetInRegistry(pendingSignals.get(boydName));
+    /**
+     * Attend que les calculs déjà soumis soient appliqués. Sans effet si l'appelant tient le
+     * verrou d'état (les calculs en ont besoin pour s'appliquer).
+     */
+    public void awaitIdle(long timeoutMs) {
+        if (isIdle() || Thread.holdsLock(PersistenceService.getInstance().getStateLock())) {
+            return;
+        }
+        try {
+            // Executor mono-thread FIFO : la tâche vide passe après tous les calculs soumis
+            executor.submit(() -> { }).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("[BiologicalSignalProcessor] Attente des calculs bio KO : " + e.getMessage());
         }
     }
+
     /**
      * Arrête le processeur (utile pour les tests ou l'arrêt de l'application).
      */
     public void shutdown() {
-        scheduler.shutdown();
+        executor.shutdown();
+    }
+
+    /** Appelé sur le thread de dispatch : les étoiles sont lues tant que le registre est sur ce système. */
+    private void submit(PlaneteDetail planete, PendingBiologicalSignal signal) {
+        signal.setRadiantStarTypes(planete.resolveRadiantStarTypes());
+        inFlight.incrementAndGet();
+        try {
+            executor.execute(() -> apply(planete, signal));
+        } catch (RejectedExecutionException e) {
+            // Processeur arrêté : calcul sur le thread appelant
+            apply(planete, signal);
+        }
+    }
+
+    private void apply(PlaneteDetail planete, PendingBiologicalSignal signal) {
+        try {
+            // Chargement / compilation du catalogue (premier scan) hors verrou d'état
+            BioSpeciesModel.getInstance();
+        } catch (Exception e) {
+            System.err.println("❌ Catalogue Bioforge indisponible: " + e.getMessage());
+        }
+        synchronized (PersistenceService.getInstance().getStateLock()) {
+            try {
+                // Appliquer le calcul biologique avec le niveau et les genuses
+                planete.calculBioScan(signal.getCount(), signal.getLevel(), signal.getGenuses(), signal.getRadiantStarTypes());
+                // Hors dispatch : le calcul signale lui-même les stores qui sérialisent ce corps
+                SystemVisitedRegistry.getInstance().markChanged(planete.getStarSystem());
+                PersistenceService.getInstance().markChanged(StoreNames.CELESTE_BODIES);
+                System.out.printf("✅ Calcul biologique (niveau %d) appliqué pour: %s (BodyID: %d)%n",
+                        signal.getLevel(), signal.getBodyName(), signal.getBodyID());
+            } catch (Exception e) {
+                System.err.println("❌ Erreur calcul biologique " + signal.getBodyName() + ": " + e.getMessage());
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+        if (!DashboardContext.getInstance().isBatchLoading()) {
+            ExplorationRefreshNotificationService.getInstance().notifyRefreshRequired();
+        }
+    }
+
+    /** SystemAddress inconnu (0) d'un côté : on se fie au seul BodyID, comme le registre. */
+    private static boolean sameSystem(long a, long b) {
+        return a == 0 || b == 0 || a == b;
+    }
+
+    /** Clé des signaux en attente ; {@code systemAddress == 0} = inconnu (joker). */
+    private record PendingKey(long systemAddress, int bodyID) {
     }
 
     /**
@@ -113,13 +213,16 @@ public class BiologicalSignalProcessor {
      */
     @Data
     private static class PendingBiologicalSignal {
+        private final long systemAddress;
         private final int bodyID;
         private final String bodyName;
         private final int count;
         private final int level; // 1 pour FSSBodySignals, 2 pour SAASignalsFound
         private final List<String> genuses; // null pour level 1, liste des genuses pour level 2
+        private List<String> radiantStarTypes; // figés à la soumission (thread de dispatch)
 
-        public PendingBiologicalSignal(int bodyID, String bodyName, int count, int level, List<String> genuses) {
+        public PendingBiologicalSignal(long systemAddress, int bodyID, String bodyName, int count, int level, List<String> genuses) {
+            this.systemAddress = systemAddress;
             this.bodyID = bodyID;
             this.bodyName = bodyName;
             this.count = count;
@@ -128,4 +231,3 @@ public class BiologicalSignalProcessor {
         }
     }
 }
-
@@ -0,0 +1,132 @@
+package be.mirooz.elitedangerous.dashboard.model.exploration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Position au sol réutilisable (flux Status.json du radar exobio) : les mises à jour ne
+ * créent aucun objet, contrairement à {@link Position}.
+ *
+ * <p>Non thread-safe : le propriétaire la modifie sous son verrou et les lecteurs en prennent
+ * une copie dans leur propre instance ({@link #copyFrom}).</p>
+ */
+public class MutablePosition {
+
+    private static final int TIMESTAMP_CAPACITY = 32;
+
+    private boolean valid;
+    private double latitude;
+    private double longitude;
+    private double radius;
+    private boolean hasHeading;
+    private int heading;
+    private final byte[] timestamp = new byte[TIMESTAMP_CAPACITY];
+    private int timestampLength;
+
+    public void set(double latitude, double longitude, double radius, boolean hasHeading, int heading) {
+        this.valid = true;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.radius = radius;
+        this.hasHeading = hasHeading;
+        this.heading = heading;
+    }
+
+    /** Copie le timestamp ASCII {@code bytes[offset, offset + length)} (tronqué au besoin). */
+    public void setTimestamp(byte[] bytes, int offset, int length) {
+        timestampLength = Math.min(length, TIMESTAMP_CAPACITY);
+        System.arraycopy(bytes, offset, timestamp, 0, timestampLength);
+    }
+
+    public void copyFrom(MutablePosition other) {
+        valid = other.valid;
+        latitude = other.latitude;
+        longitude = other.longitude;
+        radius = other.radius;
+        hasHeading = other.hasHeading;
+        heading = other.heading;
+        timestampLength = other.timestampLength;
+        System.arraycopy(other.timestamp, 0, timestamp, 0, timestampLength);
+    }
+
+    public void clear() {
+        valid = false;
+        hasHeading = false;
+        timestampLength = 0;
+    }
+
+    /**
+     * @return {@code true} si la position diffère de celle-ci au-delà de {@code tolerance}
+     * (toujours vrai si aucune position n'est connue)
+     */
+    public boolean isDifferentFrom(double otherLatitude, double otherLongitude,
+                                   boolean otherHasHeading, int otherHeading, double tolerance) {
+        return !valid
+                || Math.abs(latitude - otherLatitude) > tolerance
+                || Math.abs(longitude - otherLongitude) > tolerance
+                || hasHeading != otherHasHeading
+                || heading != otherHeading;
+    }
+
+    /** @return {@code false} tant qu'aucune position n'a été lue. */
+    public boolean isValid() {
+        return valid;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+    public boolean hasHeading() {
+        return hasHeading;
+    }
+
+    public int getHeading() {
+        return heading;
+    }
+
+    /** Matérialise le timestamp (alloue : réservé aux lectures ponctuelles). */
+    public String getTimestamp() {
+        return timestampLength == 0 ? null : new String(timestamp, 0, timestampLength, StandardCharsets.US_ASCII);
+    }
+
+    /** @return une {@link Position} immuable équivalente, ou {@code null} si aucune position. */
+    public Position toPosition() {
+        return valid ? new Position(latitude, longitude, radius, hasHeading ? heading : null, getTimestamp()) : null;
+    }
+
+    @Override
+    public String toString() {
+        return valid ? String.valueOf(toPosition()) : "MutablePosition{vide}";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MutablePosition other)) {
+            return false;
+        }
+        return valid == other.valid
+                && Double.compare(latitude, other.latitude) == 0
+                && Double.compare(longitude, other.longitude) == 0
+                && Double.compare(radius, other.radius) == 0
+                && hasHeading == other.hasHeading
+                && heading == other.heading
+                && Arrays.equals(timestamp, 0, timestampLength, other.timestamp, 0, other.timestampLength);
+    }
+
+    @Override
+    public int hashCode() {
+        return Double.hashCode(latitude) * 31 + Double.hashCode(longitude);
+    }
+}
@@ -3,14 +3,20 @@ package be.mirooz.elitedangerous.dashboard.model.exploration;
 import be.mirooz.elitedangerous.biologic.*;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.OrganicDataSaleRegistry;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.PlaneteRegistry;
+import be.mirooz.elitedangerous.dashboard.model.registries.exploration.SystemVisitedRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.ExplorationService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ExplorationRefreshNotificationService;
 import be.mirooz.elitedangerous.service.BioSpeciesService;
+import be.mirooz.elitedangerous.dashboard.service.persistence.PersistenceService;
+import be.mirooz.elitedangerous.dashboard.view.common.context.DashboardContext;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
 import java.util.*;
@@ -50,6 +56,12 @@ public class PlaneteDetail extends ACelesteBody {
     private List<Scan> bioSpecies = new ArrayList<>();
     private Integer numSpeciesDetected;
 
+    // Calculs bio reçus pendant le replay batch, appliqués en tâche de fond (BioScanWarmupService).
+    // Liste immuable republiée à chaque ajout : lisible sans verrou (hasPendingBioScans, vue).
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile List<PendingBioScan> pendingBioScans;
+
     // Liste des espèces confirmées (ScanOrganic)
     @Builder.Default
     private List<BioSpecies> confirmedSpecies = new ArrayList<>();
@@ -71,8 +83,73 @@ public class PlaneteDetail extends ACelesteBody {
 
     /**
      * Calcul complet des espèces biologiques possibles pour cette planète.
+     * Pendant le replay batch, le calcul est seulement mémorisé ({@link #getPendingBioScans()})
+     * puis appliqué hors thread FX par {@code BioScanWarmupService} (préchauffage après le batch,
+     * ou système demandé par la vue), ou au prochain calcul live sur ce corps.
      */
     public void calculBioScan(Integer count, int level, List<String> genuses) {
+        calculBioScan(count, level, genuses, null);
+    }
+
+    /**
+     * @param radiantStarTypes types des étoiles parentes figés par l'appelant au moment de l'event
+     *                         ({@link #resolveRadiantStarTypes()}), {@code null} pour les lire dans le
+     *                         {@link PlaneteRegistry} courant
+     */
+    public void calculBioScan(Integer count, int level, List<String> genuses, List<String> radiantStarTypes) {
+        if (DashboardContext.getInstance().isBatchLoading()) {
+            deferBioScan(count, level, genuses, radiantStarTypes);
+            return;
+        }
+        resolvePendingBioScans();
+        computeBioScan(count, level, genuses, radiantStarTypes);
+    }
+
+    /** @return {@code true} si des calculs bio différés attendent encore d'être appliqués. */
+    @JsonIgnore
+    public boolean hasPendingBioScans() {
+        List<PendingBioScan> pending = pendingBioScans;
+        return pending != null && !pending.isEmpty();
+    }
+
+    /**
+     * Applique, dans l'ordre de réception, les calculs bio différés pendant le replay batch.
+     * Sous le verrou d'état de la persistance, comme le dispatch des events : jamais depuis le
+     * thread FX.
+     */
+    public void resolvePendingBioScans() {
+        if (!hasPendingBioScans()) {
+            return;
+        }
+        synchronized (PersistenceService.getInstance().getStateLock()) {
+            List<PendingBioScan> pending = pendingBioScans;
+            if (pending == null || pending.isEmpty()) {
+                return;
+            }
+            pendingBioScans = null;
+            for (PendingBioScan scan : pending) {
+                computeBioScan(scan.getCount(), scan.getLevel(), scan.getGenuses(), scan.getRadiantStarTypes());
+            }
+            SystemVisitedRegistry.getInstance().markChanged(getStarSystem());
+            PersistenceService.getInstance().markChanged(StoreNames.CELESTE_BODIES);
+        }
+    }
+
+    private void deferBioScan(Integer count, int level, List<String> genuses, List<String> radiantStarTypes) {
+        this.numSpeciesDetected = count;
+        List<PendingBioScan> pending = pendingBioScans != null ? new ArrayList<>(pendingBioScans) : new ArrayList<>();
+        // Les étoiles doivent être figées au plus tard maintenant : le registre aura changé de système au moment du calcul
+        pending.add(new PendingBioScan(count, level,
+                genuses != null ? new ArrayList<>(genuses) : null,
+                radiantStarTypes != null ? radiantStarTypes : resolveRadiantStarTypes()));
+        pendingBioScans = Collections.unmodifiableList(pending);
+    }
+
+    /**
+     * @param radiantStarTypes types d'étoiles figés au moment de l'event, {@code null} pour les
+     *                         lire dans le {@link PlaneteRegistry} courant
+     */
+    private void computeBioScan(Integer count, int level, List<String> genuses, List<String> radiantStarTypes) {
         this.numSpeciesDetected = count;
         if (this.bioSpecies != null && !this.bioSpecies.isEmpty()) {
             for (Scan scan : this.bioSpecies) {
@@ -83,16 +160,21 @@ public class PlaneteDetail extends ACelesteBody {
             }
         }
         try {
-            List<BioSpecies> allSpecies = BioSpeciesService.getInstance().getSpecies();
-            BioSpeciesMatcher.TOTAL_BODIES_IN_DATASET = BioSpeciesMatcher.computeTotalBodies(allSpecies);
-            List<Map.Entry<BioSpecies, Double>> matchingSpecies =
-                    allSpecies.stream()
-                            .filter(species -> BioSpeciesMatcher.matches(this, species))
-                            .map(species -> Map.entry(species, BioSpeciesMatcher.probability(this, species)))
-                            .sorted((a, b) -> Double.compare(b.getValue(), a.getValue()))
-                            .toList();
+            BioSpeciesModel model = BioSpeciesModel.getInstance();
+            List<BioSpecies> allSpecies = model.getSpecies();
+            int[] matchedIndices = new int[model.size()];
+            double[] scores = new double[model.size()];
+            // Niveau 2 : seules les espèces des genres détectés sont évaluées
+            long[] genusMask = level == 2 ? model.genusMask(genuses) : null;
+            int matched = model.score(this, genusMask, matchedIndices, scores);
+            List<Map.Entry<BioSpecies, Double>> matchingSpecies = new ArrayList<>(matched);
+            for (int i = 0; i < matched; i++) {
+                matchingSpecies.add(Map.entry(allSpecies.get(matchedIndices[i]), scores[i]));
+            }
+            matchingSpecies.sort((a, b) -> Double.compare(b.getValue(), a.getValue()));
+            System.out.println("[BioScan] " + bodyName + " niveau " + level + " : " + model.candidateStats());
 
-            if (matchingSpecies.isEmpty()) {
+            if (matchingSpecies.isEmpty() && (genusMask == null || !model.anyMatch(this))) {
                 SpeciesProbability brainTreeProbability = new SpeciesProbability(BioSpecies.brainTree(), 100.0);
                 this.bioSpecies.add(new Scan(level, new ArrayList<>(List.of(brainTreeProbability))));
                 if (numSpeciesDetected == null){
@@ -101,6 +183,12 @@ public class PlaneteDetail extends ACelesteBody {
                 return;
             }
 
+            // Types des étoiles pouvant colorer les variantes RADIANT_STAR, résolus une fois par scan
+            if (radiantStarTypes == null) {
+                radiantStarTypes = resolveRadiantStarTypes();
+            }
+            List<String> starTypes = radiantStarTypes;
+
             matchingSpecies = matchingSpecies.stream()
                     .filter(entry -> {
                         BioSpecies species = entry.getKey();
@@ -113,42 +201,9 @@ public class PlaneteDetail extends ACelesteBody {
                                         && this.materials.containsKey(colorCond);
 
                         // CAS 2 : RADIANT STAR
-                        boolean radiantMatch = false;
-
-                        if (method == VariantMethods.RADIANT_STAR && parents != null) {
-
-                            // Récupère toutes les étoiles du système
-                            List<StarDetail> allStars = PlaneteRegistry.getInstance()
-                                    .getAllPlanetes().stream()
-                                    .filter(body -> body instanceof StarDetail)
-                                    .map(body -> (StarDetail) body)
-                                    .toList();
-
-                            // Récupère toutes les étoiles parents (pas juste la première)
-                            List<ParentBody> parentStars = parents.stream()
-                                    .filter(p -> "Star".equalsIgnoreCase(p.getType()))
-                                    .toList();
-
-                            if (!parentStars.isEmpty()) {
-                                // Vérifie si l'espèce correspond à l'une des étoiles parents
-                                radiantMatch = parentStars.stream()
-                                        .map(p -> {
-                                            // Trouve l'étoile correspondante au parent
-                                            return allStars.stream()
-                                                    .filter(star -> star.getBodyID() == p.getBodyID())
-                                                    .findFirst()
-                                                    .orElse(null);
-                                        })
-                                        .filter(star -> star != null)
-                                        .anyMatch(star -> star.getStarTypeString()
-                                                .equalsIgnoreCase(species.getColorConditionName()));
-                            } else {
-                                // fallback sur TOUTES les étoiles
-                                radiantMatch = allStars.stream()
-                                        .anyMatch(star -> star.getStarTypeString()
-                                                .equalsIgnoreCase(species.getColorConditionName()));
-                            }
-                        }
+                        boolean radiantMatch = method == VariantMethods.RADIANT_STAR
+                                && starTypes.stream()
+                                .anyMatch(type -> type.equalsIgnoreCase(species.getColorConditionName()));
 
                         return surfaceMatch || radiantMatch;
 
@@ -191,6 +246,35 @@ public class PlaneteDetail extends ACelesteBody {
         }
     }
 
+    /**
+     * Types des étoiles parentes de la planète (index du {@link PlaneteRegistry}) ; sans étoile
+     * parente déclarée, ceux de toutes les étoiles du système. À appeler sur le thread de
+     * dispatch, tant que le registre contient le système de la planète.
+     */
+    public List<String> resolveRadiantStarTypes() {
+        if (parents == null) {
+            return List.of();
+        }
+        PlaneteRegistry registry = PlaneteRegistry.getInstance();
+        int[] parentStarIds = registry.getParentStarChain(this);
+        List<String> types = new ArrayList<>();
+        if (parentStarIds.length > 0) {
+            for (int starId : parentStarIds) {
+                StarDetail star = registry.getStarByBodyID(starId);
+                if (star != null && star.getStarTypeString() != null) {
+                    types.add(star.getStarTypeString());
+                }
+            }
+        } else {
+            for (StarDetail star : registry.getStars()) {
+                if (star.getStarTypeString() != null) {
+                    types.add(star.getStarTypeString());
+                }
+            }
+        }
+        return types;
+    }
+
     private List<SpeciesProbability> computeProbabilities(
             List<Map.Entry<BioSpecies, Double>> matchingSpecies,
             int count, int level, List<String> genus
@@ -585,4 +669,17 @@ public class PlaneteDetail extends ACelesteBody {
 
         return (long) Math.round(value);
     }
+
+    /**
+     * Entrées d'un calcul bio différé (FSSBodySignals / SAASignalsFound reçu en replay batch).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PendingBioScan {
+        private Integer count;
+        private int level;
+        private List<String> genuses;
+        private List<String> radiantStarTypes;
+    }
 }
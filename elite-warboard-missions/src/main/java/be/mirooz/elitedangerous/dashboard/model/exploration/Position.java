@@ -1,7 +1,6 @@
 package be.mirooz.elitedangerous.dashboard.model.exploration;
 
 import lombok.Getter;
-import lombok.Setter;
 
 /**
  * Classe pour représenter une position (latitude, longitude, heading)
@@ -13,9 +12,6 @@ public class Position {
     private final double radius;
     private final Integer heading;
     private final String timestamp;
-    @Setter
-    @Getter
-    private double distanceFromCurrent;
 
     public Position(double latitude, double longitude, double radius, Integer heading, String timestamp) {
         this.latitude = latitude;
@@ -54,9 +50,16 @@ public class Position {
      * @return Direction en degrés (0-360, où 0 = Nord, 90 = Est, 180 = Sud, 270 = Ouest)
      */
     public double calculateDirectionTo(Position to) {
-        double lat1 = Math.toRadians(this.latitude);
-        double lat2 = Math.toRadians(to.latitude);
-        double deltaLon = Math.toRadians(to.longitude - this.longitude);
+        return bearing(this.latitude, this.longitude, to.latitude, to.longitude);
+    }
+
+    /**
+     * Cap (en degrés, 0 = Nord, 90 = Est) du point 1 vers le point 2, coordonnées en degrés.
+     */
+    public static double bearing(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double lat1 = Math.toRadians(fromLatitude);
+        double lat2 = Math.toRadians(toLatitude);
+        double deltaLon = Math.toRadians(toLongitude - fromLongitude);
 
         double y = Math.sin(deltaLon) * Math.cos(lat2);
         double x = Math.cos(lat1) * Math.sin(lat2) - Math.sin(lat1) * Math.cos(lat2) * Math.cos(deltaLon);
@@ -65,14 +68,4 @@ public class Position {
         return (bearing + 360) % 360; // Normaliser entre 0 et 360
     }
 
-    /**
-     * Vérifie si cette position est différente d'une autre (avec une tolérance)
-     */
-    public boolean isDifferentFrom(Position other, double tolerance) {
-        if (other == null) return true;
-        return Math.abs(this.latitude - other.latitude) > tolerance ||
-                Math.abs(this.longitude - other.longitude) > tolerance ||
-                Math.abs(this.heading - other.heading) > tolerance;
-    }
-
 }
@@ -1,12 +1,22 @@
 package be.mirooz.elitedangerous.dashboard.model.exploration;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Représente un système visité et vendu.
@@ -26,8 +36,67 @@ public class SystemVisited {
     @Builder.Default
     private Collection<ACelesteBody> celesteBodies = new ArrayList<>();
 
+    /** Position de chaque bodyID dans {@link #celesteBodies}, construite à la demande. */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient BodyIndex bodyIndex;
+
     public int getNumBodies(){
         return celesteBodies.size();
     }
-}
 
+    /**
+     * Place {@code canonical} dans {@link #celesteBodies} : remplace le corps de même bodyID (à sa
+     * position) ou l'ajoute en fin de liste, sans parcourir les corps.
+     *
+     * <p>À la première utilisation (ou si la collection a été remplacée), la collection est copiée
+     * une fois, sans doublon de bodyID (le premier gardé), dans une {@link CopyOnWriteArrayList} :
+     * la vue peut l'itérer pendant que le journal la met à jour.</p>
+     */
+    public synchronized void putCanonicalBody(ACelesteBody canonical) {
+        BodyIndex index = bodyIndex;
+        if (index == null || index.list != celesteBodies) {
+            index = rebuildBodyIndex();
+        }
+        int id = canonical.getBodyID();
+        Integer position = index.positions.get(id);
+        if (position != null) {
+            ACelesteBody current = index.list.get(position);
+            if (current == null || current.getBodyID() != id) {
+                // Liste modifiée en place hors de cette méthode : on réindexe
+                index = rebuildBodyIndex();
+                position = index.positions.get(id);
+            }
+        }
+        if (position == null) {
+            index.positions.put(id, index.list.size());
+            index.list.add(canonical);
+        } else if (index.list.get(position) != canonical) {
+            index.list.set(position, canonical);
+        }
+    }
+
+    private BodyIndex rebuildBodyIndex() {
+        Collection<ACelesteBody> source = celesteBodies != null ? celesteBodies : List.of();
+        List<ACelesteBody> deduplicated = new ArrayList<>(source.size());
+        Map<Integer, Integer> positions = new HashMap<>();
+        for (ACelesteBody b : source) {
+            if (b == null) {
+                deduplicated.add(null);
+            } else if (positions.putIfAbsent(b.getBodyID(), deduplicated.size()) == null) {
+                deduplicated.add(b);
+            }
+        }
+        CopyOnWriteArrayList<ACelesteBody> list = new CopyOnWriteArrayList<>(deduplicated);
+        celesteBodies = list;
+        bodyIndex = new BodyIndex(list, positions);
+        return bodyIndex;
+    }
+
+    /** Index bodyID → position, valable tant que {@link #celesteBodies} est {@code list}. */
+    private record BodyIndex(List<ACelesteBody> list, Map<Integer, Integer> positions) {
+    }
+}
\ No newline at end of file
@@ -1,7 +1,13 @@
 package be.mirooz.elitedangerous.dashboard.model.mining;
 
 import be.mirooz.elitedangerous.commons.lib.models.commodities.minerals.Mineral;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -10,7 +16,11 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Représente une session de minage avec ses statistiques
+ * Représente une session de minage avec ses statistiques.
+ *
+ * <p>Les totaux par minéral et la durée cumulée des suspensions terminées sont tenus à jour à
+ * chaque ajout / retrait / reprise ; ils ne sont pas persistés et sont reconstruits une fois
+ * depuis les listes après chargement.</p>
  */
 @Data
 public class MiningStat {
@@ -26,6 +36,14 @@ public class MiningStat {
     private List<SuspensionPeriod> suspensionPeriods;
     private SuspensionPeriod currentSuspension;
     private boolean isCoreSession = false;
+
+    /** Totaux courants (non persistés), {@code null} tant qu'ils ne sont pas reconstruits. */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient RunningTotals runningTotals;
     
     public MiningStat() {
         this.refinedMinerals = new ArrayList<>();
@@ -104,11 +122,15 @@ public class MiningStat {
     /**
      * Reprend cette session de minage avec timestamp
      */
-    public void resumeSession(String timestamp) {
+    public synchronized void resumeSession(String timestamp) {
         if (this.currentSuspension != null) {
             // Terminer la période de suspension actuelle
             this.currentSuspension.endSuspension(timestamp);
+            RunningTotals totals = totals();
             this.suspensionPeriods.add(this.currentSuspension);
+            if (this.currentSuspension.isCompleted()) {
+                totals.completedSuspensionMinutes += this.currentSuspension.getDurationInMinutes();
+            }
             System.out.println("▶️ Session reprise: " + this.currentSuspension.getResumeDate() + 
                              " (durée suspension: " + this.currentSuspension.getDurationInMinutes() + " min)");
             this.currentSuspension = null;
@@ -127,7 +149,8 @@ public class MiningStat {
     /**
      * Retire un minéral raffiné de cette session avec timestamp
      */
-    public void removeRefinedMineral(Mineral mineral, int quantity, String timestamp) {
+    public synchronized void removeRefinedMineral(Mineral mineral, int quantity, String timestamp) {
+        RunningTotals totals = totals();
         // Trouver et retirer les événements correspondants
         List<MiningRefinedEvent> toRemove = new ArrayList<>();
         int remainingToRemove = quantity;
@@ -150,6 +173,7 @@ public class MiningStat {
         
         // Supprimer les événements marqués pour suppression
         refinedMinerals.removeAll(toRemove);
+        totals.add(mineral, -(quantity - remainingToRemove));
         
         System.out.printf("🗑️ Retiré %d unités de %s des statistiques%n", quantity - remainingToRemove, mineral.getVisibleName());
     }
@@ -164,9 +188,11 @@ public class MiningStat {
     /**
      * Ajoute un minéral raffiné à cette session avec timestamp
      */
-    public void addRefinedMineral(Mineral mineral, int quantity, String timestamp) {
+    public synchronized void addRefinedMineral(Mineral mineral, int quantity, String timestamp) {
         MiningRefinedEvent event = new MiningRefinedEvent(mineral, quantity, parseTimestamp(timestamp));
+        RunningTotals totals = totals();
         this.refinedMinerals.add(event);
+        totals.add(mineral, quantity);
     }
     
     /**
@@ -189,12 +215,8 @@ public class MiningStat {
         
         long totalDuration = java.time.Duration.between(startDate, end).toMinutes();
         
-        // Soustraire toutes les périodes de suspension terminées
-        for (SuspensionPeriod period : suspensionPeriods) {
-            if (period.isCompleted()) {
-                totalDuration -= period.getDurationInMinutes();
-            }
-        }
+        // Soustraire toutes les périodes de suspension terminées (cumul tenu à jour)
+        totalDuration -= getCompletedSuspensionMinutes();
         
         return Math.max(0, totalDuration); // Ne pas retourner de durée négative
     }
@@ -202,12 +224,8 @@ public class MiningStat {
     /**
      * Récupère le total de minéraux raffinés par type
      */
-    public Map<Mineral, Integer> getTotalRefinedMinerals() {
-        Map<Mineral, Integer> totals = new HashMap<>();
-        for (MiningRefinedEvent event : refinedMinerals) {
-            totals.merge(event.getMineral(), event.getQuantity(), Integer::sum);
-        }
-        return totals;
+    public synchronized Map<Mineral, Integer> getTotalRefinedMinerals() {
+        return new HashMap<>(totals().byMineral);
     }
     
     /**
@@ -240,14 +258,8 @@ public class MiningStat {
      * Calcule la durée totale de toutes les suspensions
      */
     public long getTotalSuspensionDurationInMinutes() {
-        long totalSuspensionDuration = 0;
-        
         // Ajouter toutes les périodes de suspension terminées
-        for (SuspensionPeriod period : suspensionPeriods) {
-            if (period.isCompleted()) {
-                totalSuspensionDuration += period.getDurationInMinutes();
-            }
-        }
+        long totalSuspensionDuration = getCompletedSuspensionMinutes();
         
         // Ajouter la période de suspension actuelle si elle existe
         if (currentSuspension != null && currentSuspension.isActive()) {
@@ -270,4 +282,67 @@ public class MiningStat {
         }
         return count;
     }
+
+    public synchronized void setRefinedMinerals(List<MiningRefinedEvent> refinedMinerals) {
+        this.refinedMinerals = refinedMinerals;
+        this.runningTotals = null;
+    }
+
+    public synchronized void setSuspensionPeriods(List<SuspensionPeriod> suspensionPeriods) {
+        this.suspensionPeriods = suspensionPeriods;
+        this.runningTotals = null;
+    }
+
+    private synchronized long getCompletedSuspensionMinutes() {
+        return totals().completedSuspensionMinutes;
+    }
+
+    /**
+     * Totaux courants, reconstruits depuis les listes si besoin (session rechargée, listes
+     * remplacées).
+     */
+    private RunningTotals totals() {
+        RunningTotals totals = runningTotals;
+        if (totals == null
+                || totals.refinedSource != refinedMinerals
+                || totals.suspensionSource != suspensionPeriods) {
+            totals = new RunningTotals(refinedMinerals, suspensionPeriods);
+            runningTotals = totals;
+        }
+        return totals;
+    }
+
+    /**
+     * Quantités par minéral et minutes de suspension terminées, pour les listes
+     * {@code refinedSource} / {@code suspensionSource}.
+     */
+    private static final class RunningTotals {
+        private final List<MiningRefinedEvent> refinedSource;
+        private final List<SuspensionPeriod> suspensionSource;
+        private final Map<Mineral, Integer> byMineral = new HashMap<>();
+        private long completedSuspensionMinutes;
+
+        private RunningTotals(List<MiningRefinedEvent> refinedMinerals, List<SuspensionPeriod> suspensionPeriods) {
+            this.refinedSource = refinedMinerals;
+            this.suspensionSource = suspensionPeriods;
+            if (refinedMinerals != null) {
+                for (MiningRefinedEvent event : refinedMinerals) {
+                    byMineral.merge(event.getMineral(), event.getQuantity(), Integer::sum);
+                }
+            }
+            if (suspensionPeriods != null) {
+                for (SuspensionPeriod period : suspensionPeriods) {
+                    if (period.isCompleted()) {
+                        completedSuspensionMinutes += period.getDurationInMinutes();
+                    }
+                }
+            }
+        }
+
+        private void add(Mineral mineral, int quantity) {
+            if (quantity != 0) {
+                byMineral.merge(mineral, quantity, (a, b) -> a + b == 0 ? null : a + b);
+            }
+        }
+    }
 }
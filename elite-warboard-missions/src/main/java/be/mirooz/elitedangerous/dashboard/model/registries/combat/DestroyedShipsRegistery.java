@@ -100,17 +100,22 @@ public class DestroyedShipsRegistery {
         return new ArrayList<>(destroyedShips);
     }
 
+    /**
+     * Restauration : une seule notification ({@code setAll}) pour la table, au lieu d'un
+     * {@code clear()} suivi d'un {@code addAll()}.
+     */
     @JsonProperty("ships")
     public void setPersistedShips(List<DestroyedShip> shipsNewestFirst) {
-        this.destroyedShips.clear();
-        if (shipsNewestFirst != null) {
-            for (DestroyedShip s : shipsNewestFirst) {
-                if (s.getKind() == null) {
-                    s.setKind(DestroyedShipKind.UNKNOWN);
-                }
+        if (shipsNewestFirst == null) {
+            this.destroyedShips.clear();
+            return;
+        }
+        for (DestroyedShip s : shipsNewestFirst) {
+            if (s.getKind() == null) {
+                s.setKind(DestroyedShipKind.UNKNOWN);
             }
-            this.destroyedShips.addAll(shipsNewestFirst);
         }
+        this.destroyedShips.setAll(shipsNewestFirst);
     }
 
     public Map<String, Integer> getBountyPerFaction() {
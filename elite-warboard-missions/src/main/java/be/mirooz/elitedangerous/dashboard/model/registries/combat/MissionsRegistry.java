@@ -3,53 +3,106 @@ package be.mirooz.elitedangerous.dashboard.model.registries.combat;
 import be.mirooz.elitedangerous.dashboard.view.common.context.DashboardContext;
 import be.mirooz.elitedangerous.dashboard.model.commander.Mission;
 import be.mirooz.elitedangerous.dashboard.model.enums.MissionStatus;
+import be.mirooz.elitedangerous.dashboard.model.enums.MissionType;
+import be.mirooz.elitedangerous.dashboard.model.enums.TargetType;
 import be.mirooz.elitedangerous.dashboard.service.listeners.MissionEventNotificationService;
-import javafx.application.Platform;
+import be.mirooz.elitedangerous.dashboard.service.listeners.UiRefreshScheduler;
 import javafx.collections.FXCollections;
 import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableMap;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * Singleton pour stocker les missions globales, observable par la UI
+ * Singleton pour stocker les missions globales, observable par la UI.
+ *
+ * <p>Index secondaire des missions de massacre actives par {@link MassacreKind} et faction
+ * cible, tenu à jour par le listener de la map (acceptation, restauration, purge) et par
+ * {@link #updateMissionStatus} (complétée / échouée / abandonnée / expirée) : l'attribution d'un
+ * kill ({@code Bounty} / {@code FactionKillBond}) est une simple lookup, sans copier la map.
+ * Protégé par le verrou de {@link #globalMissionMap}.</p>
+ *
+ * <p>La restauration ({@link #applyFullPersistedSnapshot}) remplit directement la map
+ * sous-jacente et reconstruit l'index en une passe : un seul rafraîchissement UI au lieu d'un
+ * événement par mission.</p>
  */
 @Data
 public class MissionsRegistry {
 
     private static final MissionsRegistry INSTANCE = new MissionsRegistry();
 
+    /** Map sous-jacente de {@link #globalMissionMap}, remplie directement lors d'une restauration. */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Mission> backingMissionMap = new HashMap<>();
+
     private final ObservableMap<String, Mission> globalMissionMap =
-            FXCollections.synchronizedObservableMap(FXCollections.observableHashMap());
+            FXCollections.synchronizedObservableMap(FXCollections.observableMap(backingMissionMap));
+
+    /** Actions UI enregistrées par {@link #addMissionMapListener}, rejouées après une restauration. */
+    @Getter(AccessLevel.NONE)
+    private final List<Runnable> mapRefreshActions = new CopyOnWriteArrayList<>();
+
+    /** Missions de massacre actives : (type, faction cible) → missions par id. */
+    @Getter(AccessLevel.NONE)
+    private final Map<MassacreKey, Map<String, Mission>> activeMassacresByTarget = new HashMap<>();
+
+    private MissionsRegistry() {
+        globalMissionMap.addListener((MapChangeListener<String, Mission>) change -> {
+            synchronized (globalMissionMap) {
+                if (change.wasRemoved()) {
+                    unindex(change.getKey(), change.getValueRemoved());
+                }
+                if (change.wasAdded()) {
+                    index(change.getValueAdded());
+                }
+            }
+        });
+    }
 
     public static MissionsRegistry getInstance() {
         return INSTANCE;
     }
     public void addMissionMapListener(Runnable action) {
+        mapRefreshActions.add(action);
         globalMissionMap.addListener((MapChangeListener<String, Mission>) change -> {
             if (!DashboardContext.getInstance().isBatchLoading()) {
-                Platform.runLater(action);
+                UiRefreshScheduler.getInstance().request(action);
             }
         });
     }
     public void clear(){
         synchronized (globalMissionMap) {
             globalMissionMap.clear();
+            activeMassacresByTarget.clear();
         }
     }
 
-    /** Restaure l'ensemble des missions à partir d'un snapshot persisté. */
+    /**
+     * Restaure l'ensemble des missions à partir d'un snapshot persisté, sans événement par
+     * entrée : la map sous-jacente et l'index sont remplacés sous le verrou, puis les listeners
+     * de {@link #addMissionMapListener} sont notifiés une seule fois.
+     */
     public void applyFullPersistedSnapshot(Map<String, Mission> snapshot) {
         synchronized (globalMissionMap) {
-            globalMissionMap.clear();
+            backingMissionMap.clear();
+            activeMassacresByTarget.clear();
             if (snapshot != null) {
-                globalMissionMap.putAll(snapshot);
+                backingMissionMap.putAll(snapshot);
+                backingMissionMap.values().forEach(this::index);
             }
         }
+        if (!DashboardContext.getInstance().isBatchLoading()) {
+            mapRefreshActions.forEach(UiRefreshScheduler.getInstance()::request);
+        }
     }
 
     public void setActiveMissionsToFailed(){
@@ -59,6 +112,7 @@ public class MissionsRegistry {
                     mission.setStatus(MissionStatus.FAILED);
                 }
             });
+            activeMassacresByTarget.clear();
         }
         MissionEventNotificationService.getInstance().notifyOnMissionStatusChanged();
     }
@@ -82,4 +136,108 @@ public class MissionsRegistry {
         }
     }
 
+    /**
+     * Change le statut d'une mission en gardant l'index des massacres actifs à jour.
+     */
+    public void updateMissionStatus(Mission mission, MissionStatus status) {
+        synchronized (globalMissionMap) {
+            unindex(mission.getId(), mission);
+            mission.setStatus(status);
+            if (globalMissionMap.get(mission.getId()) == mission) {
+                index(mission);
+            }
+        }
+    }
+
+    /**
+     * Missions de massacre actives d'un type donné visant {@code targetFaction}.
+     *
+     * @return liste détachée (vide si aucune), sûre à parcourir hors verrou
+     */
+    public List<Mission> getActiveMassacreMissions(MassacreKind kind, String targetFaction) {
+        if (targetFaction == null) {
+            return Collections.emptyList();
+        }
+        synchronized (globalMissionMap) {
+            Map<String, Mission> missions = activeMassacresByTarget.get(new MassacreKey(kind, targetFaction));
+            if (missions == null || missions.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<Mission> active = new ArrayList<>(missions.size());
+            for (Mission mission : missions.values()) {
+                // Filet de sécurité : statut modifié sans passer par updateMissionStatus
+                if (mission.isActive()) {
+                    active.add(mission);
+                }
+            }
+            return active;
+        }
+    }
+
+    /** @return {@code true} si au moins une mission de massacre est active. */
+    public boolean hasActiveMassacreMissions() {
+        synchronized (globalMissionMap) {
+            return !activeMassacresByTarget.isEmpty();
+        }
+    }
+
+    private void index(Mission mission) {
+        MassacreKind kind = MassacreKind.of(mission);
+        if (kind == null || !mission.isActive() || mission.getTargetFaction() == null) {
+            return;
+        }
+        activeMassacresByTarget
+                .computeIfAbsent(new MassacreKey(kind, mission.getTargetFaction()), k -> new LinkedHashMap<>())
+                .put(mission.getId(), mission);
+    }
+
+    private void unindex(String id, Mission mission) {
+        MassacreKind kind = MassacreKind.of(mission);
+        if (kind == null || mission.getTargetFaction() == null) {
+            return;
+        }
+        MassacreKey key = new MassacreKey(kind, mission.getTargetFaction());
+        Map<String, Mission> missions = activeMassacresByTarget.get(key);
+        // Comparaison par identité : Mission est un @Data mutable
+        if (missions != null && missions.get(id) == mission) {
+            missions.remove(id);
+            if (missions.isEmpty()) {
+                activeMassacresByTarget.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Familles de missions de massacre pour l'attribution des kills.
+     */
+    public enum MassacreKind {
+        PIRATE,
+        DESERTEUR,
+        FACTION,
+        ON_FOOT;
+
+        /** @return la famille de la mission, ou {@code null} si ce n'est pas un massacre */
+        public static MassacreKind of(Mission mission) {
+            if (mission == null) {
+                return null;
+            }
+            if (mission.isShipPirateMission()) {
+                return PIRATE;
+            }
+            if (mission.isShipDeserteurMission()) {
+                return DESERTEUR;
+            }
+            if (MissionType.CONFLIT.equals(mission.getType())) {
+                return FACTION;
+            }
+            if (mission.isOnFootMassacre() && TargetType.HUMANOID.equals(mission.getTargetType())) {
+                return ON_FOOT;
+            }
+            return null;
+        }
+    }
+
+    private record MassacreKey(MassacreKind kind, String targetFaction) {
+    }
+
 }
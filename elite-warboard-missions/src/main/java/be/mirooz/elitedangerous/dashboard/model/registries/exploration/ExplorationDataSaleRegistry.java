@@ -4,18 +4,32 @@ import be.mirooz.elitedangerous.dashboard.model.registries.commander.CommanderSt
 import be.mirooz.elitedangerous.dashboard.model.exploration.ExplorationDataOnHold;
 import be.mirooz.elitedangerous.dashboard.model.exploration.ExplorationDataSale;
 import be.mirooz.elitedangerous.dashboard.model.exploration.SystemVisited;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
+import be.mirooz.elitedangerous.dashboard.service.persistence.PersistenceService;
 
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 
 /**
  * Registry pour stocker les ventes de données d'exploration.
  * Singleton observable pour la UI.
+ *
+ * <p>Les entrées {@link SystemVisited} des ventes et du on hold sont indexées par nom normalisé
+ * ({@link SystemVisitedRegistry#normalizeName}) : le réalignement d'un système sur le
+ * {@link SystemVisitedRegistry} ne parcourt que ses propres entrées, et le réalignement complet
+ * parcourt chaque entrée une fois. L'index est construit à la demande et reconstruit si les
+ * listes ont été remplacées (restauration) ou modifiées hors du registry.</p>
  */
 @Data
 public class ExplorationDataSaleRegistry {
@@ -38,8 +52,14 @@ public class ExplorationDataSaleRegistry {
 
     /** Filtre liste corps (exobio) : un seul {@code bodyID}, ou null. */
     @JsonProperty("filteredBodyID")
+    @Setter(AccessLevel.NONE)
     private Integer filteredBodyID;
 
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient SaleSystemIndex saleSystemIndex;
+
     private ExplorationDataSaleRegistry() {
     }
 
@@ -47,13 +67,27 @@ public class ExplorationDataSaleRegistry {
         return INSTANCE;
     }
 
+    /**
+     * Change le filtre exobio et signale lui-même le store à la persistance : il est posé depuis
+     * plusieurs handlers et depuis le calcul d'un scan, sans que chacun ait à le déclarer.
+     */
+    public void setFilteredBodyID(Integer filteredBodyID) {
+        if (Objects.equals(this.filteredBodyID, filteredBodyID)) {
+            return;
+        }
+        this.filteredBodyID = filteredBodyID;
+        PersistenceService.getInstance().markChanged(StoreNames.EXPLORATION_DATA_SALE_REGISTRY);
+    }
+
     public void addToOnHold(SystemVisited systemVisited) {
         if (explorationDataOnHold == null) {
             explorationDataOnHold = ExplorationDataOnHold.builder()
                     .startTimeStamp(systemVisited.getLastVisitedTime())
                     .build();
         }
+        SaleSystemIndex index = currentIndex();
         explorationDataOnHold.getSystemsVisitedMap().put(systemVisited.getSystemName(),systemVisited);
+        index.addOnHoldKey(systemVisited.getSystemName());
     }
     /**
      * Ajoute ou met à jour la vente en cours avec de nouvelles données.
@@ -77,11 +111,18 @@ public class ExplorationDataSaleRegistry {
                     .bonus(0)
                     .totalEarnings(0)
                     .build();
+            SaleSystemIndex index = currentIndex();
             sales.add(currentSale);
+            index.salesCount = sales.size();
         }
         
         // Ajouter les systèmes découverts
-        currentSale.getSystemsVisited().addAll(discoveredSystems);
+        SaleSystemIndex index = currentIndex();
+        List<SystemVisited> systemsVisited = currentSale.getSystemsVisited();
+        for (SystemVisited systemVisited : discoveredSystems) {
+            systemsVisited.add(systemVisited);
+            index.addSlot(systemsVisited, systemsVisited.size() - 1);
+        }
         
         // Accumuler les valeurs
         currentSale.setBaseValue(currentSale.getBaseValue() + baseValue);
@@ -133,9 +174,12 @@ public class ExplorationDataSaleRegistry {
         if (alreadyListed) {
             return;
         }
+        SaleSystemIndex index = currentIndex();
+        List<SystemVisited> systemsVisited = currentSale.getSystemsVisited();
         SystemVisited fromRegistry = SystemVisitedRegistry.getInstance().getSystem(name);
         if (fromRegistry != null) {
-            currentSale.getSystemsVisited().add(fromRegistry);
+            systemsVisited.add(fromRegistry);
+            index.addSlot(systemsVisited, systemsVisited.size() - 1);
             return;
         }
         String ts = journalTimestamp != null && !journalTimestamp.isBlank() ? journalTimestamp : "";
@@ -145,7 +189,8 @@ public class ExplorationDataSaleRegistry {
                 .lastVisitedTime(ts)
                 .sold(false)
                 .build();
-        currentSale.getSystemsVisited().add(placeholder);
+        systemsVisited.add(placeholder);
+        index.addSlot(systemsVisited, systemsVisited.size() - 1);
     }
 
     /**
@@ -156,88 +201,152 @@ public class ExplorationDataSaleRegistry {
         if (systemName == null || systemName.isBlank()) {
             return;
         }
-        String nameNorm = systemName.trim();
-        SystemVisited fromReg = lookupRegistrySystem(nameNorm);
+        SystemVisited fromReg = SystemVisitedRegistry.getInstance().findSystem(systemName);
         if (fromReg == null) {
             return;
         }
-        if (explorationDataOnHold != null && explorationDataOnHold.getSystemsVisitedMap() != null) {
-            var map = explorationDataOnHold.getSystemsVisitedMap();
-            String keyFound = null;
-            for (String k : map.keySet()) {
-                if (k != null && k.equalsIgnoreCase(nameNorm)) {
-                    keyFound = k;
-                    break;
-                }
-            }
-            if (keyFound != null) {
-                map.put(keyFound, fromReg);
+        String normalized = SystemVisitedRegistry.normalizeName(systemName);
+        if (!replaceIndexedEntries(currentIndex(), normalized, fromReg)) {
+            // Entrée déplacée hors du registry : index reconstruit, puis nouvel essai
+            saleSystemIndex = null;
+            replaceIndexedEntries(currentIndex(), normalized, fromReg);
+        }
+    }
+
+    /**
+     * Après chargement persistance / batch : réaligne toutes les entrées d’historique sur le registre visité.
+     * Chaque entrée est résolue une fois par l'index de noms du {@link SystemVisitedRegistry}.
+     */
+    public void resyncAllExplorationSalesFromSystemRegistry() {
+        // Index reconstruit : couvre aussi les listes remplacées depuis le dernier appel
+        saleSystemIndex = null;
+        SaleSystemIndex index = currentIndex();
+        SystemVisitedRegistry registry = SystemVisitedRegistry.getInstance();
+        for (Map.Entry<String, String> e : index.onHoldKeys.entrySet()) {
+            SystemVisited fromReg = registry.findSystem(e.getKey());
+            if (fromReg != null) {
+                index.onHoldMap.put(e.getValue(), fromReg);
             }
         }
-        for (ExplorationDataSale sale : sales) {
-            if (sale == null || sale.getSystemsVisited() == null) {
+        for (Map.Entry<String, List<SaleSlot>> e : index.slots.entrySet()) {
+            SystemVisited fromReg = registry.findSystem(e.getKey());
+            if (fromReg == null) {
                 continue;
             }
-            replaceSystemInSaleList(sale.getSystemsVisited(), nameNorm, fromReg);
+            for (SaleSlot slot : e.getValue()) {
+                slot.list().set(slot.index(), fromReg);
+            }
         }
     }
 
-    private static SystemVisited lookupRegistrySystem(String nameNorm) {
-        SystemVisitedRegistry reg = SystemVisitedRegistry.getInstance();
-        SystemVisited exact = reg.getSystem(nameNorm);
-        if (exact != null) {
-            return exact;
+    /**
+     * @return {@code false} si une entrée indexée ne correspond plus (index à reconstruire)
+     */
+    private boolean replaceIndexedEntries(SaleSystemIndex index, String normalized, SystemVisited fromReg) {
+        String onHoldKey = index.onHoldKeys.get(normalized);
+        if (onHoldKey != null) {
+            if (!index.onHoldMap.containsKey(onHoldKey)) {
+                return false;
+            }
+            index.onHoldMap.put(onHoldKey, fromReg);
+        }
+        List<SaleSlot> slots = index.slots.get(normalized);
+        if (slots == null) {
+            return true;
         }
-        for (var e : reg.getSystems().entrySet()) {
-            if (e.getKey() != null && e.getKey().equalsIgnoreCase(nameNorm)) {
-                return e.getValue();
+        for (SaleSlot slot : slots) {
+            if (slot.index() >= slot.list().size() || !normalized.equals(normalizedName(slot.list().get(slot.index())))) {
+                return false;
             }
         }
-        return null;
+        for (SaleSlot slot : slots) {
+            slot.list().set(slot.index(), fromReg);
+        }
+        return true;
     }
 
-    private static void replaceSystemInSaleList(List<SystemVisited> list, String nameNorm, SystemVisited fromReg) {
-        for (int i = 0; i < list.size(); i++) {
-            SystemVisited s = list.get(i);
-            if (s != null && s.getSystemName() != null && s.getSystemName().trim().equalsIgnoreCase(nameNorm)) {
-                list.set(i, fromReg);
-            }
+    /**
+     * Index des entrées courantes, reconstruit si les ventes ou le on hold ont été remplacés.
+     */
+    private SaleSystemIndex currentIndex() {
+        SaleSystemIndex index = saleSystemIndex;
+        Map<String, SystemVisited> onHoldMap = explorationDataOnHold != null
+                ? explorationDataOnHold.getSystemsVisitedMap() : null;
+        if (index == null || index.sales != sales || index.salesCount != sales.size()
+                || index.onHoldMap != onHoldMap
+                || (onHoldMap != null && index.onHoldSize != onHoldMap.size())) {
+            index = new SaleSystemIndex(sales, onHoldMap);
+            saleSystemIndex = index;
         }
+        return index;
+    }
+
+    private static String normalizedName(SystemVisited system) {
+        return system != null ? SystemVisitedRegistry.normalizeName(system.getSystemName()) : null;
+    }
+
+    /** Position d'une entrée dans la liste de systèmes d'une vente. */
+    private record SaleSlot(List<SystemVisited> list, int index) {
     }
 
     /**
-     * Après chargement persistance / batch : réaligne toutes les entrées d’historique sur le registre visité.
+     * Nom normalisé → positions dans les ventes, et → clé du on hold.
      */
-    public void resyncAllExplorationSalesFromSystemRegistry() {
-        Set<String> names = new LinkedHashSet<>();
-        if (explorationDataOnHold != null && explorationDataOnHold.getSystemsVisitedMap() != null) {
-            for (var e : explorationDataOnHold.getSystemsVisitedMap().entrySet()) {
-                if (e.getKey() != null && !e.getKey().isBlank()) {
-                    names.add(e.getKey().trim());
+    private static final class SaleSystemIndex {
+        private final List<ExplorationDataSale> sales;
+        private int salesCount;
+        private final Map<String, SystemVisited> onHoldMap;
+        private int onHoldSize;
+        private final Map<String, List<SaleSlot>> slots = new HashMap<>();
+        private final Map<String, String> onHoldKeys = new HashMap<>();
+
+        private SaleSystemIndex(List<ExplorationDataSale> sales, Map<String, SystemVisited> onHoldMap) {
+            this.sales = sales;
+            this.salesCount = sales.size();
+            this.onHoldMap = onHoldMap;
+            this.onHoldSize = onHoldMap != null ? onHoldMap.size() : 0;
+            if (onHoldMap != null) {
+                for (String key : onHoldMap.keySet()) {
+                    indexOnHoldKey(key);
                 }
-                if (e.getValue() != null && e.getValue().getSystemName() != null && !e.getValue().getSystemName().isBlank()) {
-                    names.add(e.getValue().getSystemName().trim());
+            }
+            for (ExplorationDataSale sale : sales) {
+                if (sale == null || sale.getSystemsVisited() == null) {
+                    continue;
+                }
+                List<SystemVisited> list = sale.getSystemsVisited();
+                for (int i = 0; i < list.size(); i++) {
+                    addSlot(list, i);
                 }
             }
         }
-        for (ExplorationDataSale sale : sales) {
-            if (sale == null || sale.getSystemsVisited() == null) {
-                continue;
-            }
-            for (SystemVisited sv : sale.getSystemsVisited()) {
-                if (sv != null && sv.getSystemName() != null && !sv.getSystemName().isBlank()) {
-                    names.add(sv.getSystemName().trim());
-                }
+
+        /** Clé ajoutée au on hold par le registry. */
+        private void addOnHoldKey(String key) {
+            indexOnHoldKey(key);
+            onHoldSize = onHoldMap != null ? onHoldMap.size() : 0;
+        }
+
+        private void indexOnHoldKey(String key) {
+            String normalized = SystemVisitedRegistry.normalizeName(key);
+            if (normalized != null && !normalized.isEmpty()) {
+                // Première clé gardée, comme l'ancien parcours des clés
+                onHoldKeys.putIfAbsent(normalized, key);
             }
         }
-        for (String n : names) {
-            resyncSystemVisitedWithRegistry(n);
+
+        private void addSlot(List<SystemVisited> list, int index) {
+            String normalized = normalizedName(list.get(index));
+            if (normalized != null && !normalized.isEmpty()) {
+                slots.computeIfAbsent(normalized, k -> new ArrayList<>(1)).add(new SaleSlot(list, index));
+            }
         }
     }
 
     public void clearAll(){
         clearOnHold();
         getAllSales().clear();
+        saleSystemIndex = null;
         currentAnalysisBodyName = null;
         currentAnalysisSpeciesId = null;
         filteredBodyID = null;
@@ -7,16 +7,18 @@ import be.mirooz.elitedangerous.dashboard.model.exploration.ParentBody;
 import be.mirooz.elitedangerous.dashboard.model.exploration.PlaneteDetail;
 import be.mirooz.elitedangerous.dashboard.model.exploration.StarDetail;
 import be.mirooz.elitedangerous.dashboard.model.exploration.SystemVisited;
+import be.mirooz.elitedangerous.dashboard.service.listeners.UiRefreshScheduler;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableMap;
 import lombok.Data;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Singleton pour stocker les détails des planètes scannées, observable par la UI.
@@ -28,8 +30,34 @@ public class PlaneteRegistry {
     private static final PlaneteRegistry INSTANCE = new PlaneteRegistry();
 
     @JsonIgnore
-    private ObservableMap<Integer, ACelesteBody> planetesMap =
-            FXCollections.observableHashMap();
+    private ObservableMap<Integer, ACelesteBody> planetesMap = newBodiesMap();
+
+    /** Étoiles du système courant par bodyID, tenues à jour à chaque ajout / retrait de corps. */
+    @JsonIgnore
+    private final Map<Integer, StarDetail> starsById = new ConcurrentHashMap<>();
+
+    /** Chaîne des étoiles parentes (bodyID, ordre du journal) de chaque planète du registre. */
+    @JsonIgnore
+    private final Map<Integer, int[]> parentStarChains = new ConcurrentHashMap<>();
+
+    /** Corps du registre triés par bodyID (racines et orphelins de l'orrery). */
+    @JsonIgnore
+    private final NavigableMap<Integer, ACelesteBody> bodiesById = new ConcurrentSkipListMap<>();
+
+    /** Pour chaque bodyID, les corps qui l'ont dans leur chaîne de parents, triés par bodyID. */
+    @JsonIgnore
+    private final Map<Integer, NavigableMap<Integer, ACelesteBody>> descendantsByAncestor = new ConcurrentHashMap<>();
+
+    /** Chaîne de parents indexée pour chaque corps (pour le retirer de {@link #descendantsByAncestor}). */
+    @JsonIgnore
+    private final Map<Integer, int[]> indexedAncestors = new ConcurrentHashMap<>();
+
+    /** Incrémenté à chaque changement de l'arbre : invalide {@link #orreryCache}. */
+    @JsonIgnore
+    private final AtomicLong orreryVersion = new AtomicLong();
+
+    @JsonIgnore
+    private volatile OrreryCache orreryCache;
 
     private PlaneteRegistry() {
     }
@@ -50,12 +78,116 @@ public class PlaneteRegistry {
                 && body instanceof PlaneteDetail newP) {
             // Au lieu de remplacer l'objet, on met juste à jour les champs
             oldP.updateFrom(newP);
+            indexBody(oldP);
             syncSystemVisitedCanonicalBody(oldP);
             return;
         }
         planetesMap.put(body.getBodyID(), body);
         syncSystemVisitedCanonicalBody(planetesMap.get(body.getBodyID()));
-        getSortedBodiesForOrrery();
+    }
+
+    /**
+     * Map observable des corps, dont chaque ajout / retrait met à jour l'index des étoiles et des
+     * chaînes d'étoiles parentes (couvre aussi {@code putAll} de la restauration). Chaque insertion
+     * résout aussi les signaux biologiques en attente pour ce corps.
+     */
+    private ObservableMap<Integer, ACelesteBody> newBodiesMap() {
+        ObservableMap<Integer, ACelesteBody> map = FXCollections.observableHashMap();
+        map.addListener((MapChangeListener<Integer, ACelesteBody>) change -> {
+            if (change.wasRemoved()) {
+                starsById.remove(change.getKey());
+                parentStarChains.remove(change.getKey());
+                unindexOrrery(change.getKey());
+            }
+            if (change.wasAdded()) {
+                indexBody(change.getValueAdded());
+                BiologicalSignalProcessor.getInstance().onBodyRegistered(change.getValueAdded());
+            }
+        });
+        return map;
+    }
+
+    private void indexBody(ACelesteBody body) {
+        if (body instanceof StarDetail star) {
+            starsById.put(star.getBodyID(), star);
+        } else if (body != null) {
+            parentStarChains.put(body.getBodyID(), computeParentStarChain(body));
+        }
+        if (body != null) {
+            indexOrrery(body);
+        }
+    }
+
+    /**
+     * Range le corps sous chacun de ses parents : seuls les sous-arbres de ces parents changent, et
+     * l'ordre orrery n'est recalculé qu'à la prochaine demande de la vue.
+     */
+    private void indexOrrery(ACelesteBody body) {
+        int id = body.getBodyID();
+        unindexOrrery(id);
+        List<ParentBody> parents = body.getParents();
+        int[] ancestors = parents == null ? new int[0]
+                : parents.stream().filter(Objects::nonNull).mapToInt(ParentBody::getBodyID).distinct().toArray();
+        for (int ancestor : ancestors) {
+            descendantsByAncestor.computeIfAbsent(ancestor, k -> new ConcurrentSkipListMap<>()).put(id, body);
+        }
+        indexedAncestors.put(id, ancestors);
+        bodiesById.put(id, body);
+        orreryVersion.incrementAndGet();
+    }
+
+    private void unindexOrrery(int id) {
+        int[] ancestors = indexedAncestors.remove(id);
+        if (ancestors != null) {
+            for (int ancestor : ancestors) {
+                NavigableMap<Integer, ACelesteBody> descendants = descendantsByAncestor.get(ancestor);
+                if (descendants != null) {
+                    descendants.remove(id);
+                }
+            }
+        }
+        if (bodiesById.remove(id) != null) {
+            orreryVersion.incrementAndGet();
+        }
+    }
+
+    private static int[] computeParentStarChain(ACelesteBody body) {
+        List<ParentBody> parents = body.getParents();
+        if (parents == null || parents.isEmpty()) {
+            return new int[0];
+        }
+        return parents.stream()
+                .filter(p -> "Star".equalsIgnoreCase(p.getType()))
+                .mapToInt(ParentBody::getBodyID)
+                .toArray();
+    }
+
+    /**
+     * Étoile du système courant par bodyID (index, sans parcours des corps).
+     */
+    public StarDetail getStarByBodyID(int bodyID) {
+        return starsById.get(bodyID);
+    }
+
+    /**
+     * Toutes les étoiles connues du système courant.
+     */
+    public Collection<StarDetail> getStars() {
+        return starsById.values();
+    }
+
+    /**
+     * bodyIDs des étoiles parentes de {@code body} : chaîne précalculée si c'est l'instance du
+     * registre, calculée à la volée sinon (corps hors registre, ex. enrichissement Spansh).
+     */
+    public int[] getParentStarChain(ACelesteBody body) {
+        if (planetesMap.get(body.getBodyID()) == body) {
+            int[] chain = parentStarChains.get(body.getBodyID());
+            if (chain != null) {
+                return chain;
+            }
+        }
+        return computeParentStarChain(body);
     }
 
     /**
@@ -70,37 +202,11 @@ public class PlaneteRegistry {
         if (sv == null || sv.getCelesteBodies() == null || sv.getCelesteBodies().isEmpty()) {
             return;
         }
-        int id = canonical.getBodyID();
-        List<ACelesteBody> rebuilt = new ArrayList<>();
-        boolean anyChange = false;
-        boolean seenForId = false;
-
-        for (ACelesteBody b : sv.getCelesteBodies()) {
-            if (b == null) {
-                rebuilt.add(null);
-                continue;
-            }
-            if (b.getBodyID() == id) {
-                if (!seenForId) {
-                    seenForId = true;
-                    rebuilt.add(canonical);
-                    if (b != canonical) {
-                        anyChange = true;
-                    }
-                } else {
-                    anyChange = true;
-                }
-            } else {
-                rebuilt.add(b);
-            }
-        }
-        if (!seenForId) {
-            rebuilt.add(canonical);
-            anyChange = true;
-        }
-        if (anyChange) {
-            sv.setCelesteBodies(rebuilt);
+        // Vue live des valeurs du registre (système courant) : le corps y est déjà
+        if (sv.getCelesteBodies() != planetesMap.values()) {
+            sv.putCanonicalBody(canonical);
         }
+        SystemVisitedRegistry.getInstance().markChanged(sv.getSystemName());
         if (sv.getSystemName() != null && !sv.getSystemName().isBlank()
                 && !DashboardContext.getInstance().isBatchLoading()) {
             ExplorationDataSaleRegistry.getInstance().resyncSystemVisitedWithRegistry(sv.getSystemName());
@@ -115,18 +221,7 @@ public class PlaneteRegistry {
         if (raw == null || raw.isBlank()) {
             return null;
         }
-        String t = raw.trim();
-        SystemVisitedRegistry reg = SystemVisitedRegistry.getInstance();
-        SystemVisited exact = reg.getSystem(t);
-        if (exact != null) {
-            return exact;
-        }
-        for (var e : reg.getSystems().entrySet()) {
-            if (e.getKey() != null && e.getKey().equalsIgnoreCase(t)) {
-                return e.getValue();
-            }
-        }
-        return null;
+        return SystemVisitedRegistry.getInstance().findSystem(raw);
     }
 
 
@@ -161,7 +256,7 @@ public class PlaneteRegistry {
     public void addPlaneteMapListener(Runnable action) {
         planetesMap.addListener((MapChangeListener<Integer, ACelesteBody>) change -> {
             if (!DashboardContext.getInstance().isBatchLoading()) {
-                Platform.runLater(action);
+                UiRefreshScheduler.getInstance().request(action);
             }
         });
     }
@@ -171,8 +266,13 @@ public class PlaneteRegistry {
      */
     public void clear() {
         //planetesMap.clear();
-        planetesMap =
-                FXCollections.observableHashMap();
+        planetesMap = newBodiesMap();
+        starsById.clear();
+        parentStarChains.clear();
+        bodiesById.clear();
+        descendantsByAncestor.clear();
+        indexedAncestors.clear();
+        orreryVersion.incrementAndGet();
         BiologicalSignalProcessor.getInstance().clear();
         currentStarSystem = null;
     }
@@ -281,48 +381,54 @@ public class PlaneteRegistry {
      * @return Liste triée avec les soleils en premier, suivis de leurs orbites hiérarchiques
      */
     public List<ACelesteBody> getSortedBodiesForOrrery() {
-        List<ACelesteBody> result = new ArrayList<>();
+        OrreryCache cache = orreryCache;
+        long version = orreryVersion.get();
+        if (cache != null && cache.version() == version) {
+            return cache.bodies();
+        }
+        List<ACelesteBody> result = Collections.unmodifiableList(buildOrrery());
+        orreryCache = new OrreryCache(version, result);
+        return result;
+    }
+
+    private List<ACelesteBody> buildOrrery() {
+        List<ACelesteBody> result = new ArrayList<>(bodiesById.size());
         Set<Integer> processed = new HashSet<>();
-        
-        // Étape 1 : Identifier tous les soleils (StarDetail sans parent ou avec parent "Null")
-        List<ACelesteBody> soleils = planetesMap.values().stream()
+
+        // Étape 1 : Identifier tous les soleils (StarDetail sans parent ou avec parent "Null"), triés par bodyID
+        List<ACelesteBody> soleils = bodiesById.values().stream()
                 .filter(body -> body instanceof StarDetail)
                 .filter(body -> {
                     // Un soleil est un corps sans parent ou avec un parent de type "Null"
                     List<ParentBody> parents = body.getParents();
-                    return parents == null || parents.isEmpty() || 
+                    return parents == null || parents.isEmpty() ||
                            parents.stream().anyMatch(p -> "Null".equalsIgnoreCase(p.getType()));
                 })
-                .sorted(Comparator.comparing(ACelesteBody::getBodyID))
-                .collect(Collectors.toList());
-        
+                .toList();
+
         // Étape 2 : Pour chaque soleil, ajouter le soleil puis ses orbites récursivement
         for (ACelesteBody soleil : soleils) {
-            if (!processed.contains(soleil.getBodyID())) {
+            if (processed.add(soleil.getBodyID())) {
                 result.add(soleil);
-                processed.add(soleil.getBodyID());
-                
                 // Ajouter récursivement tous les enfants de ce soleil
                 // Cela inclut : planètes → lunes → lunes de lunes, etc.
                 addChildrenRecursively(soleil, result, processed);
             }
         }
-        
+
         // Étape 3 : Ajouter les corps célestes qui n'ont pas été traités (orphelins)
         // Ces corps n'ont pas de parent soleil identifié, mais peuvent avoir leurs propres enfants
-        planetesMap.values().stream()
-                .filter(body -> !processed.contains(body.getBodyID()))
-                .sorted(Comparator.comparing(ACelesteBody::getBodyID))
-                .forEach(body -> {
-                    result.add(body);
-                    processed.add(body.getBodyID());
-                    // Même pour les orphelins, on ajoute récursivement leurs enfants
-                    addChildrenRecursively(body, result, processed);
-                });
-        
+        for (ACelesteBody body : bodiesById.values()) {
+            if (processed.add(body.getBodyID())) {
+                result.add(body);
+                // Même pour les orphelins, on ajoute récursivement leurs enfants
+                addChildrenRecursively(body, result, processed);
+            }
+        }
+
         return result;
     }
-    
+
     /**
      * Ajoute récursivement tous les enfants d'un corps céleste parent.
      * Cette méthode gère la hiérarchie complète :
@@ -330,44 +436,31 @@ public class PlaneteRegistry {
      * - Lunes autour d'une planète
      * - Lunes de lunes (sub-lunes) autour d'une lune
      * - Et ainsi de suite récursivement
-     * 
-     * Les enfants sont triés par bodyID pour un ordre cohérent.
-     * 
+     *
+     * Les enfants sont les corps qui ont ce parent n'importe où dans leur chaîne de parents
+     * (ex: une lune a [Planet, Star]) : lus dans {@link #descendantsByAncestor}, déjà triés par
+     * bodyID pour un ordre cohérent.
+     *
      * @param parent Le corps céleste parent (soleil, planète, lune, etc.)
      * @param result La liste résultat où ajouter les enfants
      * @param processed L'ensemble des bodyID déjà traités pour éviter les doublons
      */
     private void addChildrenRecursively(ACelesteBody parent, List<ACelesteBody> result, Set<Integer> processed) {
-        // Trouver tous les corps qui ont ce parent dans leur liste de parents
-        // Dans Elite Dangerous, un corps peut avoir plusieurs parents dans sa chaîne
-        // (ex: une lune a [Planet, Star] dans sa liste de parents)
-        // On cherche si le parent donné est présent dans cette chaîne
-        List<ACelesteBody> children = planetesMap.values().stream()
-                .filter(body -> !processed.contains(body.getBodyID()))
-                .filter(body -> {
-                    List<ParentBody> parents = body.getParents();
-                    if (parents == null || parents.isEmpty()) {
-                        return false;
-                    }
-                    // Vérifier si ce corps a le parent dans sa chaîne de parents
-                    // Cela fonctionne pour : Soleil → Planète, Planète → Lune, Lune → Sub-lune, etc.
-                    return parents.stream().anyMatch(p -> p.getBodyID() == parent.getBodyID());
-                })
-                .sorted(Comparator.comparing(ACelesteBody::getBodyID))
-                .collect(Collectors.toList());
-        
-        // Ajouter chaque enfant et récursivement ses propres enfants
-        // Exemple : Si parent = Planète A, on trouve ses lunes, puis pour chaque lune,
-        // on cherche récursivement ses propres lunes (sub-lunes)
-        for (ACelesteBody child : children) {
-            if (!processed.contains(child.getBodyID())) {
+        NavigableMap<Integer, ACelesteBody> children = descendantsByAncestor.get(parent.getBodyID());
+        if (children == null) {
+            return;
+        }
+        for (ACelesteBody child : children.values()) {
+            if (processed.add(child.getBodyID())) {
                 result.add(child);
-                processed.add(child.getBodyID());
                 // Récursion : si cet enfant a lui-même des enfants (ex: lune avec sub-lunes),
                 // ils seront aussi ajoutés à la suite
                 addChildrenRecursively(child, result, processed);
             }
         }
     }
-}
 
+    /** Ordre orrery calculé pour une version de l'arbre. */
+    private record OrreryCache(long version, List<ACelesteBody> bodies) {
+    }
+}
@@ -8,27 +8,47 @@ import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
 import javafx.collections.transformation.SortedList;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Registry pour stocker les systèmes visités.
  * - Singleton observable pour la UI
- * - Lookup O(1) par nom grâce à systems (map)
+ * - Lookup O(1) par nom grâce à systems (map), et par nom normalisé ({@link #normalizeName},
+ *   casse / espaces ignorés) grâce à l'index tenu par le listener de la map
  * - Liste triée automatiquement par lastVisitedTime pour l'affichage UI
+ * - Restauration en masse ({@link #applyFullPersistedSnapshot}) : map, index et liste sont
+ *   reconstruits à part puis publiés en un seul {@code setAll}, sans un événement par système
+ * - Suivi des systèmes modifiés depuis la dernière persistance ({@link #drainChangedNames()}) :
+ *   ajouts / retraits via le listener de la map, mutations en place via {@link #markChanged(String)}
  */
 @Data
 public class SystemVisitedRegistry {
 
+    private static final Comparator<SystemVisited> LAST_VISITED_DESC =
+            Comparator.comparing(SystemVisited::getLastVisitedTime).reversed();
+
     private static final SystemVisitedRegistry INSTANCE = new SystemVisitedRegistry();
 
+    /** Map sous-jacente de {@link #systems}, remplie directement lors d'une restauration en masse. */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, SystemVisited> backingSystems = new HashMap<>();
+
     /** Lookup rapide par nom du système */
     private final ObservableMap<String, SystemVisited> systems =
-            FXCollections.observableHashMap();
+            FXCollections.observableMap(backingSystems);
 
     /** Liste reflétant automatiquement la map */
     private final ObservableList<SystemVisited> systemsList =
@@ -36,23 +56,73 @@ public class SystemVisitedRegistry {
 
     /** Liste triée automatiquement par lastVisitedTime (desc) */
     private final SortedList<SystemVisited> sortedSystems =
-            new SortedList<>(systemsList, Comparator
-                    .comparing(SystemVisited::getLastVisitedTime)
-                    .reversed()
-            );
+            new SortedList<>(systemsList, LAST_VISITED_DESC);
+
+    /** Nom normalisé → clés de {@link #systems} (plusieurs si seule la casse diffère). */
+    private final Map<String, List<String>> keysByNormalizedName = new ConcurrentHashMap<>();
+
+    /** Clés ajoutées, retirées ou modifiées en place depuis le dernier {@link #drainChangedNames()}. */
+    @Getter(AccessLevel.NONE)
+    private final Set<String> changedNames = ConcurrentHashMap.newKeySet();
 
     private SystemVisitedRegistry() {
         // Synchronise automatiquement la map -> liste
         systems.addListener((MapChangeListener<String, SystemVisited>) change -> {
+            changedNames.add(change.getKey());
             if (change.wasRemoved()) {
                 systemsList.remove(change.getValueRemoved());
+                if (!change.wasAdded()) {
+                    unindexName(change.getKey());
+                }
             }
             if (change.wasAdded()) {
                 systemsList.add(change.getValueAdded());
+                indexName(change.getKey());
             }
         });
     }
 
+    /**
+     * Clé de comparaison des noms de système : sans espaces autour, en minuscules.
+     */
+    public static String normalizeName(String systemName) {
+        return systemName == null ? null : systemName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void indexName(String key) {
+        indexName(keysByNormalizedName, key);
+    }
+
+    private static void indexName(Map<String, List<String>> index, String key) {
+        String normalized = normalizeName(key);
+        if (normalized == null) {
+            return;
+        }
+        index.compute(normalized, (k, keys) -> {
+            if (keys == null) {
+                return List.of(key);
+            }
+            if (keys.contains(key)) {
+                return keys;
+            }
+            List<String> updated = new ArrayList<>(keys);
+            updated.add(key);
+            return List.copyOf(updated);
+        });
+    }
+
+    private void unindexName(String key) {
+        String normalized = normalizeName(key);
+        if (normalized == null) {
+            return;
+        }
+        keysByNormalizedName.computeIfPresent(normalized, (k, keys) -> {
+            List<String> updated = new ArrayList<>(keys);
+            updated.remove(key);
+            return updated.isEmpty() ? null : List.copyOf(updated);
+        });
+    }
+
     public static SystemVisitedRegistry getInstance() {
         return INSTANCE;
     }
@@ -70,13 +140,71 @@ public class SystemVisitedRegistry {
         SystemVisited s = systems.get(systemName);
         if (s != null) {
             s.setSold(true);
+            changedNames.add(systemName);
+        }
+    }
+
+    /**
+     * Signale un système modifié en place (corps, vente...) : il sera réécrit par la prochaine
+     * sauvegarde du journal de modifications. Nom exact, sinon résolu comme {@link #findSystem}.
+     */
+    public void markChanged(String systemName) {
+        if (systemName == null || systemName.isBlank()) {
+            return;
+        }
+        if (systems.containsKey(systemName)) {
+            changedNames.add(systemName);
+            return;
+        }
+        List<String> keys = keysByNormalizedName.get(normalizeName(systemName));
+        if (keys != null) {
+            changedNames.addAll(keys);
+        }
+    }
+
+    /** Système courant du registre planètes, dont les corps sont mutés en place par les events. */
+    public void markCurrentSystemChanged() {
+        markChanged(PlaneteRegistry.getInstance().getCurrentStarSystem());
+    }
+
+    /** Clés modifiées depuis l'appel précédent ; l'ensemble est vidé. */
+    public Set<String> drainChangedNames() {
+        Set<String> drained = new HashSet<>();
+        for (String name : changedNames) {
+            if (changedNames.remove(name)) {
+                drained.add(name);
+            }
         }
+        return drained;
     }
 
     public SystemVisited getSystem(String systemName) {
         return systems.get(systemName);
     }
 
+    /**
+     * Système par nom exact, sinon par nom normalisé (casse / espaces ignorés), sans parcourir la map.
+     */
+    public SystemVisited findSystem(String systemName) {
+        if (systemName == null || systemName.isBlank()) {
+            return null;
+        }
+        SystemVisited exact = systems.get(systemName.trim());
+        if (exact != null) {
+            return exact;
+        }
+        List<String> keys = keysByNormalizedName.get(normalizeName(systemName));
+        if (keys != null) {
+            for (String key : keys) {
+                SystemVisited system = systems.get(key);
+                if (system != null) {
+                    return system;
+                }
+            }
+        }
+        return null;
+    }
+
     public Collection<SystemVisited> getAllSystems() {
         return systems.values();
     }
@@ -94,12 +222,33 @@ public class SystemVisitedRegistry {
         return systems.size();
     }
 
-    /** Restaure l'état complet depuis un snapshot persisté. */
+    /**
+     * Restaure l'état complet depuis un snapshot persisté.
+     *
+     * <p>Pas de {@code clear()} / {@code putAll()} sur la map observable : chaque entrée y
+     * déclencherait le listener (retrait linéaire de {@link #systemsList}, insertion dans
+     * {@link #sortedSystems}). L'index des noms et la liste, pré-triée dans l'ordre de
+     * {@link #sortedSystems}, sont construits sur le thread appelant, puis la map sous-jacente est
+     * remplacée et la liste publiée par un unique {@code setAll}.</p>
+     */
     public void applyFullPersistedSnapshot(java.util.Map<String, SystemVisited> snapshot) {
-        systems.clear();
+        Map<String, List<String>> names = new HashMap<>();
+        List<SystemVisited> ordered = new ArrayList<>();
+        if (snapshot != null) {
+            snapshot.keySet().forEach(key -> indexName(names, key));
+            ordered.addAll(snapshot.values());
+            // Ordre de la SortedList : chaque insertion tombe en fin de mapping, sans décalage
+            ordered.sort(LAST_VISITED_DESC);
+        }
+        backingSystems.clear();
         if (snapshot != null) {
-            systems.putAll(snapshot);
+            backingSystems.putAll(snapshot);
         }
+        keysByNormalizedName.clear();
+        keysByNormalizedName.putAll(names);
+        // État identique au disque : rien à réécrire
+        changedNames.clear();
+        systemsList.setAll(ordered);
     }
 
     /** Expose une copie plate du lookup pour la sérialisation. */
@@ -1,14 +1,23 @@
 package be.mirooz.elitedangerous.dashboard.model.registries.mining;
 
+import be.mirooz.elitedangerous.commons.lib.models.commodities.minerals.Mineral;
 import be.mirooz.elitedangerous.dashboard.model.mining.MiningStat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
- * Registre pour gérer les sessions de minage
+ * Registre pour gérer les sessions de minage.
+ *
+ * <p>Tient à jour l'agrégat des sessions terminées (nombre, durée, minéraux) à chaque transition
+ * de la session courante et à chaque minéral ajouté / retiré : l'historique ne reparcourt pas
+ * toutes les sessions. L'agrégat est reconstruit une fois si la liste a été rechargée.</p>
  */
 public class MiningStatRegistry {
     
@@ -16,6 +25,9 @@ public class MiningStatRegistry {
     @JsonProperty
     private List<MiningStat> miningStats;
     private MiningStat currentMiningSession;
+
+    @JsonIgnore
+    private transient CompletedAggregate completedAggregate;
     
     private MiningStatRegistry() {
         this.miningStats = new ArrayList<>();
@@ -35,6 +47,7 @@ public class MiningStatRegistry {
         // Terminer la session précédente si elle existe
         if (currentMiningSession != null && currentMiningSession.isActive()) {
             currentMiningSession.endSession(null);
+            recount(currentMiningSession);
         }
         
         // Créer une nouvelle session
@@ -63,6 +76,7 @@ public class MiningStatRegistry {
                 miningStats.remove(currentMiningSession);
                 System.out.println("🗑️ Session de minage supprimée (aucun minéral raffiné)");
             }
+            recount(currentMiningSession);
             
             currentMiningSession = null;
         }
@@ -81,6 +95,28 @@ public class MiningStatRegistry {
     public Optional<MiningStat> getCurrentMiningSession() {
         return Optional.ofNullable(currentMiningSession);
     }
+
+    /**
+     * Ajoute un minéral raffiné à la session en cours (agrégat tenu à jour).
+     */
+    public void addRefinedMineral(Mineral mineral, int quantity, String timestamp) {
+        MiningStat session = currentMiningSession;
+        if (session != null) {
+            session.addRefinedMineral(mineral, quantity, timestamp);
+            recount(session);
+        }
+    }
+
+    /**
+     * Retire un minéral raffiné de la session en cours (agrégat tenu à jour).
+     */
+    public void removeRefinedMineral(Mineral mineral, int quantity, String timestamp) {
+        MiningStat session = currentMiningSession;
+        if (session != null) {
+            session.removeRefinedMineral(mineral, quantity, timestamp);
+            recount(session);
+        }
+    }
     
     /**
      * Vérifie si une session de minage est en cours
@@ -120,6 +156,7 @@ public class MiningStatRegistry {
     public void suspendCurrentMiningSession(String timestamp) {
         if (currentMiningSession != null && currentMiningSession.isActive()) {
             currentMiningSession.suspendSession(timestamp);
+            recount(currentMiningSession);
             System.out.println("⏸️ Session de minage suspendue: " + currentMiningSession.getSystemName() + " - " + currentMiningSession.getRingName());
         }
     }
@@ -130,6 +167,7 @@ public class MiningStatRegistry {
     public void resumeMiningSession(String timestamp) {
         if (currentMiningSession != null && currentMiningSession.isSuspended()) {
             currentMiningSession.resumeSession(timestamp);
+            recount(currentMiningSession);
             System.out.println("▶️ Session de minage reprise: " + currentMiningSession.getSystemName() + " - " + currentMiningSession.getRingName());
         }
     }
@@ -144,16 +182,108 @@ public class MiningStatRegistry {
     /**
      * Efface toutes les sessions de minage
      */
-    public void clearAllStats() {
+    public synchronized void clearAllStats() {
         miningStats.clear();
         currentMiningSession = null;
+        completedAggregate = null;
     }
     
     /**
      * Efface les sessions terminées
      */
-    public void clearCompletedStats() {
+    public synchronized void clearCompletedStats() {
         miningStats.removeIf(stat -> !stat.isActive());
+        completedAggregate = null;
+    }
+
+    /**
+     * Nombre de sessions terminées, durée totale (minutes) et minéraux raffinés cumulés, lus dans
+     * l'agrégat (copie).
+     */
+    @JsonIgnore
+    public synchronized CompletedTotals getCompletedTotals() {
+        CompletedAggregate aggregate = aggregate();
+        return new CompletedTotals(aggregate.contributions.size(), aggregate.durationMinutes,
+                new HashMap<>(aggregate.minerals));
+    }
+
+    /**
+     * Remet à jour la contribution de {@code stat} à l'agrégat : retire l'ancienne, ajoute la
+     * nouvelle si la session est terminée et toujours dans le registre.
+     */
+    private synchronized void recount(MiningStat stat) {
+        CompletedAggregate aggregate = completedAggregate;
+        if (aggregate == null || aggregate.source != miningStats) {
+            // Reconstruit au prochain accès
+            completedAggregate = null;
+            return;
+        }
+        aggregate.remove(stat);
+        if (!stat.isActive() && aggregate.contains(miningStats, stat)) {
+            aggregate.add(stat);
+        }
+    }
+
+    private CompletedAggregate aggregate() {
+        CompletedAggregate aggregate = completedAggregate;
+        if (aggregate == null || aggregate.source != miningStats) {
+            aggregate = new CompletedAggregate(miningStats);
+            for (MiningStat stat : miningStats) {
+                if (!stat.isActive()) {
+                    aggregate.add(stat);
+                }
+            }
+            completedAggregate = aggregate;
+        }
+        return aggregate;
+    }
+
+    /**
+     * Totaux des sessions terminées.
+     */
+    public record CompletedTotals(int sessions, long durationMinutes, Map<Mineral, Integer> minerals) {
+    }
+
+    /** Agrégat des sessions terminées de la liste {@code source}, par contribution de session. */
+    private static final class CompletedAggregate {
+        private final List<MiningStat> source;
+        private final Map<MiningStat, Contribution> contributions = new IdentityHashMap<>();
+        private final Map<Mineral, Integer> minerals = new HashMap<>();
+        private long durationMinutes;
+
+        private CompletedAggregate(List<MiningStat> source) {
+            this.source = source;
+        }
+
+        private boolean contains(List<MiningStat> stats, MiningStat stat) {
+            // La session courante est la dernière ajoutée : parcours depuis la fin
+            for (int i = stats.size() - 1; i >= 0; i--) {
+                if (stats.get(i) == stat) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void add(MiningStat stat) {
+            Contribution contribution = new Contribution(stat.getDurationInMinutes(), stat.getTotalRefinedMinerals());
+            contributions.put(stat, contribution);
+            durationMinutes += contribution.durationMinutes();
+            contribution.minerals().forEach((mineral, quantity) -> minerals.merge(mineral, quantity, Integer::sum));
+        }
+
+        private void remove(MiningStat stat) {
+            Contribution contribution = contributions.remove(stat);
+            if (contribution == null) {
+                return;
+            }
+            durationMinutes -= contribution.durationMinutes();
+            contribution.minerals().forEach((mineral, quantity) ->
+                    minerals.merge(mineral, -quantity, (a, b) -> a + b == 0 ? null : a + b));
+        }
+    }
+
+    private record Contribution(long durationMinutes, Map<Mineral, Integer> minerals) {
     }
 
 }
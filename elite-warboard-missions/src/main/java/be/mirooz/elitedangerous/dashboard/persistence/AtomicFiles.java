@@ -0,0 +1,79 @@
+package be.mirooz.elitedangerous.dashboard.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Écriture atomique des fichiers de persistance : contenu écrit dans {@code <fichier>.tmp}
+ * puis renommé sur la cible. Un crash pendant l'écriture laisse l'ancien fichier intact au lieu
+ * d'un JSON tronqué (qui forcerait une purge + full replay au démarrage suivant).
+ *
+ * <p>Les deux étapes sont exposées séparément ({@link #writeTemp} / {@link #commit}) pour qu'un
+ * checkpoint puisse écrire tous ses fichiers avant d'en renommer un seul.</p>
+ */
+public final class AtomicFiles {
+
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private AtomicFiles() {}
+
+    public static void write(Path file, byte[] bytes) throws IOException {
+        commit(writeTemp(file, bytes), file);
+    }
+
+    /** @return le fichier temporaire écrit à côté de {@code file}. */
+    public static Path writeTemp(Path file, byte[] bytes) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + TMP_SUFFIX);
+        Files.write(tmp, bytes);
+        return tmp;
+    }
+
+    public static void commit(Path tmp, Path file) throws IOException {
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Ajoute {@code bytes} en fin de {@code file} (journal ligne par ligne). Si la dernière ligne
+     * a été tronquée par un crash (pas de {@code \n} final), un saut de ligne est inséré pour
+     * que le nouvel enregistrement ne soit pas collé à la ligne corrompue.
+     */
+    public static void append(Path file, byte[] bytes) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size > 0) {
+                ByteBuffer last = ByteBuffer.allocate(1);
+                channel.read(last, size - 1);
+                if (last.get(0) != '\n') {
+                    channel.write(ByteBuffer.wrap(new byte[]{'\n'}), size);
+                    size++;
+                }
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                size += channel.write(buffer, size);
+            }
+        }
+    }
+
+    /** Supprime un éventuel temporaire orphelin (crash entre écriture et renommage). */
+    public static void deleteTempIfExists(Path file) throws IOException {
+        Files.deleteIfExists(file.resolveSibling(file.getFileName() + TMP_SUFFIX));
+    }
+}
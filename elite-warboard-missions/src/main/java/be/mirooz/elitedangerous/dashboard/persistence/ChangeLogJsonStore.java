@@ -0,0 +1,406 @@
+package be.mirooz.elitedangerous.dashboard.persistence;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Store "snapshot + journal de modifications" pour les gros registries clé → valeur
+ * (ex. systèmes visités), qui grossissent sans limite au fil des sessions.
+ *
+ * <p>Au lieu de réécrire tout le JSON à chaque sauvegarde, seules les entrées ajoutées,
+ * modifiées ou supprimées depuis la dernière écriture sont ajoutées en fin de
+ * {@code <store>.log.jsonl}, une ligne compacte par entrée :</p>
+ * <pre>
+ * {"op":"put","key":"Sol","value":{...}}
+ * {"op":"remove","key":"Sol"}
+ * </pre>
+ *
+ * <p>Le snapshot {@code <store>.json} garde le format historique de {@link SnapshotJsonStore}
+ * (objet JSON clé → valeur), éventuellement encodé ({@link SnapshotFormat}). {@link #loadIfExists()} relit le snapshot puis rejoue le journal ;
+ * {@link #compactIfNeeded()} replie le journal dans le snapshot directement sur disque, sans
+ * toucher au registry vivant.</p>
+ *
+ * <p>Le registry indique lui-même les clés ajoutées, retirées ou modifiées en place
+ * ({@code changedKeys}, vidé à chaque capture) ; {@link #markChanged()} sans clé retombe sur
+ * {@code onUnkeyedChange} (ex. système courant). Seules ces clés sont copiées en tokens sous le
+ * verrou d'état puis sérialisées hors verrou : le coût d'un checkpoint suit ce qui a changé
+ * depuis le précédent, pas tout l'historique. Une clé reste à écrire tant que la capture qui la
+ * contient n'a pas été persistée ({@link #markPersisted}).</p>
+ */
+public class ChangeLogJsonStore<V> implements RegistryStore {
+
+    /** Compaction dès que le journal dépasse cette taille... */
+    private static final long COMPACT_MIN_LOG_BYTES = 512 * 1024L;
+    /** ...et ce ratio de la taille du snapshot. */
+    private static final double COMPACT_LOG_RATIO = 0.25;
+
+    private final String storeName;
+    private final Path snapshotFile;
+    private final Path logFile;
+    private final ObjectMapper mapper;
+    private final JavaType mapType;
+    private final ObjectReader valueReader;
+    private final ObjectWriter valueWriter;
+    /** Rejoue une valeur capturée en tokens, sans indentation. */
+    private final ObjectWriter tokenWriter;
+    private final Supplier<Map<String, V>> snapshotSupplier;
+    private final Consumer<Map<String, V>> loader;
+    private final Supplier<? extends Collection<String>> changedKeys;
+    private final Function<String, V> lookup;
+    private final Runnable onUnkeyedChange;
+
+    /** Clés à réécrire → numéro de la capture qui les a vues modifiées en dernier. */
+    private final Map<String, Long> dirtyKeys = new HashMap<>();
+    private long captureSequence;
+    /** Rien de fiable sur disque (jamais chargé, ou supprimé) : toutes les entrées à écrire. */
+    private boolean fullRewrite = true;
+    /** Incrémentée par {@link #deleteIfExists()} : invalide les captures prises avant. */
+    private long epoch;
+
+    private SnapshotFormat format = SnapshotFormat.resolve(SnapshotFormat.JSON);
+    private boolean deferredLoad;
+
+    public ChangeLogJsonStore(String storeName,
+                              Path snapshotFile,
+                              ObjectMapper mapper,
+                              JavaType mapType,
+                              Supplier<Map<String, V>> snapshotSupplier,
+                              Consumer<Map<String, V>> loader,
+                              Supplier<? extends Collection<String>> changedKeys,
+                              Function<String, V> lookup,
+                              Runnable onUnkeyedChange) {
+        this.storeName = storeName;
+        this.snapshotFile = snapshotFile;
+        this.logFile = snapshotFile.resolveSibling(storeName + ".log.jsonl");
+        this.mapper = mapper;
+        this.mapType = mapType;
+        this.valueReader = mapper.readerFor(mapType.getContentType());
+        this.valueWriter = mapper.writerFor(mapType.getContentType()).without(SerializationFeature.INDENT_OUTPUT);
+        this.tokenWriter = mapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.snapshotSupplier = snapshotSupplier;
+        this.loader = loader;
+        this.changedKeys = changedKeys;
+        this.lookup = lookup;
+        this.onUnkeyedChange = onUnkeyedChange;
+    }
+
+    /**
+     * Format du snapshot (le journal reste en JSONL). Un snapshot trouvé dans un autre format est
+     * relu, puis réécrit dans celui-ci à la prochaine compaction.
+     */
+    public ChangeLogJsonStore<V> withFormat(SnapshotFormat preferred) {
+        this.format = SnapshotFormat.resolve(preferred);
+        return this;
+    }
+
+    public ChangeLogJsonStore<V> withDeferredLoad() {
+        this.deferredLoad = true;
+        return this;
+    }
+
+    @Override
+    public boolean isDeferredLoad() {
+        return deferredLoad;
+    }
+
+    @Override
+    public String name() {
+        return storeName;
+    }
+
+    /** Le journal : c'est lui qui reçoit les écritures des checkpoints, en ajout. */
+    @Override
+    public Path file() {
+        return logFile;
+    }
+
+    @Override
+    public boolean isAppendOnly() {
+        return true;
+    }
+
+    @Override
+    public synchronized void save() {
+        Capture capture = captureIfChanged(true);
+        if (capture == null) {
+            return;
+        }
+        byte[] bytes = capture.encode();
+        if (bytes != null) {
+            try {
+                AtomicFiles.append(logFile, bytes);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot save " + storeName + " to " + logFile, e);
+            }
+        }
+        markPersisted(capture);
+    }
+
+    @Override
+    public void markChanged() {
+        onUnkeyedChange.run();
+    }
+
+    /**
+     * {@code force} est sans objet ici : le journal ne reçoit que des clés modifiées, une
+     * sauvegarde complète se limite donc aussi aux clés en attente.
+     */
+    @Override
+    public synchronized Capture captureIfChanged(boolean force) {
+        long sequence = ++captureSequence;
+        for (String key : changedKeys.get()) {
+            dirtyKeys.put(key, sequence);
+        }
+        Map<String, V> all = null;
+        if (fullRewrite) {
+            all = snapshotSupplier.get();
+            for (String key : all.keySet()) {
+                dirtyKeys.put(key, sequence);
+            }
+        }
+        if (dirtyKeys.isEmpty() && !fullRewrite) {
+            return null;
+        }
+        Map<String, TokenBuffer> values = new LinkedHashMap<>(dirtyKeys.size() * 2);
+        try {
+            for (String key : dirtyKeys.keySet()) {
+                V value = all != null ? all.get(key) : lookup.apply(key);
+                TokenBuffer tokens = null;
+                if (value != null) {
+                    tokens = new TokenBuffer(mapper, false);
+                    valueWriter.writeValue(tokens, value);
+                }
+                values.put(key, tokens);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot capture " + storeName, e);
+        }
+        return new ChangeLogCapture(epoch, new HashMap<>(dirtyKeys), values, fullRewrite);
+    }
+
+    @Override
+    public synchronized void markPersisted(Capture capture) {
+        if (!(capture instanceof ChangeLogJsonStore<?>.ChangeLogCapture c) || c.owner() != this || c.epoch != epoch) {
+            return;
+        }
+        // Une clé re-modifiée après la capture garde un numéro plus récent : elle reste à écrire
+        c.sequences.forEach(dirtyKeys::remove);
+        if (c.fullRewrite) {
+            fullRewrite = false;
+        }
+    }
+
+    @Override
+    public synchronized boolean loadIfExists() {
+        Path existing = SnapshotFormat.findExisting(snapshotFile, format);
+        boolean hasSnapshot = existing != null;
+        boolean hasLog = Files.exists(logFile);
+        if (!hasSnapshot && !hasLog) {
+            return false;
+        }
+        try {
+            Map<String, V> map = new LinkedHashMap<>();
+            if (hasSnapshot) {
+                Map<String, V> snapshot = mapper.readValue(readSnapshot(existing), mapType);
+                if (snapshot != null) {
+                    map.putAll(snapshot);
+                }
+            }
+            if (hasLog) {
+                replayLog(map);
+            }
+            loader.accept(map);
+            dirtyKeys.clear();
+            fullRewrite = false;
+            return true;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot load " + storeName + " from " + snapshotFile, e);
+        }
+    }
+
+    private void replayLog(Map<String, V> map) throws IOException {
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode record;
+                try {
+                    record = mapper.readTree(line);
+                } catch (IOException e) {
+                    // Ligne tronquée par un crash pendant un ajout : les ajouts suivants
+                    // repartent sur une nouvelle ligne (cf. AtomicFiles#append).
+                    System.err.println("[Persistence] " + storeName + " : ligne " + lineNumber
+                            + " du journal illisible, ignorée");
+                    continue;
+                }
+                applyRecord(map, record, lineNumber);
+            }
+        }
+    }
+
+    private void applyRecord(Map<String, V> map, JsonNode record, int lineNumber) throws IOException {
+        String op = record.path("op").asText();
+        String key = record.path("key").asText(null);
+        if (key == null) {
+            throw new IOException(storeName + " : enregistrement sans clé ligne " + lineNumber);
+        }
+        switch (op) {
+            case "put" -> map.put(key, valueReader.readValue(record.get("value")));
+            case "remove" -> map.remove(key);
+            default -> throw new IOException(storeName + " : opération inconnue '" + op + "' ligne " + lineNumber);
+        }
+    }
+
+    /**
+     * Replie le journal dans le snapshot quand il devient trop gros. Travaille uniquement sur
+     * les fichiers (arbres JSON, sans matérialiser les POJOs) : peut tourner en tâche de fond
+     * pendant que le registry continue d'évoluer. Un crash entre l'écriture du snapshot et la
+     * remise à zéro du journal est sans effet : rejouer un {@code put}/{@code remove} déjà
+     * appliqué est idempotent.
+     *
+     * @return {@code true} si une compaction a eu lieu
+     */
+    @Override
+    public synchronized boolean compactIfNeeded() {
+        try {
+            if (!Files.exists(logFile)) {
+                return false;
+            }
+            long logSize = Files.size(logFile);
+            Path existing = SnapshotFormat.findExisting(snapshotFile, format);
+            long snapshotSize = existing != null ? Files.size(existing) : 0L;
+            if (logSize < COMPACT_MIN_LOG_BYTES || logSize < snapshotSize * COMPACT_LOG_RATIO) {
+                return false;
+            }
+            ObjectNode folded = existing != null
+                    ? (ObjectNode) mapper.readTree(readSnapshot(existing))
+                    : mapper.createObjectNode();
+            try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    JsonNode record;
+                    try {
+                        record = mapper.readTree(line);
+                    } catch (IOException e) {
+                        continue;
+                    }
+                    String key = record.path("key").asText();
+                    if ("remove".equals(record.path("op").asText())) {
+                        folded.remove(key);
+                    } else {
+                        folded.set(key, record.get("value"));
+                    }
+                }
+            }
+            Path target = format.fileFor(snapshotFile);
+            AtomicFiles.write(target, format.encode(format.configure(mapper.writer()).writeValueAsBytes(folded)));
+            Files.write(logFile, new byte[0], StandardOpenOption.TRUNCATE_EXISTING);
+            if (existing != null && !existing.equals(target)) {
+                Files.deleteIfExists(existing);
+            }
+            System.out.println("[Persistence] " + storeName + " compacté : journal de "
+                    + logSize / 1024 + " Ko replié dans le snapshot");
+            return true;
+        } catch (IOException | ClassCastException e) {
+            System.err.println("[Persistence] Compaction " + storeName + " KO : " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized void deleteIfExists() {
+        try {
+            for (SnapshotFormat f : SnapshotFormat.values()) {
+                Files.deleteIfExists(f.fileFor(snapshotFile));
+                AtomicFiles.deleteTempIfExists(f.fileFor(snapshotFile));
+            }
+            Files.deleteIfExists(logFile);
+            dirtyKeys.clear();
+            fullRewrite = true;
+            epoch++;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot delete " + storeName + " files " + snapshotFile, e);
+        }
+    }
+
+    private static byte[] readSnapshot(Path existing) throws IOException {
+        return SnapshotFormat.ofFile(existing).decode(Files.readAllBytes(existing));
+    }
+
+    private void writeRecord(ByteArrayOutputStream out, String op, String key, byte[] value) throws IOException {
+        out.write(("{\"op\":\"" + op + "\",\"key\":").getBytes(StandardCharsets.UTF_8));
+        out.write(mapper.writeValueAsBytes(key));
+        if (value != null) {
+            out.write(",\"value\":".getBytes(StandardCharsets.UTF_8));
+            out.write(value);
+        }
+        out.write('}');
+        out.write('\n');
+    }
+
+    /** Clés modifiées copiées en tokens ({@code null} = supprimée), sérialisées hors verrou. */
+    private final class ChangeLogCapture implements Capture {
+        private final long epoch;
+        /** Clé → numéro de capture, pour ne pas acquitter une modification plus récente. */
+        private final Map<String, Long> sequences;
+        private final Map<String, TokenBuffer> values;
+        private final boolean fullRewrite;
+
+        private ChangeLogCapture(long epoch, Map<String, Long> sequences,
+                                 Map<String, TokenBuffer> values, boolean fullRewrite) {
+            this.epoch = epoch;
+            this.sequences = sequences;
+            this.values = values;
+            this.fullRewrite = fullRewrite;
+        }
+
+        private ChangeLogJsonStore<V> owner() {
+            return ChangeLogJsonStore.this;
+        }
+
+        @Override
+        public byte[] encode() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                for (Map.Entry<String, TokenBuffer> e : values.entrySet()) {
+                    if (e.getValue() != null) {
+                        writeRecord(out, "put", e.getKey(), tokenWriter.writeValueAsBytes(e.getValue()));
+                    } else if (!fullRewrite) {
+                        writeRecord(out, "remove", e.getKey(), null);
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot serialize " + storeName, e);
+            }
+            return out.size() == 0 ? null : out.toByteArray();
+        }
+    }
+}
@@ -22,15 +22,18 @@ import com.fasterxml.jackson.databind.type.TypeFactory;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
- * Point d'entrée : la liste des {@link RegistryStore} (un fichier JSON chacun).
+ * Point d'entrée : la liste des {@link RegistryStore} (un fichier JSON chacun, ou binaire pour
+ * les plus gros, cf. {@link SnapshotFormat}).
  * Les stores persistent directement le modèle runtime singleton quand c'est possible.
  */
 public final class DashboardRegistryJsonPersistence {
@@ -43,14 +46,14 @@ public final class DashboardRegistryJsonPersistence {
         List<RegistryStore> out = new ArrayList<>();
 
         // Chargé en premier : les autres JSON (vaisseau, porte-vaisseau, etc.) résolvent des ICommodity via le catalogue.
-        out.add(storeClass("commodity-registry", baseDir, CommodityRegistry.class,
+        out.add(storeClass(StoreNames.COMMODITY_REGISTRY, baseDir, CommodityRegistry.class,
                 CommodityRegistry::getInstance,
-                loaded -> mergeIntoSingleton("commodity-registry", CommodityRegistry.getInstance(), loaded)));
-        out.add(storeClass("carrier-status", baseDir, CarrierStatus.class,
+                loaded -> mergeIntoSingleton(StoreNames.COMMODITY_REGISTRY, CommodityRegistry.getInstance(), loaded)));
+        out.add(storeClass(StoreNames.CARRIER_STATUS, baseDir, CarrierStatus.class,
                 CarrierStatus::getInstance,
-                loaded -> mergeIntoSingleton("carrier-status", CarrierStatus.getInstance(), loaded)));
+                loaded -> mergeIntoSingleton(StoreNames.CARRIER_STATUS, CarrierStatus.getInstance(), loaded)));
         // Données runtime en singleton : Jackson désérialise un objet temporaire, puis updateValue() fusionne sur getInstance().
-        out.add(storeClass("commander-status", baseDir, CommanderStatus.class,
+        out.add(storeClass(StoreNames.COMMANDER_STATUS, baseDir, CommanderStatus.class,
                 CommanderStatus::getInstance,
                 loaded -> {
                     try {
@@ -59,7 +62,7 @@ public final class DashboardRegistryJsonPersistence {
                         throw new IllegalStateException("Cannot merge commander-status snapshot", e);
                     }
                 }));
-        out.add(storeClass("commander-ship", baseDir, CommanderShip.class,
+        out.add(storeClass(StoreNames.COMMANDER_SHIP, baseDir, CommanderShip.class,
                 CommanderShip::getInstance,
                 loaded -> {
                     try {
@@ -69,44 +72,57 @@ public final class DashboardRegistryJsonPersistence {
                     }
                 }));
 
-        out.add(storeClass("exploration-mode", baseDir, ExplorationModeRegistry.class,
+        out.add(storeClass(StoreNames.EXPLORATION_MODE, baseDir, ExplorationModeRegistry.class,
                 ExplorationModeRegistry::getInstance,
-                loaded -> mergeIntoSingleton("exploration-mode", ExplorationModeRegistry.getInstance(), loaded)));
+                loaded -> mergeIntoSingleton(StoreNames.EXPLORATION_MODE, ExplorationModeRegistry.getInstance(), loaded)));
 
-        out.add(storeClass("ship-targets", baseDir, ShipTargetRegistry.class,
+        out.add(storeClass(StoreNames.SHIP_TARGETS, baseDir, ShipTargetRegistry.class,
                 ShipTargetRegistry::getInstance,
-                loaded -> mergeIntoSingleton("ship-targets", ShipTargetRegistry.getInstance(), loaded)));
-        out.add(storeMap("missions", baseDir, LinkedHashMap.class, String.class, Mission.class,
+                loaded -> mergeIntoSingleton(StoreNames.SHIP_TARGETS, ShipTargetRegistry.getInstance(), loaded)));
+        out.add(storeMap(StoreNames.MISSIONS, baseDir, LinkedHashMap.class, String.class, Mission.class,
                 () -> new LinkedHashMap<>(MissionsRegistry.getInstance().getGlobalMissionMap()),
-                MissionsRegistry.getInstance()::applyFullPersistedSnapshot));
+                MissionsRegistry.getInstance()::applyFullPersistedSnapshot)
+                .withFormat(SnapshotFormat.BINARY));
 
-        out.add(storeClass("destroyed-ships", baseDir, DestroyedShipsRegistery.class,
+        out.add(storeClass(StoreNames.DESTROYED_SHIPS, baseDir, DestroyedShipsRegistery.class,
                 DestroyedShipsRegistery::getInstance,
-                loaded -> mergeIntoSingleton("destroyed-ships", DestroyedShipsRegistery.getInstance(), loaded)));
+                loaded -> mergeIntoSingleton(StoreNames.DESTROYED_SHIPS, DestroyedShipsRegistery.getInstance(), loaded)));
 
-        out.add(storeClass("colonisation-registry", baseDir, ColonisationRegistry.class,
+        out.add(storeClass(StoreNames.COLONISATION_REGISTRY, baseDir, ColonisationRegistry.class,
                 ColonisationRegistry::getInstance,
-                loaded -> mergeIntoSingleton("colonisation-registry", ColonisationRegistry.getInstance(), loaded)));
-        out.add(storeClass("planete-registry", baseDir, PlaneteRegistry.class,
+                loaded -> mergeIntoSingleton(StoreNames.COLONISATION_REGISTRY, ColonisationRegistry.getInstance(), loaded)));
+        out.add(storeClass(StoreNames.PLANETE_REGISTRY, baseDir, PlaneteRegistry.class,
                 PlaneteRegistry::getInstance,
-                loaded -> mergeIntoSingleton("planete-registry", PlaneteRegistry.getInstance(), loaded)));
-        out.add(storeMap("system-visited-registry", baseDir, LinkedHashMap.class, String.class, SystemVisited.class,
-                () -> new LinkedHashMap<>(SystemVisitedRegistry.getInstance().snapshotSystems()),
-                SystemVisitedRegistry.getInstance()::applyFullPersistedSnapshot));
-        out.add(storeClass("exploration-data-sale-registry", baseDir, ExplorationDataSaleRegistry.class,
+                loaded -> mergeIntoSingleton(StoreNames.PLANETE_REGISTRY, PlaneteRegistry.getInstance(), loaded)));
+        // Historique d'exploration sans limite de taille : snapshot + journal des systèmes modifiés,
+        // signalés par le registry (un corps modifié sans nom de système = système courant).
+        // Gros stores : snapshot binaire, chargés en tâche de fond en parallèle des autres.
+        SystemVisitedRegistry systemVisited = SystemVisitedRegistry.getInstance();
+        out.add(storeChangeLog(StoreNames.SYSTEM_VISITED_REGISTRY, baseDir, SystemVisited.class,
+                systemVisited::snapshotSystems,
+                systemVisited::applyFullPersistedSnapshot,
+                systemVisited::drainChangedNames,
+                systemVisited::getSystem,
+                systemVisited::markCurrentSystemChanged)
+                .withFormat(SnapshotFormat.BINARY)
+                .withDeferredLoad());
+        out.add(storeClass(StoreNames.EXPLORATION_DATA_SALE_REGISTRY, baseDir, ExplorationDataSaleRegistry.class,
                 ExplorationDataSaleRegistry::getInstance,
-                loaded -> mergeIntoSingleton("exploration-data-sale-registry", ExplorationDataSaleRegistry.getInstance(), loaded)));
-        out.add(storeClass("organic-data-sale-registry", baseDir, OrganicDataSaleRegistry.class,
+                loaded -> mergeIntoSingleton(StoreNames.EXPLORATION_DATA_SALE_REGISTRY, ExplorationDataSaleRegistry.getInstance(), loaded))
+                .withFormat(SnapshotFormat.BINARY)
+                .withDeferredLoad());
+        out.add(storeClass(StoreNames.ORGANIC_DATA_SALE_REGISTRY, baseDir, OrganicDataSaleRegistry.class,
                 OrganicDataSaleRegistry::getInstance,
-                loaded -> mergeIntoSingleton("organic-data-sale-registry", OrganicDataSaleRegistry.getInstance(), loaded)));
-        out.add(storeClass("mining-stat-registry", baseDir, MiningStatRegistry.class,
+                loaded -> mergeIntoSingleton(StoreNames.ORGANIC_DATA_SALE_REGISTRY, OrganicDataSaleRegistry.getInstance(), loaded))
+                .withFormat(SnapshotFormat.BINARY));
+        out.add(storeClass(StoreNames.MINING_STAT_REGISTRY, baseDir, MiningStatRegistry.class,
                 MiningStatRegistry::getInstance,
-                loaded -> mergeIntoSingleton("mining-stat-registry", MiningStatRegistry.getInstance(), loaded)));
+                loaded -> mergeIntoSingleton(StoreNames.MINING_STAT_REGISTRY, MiningStatRegistry.getInstance(), loaded)));
 
         return out;
     }
 
-    private static <T> RegistryStore storeClass(
+    private static <T> SnapshotJsonStore<T> storeClass(
             String name, Path baseDir, Class<T> type,
             Supplier<T> snapshot, Consumer<T> restore) {
         return new SnapshotJsonStore<>(
@@ -114,7 +130,7 @@ public final class DashboardRegistryJsonPersistence {
     }
 
     @SuppressWarnings("rawtypes")
-    private static <K, V> RegistryStore storeMap(
+    private static <K, V> SnapshotJsonStore<Map<K, V>> storeMap(
             String name, Path baseDir, Class<? extends Map> mapClass,
             Class<K> keyClass, Class<V> valueClass,
             Supplier<Map<K, V>> snapshot, Consumer<Map<K, V>> restore) {
@@ -123,6 +139,17 @@ public final class DashboardRegistryJsonPersistence {
                 name, jsonFile(baseDir, name), mapper(), t, snapshot, restore);
     }
 
+    private static <V> ChangeLogJsonStore<V> storeChangeLog(
+            String name, Path baseDir, Class<V> valueClass,
+            Supplier<Map<String, V>> snapshot, Consumer<Map<String, V>> restore,
+            Supplier<? extends Collection<String>> changedKeys, Function<String, V> lookup,
+            Runnable onUnkeyedChange) {
+        JavaType t = TypeFactory.defaultInstance().constructMapType(LinkedHashMap.class, String.class, valueClass);
+        return new ChangeLogJsonStore<>(
+                name, jsonFile(baseDir, name), mapper(), t, snapshot, restore,
+                changedKeys, lookup, onUnkeyedChange);
+    }
+
     private static Path jsonFile(Path baseDir, String storeName) {
         return baseDir.resolve(storeName + ".json");
     }
@@ -15,6 +15,11 @@ import lombok.NoArgsConstructor;
  * {@code lastLineNumber} sur le fichier {@code lastJournalFile}. Si {@code lastLineNumber}
  * est absent (curseurs JSON anciens), on retombe sur la comparaison lexicographique du
  * timestamp ISO-8601 UTC.</p>
+ *
+ * <p>Quand ils sont connus, {@code lastLineOffset} (offset en octets du début de cette ligne)
+ * et {@code lastLineFingerprint} (CRC32 de ses octets) permettent de se positionner directement
+ * dans le fichier au lieu de relire toutes les lignes précédentes. Si l'empreinte ne correspond
+ * plus (fichier remplacé, curseur incohérent), on retombe sur {@code lastLineNumber}.</p>
  */
 @Data
 @Builder
@@ -33,4 +38,13 @@ public class JournalCursor {
      * {@code null} si curseur hérité sans ce champ.
      */
     private Integer lastLineNumber;
+
+    /**
+     * Offset en octets du début de la ligne {@code lastLineNumber} dans {@code lastJournalFile}.
+     * {@code null} si inconnu (curseur hérité, ou event dispatché sans position connue).
+     */
+    private Long lastLineOffset;
+
+    /** CRC32 des octets de la ligne {@code lastLineNumber} (sans fin de ligne), {@code null} si inconnu. */
+    private Long lastLineFingerprint;
 }
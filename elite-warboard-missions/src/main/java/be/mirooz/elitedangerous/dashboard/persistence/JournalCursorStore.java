@@ -10,11 +10,11 @@ import java.nio.file.Path;
 
 /**
  * Store du curseur de reprise de lecture des journaux. Un fichier unique stockant le dernier
- * timestamp, nom de fichier journal et numéro de ligne du dernier event dispatché.
+ * timestamp, nom de fichier journal, numéro de ligne et position en octets du dernier event dispatché.
  *
  * <p>Différent des autres {@link RegistryStore} : il détient son propre état (le curseur
  * courant) plutôt que de lire/écrire un singleton — d'où l'accès {@link #getCursor()} /
- * {@link #updateInMemory(String, String, Integer)}.</p>
+ * {@link #updateInMemory(String, String, Integer, Long, Long)}.</p>
  */
 public class JournalCursorStore {
 
@@ -37,6 +37,16 @@ public class JournalCursorStore {
      *                       conserve {@code lastLineNumber} existant (ex. dispatch sans contexte ligne).
      */
     public synchronized void updateInMemory(String lastTimestamp, String lastJournalFile, Integer lastLineNumber) {
+        updateInMemory(lastTimestamp, lastJournalFile, lastLineNumber, null, null);
+    }
+
+    /**
+     * Variante avec position en octets de la ligne. L'offset et l'empreinte suivent toujours
+     * {@code lastLineNumber} : s'ils sont {@code null} alors que la ligne change, ils sont effacés
+     * pour ne jamais pointer sur une autre ligne que celle enregistrée.
+     */
+    public synchronized void updateInMemory(String lastTimestamp, String lastJournalFile, Integer lastLineNumber,
+                                            Long lastLineOffset, Long lastLineFingerprint) {
         if (lastTimestamp == null || lastTimestamp.isBlank()) {
             return;
         }
@@ -46,6 +56,8 @@ public class JournalCursorStore {
         }
         if (lastLineNumber != null) {
             cursor.setLastLineNumber(lastLineNumber);
+            cursor.setLastLineOffset(lastLineOffset);
+            cursor.setLastLineFingerprint(lastLineFingerprint);
         }
     }
 
@@ -54,23 +66,42 @@ public class JournalCursorStore {
         if (cursor.getLastTimestamp() == null || cursor.getLastTimestamp().isBlank()) {
             return null;
         }
-        return new JournalCursor(cursor.getLastTimestamp(), cursor.getLastJournalFile(), cursor.getLastLineNumber());
+        return new JournalCursor(cursor.getLastTimestamp(), cursor.getLastJournalFile(), cursor.getLastLineNumber(),
+                cursor.getLastLineOffset(), cursor.getLastLineFingerprint());
+    }
+
+    public Path file() {
+        return file;
     }
 
     public synchronized void save() {
-        if (cursor.getLastTimestamp() == null || cursor.getLastTimestamp().isBlank()) {
+        byte[] bytes = snapshotBytes();
+        if (bytes == null) {
             return; // rien à persister
         }
         try {
-            if (file.getParent() != null) {
-                Files.createDirectories(file.getParent());
-            }
-            mapper.writeValue(file.toFile(), cursor);
+            AtomicFiles.write(file, bytes);
         } catch (IOException e) {
             throw new IllegalStateException("Cannot save journal cursor to " + file, e);
         }
     }
 
+    /**
+     * Sérialise le curseur courant, pour l'écrire dans le même checkpoint que les snapshots.
+     *
+     * @return {@code null} si aucun curseur n'a encore été positionné
+     */
+    public synchronized byte[] snapshotBytes() {
+        if (cursor.getLastTimestamp() == null || cursor.getLastTimestamp().isBlank()) {
+            return null;
+        }
+        try {
+            return mapper.writeValueAsBytes(cursor);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize journal cursor", e);
+        }
+    }
+
     public synchronized boolean loadIfExists() {
         if (!Files.exists(file)) {
             return false;
@@ -90,6 +121,7 @@ public class JournalCursorStore {
     public synchronized void deleteIfExists() {
         try {
             Files.deleteIfExists(file);
+            AtomicFiles.deleteTempIfExists(file);
             cursor = new JournalCursor();
         } catch (IOException e) {
             throw new IllegalStateException("Cannot delete journal cursor file " + file, e);
@@ -0,0 +1,49 @@
+package be.mirooz.elitedangerous.dashboard.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entrée de l'index des fichiers journal ({@code ~/.elite-warboard/journal-index.json}) :
+ * identité du commandant et bornes temporelles d'un journal, valables tant que
+ * {@code size} et {@code lastModified} du fichier n'ont pas changé.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalIndexEntry {
+
+    /** Nom de fichier (pas chemin absolu). */
+    private String fileName;
+
+    /** Taille en octets au moment de l'indexation. */
+    private long size;
+
+    /** Date de modification (epoch ms) au moment de l'indexation. */
+    private long lastModified;
+
+    /** FID du premier event {@code Commander} du fichier, {@code null} s'il n'y en a pas. */
+    private String fid;
+
+    /** Nom du commandant associé à {@code fid}. */
+    private String commanderName;
+
+    /** Timestamp de l'event {@code Commander}. */
+    private String commanderTimestamp;
+
+    /** Timestamp du premier event du fichier. */
+    private String firstTimestamp;
+
+    /** Timestamp du dernier event du fichier. */
+    private String lastTimestamp;
+
+    /** Nombre de lignes physiques du fichier. */
+    private int lineCount;
+
+    public boolean matches(long size, long lastModified) {
+        return this.size == size && this.lastModified == lastModified;
+    }
+}
@@ -0,0 +1,58 @@
+package be.mirooz.elitedangerous.dashboard.persistence;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Store de l'index des fichiers journal, partagé par tous les commandants (le FID fait partie
+ * de l'entrée). Comme {@link JournalCursorStore}, il détient son propre état plutôt que de lire
+ * un singleton.
+ *
+ * <p>Écriture atomique (fichier temporaire puis {@code move}) : un index tronqué ne ferait que
+ * forcer une ré-indexation, mais autant l'éviter.</p>
+ */
+public class JournalIndexStore {
+
+    private static final TypeReference<Map<String, JournalIndexEntry>> ENTRIES_TYPE = new TypeReference<>() {};
+
+    private final Path file;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public JournalIndexStore(Path file) {
+        this.file = file;
+    }
+
+    /** @return entrées indexées par nom de fichier (map vide si absent ou illisible). */
+    public Map<String, JournalIndexEntry> load() {
+        if (!Files.exists(file)) {
+            return new HashMap<>();
+        }
+        try {
+            Map<String, JournalIndexEntry> loaded = mapper.readValue(file.toFile(), ENTRIES_TYPE);
+            return loaded != null ? new HashMap<>(loaded) : new HashMap<>();
+        } catch (IOException e) {
+            System.err.println("[JournalIndex] Index illisible, ré-indexation : " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    public void save(Map<String, JournalIndexEntry> entries) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            mapper.writeValue(tmp.toFile(), entries);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot save journal index to " + file, e);
+        }
+    }
+}
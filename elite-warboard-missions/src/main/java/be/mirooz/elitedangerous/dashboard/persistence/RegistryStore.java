@@ -1,5 +1,7 @@
 package be.mirooz.elitedangerous.dashboard.persistence;
 
+import java.nio.file.Path;
+
 /**
  * Contrat commun à tous les stores de registries persistés dans {@code ~/.elite-warboard/}.
  *
@@ -12,15 +14,65 @@ package be.mirooz.elitedangerous.dashboard.persistence;
  * {@code be.mirooz.elitedangerous.dashboard.service.persistence.PersistenceService}
  * qui orchestre {@link #loadIfExists()} / {@link #save()} / {@link #deleteIfExists()}
  * pour l'ensemble.</p>
+ *
+ * <p>Checkpoints incrémentaux : chaque store tient une version, incrémentée par
+ * {@link #markChanged()} (handlers dispatchés, calculs de fond). {@link #captureIfChanged(boolean)}
+ * ne copie l'état que si cette version a bougé, sous le verrou d'état de l'orchestrateur ; la
+ * copie est sérialisée hors verrou ({@link Capture#encode()}), écrite par l'orchestrateur
+ * (atomiquement, avec le curseur) puis confirmée via {@link #markPersisted(Capture)}.</p>
  */
 public interface RegistryStore {
 
     /** Identifiant court pour les logs ("carrier-status", "missions", ...). */
     String name();
 
+    /** Fichier cible du store. */
+    Path file();
+
     /** Persiste l'état courant du registry (création du dossier parent incluse). */
     void save();
 
+    /** Signale que l'état du registry a changé : le prochain checkpoint le capturera. */
+    void markChanged();
+
+    /**
+     * Copie détachée de l'état courant, à appeler sous le verrou d'état (le registry ne bouge pas
+     * pendant la copie). Peu coûteuse : la sérialisation proprement dite est faite hors verrou.
+     *
+     * @param force capturer même si aucune modification n'a été signalée depuis la dernière
+     *              écriture (saves complets, filet de sécurité)
+     * @return la capture, ou {@code null} si le store n'a pas changé
+     */
+    Capture captureIfChanged(boolean force);
+
+    /** Signale que la capture est sur disque (ou identique à ce qui y est déjà). */
+    void markPersisted(Capture capture);
+
+    /**
+     * {@code true} si les octets de {@link Capture#encode()} s'ajoutent en fin de
+     * {@link #file()} (journal de modifications) au lieu de le remplacer.
+     */
+    default boolean isAppendOnly() {
+        return false;
+    }
+
+    /**
+     * {@code true} pour les gros stores chargés en tâche de fond par {@code loadAll}, en
+     * parallèle des autres (l'orchestrateur attend tout de même leur fin avant de répondre).
+     */
+    default boolean isDeferredLoad() {
+        return false;
+    }
+
+    /**
+     * Compaction de fond (journal replié dans le snapshot), appelée après les checkpoints.
+     *
+     * @return {@code true} si des fichiers ont été réécrits
+     */
+    default boolean compactIfNeeded() {
+        return false;
+    }
+
     /**
      * Restaure l'état si le fichier existe.
      *
@@ -34,4 +86,16 @@ public interface RegistryStore {
 
     /** Supprime le fichier s'il existe (utilisé par {@code deleteAll}). */
     void deleteIfExists();
+
+    /** État capturé par {@link #captureIfChanged(boolean)}, indépendant du registry vivant. */
+    interface Capture {
+
+        /**
+         * Sérialise la copie, hors verrou d'état.
+         *
+         * @return les octets à écrire, ou {@code null} si le contenu est identique à ce qui est
+         *         déjà sur disque
+         */
+        byte[] encode();
+    }
 }
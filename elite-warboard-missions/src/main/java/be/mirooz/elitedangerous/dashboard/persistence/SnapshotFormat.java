@@ -0,0 +1,172 @@
+package be.mirooz.elitedangerous.dashboard.persistence;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Format disque d'un snapshot de registry, choisi store par store dans
+ * {@link DashboardRegistryJsonPersistence}.
+ *
+ * <ul>
+ *   <li>{@link #JSON} : JSON indenté historique, lisible — format d'export / debug,</li>
+ *   <li>{@link #BINARY} : JSON compact compressé (DEFLATE) derrière un en-tête {@code EWB1},
+ *       pour les gros stores (historique d'exploration, ventes...) : fichiers plusieurs fois
+ *       plus petits, relus et parsés plus vite.</li>
+ * </ul>
+ *
+ * <p>{@code -D}{@value #FORMAT_PROP}{@code =json} force le JSON pour tous les stores (export) ;
+ * un store relit l'autre format s'il ne trouve pas le sien, puis le réécrit dans son format au
+ * checkpoint suivant (migration dans les deux sens).</p>
+ */
+public enum SnapshotFormat {
+
+    JSON(".json") {
+        @Override
+        ObjectWriter configure(ObjectWriter writer) {
+            return writer;
+        }
+
+        @Override
+        byte[] encode(byte[] json) {
+            return json;
+        }
+
+        @Override
+        byte[] decode(byte[] bytes) {
+            return bytes;
+        }
+    },
+
+    BINARY(".bin") {
+        @Override
+        ObjectWriter configure(ObjectWriter writer) {
+            return writer.without(SerializationFeature.INDENT_OUTPUT);
+        }
+
+        @Override
+        byte[] encode(byte[] json) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(json);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + HEADER.length + 64);
+                out.write(HEADER, 0, HEADER.length);
+                byte[] chunk = new byte[64 * 1024];
+                while (!deflater.finished()) {
+                    out.write(chunk, 0, deflater.deflate(chunk));
+                }
+                return out.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        byte[] decode(byte[] bytes) throws IOException {
+            if (bytes.length < HEADER.length || !Arrays.equals(bytes, 0, HEADER.length, HEADER, 0, HEADER.length)) {
+                throw new IOException("En-tête de snapshot binaire invalide");
+            }
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(bytes, HEADER.length, bytes.length - HEADER.length);
+                ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+                byte[] chunk = new byte[64 * 1024];
+                while (!inflater.finished()) {
+                    int n = inflater.inflate(chunk);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IOException("Snapshot binaire tronqué");
+                    }
+                    out.write(chunk, 0, n);
+                }
+                return out.toByteArray();
+            } catch (DataFormatException e) {
+                throw new IOException("Snapshot binaire corrompu", e);
+            } finally {
+                inflater.end();
+            }
+        }
+    };
+
+    /** Force le format de tous les stores ({@code json} ou {@code binary}). */
+    public static final String FORMAT_PROP = "warboard.persistence.format";
+
+    private static final byte[] HEADER = {'E', 'W', 'B', '1'};
+
+    private final String extension;
+
+    SnapshotFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /** Adapte le writer Jackson au format (indentation ou non). */
+    abstract ObjectWriter configure(ObjectWriter writer);
+
+    /** JSON → octets du fichier. */
+    abstract byte[] encode(byte[] json) throws IOException;
+
+    /** Octets du fichier → JSON. */
+    abstract byte[] decode(byte[] bytes) throws IOException;
+
+    /** Fichier de ce format pour un store dont le fichier JSON historique est {@code jsonFile}. */
+    Path fileFor(Path jsonFile) {
+        String name = jsonFile.getFileName().toString();
+        String stem = name.endsWith(JSON.extension) ? name.substring(0, name.length() - JSON.extension.length()) : name;
+        return jsonFile.resolveSibling(stem + extension);
+    }
+
+    /**
+     * Fichier snapshot existant d'un store : celui du format {@code preferred}, sinon celui d'un
+     * autre format (fichier à migrer), sinon {@code null}.
+     */
+    static Path findExisting(Path jsonFile, SnapshotFormat preferred) {
+        Path primary = preferred.fileFor(jsonFile);
+        if (Files.exists(primary)) {
+            return primary;
+        }
+        for (SnapshotFormat other : values()) {
+            Path candidate = other.fileFor(jsonFile);
+            if (other != preferred && Files.exists(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /** Format d'un fichier snapshot existant, d'après son extension. */
+    static SnapshotFormat ofFile(Path file) {
+        String name = file.getFileName().toString();
+        for (SnapshotFormat format : values()) {
+            if (name.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        return JSON;
+    }
+
+    /** @return {@code preferred}, sauf si {@value #FORMAT_PROP} impose un format. */
+    static SnapshotFormat resolve(SnapshotFormat preferred) {
+        String forced = System.getProperty(FORMAT_PROP);
+        if (forced == null || forced.isBlank()) {
+            return preferred;
+        }
+        try {
+            return valueOf(forced.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return preferred;
+        }
+    }
+}
@@ -3,12 +3,15 @@ package be.mirooz.elitedangerous.dashboard.persistence;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
+import java.util.zip.CRC32;
 
 /**
  * Store JSON générique basé sur un snapshot DTO dédié.
@@ -19,6 +22,13 @@ import java.util.function.Supplier;
  * <p>Utilise soit {@link Class}{@code <T>} (racine JSON = objet), soit
  * {@link TypeReference} / {@link JavaType} pour des racines paramétrées
  * (ex. {@code Map}, {@code List}).</p>
+ *
+ * <p>Suivi de l'état persisté par version : un store dont personne n'a signalé de modification
+ * ({@link #markChanged()}) n'est même pas capturé par les checkpoints. La capture est une copie
+ * en tokens Jackson ({@link TokenBuffer}) ; le JSON n'est produit qu'ensuite, hors verrou d'état,
+ * et comparé par empreinte (CRC32 + taille) au dernier JSON écrit ou chargé pour ne pas
+ * réécrire un contenu identique. Écriture via {@link AtomicFiles}, dans le
+ * {@link SnapshotFormat} du store.</p>
  */
 public class SnapshotJsonStore<T> implements RegistryStore {
 
@@ -31,6 +41,18 @@ public class SnapshotJsonStore<T> implements RegistryStore {
     private final Supplier<T> snapshotSupplier;
     private final Consumer<T> loader;
 
+    private SnapshotFormat format = SnapshotFormat.resolve(SnapshotFormat.JSON);
+    private boolean deferredLoad;
+
+    /** Incrémentée à chaque modification signalée. */
+    private final AtomicLong changeVersion = new AtomicLong();
+    /** Version du dernier état écrit / chargé ; {@code -1} = rien sur disque (toujours sale). */
+    private long persistedVersion = -1L;
+    /** Empreinte du dernier JSON écrit / chargé ; {@code -1} = inconnu. */
+    private long persistedFingerprint = -1L;
+    /** Snapshot relu dans un autre format, supprimé une fois réécrit dans {@link #format}. */
+    private Path migratedFrom;
+
     public SnapshotJsonStore(String storeName,
                              Path file,
                              ObjectMapper mapper,
@@ -86,45 +108,181 @@ public class SnapshotJsonStore<T> implements RegistryStore {
         return storeName;
     }
 
+    /**
+     * Format disque du snapshot (défaut {@link SnapshotFormat#JSON}, sauf
+     * {@value SnapshotFormat#FORMAT_PROP}). {@code file} reste le chemin JSON historique : un
+     * snapshot trouvé dans un autre format est relu puis réécrit dans celui-ci.
+     */
+    public SnapshotJsonStore<T> withFormat(SnapshotFormat preferred) {
+        this.format = SnapshotFormat.resolve(preferred);
+        return this;
+    }
+
+    /** Chargement en tâche de fond, en parallèle des autres stores (gros snapshots). */
+    public SnapshotJsonStore<T> withDeferredLoad() {
+        this.deferredLoad = true;
+        return this;
+    }
+
     @Override
-    public void save() {
+    public boolean isDeferredLoad() {
+        return deferredLoad;
+    }
+
+    @Override
+    public Path file() {
+        return format.fileFor(file);
+    }
+
+    @Override
+    public synchronized void save() {
+        long version = changeVersion.get();
+        byte[] json = serialize(snapshotSupplier.get());
+        byte[] bytes = encode(json);
         try {
-            if (file.getParent() != null) {
-                Files.createDirectories(file.getParent());
+            AtomicFiles.write(file(), bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot save " + storeName + " to " + file(), e);
+        }
+        persisted(version, fingerprint(json));
+    }
+
+    @Override
+    public void markChanged() {
+        changeVersion.incrementAndGet();
+    }
+
+    @Override
+    public synchronized Capture captureIfChanged(boolean force) {
+        long version = changeVersion.get();
+        if (!force && version == persistedVersion) {
+            return null;
+        }
+        TokenBuffer tokens = new TokenBuffer(mapper, false);
+        try {
+            mapper.writeValue(tokens, snapshotSupplier.get());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot capture " + storeName, e);
+        }
+        return new SnapshotCapture(version, tokens, persistedFingerprint);
+    }
+
+    @Override
+    public synchronized void markPersisted(Capture capture) {
+        if (capture instanceof SnapshotJsonStore<?>.SnapshotCapture c && c.owner() == this && c.encoded) {
+            persisted(c.version, c.fingerprint);
+        }
+    }
+
+    private void persisted(long version, long fp) {
+        persistedVersion = Math.max(persistedVersion, version);
+        persistedFingerprint = fp;
+        if (migratedFrom != null) {
+            try {
+                Files.deleteIfExists(migratedFrom);
+                System.out.println("[Persistence] " + storeName + " migré vers " + file().getFileName());
+            } catch (IOException e) {
+                System.err.println("[Persistence] Suppression " + migratedFrom + " KO : " + e.getMessage());
             }
-            mapper.writeValue(file.toFile(), snapshotSupplier.get());
+            migratedFrom = null;
+        }
+    }
+
+    private byte[] serialize(Object snapshot) {
+        try {
+            return format.configure(mapper.writer()).writeValueAsBytes(snapshot);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize " + storeName, e);
+        }
+    }
+
+    private byte[] encode(byte[] json) {
+        try {
+            return format.encode(json);
         } catch (IOException e) {
-            throw new IllegalStateException("Cannot save " + storeName + " to " + file, e);
+            throw new IllegalStateException("Cannot encode " + storeName, e);
         }
     }
 
+    private static long fingerprint(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return (crc.getValue() << 32) ^ bytes.length;
+    }
+
     @Override
-    public boolean loadIfExists() {
-        if (!Files.exists(file)) {
+    public synchronized boolean loadIfExists() {
+        Path existing = SnapshotFormat.findExisting(file, format);
+        if (existing == null) {
             return false;
         }
         try {
+            SnapshotFormat existingFormat = SnapshotFormat.ofFile(existing);
+            byte[] json = existingFormat.decode(Files.readAllBytes(existing));
             T snapshot;
             if (typeRef != null) {
-                snapshot = mapper.readValue(file.toFile(), typeRef);
+                snapshot = mapper.readValue(json, typeRef);
             } else if (javaType != null) {
-                snapshot = mapper.readValue(file.toFile(), javaType);
+                snapshot = mapper.readValue(json, javaType);
             } else {
-                snapshot = mapper.readValue(file.toFile(), snapshotType);
+                snapshot = mapper.readValue(json, snapshotType);
             }
             loader.accept(snapshot);
+            if (existingFormat == format) {
+                persistedFingerprint = fingerprint(json);
+                persistedVersion = changeVersion.get();
+            } else {
+                // Autre format : store laissé "sale" pour être réécrit au prochain checkpoint.
+                migratedFrom = existing;
+                persistedFingerprint = -1L;
+                persistedVersion = -1L;
+            }
             return true;
         } catch (IOException e) {
-            throw new IllegalStateException("Cannot load " + storeName + " from " + file, e);
+            throw new IllegalStateException("Cannot load " + storeName + " from " + existing, e);
         }
     }
 
     @Override
-    public void deleteIfExists() {
+    public synchronized void deleteIfExists() {
         try {
-            Files.deleteIfExists(file);
+            for (SnapshotFormat f : SnapshotFormat.values()) {
+                Files.deleteIfExists(f.fileFor(file));
+                AtomicFiles.deleteTempIfExists(f.fileFor(file));
+            }
+            persistedFingerprint = -1L;
+            persistedVersion = -1L;
+            migratedFrom = null;
         } catch (IOException e) {
             throw new IllegalStateException("Cannot delete " + storeName + " file " + file, e);
         }
     }
+
+    /** Copie en tokens de l'état à une version donnée, sérialisée hors verrou par {@link #encode()}. */
+    private final class SnapshotCapture implements Capture {
+        private final long version;
+        private final TokenBuffer tokens;
+        /** Empreinte persistée au moment de la capture : contenu identique = rien à écrire. */
+        private final long baseFingerprint;
+        private long fingerprint;
+        private boolean encoded;
+
+        private SnapshotCapture(long version, TokenBuffer tokens, long baseFingerprint) {
+            this.version = version;
+            this.tokens = tokens;
+            this.baseFingerprint = baseFingerprint;
+        }
+
+        private SnapshotJsonStore<T> owner() {
+            return SnapshotJsonStore.this;
+        }
+
+        @Override
+        public byte[] encode() {
+            byte[] json = serialize(tokens);
+            fingerprint = fingerprint(json);
+            encoded = true;
+            return fingerprint == baseFingerprint ? null : SnapshotJsonStore.this.encode(json);
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package be.mirooz.elitedangerous.dashboard.persistence;
+
+import java.util.Set;
+
+/**
+ * Noms des {@link RegistryStore} de {@link DashboardRegistryJsonPersistence}, partagés avec ceux
+ * qui signalent une modification ({@code PersistenceService#markChanged}) : handlers journal,
+ * calculs de fond, services.
+ */
+public final class StoreNames {
+
+    public static final String COMMODITY_REGISTRY = "commodity-registry";
+    public static final String CARRIER_STATUS = "carrier-status";
+    public static final String COMMANDER_STATUS = "commander-status";
+    public static final String COMMANDER_SHIP = "commander-ship";
+    public static final String EXPLORATION_MODE = "exploration-mode";
+    public static final String SHIP_TARGETS = "ship-targets";
+    public static final String MISSIONS = "missions";
+    public static final String DESTROYED_SHIPS = "destroyed-ships";
+    public static final String COLONISATION_REGISTRY = "colonisation-registry";
+    public static final String PLANETE_REGISTRY = "planete-registry";
+    public static final String SYSTEM_VISITED_REGISTRY = "system-visited-registry";
+    public static final String EXPLORATION_DATA_SALE_REGISTRY = "exploration-data-sale-registry";
+    public static final String ORGANIC_DATA_SALE_REGISTRY = "organic-data-sale-registry";
+    public static final String MINING_STAT_REGISTRY = "mining-stat-registry";
+
+    /**
+     * Stores qui sérialisent les corps célestes : une même instance est partagée entre
+     * {@code PlaneteRegistry} (système courant), le {@code SystemVisited} de son système et les
+     * ventes d'exploration qui le référencent. Modifier un corps en place salit les trois.
+     */
+    public static final Set<String> CELESTE_BODIES = Set.of(
+            PLANETE_REGISTRY, SYSTEM_VISITED_REGISTRY, EXPLORATION_DATA_SALE_REGISTRY);
+
+    /** Tous les stores : valeur prudente pour un handler qui ne déclare rien. */
+    public static final Set<String> ALL = Set.of(
+            COMMODITY_REGISTRY, CARRIER_STATUS, COMMANDER_STATUS, COMMANDER_SHIP, EXPLORATION_MODE,
+            SHIP_TARGETS, MISSIONS, DESTROYED_SHIPS, COLONISATION_REGISTRY, PLANETE_REGISTRY,
+            SYSTEM_VISITED_REGISTRY, EXPLORATION_DATA_SALE_REGISTRY, ORGANIC_DATA_SALE_REGISTRY,
+            MINING_STAT_REGISTRY);
+
+    private StoreNames() {}
+}
@@ -1,7 +1,9 @@
 package be.mirooz.elitedangerous.dashboard.service;
 
 import be.mirooz.elitedangerous.backend.generated.model.LatestVersionResponse;
+import be.mirooz.elitedangerous.dashboard.model.exploration.BioSpeciesModel;
 import be.mirooz.elitedangerous.dashboard.model.registries.fleetcarrier.CarrierStatus;
+import be.mirooz.elitedangerous.dashboard.service.journal.watcher.CompanionFileService;
 import be.mirooz.elitedangerous.dashboard.service.journal.watcher.JournalTailService;
 import be.mirooz.elitedangerous.dashboard.service.journal.watcher.JournalWatcherService;
 import be.mirooz.elitedangerous.dashboard.service.persistence.PersistenceService;
@@ -43,6 +45,7 @@ public final class AppLifecycleService {
         }
         WindowToggleService.getInstance().initialize(stage, hiddenFocusComboBox, rootPane);
         WindowToggleService.getInstance().start();
+        BioSpeciesModel.warmUpAsync();
         DashboardService.getInstance().initActiveMissions();
         checkForUpdatesAsync(rootPane);
     }
@@ -132,6 +135,12 @@ public final class AppLifecycleService {
             System.err.println("[Lifecycle] Journal watcher stop failed: " + e.getMessage());
         }
 
+        try {
+            CompanionFileService.getInstance().stop();
+        } catch (Exception e) {
+            System.err.println("[Lifecycle] Companion file watcher stop failed: " + e.getMessage());
+        }
+
         try {
             WindowToggleService.getInstance().stop();
         } catch (Exception e) {
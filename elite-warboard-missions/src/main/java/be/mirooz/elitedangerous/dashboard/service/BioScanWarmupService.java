@@ -0,0 +1,147 @@
+package be.mirooz.elitedangerous.dashboard.service;
+
+import be.mirooz.elitedangerous.dashboard.model.exploration.ACelesteBody;
+import be.mirooz.elitedangerous.dashboard.model.exploration.PlaneteDetail;
+import be.mirooz.elitedangerous.dashboard.model.exploration.SystemVisited;
+import be.mirooz.elitedangerous.dashboard.model.registries.exploration.PlaneteRegistry;
+import be.mirooz.elitedangerous.dashboard.model.registries.exploration.SystemVisitedRegistry;
+import be.mirooz.elitedangerous.dashboard.service.listeners.ExplorationRefreshNotificationService;
+import be.mirooz.elitedangerous.dashboard.service.persistence.PersistenceService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Après le replay batch, applique en tâche de fond tous les calculs bio différés
+ * ({@link PlaneteDetail#resolvePendingBioScans()}) : système courant d'abord, puis les systèmes
+ * visités du plus récent au plus ancien, par lots de {@value #DEFAULT_WARMUP_CHUNK_SYSTEMS}
+ * systèmes ({@value #WARMUP_CHUNK_SYSTEMS_PROP}) suivis chacun d'un rafraîchissement de la vue.
+ * Un système affiché avant son tour est calculé à la demande ({@link #warmUpSystem}). Le calcul,
+ * sous verrou d'état, ne tourne jamais sur le thread FX.
+ */
+public final class BioScanWarmupService {
+
+    /** Systèmes calculés entre deux rafraîchissements de la vue pendant le préchauffage. */
+    public static final String WARMUP_CHUNK_SYSTEMS_PROP = "warboard.bioforge.warmupChunkSystems";
+    private static final int DEFAULT_WARMUP_CHUNK_SYSTEMS = 30;
+
+    private static final BioScanWarmupService INSTANCE = new BioScanWarmupService();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "BioScanWarmup");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    private BioScanWarmupService() {
+    }
+
+    public static BioScanWarmupService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * À appeler à la fin du replay batch. Chaque lot est une tâche distincte : un
+     * {@link #warmUpSystem} demandé entre-temps par la vue passe avant les lots suivants.
+     */
+    public void warmUpAfterBatch() {
+        executor.execute(() -> {
+            resolve(collectCurrentPlanets());
+            List<SystemVisited> systems = collectPendingSystems();
+            int chunk = Math.max(Integer.getInteger(WARMUP_CHUNK_SYSTEMS_PROP, DEFAULT_WARMUP_CHUNK_SYSTEMS), 1);
+            for (int from = 0; from < systems.size(); from += chunk) {
+                List<SystemVisited> batch = systems.subList(from, Math.min(from + chunk, systems.size()));
+                executor.execute(() -> resolve(collectPlanets(batch)));
+            }
+        });
+    }
+
+    /**
+     * Système affiché par la vue : ses calculs différés sont appliqués en tâche de fond, puis la
+     * vue est rafraîchie. Sans effet si aucune de ses planètes n'a de calcul en attente.
+     */
+    public void warmUpSystem(SystemVisited system) {
+        if (system == null) {
+            return;
+        }
+        executor.execute(() -> resolve(collectSystemPlanets(system)));
+    }
+
+    private void resolve(List<PlaneteDetail> planets) {
+        long start = System.currentTimeMillis();
+        int resolved = 0;
+        for (PlaneteDetail planet : planets) {
+            if (planet.hasPendingBioScans()) {
+                planet.resolvePendingBioScans();
+                resolved++;
+            }
+        }
+        if (resolved > 0) {
+            System.out.println("[BioScanWarmup] " + resolved + " planète(s) calculée(s) en "
+                    + (System.currentTimeMillis() - start) + " ms");
+            ExplorationRefreshNotificationService.getInstance().notifyRefreshRequired();
+        }
+    }
+
+    /** Copie, sous le verrou d'état, des planètes du système courant. */
+    private List<PlaneteDetail> collectCurrentPlanets() {
+        List<PlaneteDetail> planets = new ArrayList<>();
+        synchronized (PersistenceService.getInstance().getStateLock()) {
+            addPlanets(planets, PlaneteRegistry.getInstance().getAllPlanetes());
+        }
+        return planets;
+    }
+
+    /** Systèmes visités ayant au moins un calcul en attente, du plus récent au plus ancien. */
+    private List<SystemVisited> collectPendingSystems() {
+        synchronized (PersistenceService.getInstance().getStateLock()) {
+            return SystemVisitedRegistry.getInstance().getSystems().values().stream()
+                    .filter(BioScanWarmupService::hasPendingBioScans)
+                    .sorted(Comparator.comparing(SystemVisited::getLastVisitedTime,
+                            Comparator.nullsFirst(Comparator.<String>naturalOrder())).reversed())
+                    .toList();
+        }
+    }
+
+    private List<PlaneteDetail> collectPlanets(List<SystemVisited> systems) {
+        List<PlaneteDetail> planets = new ArrayList<>();
+        synchronized (PersistenceService.getInstance().getStateLock()) {
+            for (SystemVisited system : systems) {
+                addPlanets(planets, system.getCelesteBodies());
+            }
+        }
+        return planets;
+    }
+
+    private static boolean hasPendingBioScans(SystemVisited system) {
+        Collection<ACelesteBody> bodies = system.getCelesteBodies();
+        return bodies != null && bodies.stream()
+                .anyMatch(b -> b instanceof PlaneteDetail planet && planet.hasPendingBioScans());
+    }
+
+    /** Corps tels que la vue les lit (système courant = registre planètes). */
+    private List<PlaneteDetail> collectSystemPlanets(SystemVisited system) {
+        List<PlaneteDetail> planets = new ArrayList<>();
+        synchronized (PersistenceService.getInstance().getStateLock()) {
+            addPlanets(planets, PlaneteRegistry.getInstance().resolveCelesteBodiesForView(system));
+        }
+        return planets;
+    }
+
+    private static void addPlanets(List<PlaneteDetail> out, Collection<ACelesteBody> bodies) {
+        if (bodies == null) {
+            return;
+        }
+        bodies.stream()
+                .filter(Objects::nonNull)
+                .filter(b -> b instanceof PlaneteDetail)
+                .map(b -> (PlaneteDetail) b)
+                .forEach(out::add);
+    }
+}
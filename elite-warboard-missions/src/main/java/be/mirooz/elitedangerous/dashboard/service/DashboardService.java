@@ -11,9 +11,11 @@ import be.mirooz.elitedangerous.dashboard.model.registries.exploration.OrganicDa
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.PlaneteRegistry;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.SystemVisitedRegistry;
 import be.mirooz.elitedangerous.dashboard.model.registries.mining.MiningStatRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
 import be.mirooz.elitedangerous.dashboard.service.journal.JournalService;
 import be.mirooz.elitedangerous.dashboard.service.journal.watcher.JournalTailService;
 import be.mirooz.elitedangerous.dashboard.service.journal.watcher.JournalWatcherService;
+import be.mirooz.elitedangerous.dashboard.service.persistence.PersistenceService;
 import javafx.application.Platform;
 
 import java.util.ArrayList;
@@ -64,6 +66,8 @@ public class DashboardService {
                 PlaneteRegistry.getInstance().clear();
                 SystemVisitedRegistry.getInstance().clear();
                 ExplorationDataSaleRegistry.getInstance().clearAll();
+                // Registries vidés hors dispatch : tous à réécrire, même sans event rejoué derrière
+                PersistenceService.getInstance().markChanged(StoreNames.ALL);
                 JournalWatcherService.getInstance().stop();
                 journalService.getMissionsFromLastWeek();
             } catch (Exception ex) {
@@ -2,38 +2,23 @@ package be.mirooz.elitedangerous.dashboard.service;
 
 import be.mirooz.elitedangerous.dashboard.view.exploration.RadarComponent;
 import be.mirooz.elitedangerous.dashboard.model.exploration.Position;
+import be.mirooz.elitedangerous.dashboard.service.journal.watcher.CompanionFile;
+import be.mirooz.elitedangerous.dashboard.service.journal.watcher.CompanionFileService;
+import be.mirooz.elitedangerous.dashboard.service.journal.watcher.CompanionFileSnapshot;
 import be.mirooz.elitedangerous.dashboard.view.common.context.DashboardContext;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleObjectProperty;
 import lombok.Getter;
 
-import java.io.File;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 public class DirectionReaderService {
 
-    public static final int WAIT_TIME = 300;
-    // Position actuelle
-    private final ObjectProperty<Position> currentPosition = new SimpleObjectProperty<>();
+    // Position actuelle : flux Status.json sans allocation (cf. StatusPositionStream)
+    private final StatusPositionStream positionStream = StatusPositionStream.getInstance();
 
-    private volatile Position previousPosition = null;
     private volatile Double colonyRangeMeter;
-    private static final String STATUS_FILE = "Status.json";
-    private static final ObjectMapper objectMapper = new ObjectMapper();
     private final PreferencesService preferencesService = PreferencesService.getInstance();
-    private final ScheduledExecutorService scheduler =
-            Executors.newSingleThreadScheduledExecutor();
 
     public static DirectionReaderService INSTANCE = new DirectionReaderService();
 
@@ -46,7 +31,6 @@ public class DirectionReaderService {
 
     @Getter
     private final List<Position> currentBiologicalSamplePositions = new CopyOnWriteArrayList<>();
-    private ScheduledFuture<?> statusWatcherTask;
     // Thread de surveillance
     private volatile boolean watching = false;
 
@@ -56,27 +40,16 @@ public class DirectionReaderService {
      * @return La position actuelle ou null si le fichier n'existe pas ou si les données sont invalides
      */
     public Position readCurrentPosition(double radius) {
-        try {
-            String journalFolder = preferencesService.getJournalFolder();
-            if (journalFolder == null || journalFolder.isEmpty()) {
-                System.out.println("⚠️ Dossier journal non configuré");
-                return null;
-            }
-
-            Path statusFilePath = Paths.get(journalFolder, STATUS_FILE);
-            if (!Files.exists(statusFilePath)) {
-                System.out.println("⚠️ Fichier Status.json non trouvé: " + statusFilePath);
-                return null;
-            }
-
-            String statusContent = Files.readString(statusFilePath);
-            if (statusContent == null || statusContent.trim().isEmpty()) {
-                System.out.println("⚠️ Fichier Status.json vide");
-                return null;
-            }
-
-            JsonNode statusNode = objectMapper.readTree(statusContent);
+        CompanionFileSnapshot snapshot = CompanionFileService.getInstance().getSnapshot(CompanionFile.STATUS);
+        if (snapshot == null) {
+            System.out.println("⚠️ Fichier Status.json absent, vide ou illisible");
+            return null;
+        }
+        return toPosition(snapshot.json(), radius);
+    }
 
+    private Position toPosition(JsonNode statusNode, double radius) {
+        try {
             // Vérifier que c'est bien un événement Status
             if (!"Status".equals(statusNode.path("event").asText())) {
                 System.out.println("⚠️ Le fichier Status.json ne contient pas un événement Status");
@@ -101,8 +74,6 @@ public class DirectionReaderService {
         }
     }
 
-    private volatile long lastModified = 0;
-
     public void startWatchingStatusFile(double radius,double colonyRangeMeter) {
         if (DashboardContext.getInstance().isBatchLoading()) {
             return;
@@ -119,11 +90,10 @@ public class DirectionReaderService {
         watching = true;
 
         this.colonyRangeMeter= colonyRangeMeter;
-        // Lire la position initiale
-        Position initialPosition = readCurrentPosition(radius);
+        // Position initiale + déplacements notifiés par CompanionFileService (plus de polling)
+        positionStream.start(radius);
+        Position initialPosition = positionStream.currentPosition();
         if (initialPosition != null) {
-            currentPosition.set(initialPosition);
-            previousPosition = initialPosition;
             System.out.println("[StatusWatcher] Position initiale: " + initialPosition);
         }
 
@@ -134,65 +104,9 @@ public class DirectionReaderService {
             javafx.application.Platform.runLater(radarComponent::showRadar);
         }
 
-        statusWatcherTask = scheduler.scheduleAtFixedRate(() -> {
-
-            try {
-                if (!watching) return;
-
-                String journalFolder = preferencesService.getJournalFolder();
-                if (journalFolder == null || journalFolder.isEmpty()) {
-                    return; // on attend le prochain tick
-                }
-
-                Path statusFilePath = Paths.get(journalFolder, STATUS_FILE);
-                File statusFile = statusFilePath.toFile();
-
-                if (!statusFile.exists()) {
-                    return; // pas de fichier → rien à faire
-                }
-
-                long currentModified = statusFile.lastModified();
-
-                // Fichier modifié ?
-                if (currentModified != lastModified) {
-                    lastModified = currentModified;
-
-                    Position newPosition = readCurrentPosition(radius);
-
-                    if (newPosition != null) {
-                        // Vérifier si la position a changé
-                        if (currentPosition.get() == null ||
-                                newPosition.isDifferentFrom(currentPosition.get(), 0.000001)) {
-
-                            previousPosition = currentPosition.get();
-                            for (Position position : currentBiologicalSamplePositions) {
-                                position.setDistanceFromCurrent(getDistanceTo(newPosition,position));
-                            }
-                            currentPosition.set(newPosition);
-
-                            if (previousPosition != null) {
-                                double direction = previousPosition.calculateDirectionTo(newPosition);
-                                String directionName = getDirectionName(direction);
-
-                                System.out.printf(
-                                        "[StatusWatcher] Position mise à jour: %s → %s (Direction: %.1f° %s)%n",
-                                        previousPosition, newPosition, direction, directionName
-                                );
-                            } else {
-                                System.out.println("[StatusWatcher] Position initiale: " + newPosition);
-                            }
-                        }
-                    }
-                }
-
-            } catch (Exception e) {
-                System.err.println("[StatusWatcher] Erreur lors de la surveillance: " + e.getMessage());
-            }
-
-        }, 300, WAIT_TIME, TimeUnit.MILLISECONDS); // WAIT_TIME = 500 ms
+        CompanionFileService.getInstance().start(preferencesService.getJournalFolder());
     }
 
-
     /**
      * Arrête la surveillance du fichier Status.json
      */
@@ -201,12 +115,7 @@ public class DirectionReaderService {
             return;
         }
         watching = false;
-        if (statusWatcherTask != null){
-            statusWatcherTask.cancel(true);
-            statusWatcherTask = null;
-        }
-        currentPosition.set(null);
-        previousPosition = null;
+        positionStream.stop();
         colonyRangeMeter = null;
         currentBiologicalSamplePositions.clear();
         
@@ -220,14 +129,7 @@ public class DirectionReaderService {
      * Retourne la position actuelle (peut être null si pas encore lue ou si on n'est pas sur une planète)
      */
     public Position getCurrentPosition() {
-        return currentPosition.getValue();
-    }
-
-    /**
-     * Retourne la position précédente
-     */
-    public Position getPreviousPosition() {
-        return previousPosition;
+        return positionStream.currentPosition();
     }
     
     /**
@@ -237,16 +139,6 @@ public class DirectionReaderService {
         return colonyRangeMeter;
     }
 
-    /**
-     * Convertit un angle en degrés en nom de direction
-     */
-    private String getDirectionName(double degrees) {
-        String[] directions = {"N", "NNE", "NE", "ENE", "E", "ESE", "SE", "SSE",
-                "S", "SSW", "SW", "WSW", "W", "WNW", "NW", "NNW"};
-        int index = (int) Math.round(degrees / 22.5) % 16;
-        return directions[index];
-    }
-
     public double getDistanceTo(Position current,Position targetPosition) {
         if (current == null || targetPosition == null) {
             return -1;
@@ -258,6 +150,21 @@ public class DirectionReaderService {
                 targetPosition.getLatitude(), targetPosition.getLongitude()
         );
     }
+
+    /**
+     * Distance (m) entre la position courante {@code (latitude, longitude)} et {@code targetPosition}.
+     */
+    public double getDistanceTo(double latitude, double longitude, Position targetPosition) {
+        if (targetPosition == null) {
+            return -1;
+        }
+        return computeSurfaceDistanceMeters(
+                targetPosition.getRadius(),
+                latitude, longitude,
+                targetPosition.getLatitude(), targetPosition.getLongitude()
+        );
+    }
+
     private double computeSurfaceDistanceMeters(
             double radiusMeters,
             double lat1, double lon1,
@@ -4,9 +4,11 @@ import be.mirooz.elitedangerous.backend.analytics.AnalyticsClient;
 import be.mirooz.elitedangerous.dashboard.model.registries.commander.CommanderStatus;
 import be.mirooz.elitedangerous.dashboard.view.common.context.DashboardContext;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -14,24 +16,51 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.*;
 import java.util.stream.Stream;
 
 /**
  * Service pour gérer les logs de l'application
  * Enregistre les logs dans un fichier dans le dossier des préférences
+ *
+ * <p>System.out / System.err sont redirigés vers un ring buffer borné vidé par un thread
+ * d'écriture dédié (console + fichier bufferisé) : logguer ne bloque pas le thread journal.</p>
  */
 public class LoggingService {
+    /** Force la trace {@code ***** Event X *****} pendant le replay batch (désactivée par défaut). */
+    public static final String EVENT_TRACE_PROP = "warboard.log.eventTrace";
+
+    /** Nombre maximal d'écritures en attente dans le ring buffer avant perte (stdout uniquement). */
+    private static final int RING_CAPACITY = 16_384;
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+    private static final long SHUTDOWN_DRAIN_TIMEOUT_MS = 2_000L;
+
     private static LoggingService instance;
     private File logFile;
     private PrintStream originalOut;
     private PrintStream originalErr;
-    private FileOutputStream logFileOutputStream;
-    private TeePrintStream teeOut;
-    private TeePrintStream teeErr;
+    private OutputStream logFileOutputStream;
+    private PrintStream asyncOut;
+    private PrintStream asyncErr;
     private FileHandler fileHandler;
 
+    /**
+     * Écritures en attente pour le thread d'écriture : chaque {@code write} des flux redirigés y
+     * dépose une copie de ses octets, le thread appelant ne touche jamais le disque ni la console.
+     */
+    private final BlockingQueue<LogChunk> ring = new ArrayBlockingQueue<>(RING_CAPACITY);
+    private final AtomicLong droppedChunks = new AtomicLong();
+    private volatile boolean writerRunning;
+    private Thread writerThread;
+
     private LoggingService() {
         // Ne pas initialiser ici, on le fera dans initialize()
     }
@@ -182,12 +211,16 @@ public class LoggingService {
             originalOut = System.out;
             originalErr = System.err;
 
-            logFileOutputStream = new FileOutputStream(logFile, true);
-            teeOut = new TeePrintStream(originalOut, logFileOutputStream);
-            teeErr = new TeePrintStream(originalErr, logFileOutputStream);
+            // Écriture asynchrone : le thread appelant (journal, FX...) dépose ses octets dans le
+            // ring buffer, un thread dédié les écrit dans la console et dans un fichier bufferisé.
+            logFileOutputStream = new BufferedOutputStream(new FileOutputStream(logFile, true), FILE_BUFFER_SIZE);
+            startWriter();
+            asyncOut = new PrintStream(new AsyncTeeOutputStream(originalOut, false), false, StandardCharsets.UTF_8);
+            asyncErr = new PrintStream(new AsyncTeeOutputStream(originalErr, true), false, StandardCharsets.UTF_8);
 
-            System.setOut(teeOut);
-            System.setErr(teeErr);
+            System.setOut(asyncOut);
+            System.setErr(asyncErr);
+            Runtime.getRuntime().addShutdownHook(new Thread(this::drainPending, "LoggingService-shutdown"));
 
             System.out.println("✅ Service de logging initialisé - Fichier: " + logFile.getAbsolutePath());
             System.out.println("📅 Démarrage de l'application: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
@@ -198,6 +231,15 @@ public class LoggingService {
         }
     }
 
+    /**
+     * Indique si la trace par event ({@code ***** Event X *****}) doit être écrite : toujours en
+     * live, et pendant le replay batch uniquement si {@value #EVENT_TRACE_PROP} est activé
+     * (des centaines de milliers de lignes sinon).
+     */
+    public boolean isEventTraceEnabled() {
+        return !DashboardContext.getInstance().isBatchLoading() || Boolean.getBoolean(EVENT_TRACE_PROP);
+    }
+
     /**
      * Arrête le service de logging et restaure les flux originaux
      */
@@ -205,17 +247,19 @@ public class LoggingService {
         try {
             System.out.println("📅 Arrêt de l'application: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
 
-            // Restaurer les flux originaux
-            if (teeOut != null) {
+            // Restaurer les flux originaux, puis vider le ring buffer avant de fermer le fichier
+            if (asyncOut != null) {
                 System.setOut(originalOut);
-                teeOut.close();
+                asyncOut.flush();
             }
-            if (teeErr != null) {
+            if (asyncErr != null) {
                 System.setErr(originalErr);
-                teeErr.close();
+                asyncErr.flush();
             }
+            stopWriter();
             if (logFileOutputStream != null) {
                 logFileOutputStream.close();
+                logFileOutputStream = null;
             }
             if (fileHandler != null) {
                 fileHandler.close();
@@ -225,56 +269,154 @@ public class LoggingService {
         }
     }
 
+    private void startWriter() {
+        writerRunning = true;
+        writerThread = new Thread(this::runWriter, "LoggingService-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    private void stopWriter() {
+        writerRunning = false;
+        if (writerThread != null) {
+            try {
+                writerThread.join(SHUTDOWN_DRAIN_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writerThread = null;
+        }
+        // Reliquat éventuel (timeout) : écrit sur le thread appelant.
+        List<LogChunk> rest = new ArrayList<>();
+        ring.drainTo(rest);
+        rest.forEach(this::writeChunk);
+        flushOutputs();
+    }
+
     /**
-     * Classe pour rediriger les sorties vers la console ET le fichier
+     * Shutdown hook JVM (kill, Ctrl+C...) : laisse le writer vider le ring buffer sans l'arrêter,
+     * les autres hooks (persistance) pouvant encore logguer.
      */
-    private static class TeePrintStream extends PrintStream {
-        private final PrintStream console;
-        private final FileOutputStream file;
-
-        public TeePrintStream(PrintStream console, FileOutputStream file) {
-            super(file, true);
-            this.console = console;
-            this.file = file;
+    private void drainPending() {
+        long deadline = System.currentTimeMillis() + SHUTDOWN_DRAIN_TIMEOUT_MS;
+        while (writerRunning && !ring.isEmpty() && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
         }
+        flushOutputs();
+    }
 
-        @Override
-        public void write(int b) {
-            console.write(b);
+    private void runWriter() {
+        List<LogChunk> batch = new ArrayList<>();
+        while (writerRunning || !ring.isEmpty()) {
+            LogChunk first;
             try {
-                file.write(b);
-            } catch (IOException e) {
-                // Ignorer les erreurs d'écriture dans le fichier
+                first = ring.poll(200, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            ring.drainTo(batch, 1024);
+            boolean critical = false;
+            for (LogChunk chunk : batch) {
+                writeChunk(chunk);
+                critical |= chunk.critical();
+            }
+            batch.clear();
+            long dropped = droppedChunks.getAndSet(0);
+            if (dropped > 0) {
+                writeChunk(new LogChunk(originalOut,
+                        ("[Logging] " + dropped + " écritures stdout perdues (buffer plein)" + System.lineSeparator())
+                                .getBytes(StandardCharsets.UTF_8), false));
+            }
+            // stderr : flush immédiat pour qu'une erreur soit sur disque même en cas de crash ;
+            // sinon flush dès que la file est vide.
+            if (critical || ring.isEmpty()) {
+                flushOutputs();
             }
         }
+        flushOutputs();
+    }
 
-        @Override
-        public void write(byte[] buf, int off, int len) {
-            console.write(buf, off, len);
+    private synchronized void writeChunk(LogChunk chunk) {
+        chunk.console().write(chunk.bytes(), 0, chunk.bytes().length);
+        if (logFileOutputStream != null) {
             try {
-                file.write(buf, off, len);
+                logFileOutputStream.write(chunk.bytes());
             } catch (IOException e) {
                 // Ignorer les erreurs d'écriture dans le fichier
             }
         }
+    }
 
-        @Override
-        public void flush() {
-            console.flush();
+    private synchronized void flushOutputs() {
+        if (originalOut != null) {
+            originalOut.flush();
+        }
+        if (originalErr != null) {
+            originalErr.flush();
+        }
+        if (logFileOutputStream != null) {
             try {
-                file.flush();
+                logFileOutputStream.flush();
             } catch (IOException e) {
                 // Ignorer les erreurs de flush
             }
         }
+    }
+
+    /** Écriture en attente : octets copiés, console d'origine, et stderr ou non. */
+    private record LogChunk(PrintStream console, byte[] bytes, boolean critical) {}
+
+    /**
+     * Flux redirigé vers la console ET le fichier, via le ring buffer. stdout est sacrifiable
+     * (écriture perdue et comptée si le buffer est plein) ; stderr ne l'est jamais : l'appelant
+     * attend une place, faute de quoi les erreurs ne seraient plus remontées par
+     * {@link #reportSessionLogError()}.
+     */
+    private class AsyncTeeOutputStream extends OutputStream {
+        private final PrintStream console;
+        private final boolean critical;
+
+        AsyncTeeOutputStream(PrintStream console, boolean critical) {
+            this.console = console;
+            this.critical = critical;
+        }
 
         @Override
-        public void close() {
-            console.close();
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buf, int off, int len) {
+            if (len <= 0) {
+                return;
+            }
+            LogChunk chunk = new LogChunk(console, Arrays.copyOfRange(buf, off, off + len), critical);
+            if (!writerRunning) {
+                writeChunk(chunk);
+                return;
+            }
+            if (!critical) {
+                if (!ring.offer(chunk)) {
+                    droppedChunks.incrementAndGet();
+                }
+                return;
+            }
             try {
-                file.close();
-            } catch (IOException e) {
-                // Ignorer les erreurs de fermeture
+                ring.put(chunk);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeChunk(chunk);
             }
         }
     }
@@ -100,10 +100,7 @@ public class MiningStatsService {
      * Retire un minéral raffiné de la session en cours avec timestamp
      */
     public void removeRefinedMineral(Mineral mineral, int quantity, String timestamp) {
-        Optional<MiningStat> currentSession = getCurrentMiningSession();
-        if (currentSession.isPresent()) {
-            currentSession.get().removeRefinedMineral(mineral, quantity, timestamp);
-        }
+        miningStatRegistry.removeRefinedMineral(mineral, quantity, timestamp);
     }
     
     /**
@@ -117,10 +114,7 @@ public class MiningStatsService {
      * Ajoute un minéral raffiné à la session en cours avec timestamp
      */
     public void addRefinedMineral(Mineral mineral, int quantity, String timestamp) {
-        Optional<MiningStat> currentSession = getCurrentMiningSession();
-        if (currentSession.isPresent()) {
-            currentSession.get().addRefinedMineral(mineral, quantity, timestamp);
-        }
+        miningStatRegistry.addRefinedMineral(mineral, quantity, timestamp);
     }
     
     /**
@@ -145,11 +139,10 @@ public class MiningStatsService {
     }
     
     /**
-     * Calcule les statistiques globales de minage
+     * Statistiques globales de minage, lues dans l'agrégat tenu à jour par le registre
      */
     public MiningGlobalStats getGlobalStats() {
-        List<MiningStat> completedStats = getCompletedMiningStats();
-        return new MiningGlobalStats(completedStats);
+        return new MiningGlobalStats(miningStatRegistry.getCompletedTotals());
     }
     
     /**
@@ -192,6 +185,18 @@ public class MiningStatsService {
                     .mapToLong(MiningStat::getTotalValue)
                     .sum();
         }
+
+        public MiningGlobalStats(MiningStatRegistry.CompletedTotals totals) {
+            this.totalSessions = totals.sessions();
+            this.totalDurationMinutes = totals.durationMinutes();
+            this.totalMineralsRefined = totals.minerals();
+            // Valeur au prix courant des minéraux (les prix évoluent, elle n'est pas cumulée)
+            long value = 0;
+            for (Map.Entry<Mineral, Integer> entry : totalMineralsRefined.entrySet()) {
+                value += (long) entry.getKey().getPrice() * entry.getValue();
+            }
+            this.totalValue = value;
+        }
         
         public int getTotalSessions() {
             return totalSessions;
@@ -9,6 +9,7 @@ import be.mirooz.elitedangerous.dashboard.model.ships.ShipTarget;
 import be.mirooz.elitedangerous.dashboard.util.comparator.MissionTimestampComparator;
 import be.mirooz.elitedangerous.dashboard.model.registries.combat.DestroyedShipsRegistery;
 import be.mirooz.elitedangerous.dashboard.model.registries.combat.MissionsRegistry;
+import be.mirooz.elitedangerous.dashboard.model.registries.combat.MissionsRegistry.MassacreKind;
 import be.mirooz.elitedangerous.dashboard.util.DateUtil;
 import com.fasterxml.jackson.databind.JsonNode;
 
@@ -16,9 +17,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class MissionService {
 
@@ -99,7 +98,7 @@ public class MissionService {
 
     public void updateWantedKillCount(JsonNode jsonNode) {
         String victimFaction = jsonNode.has("VictimFaction") ? jsonNode.get("VictimFaction").asText() : "";
-        if (missionsRegistry.snapshotMissions().isEmpty()) {
+        if (!missionsRegistry.hasActiveMassacreMissions()) {
             return;
         }
         List<Mission> eligibleMissions = new ArrayList<>();
@@ -122,7 +121,7 @@ public class MissionService {
 
     public void updatFactionKillCount(JsonNode jsonNode) {
         String victimFaction = jsonNode.has("VictimFaction") ? jsonNode.get("VictimFaction").asText() : "";
-        if (missionsRegistry.snapshotMissions().isEmpty()) {
+        if (!missionsRegistry.hasActiveMassacreMissions()) {
             return;
         }
         List<Mission> eligibleMissions = getFactionShipMissions(victimFaction);
@@ -130,9 +129,7 @@ public class MissionService {
     }
 
     private List<Mission> getDeserteurShipMissions(String victimFaction) {
-        return getEligiblesMissions(victimFaction,
-                Mission::isShipActiveDeserteurMassacreMission,
-                Mission::isShipMassacre);
+        return getEligiblesMissions(MassacreKind.DESERTEUR, victimFaction);
     }
 
 
@@ -206,38 +203,31 @@ public class MissionService {
     }
 
     private List<Mission> getOnFootMissions(String victimFaction) {
-        return getEligiblesMissions(victimFaction,
-                Mission::isOnFootActiveMassacreMission,
-                Mission::isOnFootMassacre);
+        return getEligiblesMissions(MassacreKind.ON_FOOT, victimFaction);
     }
 
     private List<Mission> getPirateShipMissions(String victimFaction) {
-        return getEligiblesMissions(victimFaction,
-                Mission::isShipActivePirateMassacreMission,
-                Mission::isShipMassacre);
+        return getEligiblesMissions(MassacreKind.PIRATE, victimFaction);
     }
 
     private List<Mission> getFactionShipMissions(String victimFaction) {
-        return getEligiblesMissions(victimFaction,
-                Mission::isShipActiveFactionConflictMission,
-                Mission::isShipMassacre);
-    }
-
-    @SafeVarargs
-    private List<Mission> getEligiblesMissions(String victimFaction, Predicate<Mission>... extraFilters) {
-        Stream<Mission> stream = missionsRegistry.snapshotMissions().stream()
-                .filter(mission -> mission.getTargetFaction() != null)
-                .filter(mission -> victimFaction.equals(mission.getTargetFaction()))
-                .filter(mission -> mission.getDestinationSystem() == null ||
-                        commanderStatus.getCurrentStarSystem().equals(mission.getDestinationSystem()))
-                .filter(mission -> mission.getTargetCountLeft() > 0);
-
-        // Application des filtres supplémentaires passés en paramètre
-        for (Predicate<Mission> filter : extraFilters) {
-            stream = stream.filter(filter);
+        return getEligiblesMissions(MassacreKind.FACTION, victimFaction);
+    }
+
+    /**
+     * Missions actives du type donné visant {@code victimFaction} (index du registre), limitées
+     * au système courant et aux missions non terminées.
+     */
+    private List<Mission> getEligiblesMissions(MassacreKind kind, String victimFaction) {
+        List<Mission> eligibles = new ArrayList<>();
+        for (Mission mission : missionsRegistry.getActiveMassacreMissions(kind, victimFaction)) {
+            if ((mission.getDestinationSystem() == null ||
+                    commanderStatus.getCurrentStarSystem().equals(mission.getDestinationSystem()))
+                    && mission.getTargetCountLeft() > 0) {
+                eligibles.add(mission);
+            }
         }
-
-        return stream.toList();
+        return eligibles;
     }
 
 }
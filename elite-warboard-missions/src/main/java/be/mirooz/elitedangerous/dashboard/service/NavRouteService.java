@@ -4,17 +4,15 @@ import be.mirooz.elitedangerous.backend.spansh.ExplorationMode;
 import be.mirooz.elitedangerous.dashboard.model.navigation.NavRoute;
 import be.mirooz.elitedangerous.dashboard.model.navigation.RouteSystem;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.ExplorationModeRegistry;
+import be.mirooz.elitedangerous.dashboard.service.journal.watcher.CompanionFile;
+import be.mirooz.elitedangerous.dashboard.service.journal.watcher.CompanionFileService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.NavRouteNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -26,12 +24,8 @@ import java.util.Map;
  */
 public class NavRouteService {
 
-    private static final String NAV_ROUTE_FILE = "NavRoute.json";
     private static final NavRouteService INSTANCE = new NavRouteService();
 
-    private final PreferencesService preferencesService = PreferencesService.getInstance();
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
     private final Map<ExplorationMode, ObjectProperty<NavRoute>> routeMap = new HashMap<>();
     private final ObjectProperty<NavRoute> currentRoute = new SimpleObjectProperty<>(null);
     private final IntegerProperty remainingJumpsInRoute = new SimpleIntegerProperty(-1);
@@ -166,25 +160,11 @@ public class NavRouteService {
      */
     public NavRoute readNavRouteFile() {
         try {
-            String journalFolder = preferencesService.getJournalFolder();
-            if (journalFolder == null || journalFolder.isEmpty()) {
-                System.out.println("⚠️ Dossier journal non configuré");
-                return null;
-            }
-
-            Path navRouteFilePath = Paths.get(journalFolder, NAV_ROUTE_FILE);
-            if (!Files.exists(navRouteFilePath)) {
-                System.out.println("⚠️ Fichier NavRoute.json non trouvé: " + navRouteFilePath);
+            JsonNode navRouteNode = CompanionFileService.getInstance().readJson(CompanionFile.NAV_ROUTE);
+            if (navRouteNode == null) {
+                System.out.println("⚠️ Fichier NavRoute.json absent, vide ou illisible");
                 return null;
             }
-
-            String navRouteContent = Files.readString(navRouteFilePath);
-            if (navRouteContent == null || navRouteContent.trim().isEmpty()) {
-                System.out.println("⚠️ Fichier NavRoute.json vide");
-                return null;
-            }
-
-            JsonNode navRouteNode = objectMapper.readTree(navRouteContent);
             return parseNavRouteFromJson(navRouteNode);
 
         } catch (Exception e) {
@@ -0,0 +1,420 @@
+package be.mirooz.elitedangerous.dashboard.service;
+
+import be.mirooz.elitedangerous.dashboard.model.exploration.MutablePosition;
+import be.mirooz.elitedangerous.dashboard.model.exploration.Position;
+import be.mirooz.elitedangerous.dashboard.service.journal.watcher.CompanionFile;
+import be.mirooz.elitedangerous.dashboard.service.journal.watcher.CompanionFileService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Flux de position au sol lu dans {@code Status.json} pour le radar exobio.
+ *
+ * <ul>
+ *   <li>Réveillé par {@link CompanionFileService#addChangeListener} à chaque réécriture du
+ *       fichier (pas de polling, pas d'arbre JSON).</li>
+ *   <li>Le fichier est relu dans un tampon d'octets réutilisé (rouvert à chaque fois : le jeu
+ *       le remplace) et parcouru une seule fois : seuls {@code event}, {@code timestamp},
+ *       {@code Latitude}, {@code Longitude} et {@code Heading} sont extraits, sans créer de
+ *       {@link String} ni de nœud.</li>
+ *   <li>La position courante est une {@link MutablePosition} modifiée en place ; les lecteurs
+ *       en prennent une copie ({@link #copyLatest}) et comparent {@link #version()} pour savoir
+ *       s'il y a eu déplacement. Une lecture sans position (hors planète, fichier en cours
+ *       d'écriture) conserve la dernière position connue.</li>
+ * </ul>
+ */
+public class StatusPositionStream {
+
+    private static final StatusPositionStream INSTANCE = new StatusPositionStream();
+
+    /** Écart (en degrés) en dessous duquel la position est considérée inchangée. */
+    private static final double TOLERANCE = 0.000001;
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+
+    private static final byte[] KEY_EVENT = ascii("event");
+    private static final byte[] KEY_TIMESTAMP = ascii("timestamp");
+    private static final byte[] KEY_LATITUDE = ascii("Latitude");
+    private static final byte[] KEY_LONGITUDE = ascii("Longitude");
+    private static final byte[] KEY_HEADING = ascii("Heading");
+    private static final byte[] EVENT_STATUS = ascii("Status");
+
+    /** Puissances de 10 exactes en double (jusqu'à 10^22). */
+    private static final double[] POW10 = new double[23];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    /** Position publiée. Protégée par {@code this}. */
+    private final MutablePosition latest = new MutablePosition();
+    private volatile long version;
+    private volatile boolean running;
+    private final Runnable changeListener = this::refresh;
+
+    // État de lecture, réutilisé d'une lecture à l'autre. Protégé par readLock.
+    private final Object readLock = new Object();
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private Path statusPath;
+    private double radius;
+    private boolean statusEvent;
+    private boolean hasLatitude;
+    private boolean hasLongitude;
+    private boolean hasHeading;
+    private double latitude;
+    private double longitude;
+    private int heading;
+    private int timestampOffset;
+    private int timestampLength;
+    /** Résultat du dernier {@link #parseNumber}. */
+    private double number;
+    private long reads;
+    private long moves;
+
+    private StatusPositionStream() {
+    }
+
+    public static StatusPositionStream getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Démarre le flux sur le {@code Status.json} du dossier journal et lit la position initiale.
+     * Le watcher de {@link CompanionFileService} doit tourner pour recevoir les déplacements.
+     *
+     * @param radius rayon de la planète (m), reporté sur chaque position
+     */
+    public void start(double radius) {
+        synchronized (readLock) {
+            this.statusPath = CompanionFileService.getInstance().resolve(CompanionFile.STATUS);
+            this.radius = radius;
+            reads = 0;
+            moves = 0;
+        }
+        synchronized (this) {
+            latest.clear();
+            version++;
+        }
+        running = true;
+        CompanionFileService.getInstance().addChangeListener(CompanionFile.STATUS, changeListener);
+        refresh();
+    }
+
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        CompanionFileService.getInstance().removeChangeListener(CompanionFile.STATUS, changeListener);
+        synchronized (this) {
+            latest.clear();
+            version++;
+        }
+        synchronized (readLock) {
+            System.out.println("[StatusWatcher] Arrêt du flux de position : " + reads + " lectures, " + moves + " déplacements");
+        }
+    }
+
+    /** Incrémenté à chaque déplacement (et au démarrage / à l'arrêt). */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Copie la dernière position dans {@code target}, sans allocation.
+     *
+     * @return {@code false} si aucune position n'est connue
+     */
+    public synchronized boolean copyLatest(MutablePosition target) {
+        target.copyFrom(latest);
+        return latest.isValid();
+    }
+
+    /**
+     * @return une copie immuable de la dernière position, ou {@code null}
+     */
+    public synchronized Position currentPosition() {
+        return latest.toPosition();
+    }
+
+    /**
+     * Relit le fichier et publie la position si elle a changé. Appelé par le watcher.
+     */
+    void refresh() {
+        if (!running) {
+            return;
+        }
+        synchronized (readLock) {
+            int length = read();
+            if (length <= 0) {
+                return;
+            }
+            reads++;
+            if (!scanPosition(buffer.array(), length)) {
+                return; // Pas sur une planète (ou contenu incomplet) : on garde la dernière position
+            }
+            synchronized (this) {
+                if (!running || !latest.isDifferentFrom(latitude, longitude, hasHeading, heading, TOLERANCE)) {
+                    return;
+                }
+                latest.set(latitude, longitude, radius, hasHeading, heading);
+                latest.setTimestamp(buffer.array(), timestampOffset, timestampLength);
+                version++;
+            }
+            moves++;
+        }
+    }
+
+    /** Lit tout le fichier dans {@link #buffer} (agrandi au besoin) ; renvoie la taille lue. */
+    private int read() {
+        if (statusPath == null) {
+            return -1;
+        }
+        try (FileChannel channel = FileChannel.open(statusPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > buffer.capacity()) {
+                buffer = ByteBuffer.allocate(Integer.highestOneBit((int) size) << 1);
+            }
+            buffer.clear();
+            while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                // lecture jusqu'à la fin du fichier ou du tampon
+            }
+            return buffer.position();
+        } catch (NoSuchFileException e) {
+            return -1;
+        } catch (IOException e) {
+            System.err.println("[StatusWatcher] Lecture Status.json : " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Extrait la position d'un contenu {@code Status.json} comme {@link #refresh()}, sans la
+     * publier (vérification du balayage contre un parseur JSON complet).
+     *
+     * @return {@code false} si le contenu n'est pas un event {@code Status} complet avec
+     * latitude et longitude ; {@code target} n'est alors pas modifiée
+     */
+    boolean parse(byte[] content, int length, MutablePosition target) {
+        synchronized (readLock) {
+            if (!scanPosition(content, length)) {
+                return false;
+            }
+            target.set(latitude, longitude, radius, hasHeading, heading);
+            target.setTimestamp(content, timestampOffset, timestampLength);
+            return true;
+        }
+    }
+
+    // -------- Balayage des champs de premier niveau --------
+
+    private boolean scanPosition(byte[] b, int length) {
+        return scan(b, length) && statusEvent && hasLatitude && hasLongitude;
+    }
+
+    /**
+     * Parcourt l'objet JSON racine et renseigne les champs extraits.
+     *
+     * @return {@code false} si le contenu n'est pas un objet JSON complet
+     */
+    private boolean scan(byte[] b, int length) {
+        statusEvent = false;
+        hasLatitude = false;
+        hasLongitude = false;
+        hasHeading = false;
+        timestampLength = 0;
+
+        int i = skipWhitespace(b, length, 0);
+        if (i >= length || b[i] != '{') {
+            return false;
+        }
+        i++;
+        while (true) {
+            i = skipWhitespace(b, length, i);
+            if (i >= length) {
+                return false;
+            }
+            if (b[i] == '}') {
+                return true;
+            }
+            if (b[i] == ',') {
+                i++;
+                continue;
+            }
+            if (b[i] != '"') {
+                return false;
+            }
+            int keyStart = i + 1;
+            int keyEnd = endOfString(b, length, keyStart);
+            if (keyEnd < 0) {
+                return false;
+            }
+            i = skipWhitespace(b, length, keyEnd + 1);
+            if (i >= length || b[i] != ':') {
+                return false;
+            }
+            i = skipWhitespace(b, length, i + 1);
+            if (i >= length) {
+                return false;
+            }
+
+            if (keyEquals(b, keyStart, keyEnd, KEY_LATITUDE)) {
+                i = parseNumber(b, length, i);
+                latitude = number;
+                hasLatitude = i >= 0;
+            } else if (keyEquals(b, keyStart, keyEnd, KEY_LONGITUDE)) {
+                i = parseNumber(b, length, i);
+                longitude = number;
+                hasLongitude = i >= 0;
+            } else if (keyEquals(b, keyStart, keyEnd, KEY_HEADING)) {
+                i = parseNumber(b, length, i);
+                heading = (int) number;
+                hasHeading = i >= 0;
+            } else if (keyEquals(b, keyStart, keyEnd, KEY_TIMESTAMP) && b[i] == '"') {
+                int end = endOfString(b, length, i + 1);
+                timestampOffset = i + 1;
+                timestampLength = end - timestampOffset;
+                i = end < 0 ? -1 : end + 1;
+            } else if (keyEquals(b, keyStart, keyEnd, KEY_EVENT) && b[i] == '"') {
+                int end = endOfString(b, length, i + 1);
+                statusEvent = end >= 0 && keyEquals(b, i + 1, end, EVENT_STATUS);
+                i = end < 0 ? -1 : end + 1;
+            } else {
+                i = skipValue(b, length, i);
+            }
+            if (i < 0) {
+                return false;
+            }
+        }
+    }
+
+    private static int skipWhitespace(byte[] b, int length, int i) {
+        while (i < length && (b[i] == ' ' || b[i] == '\n' || b[i] == '\r' || b[i] == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    /** @return l'indice du guillemet fermant la chaîne ouverte avant {@code i}, ou -1 */
+    private static int endOfString(byte[] b, int length, int i) {
+        while (i < length) {
+            byte c = b[i];
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"') {
+                return i;
+            } else {
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    /** Saute une valeur quelconque (objets / tableaux imbriqués compris) ; -1 si incomplète. */
+    private static int skipValue(byte[] b, int length, int i) {
+        if (b[i] == '"') {
+            int end = endOfString(b, length, i + 1);
+            return end < 0 ? -1 : end + 1;
+        }
+        if (b[i] == '{' || b[i] == '[') {
+            int depth = 0;
+            while (i < length) {
+                byte c = b[i];
+                if (c == '"') {
+                    i = endOfString(b, length, i + 1);
+                    if (i < 0) {
+                        return -1;
+                    }
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if ((c == '}' || c == ']') && --depth == 0) {
+                    return i + 1;
+                }
+                i++;
+            }
+            return -1;
+        }
+        // nombre, true, false, null
+        while (i < length && b[i] != ',' && b[i] != '}' && b[i] != ']'
+                && b[i] != ' ' && b[i] != '\n' && b[i] != '\r' && b[i] != '\t') {
+            i++;
+        }
+        return i < length ? i : -1;
+    }
+
+    private static boolean keyEquals(byte[] b, int start, int end, byte[] key) {
+        if (end - start != key.length) {
+            return false;
+        }
+        for (int k = 0; k < key.length; k++) {
+            if (b[start + k] != key[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lit un nombre JSON dans {@link #number}. Les décimaux usuels de Status.json (au plus 15
+     * chiffres significatifs, sans exposant) sont convertis sans allocation et avec le même
+     * arrondi que {@link Double#parseDouble} ; les autres passent par celui-ci.
+     *
+     * @return l'indice qui suit le nombre, ou -1 s'il est invalide ou incomplet
+     */
+    private int parseNumber(byte[] b, int length, int i) {
+        int start = i;
+        boolean negative = i < length && b[i] == '-';
+        if (negative) {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        boolean simple = true;
+        for (; i < length; i++) {
+            byte c = b[i];
+            if (c >= '0' && c <= '9') {
+                if (mantissa != 0 || c != '0') {
+                    digits++;
+                }
+                mantissa = digits <= 18 ? mantissa * 10 + (c - '0') : mantissa;
+                if (fraction) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else if (c == 'e' || c == 'E' || c == '+' || (c == '-' && i > start)) {
+                simple = false;
+            } else {
+                break;
+            }
+        }
+        if (i >= length || i == start || (negative && i == start + 1)) {
+            return -1; // nombre vide ou coupé en fin de fichier
+        }
+        if (simple && digits <= 15 && fractionDigits < POW10.length) {
+            double value = fractionDigits == 0 ? mantissa : mantissa / POW10[fractionDigits];
+            number = negative ? -value : value;
+            return i;
+        }
+        try {
+            number = Double.parseDouble(new String(b, start, i - start, StandardCharsets.US_ASCII));
+            return i;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,123 @@
+package be.mirooz.elitedangerous.dashboard.service.journal;
+
+import be.mirooz.elitedangerous.dashboard.persistence.JournalIndexEntry;
+import be.mirooz.elitedangerous.dashboard.persistence.JournalIndexStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Index persistant des fichiers journal : nom + taille + date de modification → FID, nom du
+ * commandant, premier/dernier timestamp et nombre de lignes.
+ *
+ * <p>Évite de relire tout l'historique des journaux à chaque démarrage juste pour trouver
+ * l'event {@code Commander} : un fichier inchangé n'est plus jamais ouvert pour l'identifier.
+ * Seuls les fichiers nouveaux ou modifiés (en pratique le journal du jour) sont scannés.</p>
+ */
+public class JournalIndexService {
+
+    private static final JournalIndexService INSTANCE = new JournalIndexService();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static JournalIndexService getInstance() {
+        return INSTANCE;
+    }
+
+    private final JournalIndexStore store = new JournalIndexStore(
+            Paths.get(System.getProperty("user.home"), ".elite-warboard", "journal-index.json"));
+
+    private Map<String, JournalIndexEntry> entries;
+    private boolean dirty;
+
+    private JournalIndexService() {}
+
+    /**
+     * @return l'entrée de {@code journalFile}, scannée seulement si absente de l'index ou si le
+     *         fichier a changé depuis ; {@code null} si le fichier est illisible.
+     */
+    public synchronized JournalIndexEntry getEntry(File journalFile) {
+        ensureLoaded();
+        long size = journalFile.length();
+        long lastModified = journalFile.lastModified();
+        JournalIndexEntry entry = entries.get(journalFile.getName());
+        if (entry != null && entry.matches(size, lastModified)) {
+            return entry;
+        }
+        try {
+            entry = scan(journalFile, size, lastModified);
+        } catch (IOException e) {
+            System.err.println("[JournalIndex] Lecture impossible de " + journalFile.getName() + ": " + e.getMessage());
+            return null;
+        }
+        entries.put(journalFile.getName(), entry);
+        dirty = true;
+        return entry;
+    }
+
+    /**
+     * Oublie les journaux qui ne sont plus sur disque puis persiste l'index s'il a changé.
+     */
+    public synchronized void saveIfDirty(Collection<File> existingJournals) {
+        ensureLoaded();
+        Set<String> names = existingJournals.stream().map(File::getName).collect(Collectors.toSet());
+        if (entries.keySet().retainAll(names)) {
+            dirty = true;
+        }
+        if (!dirty) {
+            return;
+        }
+        try {
+            store.save(entries);
+            dirty = false;
+        } catch (Exception e) {
+            System.err.println("[JournalIndex] Sauvegarde KO : " + e.getMessage());
+        }
+    }
+
+    private void ensureLoaded() {
+        if (entries == null) {
+            entries = store.load();
+        }
+    }
+
+    private static JournalIndexEntry scan(File journalFile, long size, long lastModified) throws IOException {
+        JournalIndexEntry entry = JournalIndexEntry.builder()
+                .fileName(journalFile.getName())
+                .size(size)
+                .lastModified(lastModified)
+                .build();
+        try (JournalLineReader reader = new JournalLineReader(journalFile.toPath())) {
+            while (reader.next()) {
+                entry.setLineCount(reader.getLineNumber());
+                if (reader.isBlank()) {
+                    continue;
+                }
+                String timestamp = reader.getTimestamp();
+                if (timestamp != null) {
+                    if (entry.getFirstTimestamp() == null) {
+                        entry.setFirstTimestamp(timestamp);
+                    }
+                    entry.setLastTimestamp(timestamp);
+                }
+                if (entry.getFid() == null && "Commander".equals(reader.getEvent())) {
+                    try {
+                        JsonNode node = reader.readTree(objectMapper);
+                        entry.setFid(node.path("FID").asText(null));
+                        entry.setCommanderName(node.path("Name").asText(null));
+                        entry.setCommanderTimestamp(timestamp);
+                    } catch (Exception e) {
+                        // ligne Commander malformée : on continue
+                    }
+                }
+            }
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,335 @@
+package be.mirooz.elitedangerous.dashboard.service.journal;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Lecture paresseuse, ligne par ligne, d'un fichier journal Elite via un {@link FileChannel}
+ * et un tampon d'octets réutilisé.
+ *
+ * <p>Contrairement à {@code Files.readAllLines} + {@code readTree} par ligne, rien n'est
+ * décodé tant qu'on ne le demande pas : {@link #getEvent()} / {@link #getTimestamp()} ne
+ * lisent que les champs de tête de la ligne (parser Jackson en streaming, arrêté dès que les
+ * deux champs sont trouvés) et l'arbre {@link JsonNode} n'est matérialisé que via
+ * {@link #readTree(ObjectMapper)}, une fois la décision de dispatcher prise.</p>
+ *
+ * <p>Le lecteur suit le numéro de ligne physique (1-based, comme le curseur de reprise) et
+ * l'offset en octets du début de la ligne courante, ce qui permet de reprendre directement à
+ * une position connue ({@link #resumeAt}). Non thread-safe : une instance par fichier.</p>
+ */
+public final class JournalLineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String EVENT_FIELD = "\"event\"";
+    private static final byte[] EVENT_KEY = EVENT_FIELD.getBytes(StandardCharsets.US_ASCII);
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final long startOffset;
+
+    private byte[] line = new byte[4096];
+    private int lineLength;
+    private long lineStartOffset;
+    private int lineNumber;
+
+    /** Offset (octets) du prochain octet non consommé dans le fichier. */
+    private long position;
+    private boolean endOfFile;
+
+    private boolean peeked;
+    private String event;
+    private String timestamp;
+
+    public JournalLineReader(Path path) throws IOException {
+        this(path, 0L, 0);
+    }
+
+    /**
+     * @param startOffset offset en octets d'un début de ligne
+     * @param linesBefore nombre de lignes physiques précédant {@code startOffset}
+     */
+    public JournalLineReader(Path path, long startOffset, int linesBefore) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.channel.position(startOffset);
+        this.startOffset = startOffset;
+        this.position = startOffset;
+        this.lineNumber = linesBefore;
+        this.buffer.flip();
+    }
+
+    /**
+     * Ouvre {@code path} directement sur la ligne {@code lineNumber} commençant à
+     * {@code lineOffset}, après vérification de son empreinte ({@link #fingerprint()}).
+     *
+     * @return un lecteur positionné sur cette ligne (le prochain {@link #next()} renvoie la
+     *         ligne suivante), ou {@code null} si la ligne ne correspond pas — l'appelant
+     *         retombe alors sur une lecture depuis le début.
+     */
+    public static JournalLineReader resumeAt(Path path, long lineOffset, int lineNumber, long fingerprint)
+            throws IOException {
+        if (lineOffset < 0 || lineNumber < 1) {
+            return null;
+        }
+        JournalLineReader reader = new JournalLineReader(path, lineOffset, lineNumber - 1);
+        if (lineOffset < reader.channel.size() && reader.next() && reader.fingerprint() == fingerprint) {
+            return reader;
+        }
+        reader.close();
+        return null;
+    }
+
+    /**
+     * Avance sur la ligne suivante.
+     *
+     * @return {@code false} en fin de fichier
+     */
+    public boolean next() throws IOException {
+        return advance(true);
+    }
+
+    /**
+     * Variante pour le suivi en direct d'un fichier en cours d'écriture : seules les lignes
+     * terminées par {@code '\n'} sont renvoyées. Une ligne incomplète n'est pas consommée (la
+     * position revient à son début) et la fin de fichier n'est jamais définitive : un appel
+     * ultérieur relit la ligne entière une fois que le jeu l'a terminée.
+     *
+     * @return {@code false} s'il n'y a pas (encore) de ligne complète à lire
+     */
+    public boolean nextCompleteLine() throws IOException {
+        return advance(false);
+    }
+
+    private boolean advance(boolean acceptUnterminated) throws IOException {
+        lineLength = 0;
+        lineStartOffset = position;
+        peeked = false;
+        event = null;
+        timestamp = null;
+        if (acceptUnterminated && endOfFile && !buffer.hasRemaining()) {
+            return false;
+        }
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int read = channel.read(buffer);
+                buffer.flip();
+                if (read <= 0) {
+                    if (!acceptUnterminated) {
+                        // Ligne en cours d'écriture : relue depuis son début au prochain appel
+                        position = lineStartOffset;
+                        channel.position(position);
+                        lineLength = 0;
+                        return false;
+                    }
+                    endOfFile = true;
+                    if (position == lineStartOffset) {
+                        return false;
+                    }
+                    // Dernière ligne sans '\n' final
+                    lineNumber++;
+                    trimCarriageReturn();
+                    return true;
+                }
+            }
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                position++;
+                if (b == '\n') {
+                    lineNumber++;
+                    trimCarriageReturn();
+                    return true;
+                }
+                append(b);
+            }
+        }
+    }
+
+    private void append(byte b) {
+        if (lineLength == line.length) {
+            line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[lineLength++] = b;
+    }
+
+    private void trimCarriageReturn() {
+        if (lineLength > 0 && line[lineLength - 1] == '\r') {
+            lineLength--;
+        }
+    }
+
+    /** @return numéro de ligne physique (1-based) de la ligne courante. */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /** @return offset en octets du début de la ligne courante. */
+    public long getLineStartOffset() {
+        return lineStartOffset;
+    }
+
+    /** @return offset en octets juste après la ligne courante (séparateur inclus). */
+    public long getPosition() {
+        return position;
+    }
+
+    /** @return taille actuelle du fichier, en octets. */
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    /** @return octets parcourus depuis l'ouverture du lecteur. */
+    public long getBytesRead() {
+        return position - startOffset;
+    }
+
+    /** @return CRC32 des octets de la ligne courante (sans fin de ligne). */
+    public long fingerprint() {
+        crc.reset();
+        crc.update(line, 0, lineLength);
+        return crc.getValue();
+    }
+
+    public boolean isBlank() {
+        for (int i = 0; i < lineLength; i++) {
+            byte b = line[i];
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return valeur du champ {@code event}, ou {@code null} si absent / ligne invalide. */
+    public String getEvent() {
+        if (!peeked && event == null) {
+            event = scanEvent(line, lineLength);
+            if (event != null) {
+                return event;
+            }
+        }
+        peekHeader();
+        return event;
+    }
+
+    /**
+     * Repère {@code "event":"Xxx"} par simple balayage d'octets, sans parser JSON. Les noms
+     * d'events Elite sont en ASCII sans échappement ; en cas de forme inattendue on renvoie
+     * {@code null} et l'appelant retombe sur le parser.
+     */
+    static String scanEvent(byte[] bytes, int length) {
+        int i = indexOf(bytes, length, EVENT_KEY);
+        if (i < 0) {
+            return null;
+        }
+        i += EVENT_KEY.length;
+        i = skipWhitespace(bytes, length, i);
+        if (i >= length || bytes[i] != ':') {
+            return null;
+        }
+        i = skipWhitespace(bytes, length, i + 1);
+        if (i >= length || bytes[i] != '"') {
+            return null;
+        }
+        int start = ++i;
+        while (i < length && bytes[i] != '"') {
+            if (bytes[i] == '\\') {
+                return null;
+            }
+            i++;
+        }
+        if (i >= length) {
+            return null;
+        }
+        return new String(bytes, start, i - start, StandardCharsets.US_ASCII);
+    }
+
+    private static int indexOf(byte[] bytes, int length, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (bytes[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(byte[] bytes, int length, int i) {
+        while (i < length && (bytes[i] == ' ' || bytes[i] == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    /** @return valeur du champ {@code timestamp}, ou {@code null} si absent / ligne invalide. */
+    public String getTimestamp() {
+        peekHeader();
+        return timestamp;
+    }
+
+    /**
+     * Matérialise l'arbre JSON de la ligne courante.
+     */
+    public JsonNode readTree(ObjectMapper mapper) throws IOException {
+        return mapper.readTree(line, 0, lineLength);
+    }
+
+    /** @return la ligne courante décodée en UTF-8. */
+    public String getLine() {
+        return new String(line, 0, lineLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lit uniquement les champs {@code timestamp} et {@code event} de premier niveau. Elite les
+     * écrit en tête de chaque ligne : le parse s'arrête en pratique après quelques tokens.
+     */
+    private void peekHeader() {
+        if (peeked) {
+            return;
+        }
+        peeked = true;
+        try (JsonParser parser = JSON_FACTORY.createParser(line, 0, lineLength)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("event".equals(name)) {
+                    event = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                } else if ("timestamp".equals(name)) {
+                    timestamp = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                } else {
+                    parser.skipChildren();
+                }
+                if (event != null && timestamp != null) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // ligne tronquée / invalide : champs laissés à null
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,182 @@
+package be.mirooz.elitedangerous.dashboard.service.journal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Replay pipeliné des journaux : un pool borné lit et décode en JSON les fichiers à venir
+ * pendant que le thread appelant dispatche, dans l'ordre, le fichier courant.
+ *
+ * <p>Le dispatch reste strictement séquentiel et ordonné (les registries sont stateful) ; seuls
+ * la lecture disque et le parse Jackson sont parallélisés. Au plus {@code window} fichiers
+ * décodés sont en mémoire à la fois : un nouveau fichier n'est soumis au pool que lorsque le
+ * dispatcher en a consommé un (back-pressure).</p>
+ *
+ * <p>Désactivable avec {@code -D}{@value #SERIAL_PROP}{@code =true} pour comparer le temps
+ * total avec le chemin séquentiel historique (cf. {@link JournalReplayStats#summary()}).</p>
+ */
+public class JournalReplayPipeline {
+
+    /** Force le replay séquentiel (lecture + parse + dispatch sur le même thread). */
+    public static final String SERIAL_PROP = "warboard.journal.replay.serial";
+
+    /** Nombre de threads de décodage (défaut : cœurs disponibles - 1, borné à [1, 4]). */
+    public static final String THREADS_PROP = "warboard.journal.replay.threads";
+
+    /** Ligne décodée prête à être dispatchée. */
+    public record DecodedLine(int lineNumber, long lineOffset, long fingerprint, JsonNode node) {}
+
+    /**
+     * Résultat du décodage d'un fichier : lignes à dispatcher (déjà filtrées par le curseur) et
+     * compteurs de lecture.
+     */
+    public static class DecodedFile {
+        private final File file;
+        private final List<DecodedLine> lines = new ArrayList<>();
+        private long linesRead;
+        private long prefiltered;
+        private long bytesRead;
+        private long endPosition;
+        private int endLineNumber;
+        private Exception error;
+
+        public DecodedFile(File file) {
+            this.file = file;
+        }
+
+        public void add(DecodedLine line) {
+            lines.add(line);
+        }
+
+        public void onPrefiltered() {
+            prefiltered++;
+        }
+
+        public void onEnd(long linesRead, long bytesRead, long endPosition, int endLineNumber) {
+            this.linesRead = linesRead;
+            this.bytesRead = bytesRead;
+            this.endPosition = endPosition;
+            this.endLineNumber = endLineNumber;
+        }
+
+        public void setError(Exception error) {
+            this.error = error;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public List<DecodedLine> getLines() {
+            return lines;
+        }
+
+        public long getLinesRead() {
+            return linesRead;
+        }
+
+        public long getPrefiltered() {
+            return prefiltered;
+        }
+
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        public long getEndPosition() {
+            return endPosition;
+        }
+
+        public int getEndLineNumber() {
+            return endLineNumber;
+        }
+
+        public Exception getError() {
+            return error;
+        }
+    }
+
+    private final int threads;
+    private final int window;
+
+    public JournalReplayPipeline() {
+        this.threads = resolveThreadCount();
+        this.window = threads + 1;
+    }
+
+    public static boolean isSerialForced() {
+        return Boolean.parseBoolean(System.getProperty(SERIAL_PROP, "false"));
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Décode {@code files} en parallèle via {@code decoder} et passe chaque résultat à
+     * {@code dispatcher}, sur le thread appelant et dans l'ordre de la liste.
+     */
+    public void run(List<File> files, Function<File, DecodedFile> decoder, Consumer<DecodedFile> dispatcher) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "JournalPreParse-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        Deque<Future<DecodedFile>> inFlight = new ArrayDeque<>();
+        int nextToSubmit = 0;
+        try {
+            while (nextToSubmit < files.size() && inFlight.size() < window) {
+                File file = files.get(nextToSubmit++);
+                inFlight.add(pool.submit(() -> decoder.apply(file)));
+            }
+            while (!inFlight.isEmpty()) {
+                DecodedFile decoded = await(inFlight.poll());
+                if (nextToSubmit < files.size()) {
+                    File file = files.get(nextToSubmit++);
+                    inFlight.add(pool.submit(() -> decoder.apply(file)));
+                }
+                dispatcher.accept(decoded);
+            }
+        } finally {
+            inFlight.forEach(f -> f.cancel(true));
+            pool.shutdownNow();
+        }
+    }
+
+    private static DecodedFile await(Future<DecodedFile> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay journal interrompu", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Décodage journal KO", e.getCause());
+        }
+    }
+
+    private static int resolveThreadCount() {
+        String raw = System.getProperty(THREADS_PROP);
+        if (raw != null && !raw.isBlank()) {
+            try {
+                return Math.max(1, Integer.parseInt(raw.trim()));
+            } catch (NumberFormatException ignored) {
+                // valeur invalide → défaut
+            }
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        return Math.max(1, Math.min(4, cores - 1));
+    }
+}
@@ -0,0 +1,79 @@
+package be.mirooz.elitedangerous.dashboard.service.journal;
+
+import java.util.Locale;
+
+/**
+ * Compteurs d'un replay batch des journaux : lignes lues, lignes réellement dispatchées,
+ * lignes écartées sur leur seul type d'event (sans parse JSON), octets parcourus et durée,
+ * pour tracer le débit (lignes/s, Mo/s) en fin de batch.
+ */
+public class JournalReplayStats {
+
+    private final long startNanos = System.nanoTime();
+    private long endNanos;
+
+    private int files;
+    private long lines;
+    private long dispatched;
+    private long prefiltered;
+    private long bytes;
+
+    public void onFile(long fileBytes) {
+        files++;
+        bytes += fileBytes;
+    }
+
+    public void onLine() {
+        lines++;
+    }
+
+    public void onLines(long count) {
+        lines += count;
+    }
+
+    public void onDispatched() {
+        dispatched++;
+    }
+
+    public void onPrefiltered() {
+        prefiltered++;
+    }
+
+    public void onPrefiltered(long count) {
+        prefiltered += count;
+    }
+
+    public long getPrefiltered() {
+        return prefiltered;
+    }
+
+    public void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    public long getDispatched() {
+        return dispatched;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedMillis() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return (end - startNanos) / 1_000_000L;
+    }
+
+    public String summary() {
+        double seconds = Math.max(getElapsedMillis(), 1L) / 1000.0;
+        double megabytes = bytes / (1024.0 * 1024.0);
+        return String.format(Locale.ROOT,
+                "%d fichiers, %d lignes (%d dispatchées, %d ignorées sans handler), %.1f Mo en %d ms — %.0f lignes/s, %.1f Mo/s",
+                files, lines, dispatched, prefiltered, megabytes, getElapsedMillis(),
+                lines / seconds, megabytes / seconds);
+    }
+}
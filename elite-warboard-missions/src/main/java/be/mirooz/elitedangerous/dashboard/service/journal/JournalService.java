@@ -1,7 +1,10 @@
 package be.mirooz.elitedangerous.dashboard.service.journal;
 
 import be.mirooz.elitedangerous.dashboard.persistence.JournalCursor;
+import be.mirooz.elitedangerous.dashboard.persistence.JournalIndexEntry;
 import be.mirooz.elitedangerous.dashboard.service.*;
+import be.mirooz.elitedangerous.dashboard.service.journal.watcher.CompanionFile;
+import be.mirooz.elitedangerous.dashboard.service.journal.watcher.CompanionFileService;
 import be.mirooz.elitedangerous.dashboard.service.journal.watcher.JournalFileTracker;
 import be.mirooz.elitedangerous.dashboard.service.persistence.PersistenceService;
 import be.mirooz.elitedangerous.dashboard.service.listeners.CargoEventNotificationService;
@@ -20,11 +23,11 @@ import be.mirooz.elitedangerous.dashboard.view.common.context.DashboardContext;
 import be.mirooz.elitedangerous.dashboard.service.listeners.ColonisationNotificationService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import javafx.application.Platform;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -39,7 +42,6 @@ import java.util.stream.Stream;
  */
 public class JournalService {
 
-    private static final String CARGO_FILE = "Cargo.json";
     private static final Duration SKIP_FLEET_CAPI_IF_JOURNAL_CARRIER_ACTIVITY_WITHIN = Duration.ofMinutes(20);
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -49,6 +51,7 @@ public class JournalService {
     private final PopupManager popupManager = PopupManager.getInstance();
 
     private final MissionsRegistry missionsRegistry = MissionsRegistry.getInstance();
+    private final JournalIndexService journalIndexService = JournalIndexService.getInstance();
     private final JournalEventDispatcher dispatcher;
 
 
@@ -118,21 +121,13 @@ public class JournalService {
                 return;
             }
 
-            // Parcourt tous les fichiers, du plus récent au plus ancien
+            // Parcourt tous les fichiers, du plus récent au plus ancien. L'index évite de
+            // rouvrir les journaux inchangés depuis le dernier lancement.
             for (File journal : journalFiles) {
-                List<String> lines = Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8);
-
-
-                for (String line : lines) {
-                    try {
-                        JsonNode jsonNode = objectMapper.readTree(line);
-                        if ("Commander".equals(jsonNode.path("event").asText())) {
-                            dispatcher.dispatch(jsonNode);
-                            return; // stop dès qu'on trouve
-                        }
-                    } catch (Exception e) {
-                        // Ignorer les lignes malformées
-                    }
+                JournalIndexEntry entry = journalIndexService.getEntry(journal);
+                if (entry != null && entry.getFid() != null) {
+                    dispatcher.dispatch(buildCommanderEvent(entry));
+                    return; // stop dès qu'on trouve
                 }
             }
 
@@ -143,6 +138,20 @@ public class JournalService {
         }
     }
 
+    /**
+     * Reconstitue l'event {@code Commander} (champs lus par {@code CommanderHandler}) depuis l'index.
+     */
+    private static JsonNode buildCommanderEvent(JournalIndexEntry entry) {
+        ObjectNode node = objectMapper.createObjectNode();
+        if (entry.getCommanderTimestamp() != null) {
+            node.put("timestamp", entry.getCommanderTimestamp());
+        }
+        node.put("event", "Commander");
+        node.put("FID", entry.getFid());
+        node.put("Name", entry.getCommanderName());
+        return node;
+    }
+
 
     /**
      * Vérifie si un fichier journal appartient au commandant identifié
@@ -151,25 +160,9 @@ public class JournalService {
         if (getCommanderFid() == null || getCommanderFid().isEmpty()) {
             return false;
         }
-
-        try {
-            List<String> lines = Files.readAllLines(journalFile.toPath());
-            for (String line : lines) {
-                try {
-                    JsonNode jsonNode = objectMapper.readTree(line);
-                    if ("Commander".equals(jsonNode.get("event").asText())) {
-                        String fileFID = jsonNode.get("FID").asText();
-                        return getCommanderFid().equals(fileFID);
-                    }
-                } catch (Exception e) {
-                    // Ignorer les lignes malformées
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Erreur lors de la vérification du commandant pour " + journalFile.getName() + ": " + e.getMessage());
-        }
-
-        return false; // Par défaut, ne pas inclure le fichier
+        JournalIndexEntry entry = journalIndexService.getEntry(journalFile);
+        // Par défaut (pas d'event Commander / fichier illisible), ne pas inclure le fichier
+        return entry != null && getCommanderFid().equals(entry.getFid());
     }
 
     /**
@@ -213,10 +206,12 @@ public class JournalService {
             List<File> journalFiles = getJournalFilesFromLastWeek();
 
             journalFiles.sort(Comparator.comparing(File::getName));
+            List<File> allJournalFiles = journalFiles;
             // Filtrer les fichiers pour ne garder que ceux du commandant identifié
             journalFiles = journalFiles.stream()
                     .filter(this::isJournalFromCommander)
                     .collect(Collectors.toList());
+            journalIndexService.saveIfDirty(allJournalFiles);
 
             System.out.println("Fichiers journal du commandant " + getCommanderName() + ": " + journalFiles.size());
 
@@ -253,6 +248,7 @@ public class JournalService {
                 dispatchAllEvents(journalFiles);
             }
 
+            CompanionFileService.getInstance().start(preferencesService.getJournalFolder());
             if (!journalFiles.isEmpty()) {
                 File latestJournal = journalFiles.get(journalFiles.size() - 1);
                 JournalWatcherService.getInstance().start(preferencesService.getJournalFolder());
@@ -268,6 +264,7 @@ public class JournalService {
             // pour tous les cas (fichiers vides, erreur, ou replay complet).
             ColonisationService.getInstance().loadPersistedUiStateAfterJournalBatch();
             DashboardContext.getInstance().setBatchLoading(false);
+            BioScanWarmupService.getInstance().warmUpAfterBatch();
             CargoEventNotificationService.getInstance().notifyCargoEvent();
             NavRouteService.getInstance().loadAndStoreNavRoute();
             ColonisationNotificationService.getInstance().notifyColonisationDataChanged();
@@ -297,38 +294,153 @@ public class JournalService {
         String resumeTs = resume != null ? blankToNull(resume.getLastTimestamp()) : null;
         Integer resumeLine = resume != null ? resume.getLastLineNumber() : null;
 
-        for (File journalFile : journalFiles) {
-            // On trace le fichier courant pour que le dispatcher renseigne correctement le
-            // curseur avec le nom du journal en cours.
-            JournalFileTracker.getInstance().setCurrentFile(journalFile);
-            try {
-                List<String> lines = Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8);
-                int physicalLineNo = 0;
-                for (String line : lines) {
-                    physicalLineNo++;
-                    try {
-                        if (line == null || line.isBlank()) {
-                            continue;
-                        }
-                        JsonNode jsonNode = objectMapper.readTree(line);
-                        if (shouldSkipBatchLine(journalFile, physicalLineNo, jsonNode, resumeFile, resumeTs, resumeLine)) {
-                            continue;
-                        }
-                        dispatcher.dispatch(jsonNode, physicalLineNo);
-                    } catch (Exception e) {
-                        // Ignorer les lignes malformées
-                    }
-                }
-            } catch (IOException e) {
-                System.err.println("Erreur lors de la lecture du fichier " + journalFile.getName() + ": " + e.getMessage());
+        JournalReplayStats stats = new JournalReplayStats();
+        String mode;
+        if (journalFiles.size() > 1 && !JournalReplayPipeline.isSerialForced()) {
+            JournalReplayPipeline pipeline = new JournalReplayPipeline();
+            mode = "pipeline " + pipeline.getThreads() + " thread(s)";
+            pipeline.run(journalFiles,
+                    file -> decodeJournalFile(file, resume, resumeFile, resumeTs, resumeLine),
+                    decoded -> dispatchDecodedFile(decoded, stats));
+        } else {
+            mode = "séquentiel";
+            for (File journalFile : journalFiles) {
+                dispatchJournalFileSerial(journalFile, resume, resumeFile, resumeTs, resumeLine, stats);
             }
         }
+        stats.finish();
+        System.out.println("[JournalService] Replay (" + mode + ") : " + stats.summary());
         // Pas de save ici : la politique est "save only on shutdown" (close handler de
         // EliteDashboardApp + shutdown hook JVM). Le curseur en mémoire a été mis à jour
         // par le dispatcher à chaque event ; il sera flushé à la fermeture de l'app.
         // Fin de batch, Cargo.json, colonisation : {@link #parseAllJournalFiles()} finally
     }
 
+    /**
+     * Chemin séquentiel : lecture, parse et dispatch ligne par ligne sur le thread appelant.
+     */
+    private void dispatchJournalFileSerial(File journalFile, JournalCursor resume, String resumeFile,
+                                           String resumeTs, Integer resumeLine, JournalReplayStats stats) {
+        // On trace le fichier courant pour que le dispatcher renseigne correctement le
+        // curseur avec le nom du journal en cours.
+        JournalFileTracker.getInstance().setCurrentFile(journalFile);
+        // Lecture en flux : seule la ligne courante est en mémoire, et l'arbre JSON n'est
+        // construit que pour les lignes effectivement dispatchées.
+        try (JournalLineReader reader = openBatchReader(journalFile, resume, resumeFile)) {
+            while (reader.next()) {
+                stats.onLine();
+                try {
+                    if (reader.isBlank()) {
+                        continue;
+                    }
+                    if (shouldSkipBatchLine(journalFile, reader, resumeFile, resumeTs, resumeLine)) {
+                        continue;
+                    }
+                    if (!dispatcher.isRelevantEvent(reader.getEvent())) {
+                        stats.onPrefiltered();
+                        continue;
+                    }
+                    JsonNode jsonNode = reader.readTree(objectMapper);
+                    JournalFileTracker.getInstance().setCurrentLine(reader.getLineStartOffset(), reader.fingerprint());
+                    dispatcher.dispatch(jsonNode, reader.getLineNumber());
+                    stats.onDispatched();
+                } catch (Exception e) {
+                    // Ignorer les lignes malformées
+                }
+            }
+            stats.onFile(reader.getBytesRead());
+            JournalFileTracker.getInstance().updatePosition(reader.getPosition(), reader.getLineNumber());
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la lecture du fichier " + journalFile.getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Étape "pré-parse" du pipeline, exécutée sur un thread du pool : lit le fichier, applique
+     * le filtre du curseur et construit les arbres JSON, sans rien dispatcher.
+     */
+    private JournalReplayPipeline.DecodedFile decodeJournalFile(File journalFile, JournalCursor resume,
+                                                                       String resumeFile, String resumeTs,
+                                                                       Integer resumeLine) {
+        JournalReplayPipeline.DecodedFile decoded = new JournalReplayPipeline.DecodedFile(journalFile);
+        long linesRead = 0;
+        try (JournalLineReader reader = openBatchReader(journalFile, resume, resumeFile)) {
+            while (reader.next()) {
+                linesRead++;
+                try {
+                    if (reader.isBlank()
+                            || shouldSkipBatchLine(journalFile, reader, resumeFile, resumeTs, resumeLine)) {
+                        continue;
+                    }
+                    if (!dispatcher.isRelevantEvent(reader.getEvent())) {
+                        decoded.onPrefiltered();
+                        continue;
+                    }
+                    decoded.add(new JournalReplayPipeline.DecodedLine(reader.getLineNumber(),
+                            reader.getLineStartOffset(), reader.fingerprint(), reader.readTree(objectMapper)));
+                } catch (Exception e) {
+                    // Ignorer les lignes malformées
+                }
+            }
+            decoded.onEnd(linesRead, reader.getBytesRead(), reader.getPosition(), reader.getLineNumber());
+        } catch (IOException e) {
+            decoded.setError(e);
+        }
+        return decoded;
+    }
+
+    /**
+     * Étape "dispatch" du pipeline, sur le thread du batch et dans l'ordre des fichiers.
+     */
+    private void dispatchDecodedFile(JournalReplayPipeline.DecodedFile decoded, JournalReplayStats stats) {
+        File journalFile = decoded.getFile();
+        if (decoded.getError() != null) {
+            System.err.println("Erreur lors de la lecture du fichier " + journalFile.getName() + ": "
+                    + decoded.getError().getMessage());
+            return;
+        }
+        JournalFileTracker tracker = JournalFileTracker.getInstance();
+        tracker.setCurrentFile(journalFile);
+        for (JournalReplayPipeline.DecodedLine line : decoded.getLines()) {
+            try {
+                tracker.setCurrentLine(line.lineOffset(), line.fingerprint());
+                dispatcher.dispatch(line.node(), line.lineNumber());
+                stats.onDispatched();
+            } catch (Exception e) {
+                // Ignorer les lignes malformées
+            }
+        }
+        stats.onLines(decoded.getLinesRead());
+        stats.onPrefiltered(decoded.getPrefiltered());
+        stats.onFile(decoded.getBytesRead());
+        tracker.updatePosition(decoded.getEndPosition(), decoded.getEndLineNumber());
+    }
+
+    /**
+     * Sur le journal du curseur, se positionne directement sur la dernière ligne dispatchée
+     * (offset + empreinte) : la reprise ne dépend plus de la taille du journal du jour. Si
+     * l'empreinte ne correspond pas, lecture depuis le début avec filtre par numéro de ligne.
+     */
+    static JournalLineReader openBatchReader(File journalFile, JournalCursor resume, String resumeFile)
+            throws IOException {
+        if (resume != null && resumeFile != null
+                && journalFile.getName().equalsIgnoreCase(resumeFile.trim())
+                && resume.getLastLineNumber() != null
+                && resume.getLastLineOffset() != null
+                && resume.getLastLineFingerprint() != null) {
+            JournalLineReader reader = JournalLineReader.resumeAt(journalFile.toPath(),
+                    resume.getLastLineOffset(), resume.getLastLineNumber(), resume.getLastLineFingerprint());
+            if (reader != null) {
+                System.out.println("[JournalService] Reprise par offset " + resume.getLastLineOffset()
+                        + " dans " + journalFile.getName());
+                return reader;
+            }
+            System.out.println("[JournalService] Empreinte curseur invalide pour " + journalFile.getName()
+                    + " — repli sur le numéro de ligne");
+        }
+        return new JournalLineReader(journalFile.toPath());
+    }
+
     private static String blankToNull(String s) {
         if (s == null || s.isBlank()) {
             return null;
@@ -338,11 +450,12 @@ public class JournalService {
 
     /**
      * @return {@code true} si la ligne ne doit pas être dispatchée (déjà couverte par le curseur).
+     *         Seul le {@code timestamp} de la ligne est lu, et uniquement pour les curseurs
+     *         hérités sans numéro de ligne.
      */
-    private static boolean shouldSkipBatchLine(
+    static boolean shouldSkipBatchLine(
             File journalFile,
-            int physicalLineNo,
-            JsonNode jsonNode,
+            JournalLineReader line,
             String resumeFile,
             String resumeTs,
             Integer resumeLine) {
@@ -353,15 +466,15 @@ public class JournalService {
                 && journalFile.getName().equalsIgnoreCase(resumeFile.trim());
         if (resumeLine != null && resumeFile != null) {
             if (sameFile) {
-                return physicalLineNo <= resumeLine;
+                return line.getLineNumber() <= resumeLine;
             }
             // Fichiers d’après le journal du curseur : tout le contenu est nouveau.
             return false;
         }
         // Curseur sans lastLineNumber : compatibilité — filtre par timestamp sur tous les fichiers.
         if (resumeTs != null) {
-            JsonNode ts = jsonNode.get("timestamp");
-            if (ts != null && !ts.isNull() && ts.asText().compareTo(resumeTs) <= 0) {
+            String ts = line.getTimestamp();
+            if (ts != null && ts.compareTo(resumeTs) <= 0) {
                 return true;
             }
         }
@@ -424,25 +537,11 @@ public class JournalService {
      */
     public Cargo readCargoFile() {
         try {
-            String journalFolder = preferencesService.getJournalFolder();
-            if (journalFolder == null || journalFolder.isEmpty()) {
-                System.out.println("⚠️ Dossier journal non configuré");
-                return null;
-            }
-
-            Path cargoFilePath = Paths.get(journalFolder, CARGO_FILE);
-            if (!Files.exists(cargoFilePath)) {
-                System.out.println("⚠️ Fichier Cargo.json non trouvé: " + cargoFilePath);
+            JsonNode cargoNode = CompanionFileService.getInstance().readJson(CompanionFile.CARGO);
+            if (cargoNode == null) {
+                System.out.println("⚠️ Fichier Cargo.json absent, vide ou illisible");
                 return null;
             }
-
-            String cargoContent = Files.readString(cargoFilePath);
-            if (cargoContent == null || cargoContent.trim().isEmpty()) {
-                System.out.println("⚠️ Fichier Cargo.json vide");
-                return null;
-            }
-
-            JsonNode cargoNode = objectMapper.readTree(cargoContent);
             return parseCargoFromJson(cargoNode);
 
         } catch (Exception e) {
@@ -0,0 +1,39 @@
+package be.mirooz.elitedangerous.dashboard.service.journal.watcher;
+
+import java.nio.file.Path;
+
+/**
+ * Fichiers compagnons réécrits par le jeu dans le dossier du journal.
+ */
+public enum CompanionFile {
+    STATUS("Status.json"),
+    CARGO("Cargo.json"),
+    NAV_ROUTE("NavRoute.json"),
+    MARKET("Market.json"),
+    SHIPYARD("Shipyard.json"),
+    OUTFITTING("Outfitting.json");
+
+    private final String fileName;
+
+    CompanionFile(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    /** @return le fichier compagnon portant ce nom (casse ignorée), ou {@code null}. */
+    public static CompanionFile of(Path fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        String name = fileName.toString();
+        for (CompanionFile file : values()) {
+            if (file.fileName.equalsIgnoreCase(name)) {
+                return file;
+            }
+        }
+        return null;
+    }
+}
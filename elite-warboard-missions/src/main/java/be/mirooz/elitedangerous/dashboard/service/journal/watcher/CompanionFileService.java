@@ -0,0 +1,266 @@
+package be.mirooz.elitedangerous.dashboard.service.journal.watcher;
+
+import be.mirooz.elitedangerous.dashboard.service.PreferencesService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Accès unique aux fichiers compagnons du jeu ({@link CompanionFile} : Status, Cargo, NavRoute,
+ * Market, Shipyard, Outfitting).
+ *
+ * <ul>
+ *   <li>Chaque fichier est parsé une fois par modification en un {@link CompanionFileSnapshot}
+ *       versionné, partagé par tous les lecteurs. Une lecture sur un fichier inchangé ne coûte
+ *       qu'un {@code stat} (date + taille), sans lecture ni parse : le fichier est toujours
+ *       écrit par le jeu avant l'event journal qui le référence, un handler voit donc le
+ *       contenu à jour même si la notification n'est pas encore arrivée.</li>
+ *   <li>Un seul {@link WatchService} ({@code ENTRY_CREATE} / {@code ENTRY_MODIFY} du dossier
+ *       journal, cf. {@link #start}) marque les fichiers modifiés et relit tout de suite ceux
+ *       qui ont des abonnés ({@link #addListener}) ; les autres sont relus à la demande.
+ *       Un lecteur spécialisé qui ne veut pas de l'arbre JSON est seulement réveillé
+ *       ({@link #addChangeListener}), sans lecture ni parse.</li>
+ *   <li>Les abonnés sont notifiés sur le thread qui a lu le nouveau contenu (watcher ou
+ *       lecteur) : ils doivent rester courts.</li>
+ * </ul>
+ */
+public class CompanionFileService implements Runnable {
+
+    private static final CompanionFileService INSTANCE = new CompanionFileService();
+    public static CompanionFileService getInstance() {
+        return INSTANCE;
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final PreferencesService preferencesService = PreferencesService.getInstance();
+    private final Map<CompanionFile, FileState> states;
+
+    private Thread watcherThread;
+    private volatile boolean running = false;
+    private volatile WatchService watchService;
+    private Path journalDir;
+
+    private CompanionFileService() {
+        Map<CompanionFile, FileState> map = new EnumMap<>(CompanionFile.class);
+        for (CompanionFile file : CompanionFile.values()) {
+            map.put(file, new FileState());
+        }
+        this.states = Collections.unmodifiableMap(map);
+    }
+
+    public synchronized void start(String journalFolder) {
+        if (running) {
+            return;
+        }
+        if (journalFolder == null || journalFolder.isBlank() || !Files.isDirectory(Paths.get(journalFolder))) {
+            System.err.println("[CompanionFiles] Dossier journal introuvable, surveillance désactivée : " + journalFolder);
+            return;
+        }
+        this.journalDir = Paths.get(journalFolder);
+        this.running = true;
+
+        watcherThread = new Thread(this, "CompanionFileWatcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    public void stop() {
+        running = false;
+        WatchService service = watchService;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException ignored) {
+            }
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+            watcherThread = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        System.out.println("[CompanionFiles] Surveillance de " + journalDir);
+        try (WatchService service = journalDir.getFileSystem().newWatchService()) {
+            watchService = service;
+            journalDir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (running) {
+                WatchKey key = service.take();
+                // Le jeu émet souvent plusieurs événements par écriture : un seul passage par fichier
+                Set<CompanionFile> changed = EnumSet.noneOf(CompanionFile.class);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        changed.addAll(states.keySet());
+                        continue;
+                    }
+                    CompanionFile file = CompanionFile.of((Path) event.context());
+                    if (file != null) {
+                        changed.add(file);
+                    }
+                }
+                boolean valid = key.reset();
+                changed.forEach(this::onFileChanged);
+                if (!valid) {
+                    System.err.println("[CompanionFiles] WatchKey invalide, arrêt de la surveillance");
+                    break;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // arrêt volontaire
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("[CompanionFiles] Erreur de surveillance : " + e.getMessage());
+            }
+        } finally {
+            running = false;
+            watchService = null;
+            System.out.println("[CompanionFiles] Surveillance arrêtée");
+        }
+    }
+
+    private void onFileChanged(CompanionFile file) {
+        FileState state = states.get(file);
+        state.dirty = true;
+        for (Runnable listener : state.changeListeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                System.err.println("[CompanionFiles] Erreur d'un abonné " + file.getFileName() + " : " + e.getMessage());
+            }
+        }
+        if (!state.listeners.isEmpty()) {
+            getSnapshot(file);
+        }
+    }
+
+    /**
+     * @return le contenu courant du fichier (relu seulement s'il a changé), ou {@code null} si
+     * le dossier journal n'est pas configuré, le fichier absent, vide ou illisible
+     */
+    public CompanionFileSnapshot getSnapshot(CompanionFile file) {
+        Path path = resolve(file);
+        if (path == null) {
+            return null;
+        }
+        FileState state = states.get(file);
+        CompanionFileSnapshot created;
+        synchronized (state) {
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                return null;
+            } catch (IOException e) {
+                System.err.println("[CompanionFiles] " + file.getFileName() + " : " + e.getMessage());
+                return null;
+            }
+            CompanionFileSnapshot current = state.snapshot;
+            if (current != null && !state.dirty
+                    && current.matches(path, attributes.lastModifiedTime(), attributes.size())) {
+                return current;
+            }
+            if (attributes.size() == 0) {
+                return null;
+            }
+            try {
+                JsonNode json = MAPPER.readTree(Files.readAllBytes(path));
+                if (json == null || json.isMissingNode()) {
+                    return null;
+                }
+                created = new CompanionFileSnapshot(file, ++state.version, path,
+                        attributes.lastModifiedTime(), attributes.size(), json);
+            } catch (IOException e) {
+                // Fichier en cours de réécriture : relu au prochain accès / à la prochaine notification
+                state.dirty = true;
+                System.err.println("[CompanionFiles] Lecture " + file.getFileName() + " : " + e.getMessage());
+                return null;
+            }
+            state.snapshot = created;
+            state.dirty = false;
+        }
+        for (Consumer<CompanionFileSnapshot> listener : state.listeners) {
+            try {
+                listener.accept(created);
+            } catch (Exception e) {
+                System.err.println("[CompanionFiles] Erreur d'un abonné " + file.getFileName() + " : " + e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    /**
+     * @return l'arbre JSON courant du fichier (à ne pas modifier), ou {@code null}
+     */
+    public JsonNode readJson(CompanionFile file) {
+        CompanionFileSnapshot snapshot = getSnapshot(file);
+        return snapshot != null ? snapshot.json() : null;
+    }
+
+    /**
+     * Abonne {@code listener} aux nouveaux contenus de {@code file}. Le watcher doit être démarré
+     * ({@link #start}) pour être prévenu sans lecture explicite.
+     */
+    public void addListener(CompanionFile file, Consumer<CompanionFileSnapshot> listener) {
+        states.get(file).listeners.add(listener);
+    }
+
+    public void removeListener(CompanionFile file, Consumer<CompanionFileSnapshot> listener) {
+        states.get(file).listeners.remove(listener);
+    }
+
+    /**
+     * Abonne {@code listener} aux notifications de modification de {@code file} (thread du
+     * watcher) : le fichier n'est ni relu ni parsé, l'abonné le lit lui-même.
+     */
+    public void addChangeListener(CompanionFile file, Runnable listener) {
+        states.get(file).changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(CompanionFile file, Runnable listener) {
+        states.get(file).changeListeners.remove(listener);
+    }
+
+    /**
+     * @return le chemin du fichier dans le dossier journal configuré, ou {@code null}
+     */
+    public Path resolve(CompanionFile file) {
+        String folder = preferencesService.getJournalFolder();
+        if (folder == null || folder.isBlank()) {
+            return null;
+        }
+        return Paths.get(folder, file.getFileName());
+    }
+
+    /**
+     * État d'un fichier. {@link #snapshot} et {@link #version} sont écrits sous le verrou de
+     * l'instance ; {@link #dirty} est positionné sans verrou par le watcher.
+     */
+    private static final class FileState {
+        private volatile CompanionFileSnapshot snapshot;
+        private volatile boolean dirty;
+        private long version;
+        private final List<Consumer<CompanionFileSnapshot>> listeners = new CopyOnWriteArrayList<>();
+        private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+    }
+}
@@ -0,0 +1,24 @@
+package be.mirooz.elitedangerous.dashboard.service.journal.watcher;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Contenu parsé d'un fichier compagnon à un instant donné.
+ *
+ * <p>Partagé entre tous les lecteurs : {@link #json()} ne doit pas être modifié (faire un
+ * {@code deepCopy()} avant d'enrichir l'arbre). {@link #version()} augmente à chaque nouveau
+ * contenu lu pour ce fichier.</p>
+ *
+ * @param lastModified date de modification du fichier lu (pleine précision du système de fichiers)
+ * @param size         taille (octets) du fichier lu
+ */
+public record CompanionFileSnapshot(CompanionFile file, long version, Path path,
+                                    FileTime lastModified, long size, JsonNode json) {
+
+    boolean matches(Path otherPath, FileTime otherLastModified, long otherSize) {
+        return path.equals(otherPath) && lastModified.equals(otherLastModified) && size == otherSize;
+    }
+}
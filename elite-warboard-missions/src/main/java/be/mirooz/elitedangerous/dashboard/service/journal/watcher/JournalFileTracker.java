@@ -6,7 +6,12 @@ public class JournalFileTracker {
     private static final JournalFileTracker INSTANCE = new JournalFileTracker();
 
     private File currentFile;
-    private long lastKnownPosition = 0; // offset ou index de ligne
+    private long lastKnownPosition = 0; // offset (octets) juste après la dernière ligne lue
+    private int lastKnownLine = 0;      // nombre de lignes physiques lues jusqu'à lastKnownPosition
+
+    /** Position de la ligne en cours de dispatch ({@code null} si inconnue). */
+    private Long currentLineOffset;
+    private Long currentLineFingerprint;
 
     private JournalFileTracker() {}
 
@@ -17,6 +22,9 @@ public class JournalFileTracker {
     public synchronized void setCurrentFile(File file) {
         this.currentFile = file;
         this.lastKnownPosition = 0; // reset car nouveau fichier
+        this.lastKnownLine = 0;
+        this.currentLineOffset = null;
+        this.currentLineFingerprint = null;
         System.out.println("Now tracking: " + file.getName());
     }
 
@@ -28,7 +36,33 @@ public class JournalFileTracker {
         return lastKnownPosition;
     }
 
+    public synchronized int getLastKnownLine() {
+        return lastKnownLine;
+    }
+
     public synchronized void updatePosition(long newPosition) {
         this.lastKnownPosition = newPosition;
     }
+
+    public synchronized void updatePosition(long newPosition, int lineCount) {
+        this.lastKnownPosition = newPosition;
+        this.lastKnownLine = lineCount;
+    }
+
+    /**
+     * Renseigne la ligne sur le point d'être dispatchée ; lue par le dispatcher pour mettre à
+     * jour l'offset du curseur de reprise.
+     */
+    public synchronized void setCurrentLine(Long offset, Long fingerprint) {
+        this.currentLineOffset = offset;
+        this.currentLineFingerprint = fingerprint;
+    }
+
+    public synchronized Long getCurrentLineOffset() {
+        return currentLineOffset;
+    }
+
+    public synchronized Long getCurrentLineFingerprint() {
+        return currentLineFingerprint;
+    }
 }
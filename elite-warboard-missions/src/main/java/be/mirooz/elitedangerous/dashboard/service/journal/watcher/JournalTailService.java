@@ -2,124 +2,249 @@ package be.mirooz.elitedangerous.dashboard.service.journal.watcher;
 
 import be.mirooz.elitedangerous.dashboard.handlers.dispatcher.JournalEventDispatcher;
 import be.mirooz.elitedangerous.dashboard.persistence.JournalCursor;
+import be.mirooz.elitedangerous.dashboard.service.journal.JournalLineReader;
 import be.mirooz.elitedangerous.dashboard.service.persistence.PersistenceService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.io.input.Tailer;
-import org.apache.commons.io.input.TailerListenerAdapter;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.Files;
-import java.util.stream.Stream;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Tailer du journal : lecture incrémentale + reprise.
  * <p>La reprise sur le fichier courant utilise le numéro de ligne physique (1-based) du curseur
- * lorsqu’il est disponible ; sinon repli sur le timestamp comme pour les anciens curseurs.
+ * lorsqu’il est disponible (avec saut direct à son offset en octets quand l'empreinte de la ligne
+ * correspond) ; sinon repli sur le timestamp comme pour les anciens curseurs.
  * Sur un autre fichier {@code Journal.YYYY-MM-DDTHHmmss.N.log} que celui du curseur, tout le flux est accepté (les
  * journaux ne sont pas réécrits en arrière). {@code Fileheader} est toujours accepté.</p>
+ * <p>Suivi en direct : un seul {@link JournalLineReader} (donc un seul {@link FileChannel}) reste
+ * ouvert sur le fichier, de la lecture du contenu existant jusqu'à {@link #stop()}. Le thread de
+ * suivi attend les {@code ENTRY_MODIFY} du dossier journal sur un {@link WatchService} et ne lit
+ * que les lignes complètes ajoutées depuis le dernier offset ; un poll lent
+ * ({@value #FALLBACK_POLL_PROP}) couvre les notifications perdues. Chaque ligne dispatchée en
+ * direct renseigne son offset dans le curseur, et la latence écriture → fin de dispatch est
+ * mesurée ({@link #getLatencyStats()}).</p>
  */
 public class JournalTailService {
 
+    /** Délai maximal sans notification avant de revérifier le fichier (ms). */
+    public static final String FALLBACK_POLL_PROP = "warboard.journal.tailFallbackPollMs";
+    private static final long DEFAULT_FALLBACK_POLL_MS = 500;
+    /** Trace la latence toutes les N lignes dispatchées en direct. */
+    private static final int LATENCY_LOG_EVERY = 200;
+
     private static final JournalTailService INSTANCE = new JournalTailService();
     public static JournalTailService getInstance() { return INSTANCE; }
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
-    private Tailer tailer;
-    private Thread tailerThread;
+    private final long fallbackPollMs = Math.max(50, Long.getLong(FALLBACK_POLL_PROP, DEFAULT_FALLBACK_POLL_MS));
+
+    private volatile TailLoop tailLoop;
+    private volatile Thread tailerThread;
 
-    /** Prochaine ligne physique (1-based) attendue dans le fichier courant. */
-    private int nextDispatchLineNumber = 1;
+    private final AtomicLong liveLines = new AtomicLong();
+    private final AtomicLong totalLatencyMs = new AtomicLong();
+    private final AtomicLong maxLatencyMs = new AtomicLong();
+    private volatile long lastLatencyMs = -1;
 
     private JournalTailService() {}
 
     public void start(File journalFile, boolean readNow) {
         stop();
-        nextDispatchLineNumber = 1;
+        // Lignes déjà lues par le batch sur ce fichier : évite de relire tout le journal.
+        int knownLines = knownPhysicalLines(journalFile);
+        long knownPosition = JournalFileTracker.getInstance().getLastKnownPosition();
         JournalFileTracker.getInstance().setCurrentFile(journalFile);
 
-        if (readNow) {
-            readExistingContent(journalFile);
-        } else {
-            nextDispatchLineNumber = countPhysicalLines(journalFile) + 1;
+        JournalLineReader reader;
+        try {
+            reader = readNow ? readExistingContent(journalFile) : openAtEnd(journalFile, knownPosition, knownLines);
+        } catch (IOException e) {
+            System.err.println("[Tailer] Impossible de suivre " + journalFile.getName() + " : " + e.getMessage());
+            return;
         }
+        TailLoop loop = new TailLoop(journalFile, reader);
+        tailLoop = loop;
+        Thread thread = new Thread(loop, "JournalTailThread");
+        thread.setDaemon(true);
+        tailerThread = thread;
+        thread.start();
+    }
 
-        TailerListenerAdapter listener = new TailerListenerAdapter() {
-            @Override
-            public void handle(String line) {
-                processLine(line);
-            }
-        };
-        tailer = new Tailer(journalFile, StandardCharsets.UTF_8, listener, 500, true, false, IOUtils.DEFAULT_BUFFER_SIZE);
-        tailerThread = new Thread(tailer, "JournalTailThread");
-        tailerThread.setDaemon(true);
-        tailerThread.start();
+    /**
+     * Moyenne / max / dernière latence entre l'écriture du journal (date de modification lue
+     * après chaque lot de lignes, donc légèrement optimiste) et la fin du dispatch.
+     */
+    public String getLatencyStats() {
+        long lines = liveLines.get();
+        return "lignes=" + lines
+                + ", latence moy=" + (lines == 0 ? 0 : totalLatencyMs.get() / lines) + " ms"
+                + ", max=" + maxLatencyMs.get() + " ms"
+                + ", dernière=" + lastLatencyMs + " ms";
     }
 
     /**
-     * Traite une ligne issue du Tailer (curseur pris en compte à chaque ligne, après
-     * chaque {@code dispatch} le seuil avance).
+     * Dispatche les lignes complètes ajoutées depuis le dernier passage (thread de suivi).
      */
-    private synchronized void processLine(String line) {
-        if (line == null) {
-            return;
+    private synchronized void drain(TailLoop loop) throws IOException {
+        JournalLineReader reader = loop.reader;
+        long writtenAt = -1;
+        boolean advanced = false;
+        while (loop.running && reader.nextCompleteLine()) {
+            advanced = true;
+            if (writtenAt < 0) {
+                writtenAt = lastModifiedMillis(loop.journalFile);
+            }
+            if (dispatchCurrentLine(reader, loop.journalFile, PersistenceService.getInstance().getCursor())) {
+                recordLatency(writtenAt);
+            }
         }
-        int physicalLineNo = nextDispatchLineNumber++;
-        if (line.isBlank()) {
-            return;
+        JournalFileTracker tracker = JournalFileTracker.getInstance();
+        if (advanced && loop.journalFile.equals(tracker.getCurrentFile())) {
+            tracker.updatePosition(reader.getPosition(), reader.getLineNumber());
+        }
+    }
+
+    /**
+     * Dispatche la ligne courante de {@code reader} si elle est pertinente et au-delà du curseur.
+     *
+     * @return {@code true} si la ligne a été dispatchée
+     */
+    private static boolean dispatchCurrentLine(JournalLineReader reader, File journalFile, JournalCursor cursorSnap) {
+        if (reader.isBlank() || !isRelevantLine(reader.getEvent())) {
+            return false;
         }
-        File journalFile = JournalFileTracker.getInstance().getCurrentFile();
-        JournalCursor cursorSnap = PersistenceService.getInstance().getCursor();
         try {
-            JsonNode node = objectMapper.readTree(line);
-            if (!shouldDispatchTailLine(journalFile, cursorSnap, physicalLineNo, node)) {
-                return;
+            JsonNode node = reader.readTree(objectMapper);
+            if (!shouldDispatchTailLine(journalFile, cursorSnap, reader.getLineNumber(), node)) {
+                return false;
             }
-            JournalEventDispatcher.getInstance().dispatch(node, physicalLineNo);
+            JournalFileTracker.getInstance().setCurrentLine(reader.getLineStartOffset(), reader.fingerprint());
+            JournalEventDispatcher.getInstance().dispatch(node, reader.getLineNumber());
+            return true;
         } catch (Exception e) {
             // ligne JSON invalide → ignorée
+            return false;
         }
     }
 
-    /**
-     * Lit le fichier en ne dispatchant que les events au-delà du curseur (ligne ou timestamp).
-     */
-    private void readExistingContent(File journalFile) {
-        if (!journalFile.exists() || journalFile.length() == 0) {
+    private void recordLatency(long writtenAt) {
+        if (writtenAt <= 0) {
             return;
         }
+        long latency = Math.max(0, System.currentTimeMillis() - writtenAt);
+        lastLatencyMs = latency;
+        totalLatencyMs.addAndGet(latency);
+        maxLatencyMs.accumulateAndGet(latency, Math::max);
+        if (liveLines.incrementAndGet() % LATENCY_LOG_EVERY == 0) {
+            System.out.println("[Tailer] " + getLatencyStats());
+        }
+    }
+
+    private static long lastModifiedMillis(File journalFile) {
+        try {
+            return Files.getLastModifiedTime(journalFile.toPath()).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
 
+    /**
+     * Lit le fichier en ne dispatchant que les events au-delà du curseur (ligne ou timestamp).
+     *
+     * @return le lecteur positionné après la dernière ligne complète, repris par le suivi en direct
+     */
+    private JournalLineReader readExistingContent(File journalFile) throws IOException {
         JournalCursor cursorSnap = PersistenceService.getInstance().getCursor();
+        if (journalFile.length() == 0) {
+            return new JournalLineReader(journalFile.toPath());
+        }
         String label = describeResumeLabel(journalFile, cursorSnap);
         System.out.println("[Tailer] Reading existing: " + journalFile.getName() + " (" + label + ")");
 
-        final int[] lastPhysicalLine = {0};
-        try (Stream<String> lines = Files.lines(journalFile.toPath(), StandardCharsets.UTF_8)) {
-            lines.forEach(line -> {
-                lastPhysicalLine[0]++;
-                int physicalLineNo = lastPhysicalLine[0];
-                if (line == null || line.isBlank()) {
-                    return;
-                }
-                try {
-                    JsonNode node = objectMapper.readTree(line);
-                    if (!shouldDispatchTailLine(journalFile, cursorSnap, physicalLineNo, node)) {
-                        return;
-                    }
-                    JournalEventDispatcher.getInstance().dispatch(node, physicalLineNo);
-                } catch (Exception e) {
-                    // ignorée
-                }
-            });
-        } catch (Exception e) {
+        JournalLineReader reader = openExistingContentReader(journalFile, cursorSnap);
+        try {
+            // Lignes complètes seulement : une ligne en cours d'écriture revient au suivi en direct
+            while (reader.nextCompleteLine()) {
+                dispatchCurrentLine(reader, journalFile, cursorSnap);
+            }
+        } catch (IOException e) {
             System.err.println("[Tailer] Error reading existing content: " + e.getMessage());
+            reader.close();
+            throw e;
         }
-        nextDispatchLineNumber = lastPhysicalLine[0] + 1;
+        JournalFileTracker.getInstance().updatePosition(reader.getPosition(), reader.getLineNumber());
         System.out.println("[Tailer] Finished reading existing content");
+        return reader;
+    }
+
+    /**
+     * Lecteur placé après la dernière ligne complète du fichier : directement à la position
+     * connue du batch, sinon après un balayage (sans décodage) qui compte les lignes.
+     */
+    private static JournalLineReader openAtEnd(File journalFile, long knownPosition, int knownLines) throws IOException {
+        if (knownLines >= 0) {
+            return new JournalLineReader(journalFile.toPath(), knownPosition, knownLines);
+        }
+        JournalLineReader reader = new JournalLineReader(journalFile.toPath());
+        try {
+            while (reader.nextCompleteLine()) {
+                // contenu déjà traité : on ne fait qu'avancer
+            }
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+        return reader;
+    }
+
+    /**
+     * Sur le fichier du curseur, saute directement à la dernière ligne dispatchée si son offset
+     * et son empreinte sont connus et valides ; sinon lecture complète filtrée par ligne/timestamp.
+     */
+    private static JournalLineReader openExistingContentReader(File journalFile, JournalCursor cursorSnap)
+            throws IOException {
+        if (cursorSnap != null
+                && cursorSnap.getLastLineNumber() != null
+                && cursorSnap.getLastLineOffset() != null
+                && cursorSnap.getLastLineFingerprint() != null
+                && cursorSnap.getLastJournalFile() != null
+                && journalFile.getName().equalsIgnoreCase(cursorSnap.getLastJournalFile().trim())) {
+            JournalLineReader reader = JournalLineReader.resumeAt(journalFile.toPath(),
+                    cursorSnap.getLastLineOffset(), cursorSnap.getLastLineNumber(), cursorSnap.getLastLineFingerprint());
+            if (reader != null) {
+                return reader;
+            }
+        }
+        return new JournalLineReader(journalFile.toPath());
+    }
+
+    /**
+     * @return nombre de lignes physiques de {@code journalFile} déjà lues par le batch
+     *         ({@link JournalFileTracker}), ou {@code -1} si inconnu ou si le fichier a grandi depuis.
+     */
+    private static int knownPhysicalLines(File journalFile) {
+        JournalFileTracker tracker = JournalFileTracker.getInstance();
+        File tracked = tracker.getCurrentFile();
+        if (tracked == null || journalFile == null || !tracked.equals(journalFile)) {
+            return -1;
+        }
+        long position = tracker.getLastKnownPosition();
+        if (position <= 0 || position != journalFile.length()) {
+            return -1;
+        }
+        return tracker.getLastKnownLine();
     }
 
     private static String describeResumeLabel(File journalFile, JournalCursor cursorSnap) {
@@ -138,22 +263,6 @@ public class JournalTailService {
         return (ts == null || ts.isBlank()) ? "full" : "ts > " + ts;
     }
 
-    private static int countPhysicalLines(File journalFile) {
-        if (journalFile == null || !journalFile.exists() || journalFile.length() == 0) {
-            return 0;
-        }
-        try (Stream<String> s = Files.lines(journalFile.toPath(), StandardCharsets.UTF_8)) {
-            long n = s.count();
-            if (n > Integer.MAX_VALUE - 16) {
-                return Integer.MAX_VALUE - 16;
-            }
-            return (int) n;
-        } catch (IOException e) {
-            System.err.println("[Tailer] countPhysicalLines: " + e.getMessage());
-            return 0;
-        }
-    }
-
     /** {@code null} / vide → pas de filtre temporel (legacy). */
     private static String normalizeTimestampBound(String raw) {
         if (raw == null || raw.isBlank()) {
@@ -194,20 +303,146 @@ public class JournalTailService {
         return true;
     }
 
+    /**
+     * Prefiltre : les events sans handler ni route EDDN ne sont pas parsés. Un type
+     * illisible par balayage est laissé au parse complet.
+     */
+    private static boolean isRelevantLine(String eventType) {
+        return eventType == null || JournalEventDispatcher.getInstance().isRelevantEvent(eventType);
+    }
+
     private static boolean isFileheaderEvent(JsonNode node) {
         JsonNode ev = node.get("event");
         return ev != null && "Fileheader".equals(ev.asText());
     }
 
     public void stop() {
-        if (tailer != null) {
-            tailer.stop();
-            tailer = null;
+        TailLoop loop = tailLoop;
+        tailLoop = null;
+        if (loop != null) {
+            loop.stop();
+        }
+        Thread thread = tailerThread;
+        tailerThread = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Boucle de suivi d'un fichier : lit les lignes ajoutées, puis attend une notification
+     * {@code ENTRY_MODIFY} pour ce fichier ou, à défaut, l'échéance du poll de secours.
+     * Ferme le lecteur en sortant.
+     */
+    private final class TailLoop implements Runnable {
+
+        private final File journalFile;
+        private final Path fileName;
+        private final JournalLineReader reader;
+        private volatile boolean running = true;
+        private volatile WatchService watchService;
+
+        private TailLoop(File journalFile, JournalLineReader reader) {
+            this.journalFile = journalFile;
+            this.fileName = journalFile.toPath().getFileName();
+            this.reader = reader;
+        }
+
+        @Override
+        public void run() {
+            try {
+                watchService = openWatchService();
+                while (running) {
+                    drain(this);
+                    awaitChange();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // arrêt volontaire
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("[Tailer] Erreur de lecture " + journalFile.getName() + " : " + e.getMessage());
+                }
+            } finally {
+                closeWatchService();
+                try {
+                    reader.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        private WatchService openWatchService() {
+            Path dir = journalFile.getAbsoluteFile().toPath().getParent();
+            WatchService service = null;
+            try {
+                service = dir.getFileSystem().newWatchService();
+                dir.register(service, StandardWatchEventKinds.ENTRY_MODIFY);
+                return service;
+            } catch (IOException | UnsupportedOperationException e) {
+                System.err.println("[Tailer] WatchService indisponible (" + e.getMessage()
+                        + "), poll toutes les " + fallbackPollMs + " ms");
+                if (service != null) {
+                    try {
+                        service.close();
+                    } catch (IOException ignored) {
+                    }
+                }
+                return null;
+            }
         }
-        if (tailerThread != null) {
-            tailerThread.interrupt();
-            tailerThread = null;
+
+        /**
+         * Bloque jusqu'à une modification du journal suivi ou l'échéance du poll de secours. Les
+         * modifications des autres fichiers du dossier (Status.json...) sont consommées sans lecture.
+         */
+        private void awaitChange() throws InterruptedException {
+            WatchService service = watchService;
+            if (service == null) {
+                Thread.sleep(fallbackPollMs);
+                return;
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fallbackPollMs);
+            while (running) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return;
+                }
+                WatchKey key = service.poll(remaining, TimeUnit.NANOSECONDS);
+                if (key == null) {
+                    return;
+                }
+                boolean journalChanged = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                        journalChanged = true;
+                    }
+                }
+                if (!key.reset()) {
+                    System.err.println("[Tailer] WatchKey invalide, repli sur le poll toutes les " + fallbackPollMs + " ms");
+                    closeWatchService();
+                    return;
+                }
+                if (journalChanged) {
+                    return;
+                }
+            }
+        }
+
+        private void stop() {
+            running = false;
+            // Réveille un poll() en cours
+            closeWatchService();
+        }
+
+        private void closeWatchService() {
+            WatchService service = watchService;
+            watchService = null;
+            if (service != null) {
+                try {
+                    service.close();
+                } catch (IOException ignored) {
+                }
+            }
         }
-        nextDispatchLineNumber = 1;
     }
 }
@@ -39,7 +39,8 @@ public final class ColonisationNotificationService {
     }
 
     /**
-     * Notifie les abonnés sur le thread JavaFX (regroupe un seul {@code runLater} si appel hors FX).
+     * Notifie les abonnés sur le thread JavaFX (hors FX, les appels rapprochés sont regroupés par
+     * {@link UiRefreshScheduler}).
      */
     public void notifyColonisationDataChanged() {
         if (dashboardContext.isBatchLoading()) {
@@ -57,7 +58,7 @@ public final class ColonisationNotificationService {
         if (Platform.isFxApplicationThread()) {
             run.run();
         } else {
-            Platform.runLater(run);
+            UiRefreshScheduler.getInstance().request(this, run);
         }
     }
 
@@ -48,17 +48,21 @@ public class ExplorationRefreshNotificationService {
     }
     
     /**
-     * Notifie tous les listeners qu'un refresh complet est nécessaire
+     * Notifie tous les listeners qu'un refresh complet est nécessaire.
+     * Les appels rapprochés sont regroupés par {@link UiRefreshScheduler} : un seul refresh par
+     * listener et par frame, exécuté sur le thread JavaFX.
      */
     public void notifyRefreshRequired() {
         System.out.println("Notify refresh Explo");
         for (ExplorationRefreshListener listener : listeners) {
-            try {
-                listener.onRefreshRequired();
-            } catch (Exception e) {
-                System.err.println("❌ Erreur lors de la notification de refresh d'exploration: " + e.getMessage());
-                e.printStackTrace();
-            }
+            UiRefreshScheduler.getInstance().request(listener, () -> {
+                try {
+                    listener.onRefreshRequired();
+                } catch (Exception e) {
+                    System.err.println("❌ Erreur lors de la notification de refresh d'exploration: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            });
         }
     }
     
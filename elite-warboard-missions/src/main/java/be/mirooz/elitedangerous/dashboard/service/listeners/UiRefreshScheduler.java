@@ -0,0 +1,135 @@
+package be.mirooz.elitedangerous.dashboard.service.listeners;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Regroupe les demandes de rafraîchissement UI par sujet : au plus un {@code runLater} par
+ * intervalle ({@value #DEFAULT_INTERVAL_MS} ms ≈ une frame, {@value #INTERVAL_PROP}), qui exécute
+ * la dernière action demandée pour chaque sujet. Une rafale d'événements journal (FSS, tableau de
+ * missions, Cargo) ne met donc en file qu'un seul redessin par vue ; les demandes remplacées
+ * sont comptées ({@link #getCoalescedCount()}).
+ */
+public final class UiRefreshScheduler {
+
+    /** Intervalle minimal entre deux passes de rafraîchissement (ms). */
+    public static final String INTERVAL_PROP = "warboard.ui.refreshIntervalMs";
+    private static final long DEFAULT_INTERVAL_MS = 16;
+    /** Trace les compteurs chaque fois que ce nombre de demandes supplémentaires a été regroupé. */
+    private static final int LOG_THRESHOLD = 100;
+
+    private static final UiRefreshScheduler INSTANCE = new UiRefreshScheduler();
+
+    private final long intervalMs = Math.max(0, Long.getLong(INTERVAL_PROP, DEFAULT_INTERVAL_MS));
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "UiRefreshScheduler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Dernière action par sujet, dans l'ordre de première demande. Protégé par {@code this}. */
+    private final Map<Object, Runnable> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+    private long lastFlushNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(intervalMs);
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private long coalescedAtLastLog;
+
+    private UiRefreshScheduler() {
+    }
+
+    public static UiRefreshScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Demande l'exécution de {@code action} sur le thread JavaFX ; l'action sert de sujet.
+     */
+    public void request(Runnable action) {
+        request(action, action);
+    }
+
+    /**
+     * Demande l'exécution de {@code action} sur le thread JavaFX à la prochaine passe. Une demande
+     * encore en attente pour le même {@code topic} est remplacée.
+     */
+    public void request(Object topic, Runnable action) {
+        requested.incrementAndGet();
+        long delayMs;
+        synchronized (this) {
+            if (pending.put(topic, action) != null) {
+                coalesced.incrementAndGet();
+            }
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastFlushNanos);
+            delayMs = Math.max(0, intervalMs - elapsedMs);
+        }
+        if (delayMs == 0) {
+            runLater();
+        } else {
+            timer.schedule(this::runLater, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Nombre de demandes absorbées par une demande plus récente du même sujet. */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public String getStats() {
+        return "demandes=" + requested.get() + ", exécutées=" + executed.get()
+                + ", regroupées=" + getCoalescedCount();
+    }
+
+    private void runLater() {
+        try {
+            Platform.runLater(this::flush);
+        } catch (IllegalStateException e) {
+            // Toolkit JavaFX non démarré (tests, arrêt) : rien à redessiner
+            synchronized (this) {
+                pending.clear();
+                flushScheduled = false;
+            }
+        }
+    }
+
+    private void flush() {
+        List<Runnable> actions;
+        boolean log;
+        synchronized (this) {
+            actions = new ArrayList<>(pending.values());
+            pending.clear();
+            flushScheduled = false;
+            lastFlushNanos = System.nanoTime();
+            log = coalesced.get() - coalescedAtLastLog >= LOG_THRESHOLD;
+            if (log) {
+                coalescedAtLastLog = coalesced.get();
+            }
+        }
+        executed.addAndGet(actions.size());
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (Exception e) {
+                System.err.println("❌ Erreur lors du rafraîchissement UI: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+        if (log) {
+            System.out.println("[UiRefresh] " + getStats());
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package be.mirooz.elitedangerous.dashboard.service.persistence;
 
+import be.mirooz.elitedangerous.dashboard.model.exploration.BiologicalSignalProcessor;
 import be.mirooz.elitedangerous.dashboard.model.registries.CommodityRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.AtomicFiles;
 import be.mirooz.elitedangerous.dashboard.persistence.DashboardRegistryJsonPersistence;
 import be.mirooz.elitedangerous.dashboard.persistence.JournalCursor;
 import be.mirooz.elitedangerous.dashboard.persistence.JournalCursorStore;
 import be.mirooz.elitedangerous.dashboard.persistence.RegistryStore;
 import be.mirooz.elitedangerous.dashboard.service.webservice.eddn.EddnAppInfo;
+import be.mirooz.elitedangerous.dashboard.view.common.context.DashboardContext;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -13,13 +16,21 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Orchestrateur unique de la persistance des registries + curseur de reprise des journaux.
@@ -30,6 +41,11 @@ import java.util.concurrent.TimeUnit;
  *   <li>mémoriser le {@link JournalCursor} courant (dernier event dispatché) et le persister,</li>
  *   <li>proposer un save debouncé ({@link #saveAllDebounced()}) pour ne pas réécrire à chaque
  *       event quand le stream de journaux tourne à plein régime,</li>
+ *   <li>écrire des checkpoints périodiques incrémentaux (cf. {@link #checkpoint(boolean)}) :
+ *       seuls les stores signalés modifiés ({@link #markChanged(Collection)}) sont capturés et
+ *       réécrits, avec le curseur, pour qu'un crash ou un kill ne coûte que les dernières
+ *       secondes de session au lieu d'un full replay ; les gros stores en journal de
+ *       modifications sont compactés en tâche de fond,</li>
  *   <li>flusher un save en attente via un shutdown hook JVM,</li>
  *   <li>supprimer automatiquement tous les fichiers persistés en cas d'erreur de
  *       désérialisation → fallback vers un full replay des journaux.</li>
@@ -42,6 +58,18 @@ public class PersistenceService {
     /** Fenêtre de coalescing des saves debouncés. */
     private static final long DEBOUNCE_DELAY_MS = 2_000L;
 
+    /** Intervalle des checkpoints périodiques en secondes ({@code 0} = shutdown uniquement). */
+    public static final String CHECKPOINT_SECONDS_PROP = "warboard.persistence.checkpointSeconds";
+    private static final long DEFAULT_CHECKPOINT_SECONDS = 60L;
+    /** Attente max des calculs bio en cours avant un checkpoint forcé. */
+    private static final long BIO_IDLE_TIMEOUT_MS = 5_000L;
+    /**
+     * Un checkpoint périodique sur N capture tous les stores, signalés ou non : filet de sécurité
+     * pour une modification hors dispatch qui n'aurait pas été signalée ({@code 0} = jamais).
+     */
+    public static final String FULL_CHECKPOINT_EVERY_PROP = "warboard.persistence.fullCheckpointEvery";
+    private static final int DEFAULT_FULL_CHECKPOINT_EVERY = 10;
+
     public static PersistenceService getInstance() {
         return INSTANCE;
     }
@@ -54,6 +82,8 @@ public class PersistenceService {
     private Path appPersistenceVersionFile;
     private String currentCommanderScope = DEFAULT_COMMANDER_SCOPE;
     private List<RegistryStore> stores = new ArrayList<>();
+    /** Stores par nom, pour {@link #markChanged(Collection)} (lu sans verrou). */
+    private volatile Map<String, RegistryStore> storesByName = Map.of();
     private JournalCursorStore cursorStore;
 
     private final ScheduledExecutorService scheduler =
@@ -63,6 +93,31 @@ public class PersistenceService {
                 return t;
             });
     private volatile ScheduledFuture<?> pendingSave;
+    private final ExecutorService loadExecutor =
+            Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "PersistenceService-load");
+                t.setDaemon(true);
+                return t;
+            });
+
+    /**
+     * Verrou d'état partagé avec le dispatcher : un event (handler + curseur) est appliqué en
+     * entier sous ce verrou, et un checkpoint capture snapshots et curseur sous ce même verrou.
+     * Ordre d'acquisition : ce verrou, puis le moniteur du service.
+     */
+    private final Object stateLock = new Object();
+    /** Sérialise l'encodage et les écritures disque des checkpoints (faits hors {@link #stateLock}). */
+    private final Object writeLock = new Object();
+    /** Incrémentée à chaque event dispatché : rien à capturer si elle n'a pas bougé. */
+    private final AtomicLong stateVersion = new AtomicLong();
+    private volatile long checkpointedVersion;
+    private final int fullCheckpointEvery =
+            Integer.getInteger(FULL_CHECKPOINT_EVERY_PROP, DEFAULT_FULL_CHECKPOINT_EVERY);
+    private int checkpointsSinceFull;
+    /** Numéro de la dernière capture (sous {@code this}). */
+    private long captureSequence;
+    /** Numéro de la dernière capture écrite (sous {@link #writeLock}) : une plus ancienne est ignorée. */
+    private long writtenSequence;
 
     /** Si {@code true}, le hook JVM ne réécrit pas les snapshots (reset dossier commandant + sortie). */
     private volatile boolean skipJvmShutdownPersistenceFlush;
@@ -73,6 +128,20 @@ public class PersistenceService {
 
         Runtime.getRuntime().addShutdownHook(new Thread(this::flushOnShutdown,
                 "PersistenceService-shutdown"));
+
+        long checkpointSeconds = Long.getLong(CHECKPOINT_SECONDS_PROP, DEFAULT_CHECKPOINT_SECONDS);
+        if (checkpointSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::periodicCheckpoint,
+                    checkpointSeconds, checkpointSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Verrou à tenir pendant l'application d'un event journal (handler + mise à jour du
+     * curseur), pour que les checkpoints ne capturent jamais un état à moitié appliqué.
+     */
+    public Object getStateLock() {
+        return stateLock;
     }
 
     /**
@@ -166,20 +235,29 @@ public class PersistenceService {
 
         // Chargement indulgent : on continue même si un store échoue, on logue clairement
         // quel fichier pose problème plutôt que tout jeter silencieusement.
+        // Les gros stores (isDeferredLoad) sont décodés en tâche de fond pendant les autres.
+        List<Future<Boolean>> deferred = new ArrayList<>();
+        for (RegistryStore store : stores) {
+            if (store.isDeferredLoad()) {
+                deferred.add(loadExecutor.submit(() -> loadStore(store)));
+            }
+        }
         boolean anyFailure = false;
         for (RegistryStore store : stores) {
+            if (!store.isDeferredLoad() && !loadStore(store)) {
+                anyFailure = true;
+            }
+        }
+        for (Future<Boolean> future : deferred) {
             try {
-                boolean loaded = store.loadIfExists();
-                if (loaded) {
-                    System.out.println("[Persistence] " + store.name() + " restauré");
-                } else {
-                    System.out.println("[Persistence] " + store.name() + " absent — première init");
+                if (!future.get()) {
+                    anyFailure = true;
                 }
-            } catch (Exception e) {
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                anyFailure = true;
+            } catch (ExecutionException e) {
                 anyFailure = true;
-                System.err.println("[Persistence] Echec restauration " + store.name()
-                        + " : " + e.getMessage());
-                e.printStackTrace();
             }
         }
 
@@ -196,6 +274,7 @@ public class PersistenceService {
         if (cursor != null) {
             String lineInfo = cursor.getLastLineNumber() != null
                     ? " ligne " + cursor.getLastLineNumber()
+                    + (cursor.getLastLineOffset() != null ? " (offset " + cursor.getLastLineOffset() + ")" : "")
                     : " (reprise par timestamp seul)";
             System.out.println("[Persistence] Cursor restauré : " + cursor.getLastJournalFile()
                     + " @ " + cursor.getLastTimestamp() + lineInfo);
@@ -203,6 +282,26 @@ public class PersistenceService {
         return true;
     }
 
+    /** @return {@code false} si le store existe mais n'a pas pu être restauré. */
+    private boolean loadStore(RegistryStore store) {
+        try {
+            long start = System.currentTimeMillis();
+            boolean loaded = store.loadIfExists();
+            if (loaded) {
+                System.out.println("[Persistence] " + store.name() + " restauré ("
+                        + (System.currentTimeMillis() - start) + " ms)");
+            } else {
+                System.out.println("[Persistence] " + store.name() + " absent — première init");
+            }
+            return true;
+        } catch (Exception e) {
+            System.err.println("[Persistence] Echec restauration " + store.name()
+                    + " : " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
     /** Accès au curseur courant pour piloter la reprise dans {@code JournalService}. */
     public JournalCursor getCursor() {
         return cursorStore.getCursor();
@@ -222,13 +321,57 @@ public class PersistenceService {
      */
     public void updateCursor(String lastTimestamp, String lastJournalFile, Integer lastLineNumber) {
         cursorStore.updateInMemory(lastTimestamp, lastJournalFile, lastLineNumber);
+        stateVersion.incrementAndGet();
+    }
+
+    /**
+     * Idem {@link #updateCursor(String, String, Integer)} avec la position en octets et
+     * l'empreinte de la ligne, pour une reprise par {@code seek} sans recompter les lignes.
+     */
+    public void updateCursor(String lastTimestamp, String lastJournalFile, Integer lastLineNumber,
+                             Long lastLineOffset, Long lastLineFingerprint) {
+        cursorStore.updateInMemory(lastTimestamp, lastJournalFile, lastLineNumber, lastLineOffset, lastLineFingerprint);
+        stateVersion.incrementAndGet();
+    }
+
+    /**
+     * Signale que des registries ont changé hors du verrou d'état ou hors dispatch (calcul bio en
+     * tâche de fond, reset, enrichissement...) : leurs stores seront capturés au prochain
+     * checkpoint. Le dispatcher l'appelle aussi après chaque handler avec
+     * {@code JournalEventHandler#modifiedStores()}.
+     *
+     * @param storeNames noms de {@link be.mirooz.elitedangerous.dashboard.persistence.StoreNames}
+     */
+    public void markChanged(Collection<String> storeNames) {
+        if (storeNames.isEmpty()) {
+            return;
+        }
+        Map<String, RegistryStore> byName = storesByName;
+        for (String storeName : storeNames) {
+            RegistryStore store = byName.get(storeName);
+            if (store != null) {
+                store.markChanged();
+            }
+        }
+        stateVersion.incrementAndGet();
+    }
+
+    public void markChanged(String... storeNames) {
+        markChanged(List.of(storeNames));
+    }
+
+    /** Store du scope courant par nom, {@code null} si inconnu (contrôle des signalements en test). */
+    RegistryStore findStore(String storeName) {
+        return storesByName.get(storeName);
     }
 
     // -------- Save API --------
 
-    /** Sauve tous les stores + le curseur, de façon synchrone. */
-    public synchronized void saveAllNow() {
-        cancelPendingSave();
+    /** Sauve tous les stores modifiés + le curseur, de façon synchrone. */
+    public void saveAllNow() {
+        synchronized (this) {
+            cancelPendingSave();
+        }
         doSaveAll();
     }
 
@@ -241,6 +384,39 @@ public class PersistenceService {
         pendingSave = scheduler.schedule(this::doSaveAll, DEBOUNCE_DELAY_MS, TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Checkpoint incrémental : copie, sous {@link #getStateLock()}, l'état des stores signalés
+     * modifiés et le curseur, puis sérialise et écrit hors de ce verrou (le dispatch reprend
+     * pendant l'encodage). Tous les fichiers sont d'abord écrits en {@code .tmp}, puis renommés,
+     * curseur en dernier : les snapshots sur disque et le curseur correspondent au même event.
+     *
+     * @param force si {@code true}, capture tous les stores, même non signalés ; sinon ne fait
+     *              rien quand aucun event n'a été dispatché depuis le dernier checkpoint
+     * @return nombre de fichiers réécrits
+     */
+    public int checkpoint(boolean force) {
+        return checkpoint(force, force);
+    }
+
+    private int checkpoint(boolean force, boolean captureAll) {
+        if (force) {
+            // Calculs bio soumis par des events déjà couverts par le curseur
+            BiologicalSignalProcessor.getInstance().awaitIdle(BIO_IDLE_TIMEOUT_MS);
+        }
+        Checkpoint checkpoint;
+        synchronized (stateLock) {
+            synchronized (this) {
+                checkpoint = captureCheckpoint(force, captureAll);
+            }
+        }
+        if (checkpoint == null) {
+            return 0;
+        }
+        synchronized (writeLock) {
+            return checkpoint.write();
+        }
+    }
+
     /** Supprime tous les fichiers persistés (snapshots + curseur). */
     public synchronized void deleteAll() {
         cancelPendingSave();
@@ -297,19 +473,165 @@ public class PersistenceService {
         try {
             System.out.println("[Persistence] saveAll scope=" + currentCommanderScope
                     + " dir=" + commanderBaseDir);
-            for (RegistryStore store : stores) {
+            checkpoint(true);
+        } catch (Exception e) {
+            System.err.println("[Persistence] Save global KO");
+            e.printStackTrace();
+        }
+    }
+
+    private void periodicCheckpoint() {
+        if (skipJvmShutdownPersistenceFlush || DashboardContext.getInstance().isBatchLoading()) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            boolean captureAll = fullCheckpointEvery > 0 && ++checkpointsSinceFull >= fullCheckpointEvery;
+            if (captureAll) {
+                checkpointsSinceFull = 0;
+            }
+            int written = checkpoint(false, captureAll);
+            if (written > 0) {
+                System.out.println("[Persistence] Checkpoint : " + written + " fichier(s) en "
+                        + (System.currentTimeMillis() - start) + " ms");
+            }
+            compactStores();
+        } catch (Exception e) {
+            System.err.println("[Persistence] Checkpoint KO : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replie les journaux de modifications trop gros dans leur snapshot. Ne lit que les fichiers
+     * (pas le registry vivant) : seul {@link #writeLock} est nécessaire.
+     */
+    private void compactStores() {
+        List<RegistryStore> current;
+        synchronized (this) {
+            current = List.copyOf(stores);
+        }
+        synchronized (writeLock) {
+            for (RegistryStore store : current) {
+                store.compactIfNeeded();
+            }
+        }
+    }
+
+    /** À appeler sous {@link #stateLock} puis {@code this} : copies seulement, pas d'encodage. */
+    private Checkpoint captureCheckpoint(boolean force, boolean captureAll) {
+        if (!hasResolvedCommanderScope()) {
+            return null;
+        }
+        long version = stateVersion.get();
+        if (!force && version == checkpointedVersion) {
+            return null;
+        }
+        if (!force && !BiologicalSignalProcessor.getInstance().isIdle()) {
+            // Un calcul bio dont l'event est déjà sous le curseur n'est pas encore appliqué :
+            // on retente au prochain checkpoint plutôt que de persister un état incomplet.
+            return null;
+        }
+        List<PendingCapture> captures = new ArrayList<>();
+        for (RegistryStore store : stores) {
+            try {
+                RegistryStore.Capture capture = store.captureIfChanged(captureAll);
+                if (capture != null) {
+                    captures.add(new PendingCapture(store, capture));
+                }
+            } catch (Exception e) {
+                System.err.println("[Persistence] Save " + store.name() + " KO : " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+        byte[] cursorBytes = cursorStore.snapshotBytes();
+        PendingWrite cursorWrite = cursorBytes == null ? null
+                : new PendingWrite("journal-cursor", cursorStore.file(), cursorBytes, null, null);
+        return new Checkpoint(++captureSequence, version, captures, cursorWrite, appPersistenceVersionFile);
+    }
+
+    /** Store capturé, encodé hors {@link #stateLock} par {@link Checkpoint#write()}. */
+    private record PendingCapture(RegistryStore store, RegistryStore.Capture capture) {
+    }
+
+    /** Fichier à écrire par un checkpoint ; {@code store} est confirmé après renommage. */
+    private record PendingWrite(String name, Path file, byte[] bytes, RegistryStore store,
+                                RegistryStore.Capture capture) {
+        boolean isAppend() {
+            return store != null && store.isAppendOnly();
+        }
+    }
+
+    private final class Checkpoint {
+        private final long sequence;
+        private final long version;
+        private final List<PendingCapture> captures;
+        private final PendingWrite cursorWrite;
+        private final Path versionFile;
+
+        private Checkpoint(long sequence, long version, List<PendingCapture> captures, PendingWrite cursorWrite,
+                           Path versionFile) {
+            this.sequence = sequence;
+            this.version = version;
+            this.captures = captures;
+            this.cursorWrite = cursorWrite;
+            this.versionFile = versionFile;
+        }
+
+        int write() {
+            if (sequence < writtenSequence) {
+                // Capturé avant un checkpoint déjà écrit : ses stores restent sales, rien à perdre.
+                return 0;
+            }
+            writtenSequence = sequence;
+            List<PendingWrite> writes = new ArrayList<>(captures.size() + 1);
+            for (PendingCapture pending : captures) {
+                RegistryStore store = pending.store();
                 try {
-                    store.save();
+                    byte[] bytes = pending.capture().encode();
+                    if (bytes == null) {
+                        // Contenu identique au disque : rien à écrire, la version est à jour.
+                        store.markPersisted(pending.capture());
+                    } else {
+                        writes.add(new PendingWrite(store.name(), store.file(), bytes, store, pending.capture()));
+                    }
                 } catch (Exception e) {
                     System.err.println("[Persistence] Save " + store.name() + " KO : " + e.getMessage());
                     e.printStackTrace();
                 }
             }
-            cursorStore.save();
-            writePersistedAppVersion(EddnAppInfo.version());
-        } catch (Exception e) {
-            System.err.println("[Persistence] Save global KO");
-            e.printStackTrace();
+            if (cursorWrite != null) {
+                writes.add(cursorWrite);
+            }
+            List<Path> temps = new ArrayList<>(writes.size());
+            try {
+                for (PendingWrite write : writes) {
+                    temps.add(write.isAppend() ? null : AtomicFiles.writeTemp(write.file(), write.bytes()));
+                }
+            } catch (IOException e) {
+                // Rien n'a été renommé : l'ancien checkpoint reste cohérent.
+                System.err.println("[Persistence] Checkpoint abandonné : " + e.getMessage());
+                return 0;
+            }
+            int written = 0;
+            for (int i = 0; i < writes.size(); i++) {
+                PendingWrite write = writes.get(i);
+                try {
+                    if (write.isAppend()) {
+                        AtomicFiles.append(write.file(), write.bytes());
+                    } else {
+                        AtomicFiles.commit(temps.get(i), write.file());
+                    }
+                    if (write.store() != null) {
+                        write.store().markPersisted(write.capture());
+                    }
+                    written++;
+                } catch (IOException e) {
+                    System.err.println("[Persistence] Save " + write.name() + " KO : " + e.getMessage());
+                }
+            }
+            writePersistedAppVersion(versionFile, EddnAppInfo.version());
+            checkpointedVersion = Math.max(checkpointedVersion, version);
+            return written;
         }
     }
 
@@ -336,9 +658,9 @@ public class PersistenceService {
                 System.out.println("[Persistence] Flush shutdown ignoré (reset données commandant).");
                 return;
             }
-            // Politique "save only on shutdown" : même si le close handler de l'app a déjà
-            // sauvé, on re-sauve ici par sécurité (pas d'opération coûteuse si l'état n'a
-            // pas changé, et ça couvre les fermetures non propres type Ctrl+C / kill).
+            // Même si le close handler de l'app a déjà sauvé, on re-sauve ici par sécurité :
+            // seuls les stores modifiés depuis le dernier checkpoint sont réécrits, et ça
+            // couvre les fermetures non propres type Ctrl+C / kill.
             cancelPendingSave();
             if (!hasResolvedCommanderScope()) {
                 System.out.println("[Persistence] Sauvegarde finale (shutdown hook) ignorée — commandant non identifié.");
@@ -359,6 +681,7 @@ public class PersistenceService {
         appPersistenceVersionFile = commanderBaseDir.resolve("app-persistence-version.txt");
         cursorStore = new JournalCursorStore(commanderBaseDir.resolve("journal-cursor.json"));
         stores = new ArrayList<>(DashboardRegistryJsonPersistence.buildRegistryStores(commanderBaseDir));
+        storesByName = stores.stream().collect(Collectors.toUnmodifiableMap(RegistryStore::name, Function.identity()));
     }
 
     private String readPersistedAppVersion() {
@@ -375,15 +698,19 @@ public class PersistenceService {
     }
 
     private void writePersistedAppVersion(String version) {
-        if (appPersistenceVersionFile == null || version == null || version.isBlank()) {
+        writePersistedAppVersion(appPersistenceVersionFile, version);
+    }
+
+    private static void writePersistedAppVersion(Path versionFile, String version) {
+        if (versionFile == null || version == null || version.isBlank()) {
             return;
         }
         try {
-            Path parent = appPersistenceVersionFile.getParent();
+            Path parent = versionFile.getParent();
             if (parent != null) {
                 Files.createDirectories(parent);
             }
-            Files.writeString(appPersistenceVersionFile, version.strip(), StandardCharsets.UTF_8);
+            Files.writeString(versionFile, version.strip(), StandardCharsets.UTF_8);
         } catch (IOException e) {
             System.err.println("[Persistence] Écriture app-persistence-version.txt KO : " + e.getMessage());
         }
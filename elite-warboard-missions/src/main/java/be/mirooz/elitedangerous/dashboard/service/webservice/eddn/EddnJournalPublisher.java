@@ -5,6 +5,9 @@ import be.mirooz.elitedangerous.dashboard.service.PreferencesService;
 import be.mirooz.elitedangerous.eddn.EddnSchemas;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Routeur EDDN : invoqué par chaque {@code JournalEventHandler} via le décorateur
  * {@link be.mirooz.elitedangerous.dashboard.handlers.events.EddnPublishingEventHandlerDecorator},
@@ -26,6 +29,26 @@ public final class EddnJournalPublisher {
 
     private static final EddnJournalPublisher INSTANCE = new EddnJournalPublisher();
 
+    /**
+     * Events ayant un schéma dédié dans {@link #route(String, JsonNode)} (hors
+     * {@link EddnEventMappers#JOURNAL_SCHEMA_EVENTS}). À tenir aligné avec le {@code switch}.
+     */
+    private static final Set<String> DEDICATED_SCHEMA_EVENTS = Set.of(
+            "ApproachSettlement", "CodexEntry", "DockingDenied", "DockingGranted", "FCMaterials",
+            "FSSAllBodiesFound", "FSSBodySignals", "FSSDiscoveryScan", "FSSSignalDiscovered",
+            "NavBeaconScan", "ScanBaryCentre", "Market", "Outfitting", "Shipyard", "NavRoute"
+    );
+
+    /** Events lus par {@link #trackCommanderContext(String, JsonNode)}. */
+    private static final Set<String> CONTEXT_EVENTS = Set.of("FSDJump", "Location", "CarrierJump");
+
+    /**
+     * Tous les events pour lesquels {@link #publish(JsonNode)} fait quelque chose : les autres
+     * peuvent être ignorés par les lecteurs de journal sans changer le flux EDDN.
+     */
+    public static final Set<String> ROUTED_EVENTS = union(
+            EddnEventMappers.JOURNAL_SCHEMA_EVENTS, DEDICATED_SCHEMA_EVENTS, CONTEXT_EVENTS);
+
     private final EddnUploader uploader = EddnUploader.getInstance();
     private final CommanderStatus commanderStatus = CommanderStatus.getInstance();
     private final PreferencesService preferencesService = PreferencesService.getInstance();
@@ -136,9 +159,7 @@ public final class EddnJournalPublisher {
     // ------------------------------------------------------------------
 
     private void trackCommanderContext(String event, JsonNode raw) {
-        boolean navigational = "FSDJump".equals(event)
-                || "Location".equals(event)
-                || "CarrierJump".equals(event);
+        boolean navigational = CONTEXT_EVENTS.contains(event);
         if (!navigational) {
             return;
         }
@@ -155,4 +176,13 @@ public final class EddnJournalPublisher {
             commanderStatus.setCurrentStarPos(xyz);
         }
     }
+
+    @SafeVarargs
+    private static Set<String> union(Set<String>... sets) {
+        Set<String> all = new HashSet<>();
+        for (Set<String> set : sets) {
+            all.addAll(set);
+        }
+        return Set.copyOf(all);
+    }
 }
@@ -1,8 +1,10 @@
 package be.mirooz.elitedangerous.dashboard.view.exploration;
 
+import be.mirooz.elitedangerous.dashboard.model.exploration.MutablePosition;
 import be.mirooz.elitedangerous.dashboard.model.exploration.Position;
 import be.mirooz.elitedangerous.dashboard.service.DirectionReaderService;
 import be.mirooz.elitedangerous.dashboard.service.LocalizationService;
+import be.mirooz.elitedangerous.dashboard.service.StatusPositionStream;
 import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.scene.Group;
@@ -16,11 +18,17 @@ import javafx.scene.shape.Rectangle;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Boussole / mini-radar pour l’analyse exobio : heading depuis Status.json et positions des échantillons.
  * L’instance affichée dans la vue système doit être enregistrée via {@link #setPrimaryInstance(RadarComponent)}
  * pour que {@link DirectionReaderService} puisse l’afficher ou la masquer pendant la surveillance du fichier.
+ * <p>
+ * Redessiné uniquement lorsqu’il est visible : dès qu’un déplacement est publié par
+ * {@link StatusPositionStream} (au plus tous les {@code MIN_REDRAW_INTERVAL_NS}), et sinon toutes les
+ * {@code UPDATE_INTERVAL_NS}. La position est copiée dans une {@link MutablePosition} du radar et les
+ * distances aux échantillons sont calculées au dessin.
  */
 public class RadarComponent {
 
@@ -29,6 +37,7 @@ public class RadarComponent {
     private static final double FALLBACK_LAYOUT_SIZE = 200;
     private static final double LABEL_EXTENSION = 150;
     private static final long UPDATE_INTERVAL_NS = 500_000_000L;
+    private static final long MIN_REDRAW_INTERVAL_NS = 100_000_000L;
     private static final Color COMPASS_STROKE = Color.rgb(255, 140, 0, 0.5);
     private static final Color AXIS_STROKE = Color.rgb(255, 140, 0, 0.7);
     private static final Color HEADING_FILL = Color.rgb(0, 255, 0);
@@ -38,6 +47,9 @@ public class RadarComponent {
     private final Group radarGroup;
     private final Pane labelsPane;
     private final DirectionReaderService directionService;
+    private final StatusPositionStream positionStream = StatusPositionStream.getInstance();
+    /** Copie de la position courante, réutilisée à chaque dessin (thread JavaFX). */
+    private final MutablePosition currentPos = new MutablePosition();
     private final LocalizationService localizationService = LocalizationService.getInstance();
     private AnimationTimer updateTimer;
 
@@ -81,15 +93,20 @@ public class RadarComponent {
 
         updateTimer = new AnimationTimer() {
             private long lastUpdate = 0;
+            private long drawnVersion = -1;
 
             @Override
             public void handle(long now) {
-                if (now - lastUpdate >= UPDATE_INTERVAL_NS) {
+                // Déjà sur le thread JavaFX
+                if (!radarContainer.isVisible()) {
+                    return;
+                }
+                long version = positionStream.version();
+                long elapsed = now - lastUpdate;
+                if ((version != drawnVersion && elapsed >= MIN_REDRAW_INTERVAL_NS) || elapsed >= UPDATE_INTERVAL_NS) {
                     lastUpdate = now;
-                    Platform.runLater(() -> {
-                        updateRadar();
-                        updateClipping();
-                    });
+                    drawnVersion = version;
+                    updateRadar();
                 }
             }
         };
@@ -176,8 +193,7 @@ public class RadarComponent {
         labelsPane.getChildren().clear();
         drawCardinalPointLabels(centerX, centerY, radius);
 
-        Position currentPos = directionService.getCurrentPosition();
-        if (currentPos == null) {
+        if (!positionStream.copyLatest(currentPos)) {
             return;
         }
         drawHeadingTriangle(currentPos, centerX, centerY, radius);
@@ -257,12 +273,11 @@ public class RadarComponent {
         labelsPane.getChildren().add(westLabel);
     }
 
-    private void drawHeadingTriangle(Position currentPos, double centerX, double centerY, double radius) {
-        Integer heading = currentPos.getHeading();
-        if (heading == null) {
+    private void drawHeadingTriangle(MutablePosition currentPos, double centerX, double centerY, double radius) {
+        if (!currentPos.hasHeading()) {
             return;
         }
-        double headingRad = Math.toRadians(90 - heading);
+        double headingRad = Math.toRadians(90 - currentPos.getHeading());
         double triangleLength = radius * 0.2;
         double triangleWidth = radius * 0.06;
 
@@ -288,32 +303,24 @@ public class RadarComponent {
         radarGroup.getChildren().add(directionTriangle);
     }
 
-    private void drawBiologicalSamples(Position currentPos, double centerX, double centerY, double radius) {
+    private void drawBiologicalSamples(MutablePosition currentPos, double centerX, double centerY, double radius) {
         List<Position> samplePositions =
                 new ArrayList<>(directionService.getCurrentBiologicalSamplePositions());
+        samplePositions.removeIf(Objects::isNull);
         Double colonyRangeMeter = directionService.getColonyRangeMeter();
 
-        if (samplePositions == null || samplePositions.isEmpty()) {
+        if (samplePositions.isEmpty()) {
             return;
         }
 
         double scaleFactor = 0.85;
-        List<Double> distances = new ArrayList<>();
-        for (Position sample : samplePositions) {
-            double distance = sample.getDistanceFromCurrent();
-            if (distance <= 0) {
-                distance = directionService.getDistanceTo(currentPos, sample);
-            }
-            if (distance > 0) {
-                distances.add(distance);
-            }
+        double[] distances = new double[samplePositions.size()];
+        double maxSampleDistance = 0;
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = directionService.getDistanceTo(currentPos.getLatitude(), currentPos.getLongitude(), samplePositions.get(i));
+            maxSampleDistance = Math.max(maxSampleDistance, distances[i]);
         }
 
-        double maxSampleDistance = distances.stream()
-                .mapToDouble(Double::doubleValue)
-                .max()
-                .orElse(0);
-
         double scaleDistance;
         if (colonyRangeMeter != null && colonyRangeMeter > 0) {
             scaleDistance = colonyRangeMeter / 0.75;
@@ -336,10 +343,7 @@ public class RadarComponent {
 
         int sampleIndex = 0;
         for (Position sample : samplePositions) {
-            double distance = sample.getDistanceFromCurrent();
-            if (distance <= 0) {
-                distance = directionService.getDistanceTo(currentPos, sample);
-            }
+            double distance = distances[sampleIndex];
 
             double sampleX;
             double sampleY;
@@ -347,7 +351,8 @@ public class RadarComponent {
             double realSampleY;
 
             if (distance > 0) {
-                double direction = currentPos.calculateDirectionTo(sample);
+                double direction = Position.bearing(currentPos.getLatitude(), currentPos.getLongitude(),
+                        sample.getLatitude(), sample.getLongitude());
                 double directionRad = Math.toRadians(90 - direction);
                 double normalizedDistance = distance / scaleDistance;
                 double maxRadius = radius * scaleFactor;
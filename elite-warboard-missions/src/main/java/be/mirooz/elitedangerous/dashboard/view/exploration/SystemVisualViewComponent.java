@@ -20,10 +20,13 @@ import be.mirooz.elitedangerous.dashboard.model.exploration.SystemVisited;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.ExplorationDataSaleRegistry;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.PlaneteRegistry;
 import be.mirooz.elitedangerous.dashboard.model.registries.exploration.SystemVisitedRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
+import be.mirooz.elitedangerous.dashboard.service.BioScanWarmupService;
 import be.mirooz.elitedangerous.dashboard.service.ExplorationService;
 import be.mirooz.elitedangerous.dashboard.service.LocalizationService;
 import be.mirooz.elitedangerous.dashboard.service.PreferencesService;
 import be.mirooz.elitedangerous.dashboard.service.SpanshSystemVisitedService;
+import be.mirooz.elitedangerous.dashboard.service.persistence.PersistenceService;
 import be.mirooz.elitedangerous.dashboard.view.common.context.DashboardContext;
 import com.fasterxml.jackson.databind.JsonNode;
 import be.mirooz.elitedangerous.dashboard.view.common.managers.CopyClipboardManager;
@@ -946,6 +949,8 @@ public class SystemVisualViewComponent implements Initializable, IRefreshable,
 
             boolean systemSelectionChanged = !Objects.equals(oldName, newName);
             this.currentSystem = viewSys;
+            // Calculs bio différés (replay) appliqués hors thread FX, puis refresh de la vue
+            BioScanWarmupService.getInstance().warmUpSystem(viewSys);
 
             // On reset le déplacement manuel uniquement quand on change de système sélectionné.
             // (Un refresh/re-render du même système, ex. slider spacing, garde la position courante.)
@@ -1631,6 +1636,7 @@ public class SystemVisualViewComponent implements Initializable, IRefreshable,
 
         if (target.getCelesteBodies() == null || target.getCelesteBodies().isEmpty()) {
             target.setCelesteBodies(new ArrayList<>(spanshSource.getCelesteBodies()));
+            markMerged(target);
             return;
         }
         Set<Integer> spanshIds = spanshSource.getCelesteBodies().stream()
@@ -1664,6 +1670,13 @@ public class SystemVisualViewComponent implements Initializable, IRefreshable,
             }
         }
         target.setCelesteBodies(merged);
+        markMerged(target);
+    }
+
+    /** Système visité enrichi hors dispatch : à capturer au prochain checkpoint. */
+    private static void markMerged(SystemVisited target) {
+        SystemVisitedRegistry.getInstance().markChanged(target.getSystemName());
+        PersistenceService.getInstance().markChanged(StoreNames.CELESTE_BODIES);
     }
 
     /**
@@ -0,0 +1,139 @@
+package be.mirooz.elitedangerous.dashboard;
+
+import be.mirooz.elitedangerous.biologic.AtmosphereType;
+import be.mirooz.elitedangerous.biologic.BioSpecies;
+import be.mirooz.elitedangerous.biologic.BodyType;
+import be.mirooz.elitedangerous.biologic.VolcanismType;
+import be.mirooz.elitedangerous.dashboard.model.exploration.BioSpeciesModel;
+import be.mirooz.elitedangerous.dashboard.model.exploration.PlaneteDetail;
+import be.mirooz.elitedangerous.dashboard.model.exploration.Scan;
+import be.mirooz.elitedangerous.dashboard.model.exploration.SpeciesProbability;
+import be.mirooz.elitedangerous.dashboard.view.common.context.DashboardContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Non-régression du calcul exobio : {@link BioSpeciesModel#score} et
+ * {@link PlaneteDetail#calculBioScan} (index inversé, masque de genres, Brain Tree) doivent
+ * redonner, sur des planètes représentatives (dont des valeurs sur les bornes de bins), les
+ * résultats de l'ancien {@code BioSpeciesMatcher} capturés dans
+ * {@code bioscan/baseline-reference.json}.
+ */
+class BioSpeciesModelReferenceTest {
+
+    private static final String REFERENCE = "/bioscan/baseline-reference.json";
+    /** Les probabilités de scan passent par des sommes dont l'ordre peut varier. */
+    private static final double SCAN_TOLERANCE = 1e-9;
+
+    private static JsonNode cases;
+    private static boolean batchLoading;
+
+    @BeforeAll
+    static void loadReference() throws Exception {
+        try (InputStream in = BioSpeciesModelReferenceTest.class.getResourceAsStream(REFERENCE)) {
+            assertNotNull(in, REFERENCE);
+            cases = new ObjectMapper().readTree(in).get("cases");
+        }
+        assertFalse(cases.isEmpty());
+        // Hors replay : calculBioScan calcule immédiatement au lieu de différer
+        batchLoading = DashboardContext.getInstance().isBatchLoading();
+        DashboardContext.getInstance().setBatchLoading(false);
+    }
+
+    @AfterAll
+    static void restoreContext() {
+        DashboardContext.getInstance().setBatchLoading(batchLoading);
+    }
+
+    @Test
+    void scoreMatchesBaselineMatcher() throws Exception {
+        BioSpeciesModel model = BioSpeciesModel.getInstance();
+        List<BioSpecies> species = model.getSpecies();
+        int[] matchedIndices = new int[model.size()];
+        double[] probabilities = new double[model.size()];
+        for (JsonNode c : cases) {
+            PlaneteDetail planet = planet(c.get("planet"));
+            int matched = model.score(planet, matchedIndices, probabilities);
+
+            Map<String, Double> actual = new LinkedHashMap<>();
+            for (int i = 0; i < matched; i++) {
+                actual.put(species.get(matchedIndices[i]).getId(), probabilities[i]);
+            }
+            Map<String, Double> expected = new LinkedHashMap<>();
+            for (JsonNode e : c.get("score")) {
+                expected.put(e.get("species").asText(), e.get("probability").asDouble());
+            }
+            assertEquals(expected, actual, planet.getBodyName());
+        }
+    }
+
+    @Test
+    void calculBioScanMatchesBaseline() {
+        for (JsonNode c : cases) {
+            JsonNode planetNode = c.get("planet");
+            List<String> starTypes = strings(planetNode.get("parentStarTypes"));
+            for (JsonNode scanCase : c.get("scans")) {
+                PlaneteDetail planet = planet(planetNode);
+                int level = scanCase.get("level").asInt();
+                int count = scanCase.get("count").asInt();
+                List<String> genuses = strings(scanCase.get("genuses"));
+                planet.calculBioScan(count, level, genuses, starTypes);
+
+                List<SpeciesProbability> actual = new ArrayList<>();
+                for (Scan scan : planet.getBioSpecies()) {
+                    actual.addAll(scan.getSpeciesProbabilities());
+                }
+                JsonNode expected = scanCase.get("result");
+                String label = planet.getBodyName() + " niveau " + level + " count " + count + " genres " + genuses;
+                assertEquals(expected.size(), actual.size(), label);
+                for (int i = 0; i < actual.size(); i++) {
+                    assertEquals(expected.get(i).get("species").asText(), actual.get(i).getBioSpecies().getId(), label);
+                    assertEquals(expected.get(i).get("probability").asDouble(), actual.get(i).getProbability(),
+                            SCAN_TOLERANCE, label);
+                }
+            }
+        }
+    }
+
+    private static PlaneteDetail planet(JsonNode node) {
+        Map<String, Double> materials = new LinkedHashMap<>();
+        for (String material : strings(node.get("materials"))) {
+            materials.put(material, 1.0);
+        }
+        return PlaneteDetail.builder()
+                .bodyID(1)
+                .bodyName(node.get("id").asText())
+                .starSystem("Reference")
+                .planetClass(BodyType.valueOf(node.get("planetClass").asText()))
+                .atmosphere(AtmosphereType.valueOf(node.get("atmosphere").asText()))
+                .volcanism(VolcanismType.valueOf(node.get("volcanism").asText()))
+                .temperature(node.get("temperature").asDouble())
+                .gravityG(node.get("gravityG").asDouble())
+                .pressureAtm(node.get("pressureAtm").asDouble())
+                .landable(true)
+                .materials(materials)
+                .build();
+    }
+
+    private static List<String> strings(JsonNode array) {
+        if (array == null || array.isNull()) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        array.forEach(value -> values.add(value.asText()));
+        return values;
+    }
+}
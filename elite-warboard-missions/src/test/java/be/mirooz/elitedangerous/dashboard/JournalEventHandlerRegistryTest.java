@@ -0,0 +1,51 @@
+package be.mirooz.elitedangerous.dashboard;
+
+import be.mirooz.elitedangerous.dashboard.handlers.dispatcher.JournalEventHandlerRegistry;
+import be.mirooz.elitedangerous.dashboard.handlers.events.journalevents.DefaultJournalEventHandler;
+import be.mirooz.elitedangerous.dashboard.handlers.events.journalevents.JournalEventHandler;
+import org.junit.jupiter.api.Test;
+import org.reflections.Reflections;
+
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Garde-fou de build pour {@link JournalEventHandlerRegistry} : la table statique doit couvrir
+ * exactement les handlers concrets du package {@code journalevents}, sans doublon de type d'event.
+ */
+class JournalEventHandlerRegistryTest {
+
+    @Test
+    void registryListsEveryConcreteHandler() {
+        Set<Class<? extends JournalEventHandler>> scanned =
+                new Reflections(JournalEventHandler.class.getPackageName())
+                        .getSubTypesOf(JournalEventHandler.class).stream()
+                        .filter(clazz -> !Modifier.isAbstract(clazz.getModifiers()))
+                        .filter(clazz -> clazz != DefaultJournalEventHandler.class)
+                        .collect(Collectors.toSet());
+
+        Set<Class<?>> registered = JournalEventHandlerRegistry.createHandlers().stream()
+                .map(Object::getClass)
+                .collect(Collectors.toSet());
+
+        assertEquals(scanned, registered, "JournalEventHandlerRegistry désynchronisé du package journalevents");
+    }
+
+    @Test
+    void noTwoHandlersClaimTheSameEvent() {
+        List<JournalEventHandler> handlers = JournalEventHandlerRegistry.createHandlers();
+        Map<String, JournalEventHandler> byEvent = new HashMap<>();
+        for (JournalEventHandler handler : handlers) {
+            JournalEventHandler previous = byEvent.put(handler.getEventType(), handler);
+            assertNull(previous, () -> "Event " + handler.getEventType() + " revendiqué par "
+                    + previous.getClass().getSimpleName() + " et " + handler.getClass().getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package be.mirooz.elitedangerous.dashboard.model.registries.mining;
+
+import be.mirooz.elitedangerous.commons.lib.models.commodities.minerals.Mineral;
+import be.mirooz.elitedangerous.commons.lib.models.commodities.minerals.MineralType;
+import be.mirooz.elitedangerous.dashboard.model.mining.MiningRefinedEvent;
+import be.mirooz.elitedangerous.dashboard.model.mining.MiningStat;
+import be.mirooz.elitedangerous.dashboard.model.mining.SuspensionPeriod;
+import be.mirooz.elitedangerous.dashboard.service.MiningStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * L'agrégat des sessions terminées ({@link MiningStatRegistry#getCompletedTotals()}) et les totaux
+ * courants de {@link MiningStat} sont tenus à jour par différences : après chaque transition, ils
+ * doivent égaler le recalcul complet (constructeur historique de
+ * {@link MiningStatsService.MiningGlobalStats} et parcours des listes de la session).
+ */
+class MiningStatRegistryTest {
+
+    private static final Mineral PAINITE = MineralType.PAINITE;
+    private static final Mineral MONAZITE = MineralType.MONAZITE;
+    private static final Mineral DIAMONDS = MineralType.LOW_TEMPERATURE_DIAMONDS;
+
+    private final MiningStatRegistry registry = MiningStatRegistry.getInstance();
+
+    @BeforeEach
+    @AfterEach
+    void clear() {
+        registry.clearAllStats();
+    }
+
+    @Test
+    void completedTotalsMatchFullRecomputation() {
+        assertMatchesFullRecomputation("registre vide");
+
+        // Session terminée normalement, avec un retrait partiel puis total d'un minéral
+        registry.startMiningSession("Sol", "Saturn", "Saturn A Ring", at(10, 0));
+        registry.addRefinedMineral(PAINITE, 4, at(10, 5));
+        registry.addRefinedMineral(MONAZITE, 2, at(10, 7));
+        assertMatchesFullRecomputation("session active");
+        registry.removeRefinedMineral(PAINITE, 1, at(10, 8));
+        registry.removeRefinedMineral(MONAZITE, 2, at(10, 9));
+        registry.addRefinedMineral(PAINITE, 3, at(10, 12));
+        assertMatchesFullRecomputation("ajouts / retraits");
+        registry.endCurrentMiningSession(at(10, 40));
+        assertMatchesFullRecomputation("fin de session");
+
+        // Session suspendue (comptée comme terminée), reprise puis terminée
+        registry.startMiningSession("Borann", "Borann A 2", "Borann A 2 A Ring", at(11, 0));
+        registry.addRefinedMineral(DIAMONDS, 10, at(11, 10));
+        registry.suspendCurrentMiningSession(at(11, 20));
+        assertMatchesFullRecomputation("suspension");
+        registry.addRefinedMineral(DIAMONDS, 5, at(11, 25));
+        registry.resumeMiningSession(at(11, 50));
+        assertMatchesFullRecomputation("reprise");
+        registry.addRefinedMineral(DIAMONDS, 7, at(11, 55));
+        registry.removeRefinedMineral(DIAMONDS, 20, at(11, 56));
+        registry.suspendCurrentMiningSession(at(12, 0));
+        registry.resumeMiningSession(at(12, 30));
+        registry.addRefinedMineral(PAINITE, 1, at(12, 45));
+        registry.endCurrentMiningSession(at(13, 0));
+        assertMatchesFullRecomputation("deux suspensions");
+
+        // Session sans minéral : supprimée à la fin, ne compte pas
+        registry.startMiningSession("Sol", "Saturn", "Saturn A Ring", at(14, 0));
+        registry.addRefinedMineral(MONAZITE, 1, at(14, 5));
+        registry.removeRefinedMineral(MONAZITE, 1, at(14, 6));
+        registry.endCurrentMiningSession(at(14, 30));
+        assertMatchesFullRecomputation("session vide supprimée");
+        assertEquals(2, registry.getCompletedTotals().sessions());
+
+        // Nouvelle session alors que la précédente est suspendue : elle reste dans l'agrégat
+        registry.startMiningSession("Hyades", "Hyades 1", "Hyades 1 A Ring", at(15, 0));
+        registry.addRefinedMineral(MONAZITE, 6, at(15, 10));
+        registry.suspendCurrentMiningSession(at(15, 30));
+        registry.startMiningSession("Hyades", "Hyades 2", "Hyades 2 A Ring", at(16, 0));
+        registry.addRefinedMineral(PAINITE, 2, at(16, 15));
+        registry.resumeMiningSession(at(16, 20));
+        assertMatchesFullRecomputation("session suspendue abandonnée");
+        registry.endCurrentMiningSession(at(16, 45));
+        assertMatchesFullRecomputation("fin de la dernière session");
+        assertEquals(4, registry.getCompletedTotals().sessions());
+    }
+
+    @Test
+    void runningTotalsAreRebuiltWhenListsAreReplaced() {
+        MiningStat stat = new MiningStat("Sol", "Saturn", "Saturn A Ring", at(10, 0));
+        stat.addRefinedMineral(PAINITE, 3, at(10, 5));
+        stat.suspendSession(at(10, 10));
+        stat.resumeSession(at(10, 25));
+        stat.endSession(at(11, 0));
+        assertSessionMatchesFullRecomputation(stat);
+
+        // Listes remplacées comme au rechargement : les totaux suivent les nouvelles listes
+        List<MiningRefinedEvent> refined = new ArrayList<>();
+        refined.add(new MiningRefinedEvent(MONAZITE, 4, LocalDateTime.parse("2025-11-03T10:30:00")));
+        refined.add(new MiningRefinedEvent(PAINITE, 1, LocalDateTime.parse("2025-11-03T10:40:00")));
+        stat.setRefinedMinerals(refined);
+        List<SuspensionPeriod> suspensions = new ArrayList<>();
+        suspensions.add(new SuspensionPeriod(LocalDateTime.parse("2025-11-03T10:05:00"),
+                LocalDateTime.parse("2025-11-03T10:45:00")));
+        stat.setSuspensionPeriods(suspensions);
+        assertSessionMatchesFullRecomputation(stat);
+
+        stat.removeRefinedMineral(MONAZITE, 5, at(11, 5));
+        assertSessionMatchesFullRecomputation(stat);
+    }
+
+    private void assertMatchesFullRecomputation(String step) {
+        List<MiningStat> completed = registry.getCompletedMiningStats();
+        MiningStatsService.MiningGlobalStats expected = new MiningStatsService.MiningGlobalStats(completed);
+        MiningStatRegistry.CompletedTotals actual = registry.getCompletedTotals();
+
+        assertEquals(expected.getTotalSessions(), actual.sessions(), step + " : sessions");
+        assertEquals(expected.getTotalDurationMinutes(), actual.durationMinutes(), step + " : durée");
+        assertEquals(expected.getTotalMineralsRefined(), actual.minerals(), step + " : minéraux");
+        assertEquals(expected.getTotalValue(), new MiningStatsService.MiningGlobalStats(actual).getTotalValue(),
+                step + " : valeur");
+        for (MiningStat stat : completed) {
+            assertSessionMatchesFullRecomputation(stat);
+        }
+    }
+
+    /** Compare les totaux courants de la session au parcours complet de ses listes. */
+    private static void assertSessionMatchesFullRecomputation(MiningStat stat) {
+        Map<Mineral, Integer> minerals = new HashMap<>();
+        for (MiningRefinedEvent event : stat.getRefinedMinerals()) {
+            minerals.merge(event.getMineral(), event.getQuantity(), Integer::sum);
+        }
+        minerals.values().removeIf(quantity -> quantity == 0);
+        assertEquals(minerals, stat.getTotalRefinedMinerals());
+
+        LocalDateTime end = stat.getEndDate();
+        if (stat.isSuspended() && stat.getCurrentSuspension() != null) {
+            end = stat.getCurrentSuspension().getSuspendDate();
+        }
+        long duration = Duration.between(stat.getStartDate(), end).toMinutes();
+        for (SuspensionPeriod period : stat.getSuspensionPeriods()) {
+            if (period.isCompleted()) {
+                duration -= period.getDurationInMinutes();
+            }
+        }
+        assertEquals(Math.max(0, duration), stat.getDurationInMinutes());
+    }
+
+    private static String at(int hour, int minute) {
+        return String.format("2025-11-03T%02d:%02d:00Z", hour, minute);
+    }
+}
@@ -0,0 +1,208 @@
+package be.mirooz.elitedangerous.dashboard.persistence;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ChangeLogJsonStore} sur un registry clé → texte : relecture snapshot + journal
+ * (ligne tronquée, rejeu idempotent), seuils de compaction, migration du format du snapshot et
+ * écriture des seules clés signalées.
+ */
+class ChangeLogJsonStoreTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final JavaType MAP_TYPE = TypeFactory.defaultInstance()
+            .constructMapType(LinkedHashMap.class, String.class, String.class);
+    /** Seuil minimal de compaction de {@link ChangeLogJsonStore}. */
+    private static final int COMPACT_MIN_LOG_BYTES = 512 * 1024;
+
+    @TempDir
+    Path dir;
+
+    /** Registry simulé : contenu vivant + clés modifiées depuis la dernière capture. */
+    private final Map<String, String> live = new LinkedHashMap<>();
+    private final Set<String> changed = new HashSet<>();
+
+    @BeforeEach
+    void clearRegistry() {
+        live.clear();
+        changed.clear();
+    }
+
+    @Test
+    void tornLastLineIsSkippedAndNextAppendStartsOnANewLine() throws IOException {
+        Files.writeString(snapshot(), "{\"A\":\"a\"}");
+        Files.writeString(log(), put("B", "b") + "{\"op\":\"put\",\"key\":\"C\",\"val", StandardCharsets.UTF_8);
+
+        ChangeLogJsonStore<String> store = store(SnapshotFormat.JSON);
+        assertTrue(store.loadIfExists());
+        assertEquals(Map.of("A", "a", "B", "b"), live);
+
+        live.put("D", "d");
+        changed.add("D");
+        store.save();
+
+        live.clear();
+        assertTrue(store(SnapshotFormat.JSON).loadIfExists());
+        assertEquals(Map.of("A", "a", "B", "b", "D", "d"), live);
+    }
+
+    @Test
+    void replayOverAnAlreadyFoldedSnapshotIsIdempotent() throws IOException {
+        // Crash entre l'écriture du snapshot compacté et la remise à zéro du journal
+        Files.writeString(snapshot(), "{\"A\":\"a2\",\"C\":\"c\"}");
+        Files.writeString(log(), put("A", "a1") + put("B", "b") + put("A", "a2") + remove("B") + put("C", "c"));
+
+        assertTrue(store(SnapshotFormat.JSON).loadIfExists());
+        assertEquals(Map.of("A", "a2", "C", "c"), live);
+        assertEquals(List.of("A", "C"), List.copyOf(live.keySet()));
+    }
+
+    @Test
+    void compactsOnlyPastTheLogSizeThresholds() throws IOException {
+        ChangeLogJsonStore<String> store = store(SnapshotFormat.JSON);
+
+        Files.writeString(snapshot(), "{\"keep\":\"x\",\"gone\":\"y\"}");
+        Files.writeString(log(), remove("gone"));
+        assertFalse(store.compactIfNeeded(), "journal sous le seuil minimal");
+
+        // Journal au-delà du seuil minimal, mais < 25 % d'un gros snapshot
+        Map<String, String> big = values("s", COMPACT_MIN_LOG_BYTES / 10);
+        Files.write(snapshot(), JSON.writeValueAsBytes(big));
+        Files.writeString(log(), logOf(values("k", COMPACT_MIN_LOG_BYTES / 100)));
+        assertFalse(store.compactIfNeeded(), "journal trop petit face au snapshot");
+
+        Map<String, String> logged = values("k", COMPACT_MIN_LOG_BYTES / 50);
+        Files.writeString(snapshot(), "{\"keep\":\"x\",\"gone\":\"y\"}");
+        Files.writeString(log(), remove("gone") + logOf(logged));
+        assertTrue(Files.size(log()) >= COMPACT_MIN_LOG_BYTES);
+        assertTrue(store.compactIfNeeded());
+
+        assertEquals(0, Files.size(log()));
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("keep", "x");
+        expected.putAll(logged);
+        assertTrue(store(SnapshotFormat.JSON).loadIfExists());
+        assertEquals(expected, live);
+        assertFalse(store.compactIfNeeded(), "journal vide après compaction");
+    }
+
+    @Test
+    void compactionMigratesTheSnapshotToTheStoreFormat() throws IOException {
+        Files.writeString(snapshot(), "{\"keep\":\"x\"}");
+        Map<String, String> logged = values("k", COMPACT_MIN_LOG_BYTES / 50);
+        Files.writeString(log(), logOf(logged));
+
+        ChangeLogJsonStore<String> store = store(SnapshotFormat.BINARY);
+        assertTrue(store.loadIfExists(), "snapshot JSON relu par un store binaire");
+        assertEquals(logged.size() + 1, live.size());
+        assertTrue(store.compactIfNeeded());
+
+        Path binary = SnapshotFormat.BINARY.fileFor(snapshot());
+        assertTrue(Files.exists(binary));
+        assertFalse(Files.exists(snapshot()), "snapshot JSON supprimé après migration");
+        Map<String, String> expected = new LinkedHashMap<>(live);
+        live.clear();
+        assertTrue(store(SnapshotFormat.BINARY).loadIfExists());
+        assertEquals(expected, live);
+    }
+
+    @Test
+    void checkpointWritesOnlySignalledKeys() throws IOException {
+        Files.writeString(snapshot(), "{\"A\":\"a\",\"B\":\"b\",\"C\":\"c\"}");
+        ChangeLogJsonStore<String> store = store(SnapshotFormat.JSON);
+        assertTrue(store.loadIfExists());
+        assertNull(store.captureIfChanged(false), "rien de signalé après chargement");
+
+        live.put("B", "b2");
+        changed.add("B");
+        live.remove("C");
+        changed.add("C");
+        RegistryStore.Capture capture = store.captureIfChanged(false);
+        assertNotNull(capture);
+        // Modifiée après la capture : reste à écrire même une fois la capture persistée
+        live.put("B", "b3");
+        changed.add("B");
+        assertEquals(put("B", "b2") + remove("C"), new String(capture.encode(), StandardCharsets.UTF_8));
+        store.markPersisted(capture);
+
+        capture = store.captureIfChanged(false);
+        assertNotNull(capture);
+        assertEquals(put("B", "b3"), new String(capture.encode(), StandardCharsets.UTF_8));
+        store.markPersisted(capture);
+        assertNull(store.captureIfChanged(false));
+    }
+
+    private ChangeLogJsonStore<String> store(SnapshotFormat format) {
+        return new ChangeLogJsonStore<String>(
+                "test-store", snapshot(), JSON, MAP_TYPE,
+                () -> new LinkedHashMap<>(live),
+                loaded -> {
+                    live.clear();
+                    live.putAll(loaded);
+                    changed.clear();
+                },
+                () -> {
+                    Set<String> drained = new HashSet<>(changed);
+                    changed.clear();
+                    return drained;
+                },
+                live::get,
+                () -> { })
+                .withFormat(format);
+    }
+
+    private Path snapshot() {
+        return dir.resolve("test-store.json");
+    }
+
+    private Path log() {
+        return dir.resolve("test-store.log.jsonl");
+    }
+
+    /** {@code count} entrées d'environ 100 octets chacune une fois journalisées. */
+    private static Map<String, String> values(String prefix, int count) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            values.put(prefix + i, "v".repeat(64) + i);
+        }
+        return values;
+    }
+
+    private static String logOf(Map<String, String> values) throws IOException {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, String> e : values.entrySet()) {
+            out.append(put(e.getKey(), e.getValue()));
+        }
+        return out.toString();
+    }
+
+    private static String put(String key, String value) throws IOException {
+        return "{\"op\":\"put\",\"key\":" + JSON.writeValueAsString(key)
+                + ",\"value\":" + JSON.writeValueAsString(value) + "}\n";
+    }
+
+    private static String remove(String key) throws IOException {
+        return "{\"op\":\"remove\",\"key\":" + JSON.writeValueAsString(key) + "}\n";
+    }
+}
@@ -0,0 +1,109 @@
+package be.mirooz.elitedangerous.dashboard.persistence;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Migration {@link SnapshotFormat} JSON ↔ BINARY : un store qui ne trouve que l'autre format le
+ * relit, reste à réécrire, puis le remplace par son propre format au checkpoint suivant.
+ */
+class SnapshotJsonStoreTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final JavaType MAP_TYPE = TypeFactory.defaultInstance()
+            .constructMapType(LinkedHashMap.class, String.class, String.class);
+
+    @TempDir
+    Path dir;
+
+    private final Map<String, String> live = new LinkedHashMap<>();
+
+    @Test
+    void binaryStoreMigratesAJsonSnapshot() throws IOException {
+        Map<String, String> content = Map.of("Sol", "home", "Colonia", "far");
+        Files.write(file(SnapshotFormat.JSON), JSON.writeValueAsBytes(content));
+
+        assertMigrates(SnapshotFormat.JSON, SnapshotFormat.BINARY, content);
+    }
+
+    @Test
+    void jsonStoreMigratesABinarySnapshot() throws IOException {
+        Map<String, String> content = Map.of("Sol", "home", "Colonia", "far");
+        Files.write(file(SnapshotFormat.BINARY), SnapshotFormat.BINARY.encode(JSON.writeValueAsBytes(content)));
+
+        assertMigrates(SnapshotFormat.BINARY, SnapshotFormat.JSON, content);
+    }
+
+    @Test
+    void ownFormatIsPreferredAndLeftClean() throws IOException {
+        Files.write(file(SnapshotFormat.JSON), JSON.writeValueAsBytes(Map.of("stale", "json")));
+        Files.write(file(SnapshotFormat.BINARY),
+                SnapshotFormat.BINARY.encode(JSON.writeValueAsBytes(Map.of("Sol", "home"))));
+
+        SnapshotJsonStore<Map<String, String>> store = store(SnapshotFormat.BINARY);
+        assertTrue(store.loadIfExists());
+        assertEquals(Map.of("Sol", "home"), live);
+        assertNull(store.captureIfChanged(false), "format déjà à jour : rien à réécrire");
+    }
+
+    private void assertMigrates(SnapshotFormat found, SnapshotFormat target, Map<String, String> content)
+            throws IOException {
+        SnapshotJsonStore<Map<String, String>> store = store(target);
+        assertTrue(store.loadIfExists());
+        assertEquals(content, live);
+
+        // Checkpoint sans modification signalée : le store reste sale tant qu'il n'est pas migré
+        RegistryStore.Capture capture = store.captureIfChanged(false);
+        assertNotNull(capture);
+        byte[] bytes = capture.encode();
+        assertNotNull(bytes);
+        AtomicFiles.write(store.file(), bytes);
+        store.markPersisted(capture);
+
+        assertEquals(file(target), store.file());
+        assertTrue(Files.exists(file(target)));
+        assertFalse(Files.exists(file(found)), "ancien format supprimé après réécriture");
+        assertNull(store.captureIfChanged(false));
+
+        live.clear();
+        assertTrue(store(target).loadIfExists());
+        assertEquals(content, live);
+        if (target == SnapshotFormat.BINARY) {
+            // Binaire = JSON compact compressé
+            byte[] compact = JSON.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(live);
+            assertArrayEquals(compact, SnapshotFormat.BINARY.decode(Files.readAllBytes(file(target))));
+        }
+    }
+
+    private SnapshotJsonStore<Map<String, String>> store(SnapshotFormat format) {
+        return new SnapshotJsonStore<Map<String, String>>(
+                "test-store", dir.resolve("test-store.json"), JSON, MAP_TYPE,
+                () -> new LinkedHashMap<>(live),
+                loaded -> {
+                    live.clear();
+                    live.putAll(loaded);
+                })
+                .withFormat(format);
+    }
+
+    private Path file(SnapshotFormat format) {
+        return format.fileFor(dir.resolve("test-store.json"));
+    }
+}
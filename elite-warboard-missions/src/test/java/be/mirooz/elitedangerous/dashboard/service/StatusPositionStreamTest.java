@@ -0,0 +1,125 @@
+package be.mirooz.elitedangerous.dashboard.service;
+
+import be.mirooz.elitedangerous.dashboard.model.exploration.MutablePosition;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Le balayage sans allocation de {@link StatusPositionStream} doit extraire exactement ce que
+ * Jackson lit au premier niveau de {@code Status.json} (mêmes doubles au bit près), et refuser
+ * tout contenu incomplet.
+ */
+class StatusPositionStreamTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final StatusPositionStream stream = StatusPositionStream.getInstance();
+    private final MutablePosition position = new MutablePosition();
+
+    @Test
+    void matchesJacksonOnGeneratedStatusFiles() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            String status = randomStatus(random, i);
+            assertMatchesJackson(status);
+        }
+    }
+
+    @Test
+    void skipsEscapedStringsAndNestedObjects() throws Exception {
+        String status = "{ \"timestamp\":\"2025-03-01T10:00:00Z\", \"event\":\"Status\", \"Flags\":2097152,"
+                + " \"Pips\":[4,8,0], \"Fuel\":{ \"FuelMain\":32.0, \"FuelReservoir\":0.63, \"Latitude\":99.0 },"
+                + " \"Destination\":{ \"System\":1, \"Body\":3, \"Name\":\"a \\\"q\\\" } \\\\\", \"Heading\":7 },"
+                + " \"BodyName\":\"Col 285 \\\"Sector\\\" {1}\", \"Latitude\":-12.5, \"Longitude\":33.25,"
+                + " \"Heading\":181 }";
+        assertMatchesJackson(status);
+        assertEquals(-12.5, position.getLatitude());
+        assertEquals(181, position.getHeading());
+    }
+
+    @Test
+    void missingHeadingLeavesHeadingUnset() throws Exception {
+        String status = "{ \"timestamp\":\"2025-03-01T10:00:00Z\", \"event\":\"Status\","
+                + " \"Latitude\":-0.000123, \"Longitude\":-179.999999 }";
+        assertMatchesJackson(status);
+        assertFalse(position.hasHeading());
+    }
+
+    @Test
+    void exponentAndLongMantissaFallBackToParseDouble() throws Exception {
+        String[] values = {"1.5e-3", "-2E+2", "12.3456789012345678", "-0.1000000000000000055511151231257827",
+                "123456789012345678901234", "0", "-0.0", "89.99999999999999"};
+        for (String latitude : values) {
+            for (String longitude : values) {
+                assertMatchesJackson("{\"timestamp\":\"t\",\"event\":\"Status\",\"Latitude\":" + latitude
+                        + ",\"Longitude\":" + longitude + ",\"Heading\":-1}");
+            }
+        }
+    }
+
+    @Test
+    void rejectsTruncatedContent() throws Exception {
+        String status = randomStatus(new Random(7), 1);
+        int closing = status.lastIndexOf('}');
+        byte[] bytes = status.getBytes(StandardCharsets.US_ASCII);
+        for (int length = 1; length <= closing; length++) {
+            assertFalse(stream.parse(bytes, length, position), () -> "Préfixe accepté : " + status);
+        }
+        assertTrue(stream.parse(bytes, closing + 1, position));
+    }
+
+    @Test
+    void rejectsOtherEventsAndPositionlessStatus() {
+        assertFalse(parse("{ \"timestamp\":\"t\", \"event\":\"Statuss\", \"Latitude\":1.0, \"Longitude\":2.0 }"));
+        assertFalse(parse("{ \"timestamp\":\"t\", \"event\":\"Status\", \"Flags\":16777240, \"Latitude\":1.0 }"));
+        assertFalse(parse("{ \"timestamp\":\"t\", \"event\":\"Status\", \"Fuel\":{ \"Latitude\":1.0, \"Longitude\":2.0 } }"));
+        assertFalse(parse("[ \"event\", \"Status\" ]"));
+        assertFalse(parse(""));
+    }
+
+    private boolean parse(String status) {
+        byte[] bytes = status.getBytes(StandardCharsets.US_ASCII);
+        return stream.parse(bytes, bytes.length, position);
+    }
+
+    private void assertMatchesJackson(String status) throws Exception {
+        JsonNode expected = JSON.readTree(status);
+        assertTrue(parse(status), () -> "Position non extraite : " + status);
+        assertEquals(expected.get("Latitude").asDouble(), position.getLatitude(), 0.0, status);
+        assertEquals(expected.get("Longitude").asDouble(), position.getLongitude(), 0.0, status);
+        assertEquals(expected.has("Heading"), position.hasHeading(), status);
+        if (expected.has("Heading")) {
+            assertEquals(expected.get("Heading").asInt(), position.getHeading(), status);
+        }
+        assertEquals(expected.get("timestamp").asText(), position.getTimestamp(), status);
+    }
+
+    /** Status.json tel que l'écrit le jeu, avec des nombres tantôt arrondis, tantôt complets. */
+    private static String randomStatus(Random random, int i) {
+        double latitude = (random.nextDouble() - 0.5) * 180;
+        double longitude = (random.nextDouble() - 0.5) * 360;
+        String lat = i % 3 == 0 ? Double.toString(latitude) : String.format(Locale.ROOT, "%.6f", latitude);
+        String lon = i % 5 == 0 ? Double.toString(longitude) : String.format(Locale.ROOT, "%.4f", longitude);
+        StringBuilder json = new StringBuilder()
+                .append("{ \"timestamp\":\"2025-01-01T00:00:").append(String.format(Locale.ROOT, "%02d", i % 60)).append("Z\",")
+                .append(" \"event\":\"Status\", \"Flags\":151060493, \"Flags2\":0, \"Pips\":[4,8,0],")
+                .append(" \"Fuel\":{ \"FuelMain\":32.0, \"FuelReservoir\":0.63 },")
+                .append(" \"Destination\":{ \"System\":").append(random.nextLong())
+                .append(", \"Name\":\"a \\\"q\\\" }\" },")
+                .append(" \"Latitude\":").append(lat)
+                .append(", \"Longitude\":").append(lon);
+        if (i % 4 != 0) {
+            json.append(", \"Heading\":").append(random.nextInt(360));
+        }
+        return json.append(", \"AltitudeFromAverageRadius\":false, \"BodyName\":\"X 1 a\" }\r\n").toString();
+    }
+}
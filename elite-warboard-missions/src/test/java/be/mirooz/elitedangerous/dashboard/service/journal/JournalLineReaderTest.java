@@ -0,0 +1,164 @@
+package be.mirooz.elitedangerous.dashboard.service.journal;
+
+import be.mirooz.elitedangerous.dashboard.persistence.JournalCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reprise d'un journal par offset + empreinte ({@link JournalLineReader#resumeAt}) : une position
+ * fausse rejouerait ou sauterait des events sans bruit. Couvre la reprise exacte, le repli sur
+ * le numéro de ligne quand l'empreinte ne correspond plus, un offset hors fichier et une
+ * dernière ligne encore en cours d'écriture.
+ */
+class JournalLineReaderTest {
+
+    private static final String FILE_NAME = "Journal.2025-11-03T120000.01.log";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void resumesOnTheNextLineWhenFingerprintMatches() throws IOException {
+        Path journal = write(event(1), event(2), event(3), event(4), event(5));
+        Position third = positionOf(journal, 3);
+
+        try (JournalLineReader reader = JournalLineReader.resumeAt(journal, third.offset, 3, third.fingerprint)) {
+            assertNotNull(reader);
+            assertEquals(3, reader.getLineNumber());
+            assertEquals(third.offset, reader.getLineStartOffset());
+            assertEquals(List.of(event(4), event(5)), remaining(reader));
+            assertEquals(5, reader.getLineNumber());
+        }
+    }
+
+    @Test
+    void mismatchedFingerprintFallsBackToLineNumbers() throws IOException {
+        Path journal = write(event(1), event(2), event(3), event(4), event(5));
+        Position third = positionOf(journal, 3);
+        assertNull(JournalLineReader.resumeAt(journal, third.offset, 3, third.fingerprint ^ 1));
+        // Décalé d'un octet : la ligne lue n'est plus celle du curseur
+        assertNull(JournalLineReader.resumeAt(journal, third.offset + 1, 3, third.fingerprint));
+
+        JournalCursor cursor = JournalCursor.builder()
+                .lastJournalFile(FILE_NAME)
+                .lastTimestamp(timestamp(3))
+                .lastLineNumber(3)
+                .lastLineOffset(third.offset)
+                .lastLineFingerprint(third.fingerprint ^ 1)
+                .build();
+        File file = journal.toFile();
+        List<String> dispatched = new ArrayList<>();
+        try (JournalLineReader reader = JournalService.openBatchReader(file, cursor, FILE_NAME)) {
+            assertEquals(0, reader.getLineNumber(), "relecture depuis le début");
+            while (reader.next()) {
+                if (!JournalService.shouldSkipBatchLine(file, reader, FILE_NAME, cursor.getLastTimestamp(), 3)) {
+                    dispatched.add(reader.getLine());
+                }
+            }
+        }
+        assertEquals(List.of(event(4), event(5)), dispatched);
+    }
+
+    @Test
+    void offsetAtOrPastEndOfFileIsRejected() throws IOException {
+        Path journal = write(event(1), event(2));
+        Position second = positionOf(journal, 2);
+        long size = Files.size(journal);
+
+        assertNull(JournalLineReader.resumeAt(journal, size, 2, second.fingerprint));
+        assertNull(JournalLineReader.resumeAt(journal, size + 100, 2, second.fingerprint));
+        assertNull(JournalLineReader.resumeAt(journal, -1, 2, second.fingerprint));
+        assertNull(JournalLineReader.resumeAt(journal, second.offset, 0, second.fingerprint));
+
+        // Journal tronqué / remplacé par un plus court depuis l'écriture du curseur
+        Files.writeString(journal, event(1) + "\r\n", StandardCharsets.UTF_8);
+        assertNull(JournalLineReader.resumeAt(journal, second.offset, 2, second.fingerprint));
+    }
+
+    @Test
+    void tornLastLineIsResumedOnceCompleted() throws IOException {
+        String half = event(4).substring(0, 20);
+        Path journal = dir.resolve(FILE_NAME);
+        Files.writeString(journal, event(1) + "\r\n" + event(2) + "\r\n" + event(3), StandardCharsets.UTF_8);
+        // Dernière ligne complète mais sans fin de ligne : c'est elle que pointe le curseur
+        Position third = positionOf(journal, 3);
+
+        append(journal, "\r\n" + half);
+        try (JournalLineReader reader = JournalLineReader.resumeAt(journal, third.offset, 3, third.fingerprint)) {
+            assertNotNull(reader, "fin de ligne ajoutée après coup : même empreinte");
+            // Suivi en direct : la ligne en cours d'écriture n'est pas consommée
+            long before = reader.getPosition();
+            assertFalse(reader.nextCompleteLine());
+            assertEquals(before, reader.getPosition());
+
+            append(journal, event(4).substring(20) + "\r\n" + event(5) + "\r\n");
+            assertTrue(reader.nextCompleteLine());
+            assertEquals(event(4), reader.getLine());
+            assertEquals(4, reader.getLineNumber());
+            assertEquals(List.of(event(5)), remaining(reader));
+        }
+
+        // Curseur posé sur une ligne lue à moitié : empreinte différente, pas de reprise
+        Path torn = dir.resolve("torn-" + FILE_NAME);
+        Files.writeString(torn, event(1) + "\r\n" + half, StandardCharsets.UTF_8);
+        Position partial = positionOf(torn, 2);
+        Files.writeString(torn, event(1) + "\r\n" + event(4) + "\r\n", StandardCharsets.UTF_8);
+        assertNull(JournalLineReader.resumeAt(torn, partial.offset, 2, partial.fingerprint));
+    }
+
+    private record Position(long offset, long fingerprint) {
+    }
+
+    /** Offset et empreinte de la ligne {@code lineNumber}, tels que les note le curseur. */
+    private static Position positionOf(Path journal, int lineNumber) throws IOException {
+        try (JournalLineReader reader = new JournalLineReader(journal)) {
+            while (reader.next()) {
+                if (reader.getLineNumber() == lineNumber) {
+                    return new Position(reader.getLineStartOffset(), reader.fingerprint());
+                }
+            }
+        }
+        throw new IllegalArgumentException("Ligne " + lineNumber + " absente de " + journal);
+    }
+
+    private static List<String> remaining(JournalLineReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        while (reader.next()) {
+            lines.add(reader.getLine());
+        }
+        return lines;
+    }
+
+    private Path write(String... lines) throws IOException {
+        Path journal = dir.resolve(FILE_NAME);
+        Files.writeString(journal, String.join("\r\n", lines) + "\r\n", StandardCharsets.UTF_8);
+        return journal;
+    }
+
+    private static void append(Path journal, String content) throws IOException {
+        Files.writeString(journal, content, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    private static String event(int i) {
+        return "{ \"timestamp\":\"" + timestamp(i) + "\", \"event\":\"Music\", \"MusicTrack\":\"Track" + i + "\" }";
+    }
+
+    private static String timestamp(int i) {
+        return String.format("2025-11-03T12:00:%02dZ", i);
+    }
+}
@@ -0,0 +1,162 @@
+package be.mirooz.elitedangerous.dashboard.service.persistence;
+
+import be.mirooz.elitedangerous.dashboard.handlers.dispatcher.JournalEventHandlerRegistry;
+import be.mirooz.elitedangerous.dashboard.handlers.events.journalevents.JournalEventHandler;
+import be.mirooz.elitedangerous.dashboard.model.exploration.BiologicalSignalProcessor;
+import be.mirooz.elitedangerous.dashboard.model.registries.colonisation.ColonisationRegistry;
+import be.mirooz.elitedangerous.dashboard.model.registries.combat.DestroyedShipsRegistery;
+import be.mirooz.elitedangerous.dashboard.model.registries.combat.MissionsRegistry;
+import be.mirooz.elitedangerous.dashboard.model.registries.combat.ShipTargetRegistry;
+import be.mirooz.elitedangerous.dashboard.model.registries.exploration.ExplorationDataSaleRegistry;
+import be.mirooz.elitedangerous.dashboard.model.registries.exploration.OrganicDataSaleRegistry;
+import be.mirooz.elitedangerous.dashboard.model.registries.exploration.PlaneteRegistry;
+import be.mirooz.elitedangerous.dashboard.model.registries.exploration.SystemVisitedRegistry;
+import be.mirooz.elitedangerous.dashboard.model.registries.mining.MiningStatRegistry;
+import be.mirooz.elitedangerous.dashboard.persistence.PolymorphicPersistenceMapper;
+import be.mirooz.elitedangerous.dashboard.persistence.RegistryStore;
+import be.mirooz.elitedangerous.dashboard.persistence.StoreNames;
+import be.mirooz.elitedangerous.dashboard.service.journal.EliteJournalLogFilename;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Les checkpoints périodiques ne capturent que les stores signalés : rejoue les journaux
+ * d'exemple handler par handler et échoue si un event modifie le contenu persisté d'un store
+ * que ni {@link JournalEventHandler#modifiedStores()} ni le registry lui-même n'a signalé.
+ */
+class HandlerModifiedStoresTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectMapper PERSISTENCE = PolymorphicPersistenceMapper.create();
+    private static final Path JOURNAL_DIR = Path.of("src/main/resources/exemple");
+    /** Occurrences contrôlées par type d'event (les autres sont seulement appliquées). */
+    private static final int CHECKS_PER_EVENT = 5;
+    private static final long BIO_IDLE_TIMEOUT_MS = 5_000L;
+
+    private final PersistenceService persistence = PersistenceService.getInstance();
+
+    @AfterAll
+    static void clearRegistries() {
+        MissionsRegistry.getInstance().clear();
+        DestroyedShipsRegistery.getInstance().clearAll();
+        ShipTargetRegistry.getInstance().clear();
+        MiningStatRegistry.getInstance().clearAllStats();
+        OrganicDataSaleRegistry.getInstance().clear();
+        PlaneteRegistry.getInstance().clear();
+        SystemVisitedRegistry.getInstance().clear();
+        ExplorationDataSaleRegistry.getInstance().clearAll();
+        ColonisationRegistry.getInstance().clear();
+    }
+
+    @Test
+    void handlersSignalEveryStoreTheyWrite() throws Exception {
+        Assumptions.assumeTrue(Files.isDirectory(JOURNAL_DIR), "Journaux d'exemple absents");
+
+        Map<String, JournalEventHandler> handlers = new HashMap<>();
+        for (JournalEventHandler handler : JournalEventHandlerRegistry.createHandlers()) {
+            handlers.put(handler.getEventType(), handler);
+        }
+        List<RegistryStore> stores = new ArrayList<>();
+        for (String name : StoreNames.ALL) {
+            RegistryStore store = persistence.findStore(name);
+            assertNotNull(store, name);
+            stores.add(store);
+        }
+
+        Map<String, Integer> checked = new HashMap<>();
+        List<String> failures = new ArrayList<>();
+        List<Path> journals;
+        try (Stream<Path> paths = Files.list(JOURNAL_DIR)) {
+            journals = paths.filter(p -> EliteJournalLogFilename.matches(p.getFileName().toString()))
+                    .sorted()
+                    .toList();
+        }
+        for (Path journal : journals) {
+            try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.trim().startsWith("{")) {
+                        continue;
+                    }
+                    JsonNode event = JSON.readTree(line);
+                    JournalEventHandler handler = handlers.get(event.path("event").asText());
+                    if (handler != null) {
+                        boolean check = checked.merge(handler.getEventType(), 1, Integer::sum) <= CHECKS_PER_EVENT;
+                        apply(handler, event, stores, check, failures);
+                    }
+                }
+            }
+        }
+
+        assertTrue(checked.size() > handlers.size() / 2, "Trop peu de handlers couverts : " + checked.keySet());
+        assertTrue(failures.isEmpty(), () -> "Stores modifiés sans signalement :\n" + String.join("\n", failures));
+    }
+
+    /** Applique l'event comme le dispatcher ; si {@code check}, compare ensuite le contenu des stores non signalés. */
+    private void apply(JournalEventHandler handler, JsonNode event, List<RegistryStore> stores,
+                       boolean check, List<String> failures) throws Exception {
+        byte[] systemsBefore = null;
+        if (check) {
+            for (RegistryStore store : stores) {
+                persisted(store, store.captureIfChanged(true));
+            }
+            systemsBefore = systemVisitedContent();
+        }
+
+        handler.handle(event);
+        persistence.markChanged(handler.modifiedStores());
+        BiologicalSignalProcessor.getInstance().awaitIdle(BIO_IDLE_TIMEOUT_MS);
+
+        TreeSet<String> unsignalled = new TreeSet<>();
+        for (RegistryStore store : stores) {
+            RegistryStore.Capture signalled = store.captureIfChanged(false);
+            if (signalled != null) {
+                persisted(store, signalled);
+            } else if (check) {
+                // Journal de modifications : pas de capture forcée, on compare le registry lui-même
+                boolean changed = store.isAppendOnly()
+                        ? !Arrays.equals(systemsBefore, systemVisitedContent())
+                        : persisted(store, store.captureIfChanged(true));
+                if (changed) {
+                    unsignalled.add(store.name());
+                }
+            }
+        }
+        if (!unsignalled.isEmpty()) {
+            failures.add(handler.getClass().getSimpleName() + " @ " + event.path("timestamp").asText()
+                    + " → " + unsignalled);
+        }
+    }
+
+    /** Marque la capture comme écrite ; {@code true} si son contenu différait du dernier persisté. */
+    private static boolean persisted(RegistryStore store, RegistryStore.Capture capture) {
+        if (capture == null) {
+            return false;
+        }
+        boolean changed = capture.encode() != null;
+        store.markPersisted(capture);
+        return changed;
+    }
+
+    private static byte[] systemVisitedContent() throws Exception {
+        return PERSISTENCE.writeValueAsBytes(SystemVisitedRegistry.getInstance().snapshotSystems());
+    }
+}